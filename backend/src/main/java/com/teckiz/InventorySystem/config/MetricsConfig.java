@@ -0,0 +1,69 @@
+package com.teckiz.InventorySystem.config;
+
+import com.teckiz.InventorySystem.security.BoundedPasswordEncoder;
+import com.teckiz.InventorySystem.security.LoginThrottle;
+import com.teckiz.InventorySystem.service.common.OptimisticRetryExecutor;
+import com.teckiz.InventorySystem.service.common.TransactionArchiver;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder stockConflictMetrics(OptimisticRetryExecutor optimisticRetryExecutor) {
+        return registry -> {
+            FunctionCounter.builder("inventory.stock.conflicts", optimisticRetryExecutor,
+                            OptimisticRetryExecutor::getConflictCount)
+                    .description("Optimistic lock conflicts hit by stock updates")
+                    .register(registry);
+            FunctionCounter.builder("inventory.stock.conflicts.exhausted", optimisticRetryExecutor,
+                            OptimisticRetryExecutor::getExhaustedCount)
+                    .description("Stock updates that gave up after the last retry")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder transactionArchiveMetrics(TransactionArchiver transactionArchiver) {
+        return registry -> FunctionCounter.builder("inventory.transactions.archived", transactionArchiver,
+                        TransactionArchiver::getArchivedCount)
+                .description("Transactions moved from closed months into the archive table")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordEncoder encoder, LoginThrottle loginThrottle) {
+        return registry -> {
+            FunctionCounter.builder("inventory.login.throttled", loginThrottle, LoginThrottle::getThrottledCount)
+                    .description("Login attempts rejected by the per-account or per-address limit")
+                    .register(registry);
+            if (!(encoder instanceof BoundedPasswordEncoder passwordEncoder)) return;
+            Gauge.builder("inventory.password.hashing.queued", passwordEncoder, BoundedPasswordEncoder::getQueueSize)
+                    .description("Password hashes waiting for a hashing thread")
+                    .register(registry);
+            Gauge.builder("inventory.password.hashing.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+                    .description("Password hashes currently running")
+                    .register(registry);
+            FunctionCounter.builder("inventory.password.hashing.rejected", passwordEncoder,
+                            BoundedPasswordEncoder::getRejectedCount)
+                    .description("Password checks rejected because the hashing pool was full")
+                    .register(registry);
+        };
+    }
+
+    //query, entity and second-level cache gauges; Hibernate only publishes them when statistics are enabled
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class),
+                "inventory", Tags.empty()).bindTo(registry);
+    }
+}
@@ -1,6 +1,8 @@
 package com.teckiz.InventorySystem.config;
 
 
+import com.teckiz.InventorySystem.dto.UserDTO;
+import com.teckiz.InventorySystem.entity.User;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.context.annotation.Bean;
@@ -16,6 +18,10 @@ public class ModelMapperConfig {
                 .setFieldMatchingEnabled(true)
                 .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE)
                 .setMatchingStrategy(MatchingStrategies.STANDARD);
+
+        //never walk a user's lazy transaction list while mapping, callers load the history page explicitly
+        modelMapper.typeMap(User.class, UserDTO.class)
+                .addMappings(mapper -> mapper.skip(UserDTO::setTransactions));
         return modelMapper;
     }
 }
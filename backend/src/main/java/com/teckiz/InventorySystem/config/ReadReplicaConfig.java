@@ -0,0 +1,87 @@
+package com.teckiz.InventorySystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Only active when inventory.datasource.replica.url is set; without it the single
+ * spring.datasource pool is auto-configured as before.
+ */
+@Configuration
+@ConditionalOnProperty("inventory.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    //credentials default to the primary's, replicas usually share the application user
+    @Bean
+    @ConfigurationProperties("inventory.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${inventory.datasource.replica.url}") String url,
+            @Value("${inventory.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${inventory.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${inventory.datasource.replica.read-your-writes-ms:3000}") long readYourWritesMillis) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                new ReadYourWritesTracker(Duration.ofMillis(readYourWritesMillis)));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public MeterBinder dataSourceRoutingMetrics(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return registry -> {
+            FunctionCounter.builder("inventory.datasource.routed", replicaRoutingDataSource,
+                            ReplicaRoutingDataSource::getPrimaryRouteCount)
+                    .tag("target", "primary")
+                    .description("Connections handed out per target pool")
+                    .register(registry);
+            FunctionCounter.builder("inventory.datasource.routed", replicaRoutingDataSource,
+                            ReplicaRoutingDataSource::getReplicaRouteCount)
+                    .tag("target", "replica")
+                    .description("Connections handed out per target pool")
+                    .register(registry);
+            FunctionCounter.builder("inventory.datasource.pinned.reads", replicaRoutingDataSource,
+                            ReplicaRoutingDataSource::getPinnedReadCount)
+                    .description("Read-only transactions kept on the primary after the caller's own write")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.teckiz.InventorySystem.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers who committed a write recently. Their reads stay on the primary until the replica has had
+ * time to catch up, so a user never sees their own change disappear.
+ */
+public class ReadYourWritesTracker {
+
+    //prune expired entries once the map grows past this, reads only ever look up a single key
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String key) {
+        long now = System.nanoTime();
+        lastWriteAt.put(key, now);
+        if (lastWriteAt.size() > PRUNE_THRESHOLD) {
+            lastWriteAt.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+    }
+
+    public boolean wroteRecently(String key) {
+        Long writtenAt = lastWriteAt.get(key);
+        if (writtenAt == null) return false;
+        if (System.nanoTime() - writtenAt < windowNanos) return true;
+        lastWriteAt.remove(key, writtenAt);
+        return false;
+    }
+}
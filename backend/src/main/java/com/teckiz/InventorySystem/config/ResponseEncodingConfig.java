@@ -0,0 +1,43 @@
+package com.teckiz.InventorySystem.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Binary alternatives to JSON for clients that send Accept: application/cbor or application/x-jackson-smile.
+ * Both mappers come from Boot's builder so they serialize dates, nulls and enums exactly like the JSON one.
+ * JSON stays the default; gzip for all three is done by the server (server.compression.*).
+ */
+@Configuration
+public class ResponseEncodingConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    //Jackson streams without a Content-Length, and Tomcat then compresses every body regardless of
+    //server.compression.min-response-size; bodies below that size are held back to give it the length,
+    //larger ones stream through untouched
+    @Bean
+    public FilterRegistrationBean<SmallResponseBufferingFilter> contentLengthFilter(
+            @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        FilterRegistrationBean<SmallResponseBufferingFilter> registration =
+                new FilterRegistrationBean<>(new SmallResponseBufferingFilter((int) minResponseSize.toBytes()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,144 @@
+package com.teckiz.InventorySystem.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Holds back the first limit bytes of a response. A body that ends within them is sent with a Content-Length,
+ * which is what lets Tomcat skip compressing it; a larger one is passed through as soon as it outgrows the
+ * buffer, so at most limit bytes per request are ever held in memory.
+ */
+class SmallResponseBufferingFilter extends OncePerRequestFilter {
+
+    private final int limit;
+
+    SmallResponseBufferingFilter(int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        BufferingResponse buffering = new BufferingResponse(response);
+        try {
+            chain.doFilter(request, buffering);
+        } finally {
+            buffering.finish();
+        }
+    }
+
+    private final class BufferingResponse extends HttpServletResponseWrapper {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+        //set once the body outgrew the buffer; from then on everything goes straight through
+        private boolean passingThrough;
+
+        BufferingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) throw new IllegalStateException("getWriter() has already been called");
+            if (outputStream == null) outputStream = new BufferingOutputStream();
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (outputStream != null && writer == null) throw new IllegalStateException("getOutputStream() has already been called");
+            if (writer == null) {
+                outputStream = new BufferingOutputStream();
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        //Spring flushes after every message it writes; a body still within the buffer stays held until the end
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) writer.flush();
+            if (passingThrough) super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (!passingThrough) buffer.reset();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (!passingThrough) buffer.reset();
+        }
+
+        private void passThrough() throws IOException {
+            if (passingThrough) return;
+            passingThrough = true;
+            if (buffer.size() > 0) {
+                getResponse().getOutputStream().write(buffer.toByteArray());
+                buffer.reset();
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer != null) writer.flush();
+            if (passingThrough || isCommitted()) {
+                passThrough();
+                return;
+            }
+            if (buffer.size() > 0) {
+                getResponse().setContentLength(buffer.size());
+                getResponse().getOutputStream().write(buffer.toByteArray());
+            }
+        }
+
+        private final class BufferingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                if (!passingThrough && buffer.size() + length > limit) passThrough();
+                if (passingThrough) {
+                    getResponse().getOutputStream().write(bytes, offset, length);
+                } else {
+                    buffer.write(bytes, offset, length);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (passingThrough) getResponse().getOutputStream().flush();
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException("API responses are written synchronously");
+            }
+        }
+    }
+}
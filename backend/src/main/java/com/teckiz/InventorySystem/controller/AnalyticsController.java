@@ -0,0 +1,92 @@
+package com.teckiz.InventorySystem.controller;
+
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.SalesQuery;
+import com.teckiz.InventorySystem.enums.SalesDimension;
+import com.teckiz.InventorySystem.enums.TimeBucket;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.exceptions.InvalidSearchRequestException;
+import com.teckiz.InventorySystem.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    //e.g. /sales?groupBy=category&bucket=week&type=sale&from=2025-01-01
+    @GetMapping("/sales")
+    public ResponseEntity<Response> aggregateSales(
+            @RequestParam(required = false) List<String> groupBy,
+            @RequestParam(required = false) String bucket,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeCancelled
+    ) {
+        Set<SalesDimension> dimensions = EnumSet.noneOf(SalesDimension.class);
+        if (groupBy != null) {
+            for (String dimension : groupBy) {
+                dimensions.add(parse(SalesDimension.class, dimension, "groupBy"));
+            }
+        }
+
+        SalesQuery salesQuery = SalesQuery.builder()
+                .groupBy(dimensions)
+                .bucket(bucket != null ? parse(TimeBucket.class, bucket, "bucket") : null)
+                .type(type != null ? parse(TransactionType.class, type, "type") : null)
+                .productId(productId)
+                .categoryId(categoryId)
+                .supplierId(supplierId)
+                .userId(userId)
+                .from(from)
+                .to(to)
+                .includeCancelled(includeCancelled)
+                .build();
+
+        return ResponseEntity.ok(analyticsService.aggregateSales(salesQuery));
+    }
+
+    @GetMapping("/reorder-suggestions")
+    public ResponseEntity<Response> getReorderSuggestions() {
+        return ResponseEntity.ok(analyticsService.getReorderSuggestions());
+    }
+
+    @PostMapping("/forecast/run")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> runDemandForecast() {
+        return ResponseEntity.ok(analyticsService.runDemandForecast());
+    }
+
+    @PostMapping("/classification/run")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> runClassification() {
+        return ResponseEntity.ok(analyticsService.runClassification());
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String parameter) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value.trim())) return constant;
+        }
+        throw new InvalidSearchRequestException("Unknown " + parameter + " value: " + value);
+    }
+}
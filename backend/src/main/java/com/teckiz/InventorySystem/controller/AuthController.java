@@ -1,14 +1,18 @@
 package com.teckiz.InventorySystem.controller;
 
 import com.teckiz.InventorySystem.dto.LoginRequest;
+import com.teckiz.InventorySystem.dto.RefreshTokenRequest;
 import com.teckiz.InventorySystem.dto.RegisterRequest;
 import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.security.LoginThrottle;
 import com.teckiz.InventorySystem.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -18,6 +22,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final UserService userService;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/register")
     public ResponseEntity<Response> registerUser(@RequestBody @Valid RegisterRequest registerRequest){
@@ -25,7 +30,20 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Response> loginUser(@RequestBody @Valid LoginRequest loginRequest){
+    public ResponseEntity<Response> loginUser(@RequestBody @Valid LoginRequest loginRequest, HttpServletRequest request){
+        loginThrottle.acquire(loginRequest.getEmail(), request.getRemoteAddr());
         return ResponseEntity.ok(userService.loginUser(loginRequest));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<Response> refreshToken(@RequestBody @Valid RefreshTokenRequest refreshTokenRequest){
+        return ResponseEntity.ok(userService.refreshToken(refreshTokenRequest));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Response> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                           @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest){
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        return ResponseEntity.ok(userService.logout(accessToken, refreshTokenRequest));
+    }
 }
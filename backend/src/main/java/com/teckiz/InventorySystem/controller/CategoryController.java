@@ -3,11 +3,15 @@ package com.teckiz.InventorySystem.controller;
 import com.teckiz.InventorySystem.dto.CategoryDTO;
 import com.teckiz.InventorySystem.dto.Response;
 import com.teckiz.InventorySystem.service.CategoryService;
+import com.teckiz.InventorySystem.service.common.CatalogVersions;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -15,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogVersions catalogVersions;
 
 
     @PostMapping("/add")
@@ -24,14 +29,32 @@ public class CategoryController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Response> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<Response> getAllCategories(WebRequest webRequest) {
+        //unchanged since the client's copy: 304 without loading anything
+        String etag = catalogVersions.etag(CatalogVersions.Collection.CATEGORIES, webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(etag)) return null;
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
+                .body(categoryService.getAllCategories());
     }
     @GetMapping("/{id}")
     public ResponseEntity<Response> getCategoryById(@PathVariable Long id) {
         return ResponseEntity.ok(categoryService.getCategoryById(id));
     }
 
+    @GetMapping("/summary")
+    public ResponseEntity<Response> getCategorySummaries() {
+        return ResponseEntity.ok(categoryService.getCategorySummaries());
+    }
+
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<Response> getCategorySummary(@PathVariable Long id) {
+        return ResponseEntity.ok(categoryService.getCategorySummary(id));
+    }
+
     @PutMapping("/update/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<Response> updateCategory(@PathVariable Long id, @RequestBody @Valid CategoryDTO categoryDTO) {
@@ -1,16 +1,27 @@
 package com.teckiz.InventorySystem.controller;
 
 import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.ProductSearchRequest;
 import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.enums.AbcClass;
+import com.teckiz.InventorySystem.enums.ProductSortField;
+import com.teckiz.InventorySystem.enums.XyzClass;
+import com.teckiz.InventorySystem.exceptions.InvalidSearchRequestException;
 import com.teckiz.InventorySystem.service.ProductService;
+import com.teckiz.InventorySystem.service.common.CatalogVersions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
@@ -19,6 +30,7 @@ import java.math.BigDecimal;
 public class ProductController {
 
     private final ProductService productService;
+    private final CatalogVersions catalogVersions;
 
 
     @PostMapping("/add")
@@ -72,9 +84,61 @@ public class ProductController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Response> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<Response> getAllProducts(WebRequest webRequest) {
+        //unchanged since the client's copy: 304 without loading anything
+        String etag = catalogVersions.etag(CatalogVersions.Collection.PRODUCTS, webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(etag)) return null;
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
+                .body(productService.getAllProducts());
     }
+    @GetMapping("/search")
+    public ResponseEntity<Response> searchProducts(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean lowStock,
+            @RequestParam(required = false) Integer maxStock,
+            @RequestParam(required = false) String searchText,
+            @RequestParam(required = false) String abcClass,
+            @RequestParam(required = false) String xyzClass,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        ProductSearchRequest searchRequest = ProductSearchRequest.builder()
+                .categoryId(categoryId)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .lowStock(lowStock)
+                .maxStock(maxStock)
+                .searchText(searchText)
+                .abcClass(abcClass != null ? parseClass(AbcClass.class, abcClass) : null)
+                .xyzClass(xyzClass != null ? parseClass(XyzClass.class, xyzClass) : null)
+                .sortBy(parseSort(sort))
+                .ascending(!"desc".equalsIgnoreCase(direction))
+                .cursor(cursor)
+                .size(size)
+                .build();
+
+        return ResponseEntity.ok(productService.searchProducts(searchRequest));
+    }
+
+    //counter scanners: one code per call, or a basket of codes at once
+    @GetMapping("/lookup")
+    public ResponseEntity<Response> lookupBySku(@RequestParam String sku) {
+        return ResponseEntity.ok(productService.lookupBySku(sku));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<Response> lookupBySkus(@RequestBody List<String> skus) {
+        return ResponseEntity.ok(productService.lookupBySkus(skus));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Response> getProductById(@PathVariable Long id) {
         return ResponseEntity.ok(productService.getProductById(id));
@@ -87,5 +151,17 @@ public class ProductController {
         return ResponseEntity.ok(productService.deleteProduct(id));
     }
 
+    private ProductSortField parseSort(String sort) {
+        for (ProductSortField field : ProductSortField.values()) {
+            if (field.name().equalsIgnoreCase(sort)) return field;
+        }
+        throw new InvalidSearchRequestException("Sort must be one of name, price, stock");
+    }
 
+    private <E extends Enum<E>> E parseClass(Class<E> type, String value) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value.trim())) return constant;
+        }
+        throw new InvalidSearchRequestException(type.getSimpleName() + " must be one of " + Arrays.toString(type.getEnumConstants()));
+    }
 }
@@ -0,0 +1,55 @@
+package com.teckiz.InventorySystem.controller;
+
+import com.teckiz.InventorySystem.dto.PurchaseOrderReceiptRequest;
+import com.teckiz.InventorySystem.dto.PurchaseOrderRequest;
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.service.PurchaseOrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/purchase-orders")
+@RequiredArgsConstructor
+public class PurchaseOrderController {
+
+    private final PurchaseOrderService purchaseOrderService;
+
+    @PostMapping("/add")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> createPurchaseOrder(@RequestBody @Valid PurchaseOrderRequest purchaseOrderRequest) {
+        return ResponseEntity.ok(purchaseOrderService.createPurchaseOrder(purchaseOrderRequest));
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<Response> getAllPurchaseOrders(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) Long supplierId
+    ) {
+        return ResponseEntity.ok(purchaseOrderService.getAllPurchaseOrders(page, size, status, supplierId));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Response> getPurchaseOrderById(@PathVariable Long id) {
+        return ResponseEntity.ok(purchaseOrderService.getPurchaseOrderById(id));
+    }
+
+    //body optional: without lines everything outstanding is received
+    @PostMapping("/{id}/receive")
+    public ResponseEntity<Response> receivePurchaseOrder(
+            @PathVariable Long id,
+            @RequestBody(required = false) @Valid PurchaseOrderReceiptRequest receiptRequest) {
+        return ResponseEntity.ok(purchaseOrderService.receivePurchaseOrder(id, receiptRequest));
+    }
+
+    @PutMapping("/{id}/cancel")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> cancelPurchaseOrder(@PathVariable Long id) {
+        return ResponseEntity.ok(purchaseOrderService.cancelPurchaseOrder(id));
+    }
+}
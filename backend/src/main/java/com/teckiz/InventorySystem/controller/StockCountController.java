@@ -0,0 +1,66 @@
+package com.teckiz.InventorySystem.controller;
+
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.StockCountRequest;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.service.StockCountService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/stock-counts")
+@RequiredArgsConstructor
+public class StockCountController {
+
+    private final StockCountService stockCountService;
+
+    //body optional: without a warehouse the default one is counted, without a category every product
+    @PostMapping("/start")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> startStockCount(@RequestBody(required = false) StockCountRequest stockCountRequest) {
+        return ResponseEntity.ok(stockCountService.startStockCount(
+                stockCountRequest != null ? stockCountRequest : new StockCountRequest()));
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<Response> getAllStockCounts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) TransactionStatus status
+    ) {
+        return ResponseEntity.ok(stockCountService.getAllStockCounts(page, size, status));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Response> getStockCountById(@PathVariable Long id) {
+        return ResponseEntity.ok(stockCountService.getStockCountById(id));
+    }
+
+    //scanner export as text/csv, one "sku,quantity" per line; the body is streamed, not buffered
+    @PostMapping(value = "/{id}/counts", consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<Response> recordCounts(@PathVariable Long id, HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(stockCountService.recordCounts(id, request.getInputStream()));
+    }
+
+    @GetMapping("/{id}/variances")
+    public ResponseEntity<Response> getVariances(@PathVariable Long id) {
+        return ResponseEntity.ok(stockCountService.getVariances(id));
+    }
+
+    @PostMapping("/{id}/post")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> postStockCount(@PathVariable Long id) {
+        return ResponseEntity.ok(stockCountService.postStockCount(id));
+    }
+
+    @PutMapping("/{id}/cancel")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> cancelStockCount(@PathVariable Long id) {
+        return ResponseEntity.ok(stockCountService.cancelStockCount(id));
+    }
+}
@@ -3,11 +3,15 @@ package com.teckiz.InventorySystem.controller;
 import com.teckiz.InventorySystem.dto.Response;
 import com.teckiz.InventorySystem.dto.SupplierDTO;
 import com.teckiz.InventorySystem.service.SupplierService;
+import com.teckiz.InventorySystem.service.common.CatalogVersions;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/suppliers")
@@ -15,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 public class SupplierController {
 
     private final SupplierService supplierService;
+    private final CatalogVersions catalogVersions;
 
 
     @PostMapping("/add")
@@ -24,13 +29,37 @@ public class SupplierController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Response> getAllSuppliers() {
-        return ResponseEntity.ok(supplierService.getAllSuppliers());
+    public ResponseEntity<Response> getAllSuppliers(WebRequest webRequest) {
+        //unchanged since the client's copy: 304 without loading anything
+        String etag = catalogVersions.etag(CatalogVersions.Collection.SUPPLIERS, webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(etag)) return null;
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
+                .body(supplierService.getAllSuppliers());
     }
     @GetMapping("/{id}")
     public ResponseEntity<Response> getSupplierById(@PathVariable Long id) {
         return ResponseEntity.ok(supplierService.getSupplierById(id));
     }
+    @GetMapping("/analytics")
+    public ResponseEntity<Response> getSupplierPerformances() {
+        return ResponseEntity.ok(supplierService.getSupplierPerformances());
+    }
+
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<Response> getSupplierPerformance(@PathVariable Long id) {
+        return ResponseEntity.ok(supplierService.getSupplierPerformance(id));
+    }
+
+    @PostMapping("/analytics/rebuild")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> rebuildSupplierPerformance() {
+        return ResponseEntity.ok(supplierService.rebuildSupplierPerformance());
+    }
+
     @PutMapping("/update/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<Response> updateSupplier(@PathVariable Long id, @RequestBody @Valid SupplierDTO supplierDTO) {
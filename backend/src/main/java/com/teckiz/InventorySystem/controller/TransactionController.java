@@ -2,11 +2,13 @@ package com.teckiz.InventorySystem.controller;
 
 import com.teckiz.InventorySystem.dto.Response;
 import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.dto.TransactionStatusUpdateRequest;
 import com.teckiz.InventorySystem.enums.TransactionStatus;
 import com.teckiz.InventorySystem.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -61,6 +63,13 @@ public class TransactionController {
         return ResponseEntity.ok(transactionService.updateTransactionStatus(transactionId, status));
     }
 
+    //moves every listed (or matching) transaction whose status allows it; the response counts updated and skipped rows
+    @PutMapping("/update-status")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> updateTransactionStatuses(@RequestBody @Valid TransactionStatusUpdateRequest statusUpdateRequest) {
+        return ResponseEntity.ok(transactionService.updateTransactionStatuses(statusUpdateRequest));
+    }
+
 
 
 
@@ -35,8 +35,12 @@ public class UserController {
 
 
     @GetMapping("/transactions/{userId}")
-    public ResponseEntity<Response> getUserAndTransactions(@PathVariable Long userId){
-        return ResponseEntity.ok(userService.getUserTransactions(userId));
+    public ResponseEntity<Response> getUserAndTransactions(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size
+    ){
+        return ResponseEntity.ok(userService.getUserTransactions(userId, page, size));
     }
 
 
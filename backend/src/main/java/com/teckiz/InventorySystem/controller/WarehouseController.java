@@ -0,0 +1,61 @@
+package com.teckiz.InventorySystem.controller;
+
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.StockTransferRequest;
+import com.teckiz.InventorySystem.dto.WarehouseDTO;
+import com.teckiz.InventorySystem.service.WarehouseService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/warehouses")
+@RequiredArgsConstructor
+public class WarehouseController {
+
+    private final WarehouseService warehouseService;
+
+
+    @PostMapping("/add")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> addWarehouse(@RequestBody @Valid WarehouseDTO warehouseDTO) {
+        return ResponseEntity.ok(warehouseService.addWarehouse(warehouseDTO));
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<Response> getAllWarehouses() {
+        return ResponseEntity.ok(warehouseService.getAllWarehouses());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Response> getWarehouseById(@PathVariable Long id) {
+        return ResponseEntity.ok(warehouseService.getWarehouseById(id));
+    }
+
+    @PutMapping("/update/{id}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> updateWarehouse(@PathVariable Long id, @RequestBody @Valid WarehouseDTO warehouseDTO) {
+        return ResponseEntity.ok(warehouseService.updateWarehouse(id, warehouseDTO));
+    }
+
+    @DeleteMapping("/delete/{id}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> deleteWarehouse(@PathVariable Long id) {
+        return ResponseEntity.ok(warehouseService.deleteWarehouse(id));
+    }
+
+    @GetMapping("/stock/{productId}")
+    public ResponseEntity<Response> getProductStock(@PathVariable Long productId) {
+        return ResponseEntity.ok(warehouseService.getProductStock(productId));
+    }
+
+    @PostMapping("/transfer")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> transferStock(@RequestBody @Valid StockTransferRequest stockTransferRequest) {
+        return ResponseEntity.ok(warehouseService.transferStock(stockTransferRequest));
+    }
+
+
+}
@@ -0,0 +1,28 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CategorySummaryDTO {
+
+    private Long categoryId;
+    private String name;
+    private long productCount;
+    private long totalUnits;
+    private BigDecimal stockValue;
+
+    //filled by the GROUP BY projection; the sums are null for a category without products
+    public CategorySummaryDTO(Long categoryId, String name, Long productCount, Long totalUnits, BigDecimal stockValue) {
+        this.categoryId = categoryId;
+        this.name = name;
+        this.productCount = productCount != null ? productCount : 0;
+        this.totalUnits = totalUnits != null ? totalUnits : 0;
+        this.stockValue = stockValue != null ? stockValue : BigDecimal.ZERO;
+    }
+}
@@ -2,6 +2,8 @@ package com.teckiz.InventorySystem.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.teckiz.InventorySystem.enums.AbcClass;
+import com.teckiz.InventorySystem.enums.XyzClass;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -26,5 +28,7 @@ public class ProductDTO extends BasicDTO{
     private String description;
     private String imageUrl;
     private LocalDateTime expiryDate;
+    private AbcClass abcClass;
+    private XyzClass xyzClass;
 
 }
@@ -0,0 +1,17 @@
+package com.teckiz.InventorySystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductLookupDTO {
+
+    private String sku;
+    private Long productId;
+    private BigDecimal price;
+}
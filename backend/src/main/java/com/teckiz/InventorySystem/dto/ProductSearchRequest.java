@@ -0,0 +1,37 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.teckiz.InventorySystem.enums.AbcClass;
+import com.teckiz.InventorySystem.enums.ProductSortField;
+import com.teckiz.InventorySystem.enums.XyzClass;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchRequest {
+    //filters, all optional
+    private Long categoryId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer maxStock;
+    //shorthand for maxStock at the configured low-stock threshold
+    private boolean lowStock;
+    private String searchText;
+    private AbcClass abcClass;
+    private XyzClass xyzClass;
+
+    //ordering and paging
+    @Builder.Default
+    private ProductSortField sortBy = ProductSortField.NAME;
+    @Builder.Default
+    private boolean ascending = true;
+    private String cursor;
+    @Builder.Default
+    private int size = 50;
+}
@@ -0,0 +1,43 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PurchaseOrderDTO extends BasicDTO {
+
+    private TransactionStatus status;
+    private String description;
+    private Long supplierId;
+    private String supplierName;
+    private Long warehouseId;
+    private long unitsOrdered;
+    private long unitsReceived;
+    //only on single-order responses, listings carry the totals
+    private List<PurchaseOrderLineDTO> lines;
+
+    //filled by the order listing projection
+    public PurchaseOrderDTO(Long id, LocalDateTime createdAt, LocalDateTime updatedAt, TransactionStatus status,
+                            String description, Long supplierId, String supplierName, Long warehouseId,
+                            Long unitsOrdered, Long unitsReceived) {
+        setId(id);
+        setCreatedAt(createdAt);
+        setUpdatedAt(updatedAt);
+        this.status = status;
+        this.description = description;
+        this.supplierId = supplierId;
+        this.supplierName = supplierName;
+        this.warehouseId = warehouseId;
+        this.unitsOrdered = unitsOrdered != null ? unitsOrdered : 0;
+        this.unitsReceived = unitsReceived != null ? unitsReceived : 0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PurchaseOrderLineDTO {
+
+    private Long id;
+    private Long productId;
+    private String productName;
+    private String sku;
+    private int quantityOrdered;
+    private int quantityReceived;
+    private BigDecimal unitPrice;
+}
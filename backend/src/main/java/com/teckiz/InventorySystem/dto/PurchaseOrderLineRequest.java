@@ -0,0 +1,34 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+//a product and quantity, used both to order and to receive
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PurchaseOrderLineRequest {
+
+    @NotNull(message = "Product id is required")
+    @Positive(message = "Product id is required")
+    private Long productId;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+
+    //optional when ordering, defaults to the product price; ignored when receiving
+    @Positive(message = "Unit price must be positive")
+    private BigDecimal unitPrice;
+
+    public PurchaseOrderLineRequest(Long productId, Integer quantity) {
+        this(productId, quantity, null);
+    }
+}
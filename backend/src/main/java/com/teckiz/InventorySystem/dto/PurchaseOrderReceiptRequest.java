@@ -0,0 +1,21 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//what arrived; no lines means everything still outstanding
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PurchaseOrderReceiptRequest {
+
+    private List<@Valid PurchaseOrderLineRequest> lines;
+
+    private String description;
+}
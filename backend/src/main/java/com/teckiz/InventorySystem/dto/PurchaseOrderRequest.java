@@ -0,0 +1,31 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PurchaseOrderRequest {
+
+    @NotNull(message = "Supplier id is required")
+    @Positive(message = "Supplier id is required")
+    private Long supplierId;
+
+    //optional, falls back to the default warehouse when the order is received
+    private Long warehouseId;
+
+    private String description;
+
+    @NotEmpty(message = "An order needs at least one line")
+    private List<@Valid PurchaseOrderLineRequest> lines;
+}
@@ -0,0 +1,44 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReorderLineDTO {
+
+    private Long productId;
+    private String productName;
+    private String sku;
+    private int stockQuantity;
+    //forecast units per day, decayed to today
+    private double dailyDemand;
+    //days the current stock lasts at that rate
+    private double daysOfCover;
+    private int suggestedQuantity;
+
+    @JsonIgnore
+    private LocalDate demandAsOf;
+    @JsonIgnore
+    private Long supplierId;
+    @JsonIgnore
+    private String supplierName;
+
+    //filled by the forecast/product projection; demand and quantity are worked out by the analytics service
+    public ReorderLineDTO(Long productId, String productName, String sku, Integer stockQuantity, Double dailyDemand,
+                          LocalDate demandAsOf, Long supplierId, String supplierName) {
+        this.productId = productId;
+        this.productName = productName;
+        this.sku = sku;
+        this.stockQuantity = stockQuantity != null ? stockQuantity : 0;
+        this.dailyDemand = dailyDemand != null ? dailyDemand : 0;
+        this.demandAsOf = demandAsOf;
+        this.supplierId = supplierId;
+        this.supplierName = supplierName;
+    }
+}
@@ -0,0 +1,23 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//one suggested purchase order: everything to reorder from a supplier; supplierId is null for products never purchased
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReorderSuggestionDTO {
+
+    private Long supplierId;
+    private String supplierName;
+    private long totalUnits;
+    private List<ReorderLineDTO> lines;
+}
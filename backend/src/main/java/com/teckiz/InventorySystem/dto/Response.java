@@ -17,12 +17,15 @@ public class Response {
     private String message;
     //for login
     private String token;
+    private String refreshToken;
     private UserRole role;
     private String expirationTime;
 
     //for pagination
     private Integer totalPages;
     private Long totalElements;
+    //keyset pages hand back where the next one starts instead of totals
+    private String nextCursor;
 
     //data output optional
     private UserDTO user;
@@ -30,15 +33,36 @@ public class Response {
 
     private SupplierDTO supplier;
     private List<SupplierDTO> suppliers;
+    private SupplierPerformanceDTO supplierPerformance;
+    private List<SupplierPerformanceDTO> supplierPerformances;
 
     private CategoryDTO category;
     private List<CategoryDTO> categories;
+    private CategorySummaryDTO categorySummary;
+    private List<CategorySummaryDTO> categorySummaries;
 
     private ProductDTO product;
     private List<ProductDTO> products;
+    private ProductLookupDTO productLookup;
+    private List<ProductLookupDTO> productLookups;
+    private List<String> unknownSkus;
 
     private TransactionDTO transaction;
     private List<TransactionDTO> transactions;
+    private StatusUpdateResultDTO statusUpdate;
+
+    private WarehouseDTO warehouse;
+    private List<WarehouseDTO> warehouses;
+    private List<StockLevelDTO> stockLevels;
+
+    private PurchaseOrderDTO purchaseOrder;
+    private List<PurchaseOrderDTO> purchaseOrders;
+
+    private StockCountDTO stockCount;
+    private List<StockCountDTO> stockCounts;
+
+    private List<SalesAggregateDTO> salesAggregates;
+    private List<ReorderSuggestionDTO> reorderSuggestions;
 
     private final LocalDateTime timestamp = LocalDateTime.now();
 
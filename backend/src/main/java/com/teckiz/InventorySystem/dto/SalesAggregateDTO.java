@@ -0,0 +1,32 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+//one group of an analytics query; only the grouped keys are set
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalesAggregateDTO {
+
+    private TransactionType type;
+    private Long productId;
+    private Long categoryId;
+    private Long supplierId;
+    private Long userId;
+    //first day of the day, week (Monday) or month
+    private LocalDate bucket;
+
+    private long transactions;
+    private long units;
+    private BigDecimal revenue;
+}
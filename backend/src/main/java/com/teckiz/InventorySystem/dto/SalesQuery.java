@@ -0,0 +1,34 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.teckiz.InventorySystem.enums.SalesDimension;
+import com.teckiz.InventorySystem.enums.TimeBucket;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalesQuery {
+    //grouping, both optional: no dimensions and no bucket gives one grand total
+    @Builder.Default
+    private Set<SalesDimension> groupBy = EnumSet.noneOf(SalesDimension.class);
+    private TimeBucket bucket;
+
+    //filters, all optional; from and to are inclusive days
+    private TransactionType type;
+    private Long productId;
+    private Long categoryId;
+    private Long supplierId;
+    private Long userId;
+    private LocalDate from;
+    private LocalDate to;
+    private boolean includeCancelled;
+}
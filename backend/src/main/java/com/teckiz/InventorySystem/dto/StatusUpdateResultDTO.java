@@ -0,0 +1,17 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatusUpdateResultDTO {
+
+    private TransactionStatus status;
+    private int updated;
+    //ids that don't exist or whose status doesn't allow the move, plus matches changed by someone else meanwhile
+    private int skipped;
+}
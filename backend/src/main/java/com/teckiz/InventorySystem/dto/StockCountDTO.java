@@ -0,0 +1,51 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockCountDTO extends BasicDTO {
+
+    private TransactionStatus status;
+    private String description;
+    private Long warehouseId;
+    private Long categoryId;
+    private LocalDateTime postedAt;
+    private long products;
+    private long productsCounted;
+    //net units booked when posted
+    private long netVariance;
+
+    //only on upload responses: distinct SKUs written, and the ones unknown or outside the count's category
+    private Integer skusAccepted;
+    private List<String> skusRejected;
+
+    //only on the variance view: counted lines whose quantity differs from the expected stock
+    private List<StockCountLineDTO> variances;
+
+    //filled by the count summary projection
+    public StockCountDTO(Long id, LocalDateTime createdAt, LocalDateTime updatedAt, TransactionStatus status,
+                         String description, Long warehouseId, Long categoryId, LocalDateTime postedAt,
+                         Long products, Long productsCounted, Long netVariance) {
+        setId(id);
+        setCreatedAt(createdAt);
+        setUpdatedAt(updatedAt);
+        this.status = status;
+        this.description = description;
+        this.warehouseId = warehouseId;
+        this.categoryId = categoryId;
+        this.postedAt = postedAt;
+        this.products = products != null ? products : 0;
+        this.productsCounted = productsCounted != null ? productsCounted : 0;
+        this.netVariance = netVariance != null ? netVariance : 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockCountLineDTO {
+
+    private Long productId;
+    private String productName;
+    private String sku;
+    private int expectedQuantity;
+    //net stock movements recorded between the start of the count and the scan
+    private long movedSinceStart;
+    private Integer countedQuantity;
+    //counted minus (expected plus moved); what posting books as an adjustment
+    private Integer variance;
+
+    //filled by the counted lines projection
+    public StockCountLineDTO(Long productId, String productName, String sku, Integer expectedQuantity,
+                             Integer countedQuantity, Integer variance) {
+        this.productId = productId;
+        this.productName = productName;
+        this.sku = sku;
+        this.expectedQuantity = expectedQuantity != null ? expectedQuantity : 0;
+        this.countedQuantity = countedQuantity;
+        this.variance = variance;
+    }
+}
@@ -0,0 +1,21 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StockCountRequest {
+
+    //optional, the default warehouse is counted when not given
+    private Long warehouseId;
+
+    //optional, counts only this category's products
+    private Long categoryId;
+
+    private String description;
+}
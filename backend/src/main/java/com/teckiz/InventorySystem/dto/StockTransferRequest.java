@@ -0,0 +1,27 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StockTransferRequest {
+
+    @Positive(message = "Product id is required")
+    private Long productId;
+
+    @NotNull(message = "Source warehouse id is required")
+    private Long fromWarehouseId;
+
+    @NotNull(message = "Target warehouse id is required")
+    private Long toWarehouseId;
+
+    @Positive(message = "Quantity id is required")
+    private Integer quantity;
+}
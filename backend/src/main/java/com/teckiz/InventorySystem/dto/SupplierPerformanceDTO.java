@@ -0,0 +1,39 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SupplierPerformanceDTO {
+
+    private Long supplierId;
+    private String supplierName;
+    private long unitsPurchased;
+    private long unitsReturned;
+    private long purchaseCount;
+    private long returnCount;
+    private BigDecimal spend;
+    //units returned per unit purchased
+    private double returnRatio;
+    private LocalDateTime lastDeliveryAt;
+
+    //filled by the supplier/stats projection; a supplier without a stats row has no activity yet
+    public SupplierPerformanceDTO(Long supplierId, String supplierName, Long unitsPurchased, Long unitsReturned,
+                                  Long purchaseCount, Long returnCount, BigDecimal spend, LocalDateTime lastDeliveryAt) {
+        this.supplierId = supplierId;
+        this.supplierName = supplierName;
+        this.unitsPurchased = unitsPurchased != null ? unitsPurchased : 0;
+        this.unitsReturned = unitsReturned != null ? unitsReturned : 0;
+        this.purchaseCount = purchaseCount != null ? purchaseCount : 0;
+        this.returnCount = returnCount != null ? returnCount : 0;
+        this.spend = spend != null ? spend : BigDecimal.ZERO;
+        this.returnRatio = this.unitsPurchased == 0 ? 0 : (double) this.unitsReturned / this.unitsPurchased;
+        this.lastDeliveryAt = lastDeliveryAt;
+    }
+}
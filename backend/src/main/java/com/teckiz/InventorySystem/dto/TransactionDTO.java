@@ -29,5 +29,27 @@ public class TransactionDTO extends BasicDTO {
     private UserDTO user;
     private ProductDTO product;
     private SupplierDTO supplier;
+    private WarehouseDTO warehouse;
+
+    //only filled by the list projection
+    private String productName;
+    private String productSku;
+
+    //used by the JPQL constructor expressions in TransactionRepository
+    public TransactionDTO(Long id, String key, LocalDateTime createdAt, LocalDateTime updatedAt,
+                          Integer totalProducts, BigDecimal totalPrice, TransactionType transactionType,
+                          TransactionStatus status, String description, String productName, String productSku) {
+        setId(id);
+        setKey(key);
+        setCreatedAt(createdAt);
+        setUpdatedAt(updatedAt);
+        this.totalProducts = totalProducts;
+        this.totalPrice = totalPrice;
+        this.transactionType = transactionType;
+        this.status = status;
+        this.description = description;
+        this.productName = productName;
+        this.productSku = productSku;
+    }
 
 }
@@ -21,5 +21,12 @@ public class TransactionRequest {
 
     private Long supplierId;
 
+    //optional, falls back to the default warehouse
+    private Long warehouseId;
+
     private String  description;
+
+    public TransactionRequest(Long productId, Integer quantity, Long supplierId, String description) {
+        this(productId, quantity, supplierId, null, description);
+    }
 }
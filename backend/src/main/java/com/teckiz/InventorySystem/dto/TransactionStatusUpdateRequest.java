@@ -0,0 +1,42 @@
+package com.teckiz.InventorySystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TransactionStatusUpdateRequest {
+
+    @NotNull(message = "Status is required")
+    private TransactionStatus status;
+
+    //either the ids to move, or at least one filter; a request can't move every transaction at once
+    @Size(max = 10000, message = "At most 10000 ids per request")
+    private List<Long> ids;
+
+    //filters, all optional; createdFrom is inclusive, createdBefore exclusive
+    private TransactionType transactionType;
+    private TransactionStatus currentStatus;
+    private Long productId;
+    private Long supplierId;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdBefore;
+
+    public boolean hasFilter() {
+        return transactionType != null || currentStatus != null || productId != null || supplierId != null
+                || createdFrom != null || createdBefore != null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.teckiz.InventorySystem.entity;
+
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A transaction from a closed month, moved out of the hot table by TransactionArchiver.
+ * Keeps the original id so links to a transaction keep working after it is archived.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Immutable
+@Table(name = "transactions_archive")
+public class ArchivedTransaction {
+
+    @Id
+    private Long id;
+
+    @Column(name = "key")
+    private String key;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    private Integer totalProducts;
+
+    private BigDecimal totalPrice;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionStatus status;
+
+    private String description;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id")
+    private Product product;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supplier_id")
+    private Supplier supplier;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id")
+    private Warehouse warehouse;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
@@ -1,10 +1,13 @@
 package com.teckiz.InventorySystem.entity;
 
+import com.teckiz.InventorySystem.enums.AbcClass;
+import com.teckiz.InventorySystem.enums.XyzClass;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,9 +32,12 @@ public class Product extends BasicEntity{
     private String sku;
 
     @Positive(message = "Product price msut be a positive value")
+    @Column(nullable = false)
     private BigDecimal price;
 
+    //total across all warehouses, kept in step with stock_levels so listings never have to sum rows
     @Min(value = 0, message = "Stock quantity cannot be lesser than zero")
+    @Column(nullable = false)
     private Integer stockQuantity;
 
     private String description;
@@ -43,4 +49,18 @@ public class Product extends BasicEntity{
     @ManyToOne
     @JoinColumn(name = "category_id")
     private Category category;
+
+    //set by InventoryClassifier, null until the first classification run
+    @Enumerated(EnumType.STRING)
+    private AbcClass abcClass;
+
+    @Enumerated(EnumType.STRING)
+    private XyzClass xyzClass;
+
+    //optimistic lock so concurrent stock updates can't overwrite each other; never null on a stored row,
+    //since Spring Data would take a null version for a new product
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
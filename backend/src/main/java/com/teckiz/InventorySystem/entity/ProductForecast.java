@@ -0,0 +1,56 @@
+package com.teckiz.InventorySystem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+//smoothed sales velocity and preferred supplier per product, folded forward by DemandForecaster
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "product_forecast")
+public class ProductForecast implements Persistable<Long> {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    //exponentially smoothed units sold per day, as of the end of demandAsOf
+    @Column(nullable = false)
+    private double dailyDemand;
+
+    //last day folded into dailyDemand; null until the product sells
+    private LocalDate demandAsOf;
+
+    //supplier of the most recent purchase, reorders go to them
+    private Long supplierId;
+
+    private LocalDateTime lastPurchaseAt;
+
+    private LocalDateTime updatedAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newRow = true;
+
+    @Override
+    public Long getId() {
+        return productId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newRow = false;
+    }
+}
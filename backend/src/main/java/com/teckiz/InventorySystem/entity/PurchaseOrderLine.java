@@ -0,0 +1,43 @@
+package com.teckiz.InventorySystem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "purchase_order_lines")
+public class PurchaseOrderLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "purchase_order_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PurchaseOrder purchaseOrder;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "product_id")
+    private Product product;
+
+    @Column(nullable = false)
+    private int quantityOrdered;
+
+    @Column(nullable = false)
+    private int quantityReceived;
+
+    //agreed price per unit, the product price when the order was raised unless given
+    @Column(nullable = false)
+    private BigDecimal unitPrice;
+
+    public int getOutstanding() {
+        return quantityOrdered - quantityReceived;
+    }
+}
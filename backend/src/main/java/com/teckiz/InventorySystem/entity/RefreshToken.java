@@ -0,0 +1,29 @@
+package com.teckiz.InventorySystem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "refresh_tokens")
+public class RefreshToken extends BasicEntity {
+
+    //only the SHA-256 of the token is stored, a leaked table can't be replayed
+    @Column(name = "token_hash", unique = true, nullable = false, length = 64)
+    private String tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    private boolean revoked;
+}
@@ -0,0 +1,24 @@
+package com.teckiz.InventorySystem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "revoked_tokens")
+public class RevokedToken extends BasicEntity {
+
+    //jti of the revoked access token
+    @Column(name = "token_id", unique = true, nullable = false, length = 36)
+    private String tokenId;
+
+    //the row can be purged once the token would have expired anyway
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
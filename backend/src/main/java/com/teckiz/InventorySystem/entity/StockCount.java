@@ -0,0 +1,41 @@
+package com.teckiz.InventorySystem.entity;
+
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+//PROCESSING while counting, COMPLETED once the differences are posted; createdAt is when expected stock was snapshotted.
+//the lines can cover the whole catalogue, so they are not mapped here and are only read in chunks or aggregates
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "stock_counts")
+public class StockCount extends BasicEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionStatus status;
+
+    private String description;
+
+    //the location counted; null only when no warehouses are set up and the product totals are counted
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id")
+    private Warehouse warehouse;
+
+    //limits the count to one category, null counts every product
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    private LocalDateTime postedAt;
+}
@@ -0,0 +1,41 @@
+package com.teckiz.InventorySystem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "stock_count_lines")
+public class StockCountLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "stock_count_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private StockCount stockCount;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "product_id")
+    private Product product;
+
+    //stock on record when the count started
+    @Column(nullable = false)
+    private int expectedQuantity;
+
+    //null until scanned; a line that is never counted is not adjusted
+    private Integer countedQuantity;
+
+    private LocalDateTime countedAt;
+
+    //set when the count is posted: the units booked as an adjustment
+    private Integer variance;
+}
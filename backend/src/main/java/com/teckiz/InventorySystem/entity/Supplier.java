@@ -4,6 +4,8 @@ package com.teckiz.InventorySystem.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
@@ -12,6 +14,8 @@ import lombok.*;
 @NoArgsConstructor
 @Builder
 @Table(name = "suppliers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Supplier extends BasicEntity {
 
     @NotBlank(message = "Name is required")
@@ -0,0 +1,60 @@
+package com.teckiz.InventorySystem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+//running purchase and return totals per supplier, kept up to date by SupplierStatsWriter
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "supplier_stats")
+public class SupplierStats implements Persistable<Long> {
+
+    @Id
+    @Column(name = "supplier_id")
+    private Long supplierId;
+
+    @Column(nullable = false)
+    private long unitsPurchased;
+
+    @Column(nullable = false)
+    private long unitsReturned;
+
+    @Column(nullable = false)
+    private long purchaseCount;
+
+    @Column(nullable = false)
+    private long returnCount;
+
+    @Column(nullable = false)
+    private BigDecimal spend;
+
+    private LocalDateTime lastDeliveryAt;
+
+    //the id is assigned, so tell Spring Data a fresh row is an insert; a merge could overwrite another writer's totals
+    @Transient
+    @Builder.Default
+    private boolean newRow = true;
+
+    @Override
+    public Long getId() {
+        return supplierId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newRow = false;
+    }
+}
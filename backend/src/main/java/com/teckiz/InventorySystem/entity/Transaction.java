@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+//indexes live in the Flyway migrations (db/migration); on MySQL the table can be range partitioned by created_at
 @Table(name = "transactions")
 public class Transaction extends BasicEntity{
 
@@ -40,4 +41,8 @@ public class Transaction extends BasicEntity{
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id")
     private Supplier supplier;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id")
+    private Warehouse warehouse;
 }
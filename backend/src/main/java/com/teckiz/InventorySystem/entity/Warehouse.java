@@ -0,0 +1,29 @@
+package com.teckiz.InventorySystem.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "warehouses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class Warehouse extends BasicEntity {
+
+    @NotBlank(message = "Name is required")
+    @Column(unique = true)
+    private String name;
+
+    private String address;
+
+    //stock movements that don't name a location go here
+    @Column(name = "default_location")
+    private boolean defaultLocation;
+}
@@ -0,0 +1,6 @@
+package com.teckiz.InventorySystem.enums;
+
+//share of revenue: A products make the first 80%, B the next 15%, C the rest
+public enum AbcClass {
+    A, B, C
+}
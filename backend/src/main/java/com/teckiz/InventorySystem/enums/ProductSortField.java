@@ -0,0 +1,15 @@
+package com.teckiz.InventorySystem.enums;
+
+public enum ProductSortField {
+    NAME("name"), PRICE("price"), STOCK("stockQuantity");
+
+    private final String attribute;
+
+    ProductSortField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+}
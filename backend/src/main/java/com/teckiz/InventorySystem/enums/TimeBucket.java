@@ -0,0 +1,5 @@
+package com.teckiz.InventorySystem.enums;
+
+public enum TimeBucket {
+    DAY, WEEK, MONTH
+}
@@ -1,5 +1,7 @@
 package com.teckiz.InventorySystem.enums;
 
 public enum TransactionType {
-    PURCHASE, SALE, RETURN_TO_SUPPLIER
+    PURCHASE, SALE, RETURN_TO_SUPPLIER,
+    //stock count correction; totalProducts carries the sign, negative for shrinkage
+    ADJUSTMENT
 }
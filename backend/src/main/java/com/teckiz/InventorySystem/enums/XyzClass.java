@@ -0,0 +1,6 @@
+package com.teckiz.InventorySystem.enums;
+
+//variability of weekly demand: X steady, Y fluctuating, Z sporadic or none
+public enum XyzClass {
+    X, Y, Z
+}
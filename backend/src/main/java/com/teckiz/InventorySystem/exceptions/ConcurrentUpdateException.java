@@ -0,0 +1,7 @@
+package com.teckiz.InventorySystem.exceptions;
+
+public class ConcurrentUpdateException extends RuntimeException{
+    public ConcurrentUpdateException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.teckiz.InventorySystem.exceptions;
+
+public class InvalidSearchRequestException extends RuntimeException{
+    public InvalidSearchRequestException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.teckiz.InventorySystem.exceptions;
+
+public class InvalidStatusTransitionException extends RuntimeException{
+    public InvalidStatusTransitionException(String message){
+        super(message);
+    }
+}
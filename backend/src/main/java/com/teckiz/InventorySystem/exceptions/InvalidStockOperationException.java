@@ -0,0 +1,7 @@
+package com.teckiz.InventorySystem.exceptions;
+
+public class InvalidStockOperationException extends RuntimeException{
+    public InvalidStockOperationException(String message){
+        super(message);
+    }
+}
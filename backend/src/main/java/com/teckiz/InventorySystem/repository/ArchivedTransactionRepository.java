@@ -0,0 +1,36 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.dto.TransactionDTO;
+import com.teckiz.InventorySystem.entity.ArchivedTransaction;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    //copies the rows server side; rows already archived by an interrupted run are skipped
+    @Modifying
+    @Query("INSERT INTO ArchivedTransaction (id, key, createdAt, updatedAt, totalProducts, totalPrice, " +
+            "transactionType, status, description, user, product, supplier, warehouse, archivedAt) " +
+            "SELECT t.id, t.key, t.createdAt, t.updatedAt, t.totalProducts, t.totalPrice, " +
+            "t.transactionType, t.status, t.description, t.user, t.product, t.supplier, t.warehouse, :archivedAt " +
+            "FROM Transaction t WHERE t.id IN :ids " +
+            "AND NOT EXISTS (SELECT 1 FROM ArchivedTransaction a WHERE a.id = t.id)")
+    int copyFromTransactions(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @EntityGraph(attributePaths = {"user", "product", "product.category", "supplier", "warehouse"})
+    Optional<ArchivedTransaction> findWithDetailsById(Long id);
+
+    @Query("SELECT new com.teckiz.InventorySystem.dto.TransactionDTO(" +
+            "t.id, t.key, t.createdAt, t.updatedAt, t.totalProducts, t.totalPrice, " +
+            "t.transactionType, t.status, t.description, p.name, p.sku) " +
+            "FROM ArchivedTransaction t LEFT JOIN t.product p " +
+            "WHERE t.createdAt >= :from AND t.createdAt < :to")
+    List<TransactionDTO> findAllCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -1,7 +1,33 @@
 package com.teckiz.InventorySystem.repository;
 
+import com.teckiz.InventorySystem.dto.CategorySummaryDTO;
 import com.teckiz.InventorySystem.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    //served from the query cache until a category is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll(Sort sort);
+
+    String SUMMARY_SELECT = "SELECT new com.teckiz.InventorySystem.dto.CategorySummaryDTO(" +
+            "c.id, c.name, COUNT(p.id), SUM(p.stockQuantity), SUM(p.price * p.stockQuantity)) " +
+            "FROM Category c " +
+            "LEFT JOIN Product p ON p.category = c ";
+
+    //aggregated in the database from idx_product_category_value, no product collection is loaded
+    @Query(SUMMARY_SELECT + "GROUP BY c.id, c.name ORDER BY c.name")
+    List<CategorySummaryDTO> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :id GROUP BY c.id, c.name")
+    Optional<CategorySummaryDTO> findSummaryById(@Param("id") Long id);
 }
@@ -0,0 +1,13 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.ProductSearchRequest;
+import com.teckiz.InventorySystem.service.common.ProductCursor;
+
+import java.util.List;
+
+public interface ProductCatalogRepository {
+
+    //up to limit rows after the cursor (from the start when null) in the requested order, filters applied
+    List<ProductDTO> findCatalogPage(ProductSearchRequest search, ProductCursor after, int limit);
+}
@@ -0,0 +1,141 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.ProductSearchRequest;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.enums.AbcClass;
+import com.teckiz.InventorySystem.enums.XyzClass;
+import com.teckiz.InventorySystem.service.common.ProductCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset paging over the product table: each page seeks past the last (sort value, id) pair instead of
+ * skipping rows with an offset, so page 4000 costs the same as page 1 on the matching index.
+ * Rows are projected straight into ProductDTO, no entities or categories are loaded.
+ */
+public class ProductCatalogRepositoryImpl implements ProductCatalogRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductDTO> findCatalogPage(ProductSearchRequest search, ProductCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+
+        Expression<Comparable> sortColumn = product.get(search.getSortBy().getAttribute());
+        Expression<Long> id = product.get("id");
+
+        List<Predicate> predicates = filters(cb, product, search);
+        if (after != null) {
+            predicates.add(seekPast(cb, sortColumn, id, after));
+        }
+
+        query.multiselect(
+                        id,
+                        product.get("key"),
+                        product.get("createdAt"),
+                        product.get("updatedAt"),
+                        product.get("name"),
+                        product.get("sku"),
+                        product.get("price"),
+                        product.get("stockQuantity"),
+                        product.get("description"),
+                        product.get("imageUrl"),
+                        product.get("expiryDate"),
+                        product.get("category").get("id"),
+                        product.get("abcClass"),
+                        product.get("xyzClass"))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(search.isAscending()
+                        ? List.of(cb.asc(sortColumn), cb.asc(id))
+                        : List.of(cb.desc(sortColumn), cb.desc(id)));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<ProductDTO> products = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            ProductDTO productDTO = ProductDTO.builder()
+                    .name(row.get(4, String.class))
+                    .sku(row.get(5, String.class))
+                    .price(row.get(6, BigDecimal.class))
+                    .stockQuantity(row.get(7, Integer.class))
+                    .description(row.get(8, String.class))
+                    .imageUrl(row.get(9, String.class))
+                    .expiryDate(row.get(10, LocalDateTime.class))
+                    .categoryId(row.get(11, Long.class))
+                    .abcClass(row.get(12, AbcClass.class))
+                    .xyzClass(row.get(13, XyzClass.class))
+                    .build();
+            productDTO.setId(row.get(0, Long.class));
+            productDTO.setKey(row.get(1, String.class));
+            productDTO.setCreatedAt(row.get(2, LocalDateTime.class));
+            productDTO.setUpdatedAt(row.get(3, LocalDateTime.class));
+            products.add(productDTO);
+        }
+        return products;
+    }
+
+    private List<Predicate> filters(CriteriaBuilder cb, Root<Product> product, ProductSearchRequest search) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (search.getCategoryId() != null) {
+            predicates.add(cb.equal(product.get("category").get("id"), search.getCategoryId()));
+        }
+        if (search.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.get("price"), search.getMinPrice()));
+        }
+        if (search.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("price"), search.getMaxPrice()));
+        }
+        if (search.getMaxStock() != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("stockQuantity"), search.getMaxStock()));
+        }
+        if (search.getAbcClass() != null) {
+            predicates.add(cb.equal(product.get("abcClass"), search.getAbcClass()));
+        }
+        if (search.getXyzClass() != null) {
+            predicates.add(cb.equal(product.get("xyzClass"), search.getXyzClass()));
+        }
+        if (search.getSearchText() != null && !search.getSearchText().isBlank()) {
+            //prefix match so the name and sku indexes can seek; the column collation decides case sensitivity
+            String pattern = escapeLike(search.getSearchText().trim()) + "%";
+            predicates.add(cb.or(
+                    cb.like(product.get("name"), pattern, '\\'),
+                    cb.like(product.get("sku"), pattern, '\\')));
+        }
+        return predicates;
+    }
+
+    //col >= v AND (col > v OR id > lastId): the leading range lets the optimizer seek straight to the cursor
+    @SuppressWarnings("unchecked")
+    private Predicate seekPast(CriteriaBuilder cb, Expression<Comparable> sortColumn, Expression<Long> id, ProductCursor after) {
+        Comparable value = after.getValue();
+        if (after.isAscending()) {
+            return cb.and(
+                    cb.greaterThanOrEqualTo(sortColumn, value),
+                    cb.or(cb.greaterThan(sortColumn, value), cb.greaterThan(id, after.getId())));
+        }
+        return cb.and(
+                cb.lessThanOrEqualTo(sortColumn, value),
+                cb.or(cb.lessThan(sortColumn, value), cb.lessThan(id, after.getId())));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,55 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.dto.ReorderLineDTO;
+import com.teckiz.InventorySystem.entity.ProductForecast;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProductForecastRepository extends JpaRepository<ProductForecast, Long> {
+
+    //per product and day: units sold; cancelled sales don't count
+    String DAILY_SALES = "SELECT t.product.id, CAST(t.createdAt AS LocalDate), SUM(t.totalProducts) ";
+
+    String DAILY_SALES_FILTER = "WHERE t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.SALE " +
+            "AND t.status <> com.teckiz.InventorySystem.enums.TransactionStatus.CANCELED " +
+            "AND t.product IS NOT NULL AND t.createdAt >= :from AND t.createdAt < :to " +
+            "GROUP BY t.product.id, CAST(t.createdAt AS LocalDate)";
+
+    //per product and supplier: the latest purchase
+    String LATEST_PURCHASES = "SELECT t.product.id, t.supplier.id, MAX(t.createdAt) ";
+
+    String LATEST_PURCHASES_FILTER = "WHERE t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.PURCHASE " +
+            "AND t.status <> com.teckiz.InventorySystem.enums.TransactionStatus.CANCELED " +
+            "AND t.product IS NOT NULL AND t.supplier IS NOT NULL AND t.createdAt >= :from AND t.createdAt < :to " +
+            "GROUP BY t.product.id, t.supplier.id";
+
+    //every day up to here has been folded in, for every product
+    @Query("SELECT MAX(f.demandAsOf) FROM ProductForecast f")
+    LocalDate findWatermark();
+
+    @Query(DAILY_SALES + "FROM Transaction t " + DAILY_SALES_FILTER)
+    List<Object[]> findDailySales(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(DAILY_SALES + "FROM ArchivedTransaction t " + DAILY_SALES_FILTER)
+    List<Object[]> findArchivedDailySales(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(LATEST_PURCHASES + "FROM Transaction t " + LATEST_PURCHASES_FILTER)
+    List<Object[]> findLatestPurchases(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(LATEST_PURCHASES + "FROM ArchivedTransaction t " + LATEST_PURCHASES_FILTER)
+    List<Object[]> findArchivedLatestPurchases(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    //demand only decays between runs, so stock above the undecayed reorder point can never need a reorder
+    @Query("SELECT new com.teckiz.InventorySystem.dto.ReorderLineDTO(" +
+            "p.id, p.name, p.sku, p.stockQuantity, f.dailyDemand, f.demandAsOf, s.id, s.name) " +
+            "FROM ProductForecast f " +
+            "JOIN Product p ON p.id = f.productId " +
+            "LEFT JOIN Supplier s ON s.id = f.supplierId " +
+            "WHERE f.dailyDemand > 0 AND p.stockQuantity <= f.dailyDemand * :leadTimeDays")
+    List<ReorderLineDTO> findReorderCandidates(@Param("leadTimeDays") double leadTimeDays);
+}
@@ -1,7 +1,49 @@
 package com.teckiz.InventorySystem.repository;
 
+import com.teckiz.InventorySystem.dto.ProductLookupDTO;
 import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.enums.AbcClass;
+import com.teckiz.InventorySystem.enums.XyzClass;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductCatalogRepository {
+
+    //keeps the stock total in step with a location movement; bumps the version so optimistic writers see the change
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta, p.version = COALESCE(p.version, 0) + 1 " +
+            "WHERE p.id = :id AND p.stockQuantity + :delta >= 0")
+    int addStock(@Param("id") Long id, @Param("delta") int delta);
+
+    //only rows whose class changes are written, and their version moves so a concurrent product update can't put the old class back
+    @Modifying
+    @Query("UPDATE Product p SET p.abcClass = :abcClass, p.xyzClass = :xyzClass, p.version = COALESCE(p.version, 0) + 1 " +
+            "WHERE p.id IN :ids AND (p.abcClass IS NULL OR p.abcClass <> :abcClass OR p.xyzClass IS NULL OR p.xyzClass <> :xyzClass)")
+    int classify(@Param("ids") Collection<Long> ids, @Param("abcClass") AbcClass abcClass, @Param("xyzClass") XyzClass xyzClass);
+
+    //products without a sale in the window: no revenue, no demand
+    @Modifying
+    @Query("UPDATE Product p SET p.abcClass = com.teckiz.InventorySystem.enums.AbcClass.C, " +
+            "p.xyzClass = com.teckiz.InventorySystem.enums.XyzClass.Z, p.version = COALESCE(p.version, 0) + 1 " +
+            "WHERE (p.abcClass IS NULL OR p.abcClass <> com.teckiz.InventorySystem.enums.AbcClass.C " +
+            "OR p.xyzClass IS NULL OR p.xyzClass <> com.teckiz.InventorySystem.enums.XyzClass.Z) " +
+            "AND NOT EXISTS (SELECT 1 FROM Transaction t WHERE t.product = p " +
+            "AND t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.SALE " +
+            "AND t.status <> com.teckiz.InventorySystem.enums.TransactionStatus.CANCELED " +
+            "AND t.createdAt >= :from AND t.createdAt < :to)")
+    int classifyUnsold(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    //sku, id and category id per known sku; backed by the unique sku index
+    @Query("SELECT p.sku, p.id, p.category.id FROM Product p WHERE p.sku IN :skus")
+    List<Object[]> findIdsBySkus(@Param("skus") Collection<String> skus);
+
+    //counter lookups the in-memory SKU index could not answer
+    @Query("SELECT new com.teckiz.InventorySystem.dto.ProductLookupDTO(p.sku, p.id, p.price) FROM Product p WHERE p.sku IN :skus")
+    List<ProductLookupDTO> findLookupsBySkus(@Param("skus") Collection<String> skus);
 }
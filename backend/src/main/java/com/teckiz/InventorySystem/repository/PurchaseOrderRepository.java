@@ -0,0 +1,38 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.dto.PurchaseOrderDTO;
+import com.teckiz.InventorySystem.entity.PurchaseOrder;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
+
+    //header with line totals, no lines or entities loaded
+    @Query(value = "SELECT new com.teckiz.InventorySystem.dto.PurchaseOrderDTO(" +
+            "po.id, po.createdAt, po.updatedAt, po.status, po.description, s.id, s.name, po.warehouse.id, " +
+            "SUM(l.quantityOrdered), SUM(l.quantityReceived)) " +
+            "FROM PurchaseOrder po JOIN po.supplier s LEFT JOIN po.lines l " +
+            "WHERE (:status IS NULL OR po.status = :status) AND (:supplierId IS NULL OR s.id = :supplierId) " +
+            "GROUP BY po.id, po.createdAt, po.updatedAt, po.status, po.description, s.id, s.name, po.warehouse.id",
+            countQuery = "SELECT COUNT(po) FROM PurchaseOrder po " +
+                    "WHERE (:status IS NULL OR po.status = :status) AND (:supplierId IS NULL OR po.supplier.id = :supplierId)")
+    Page<PurchaseOrderDTO> findSummaries(@Param("status") TransactionStatus status, @Param("supplierId") Long supplierId,
+                                         Pageable pageable);
+
+    @EntityGraph(attributePaths = {"supplier", "lines", "lines.product"})
+    Optional<PurchaseOrder> findWithLinesById(Long id);
+
+    //serialises receipts and cancellation of one order; the lines come along in the same statement
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT po FROM PurchaseOrder po JOIN FETCH po.lines WHERE po.id = :id")
+    Optional<PurchaseOrder> findForUpdate(@Param("id") Long id);
+}
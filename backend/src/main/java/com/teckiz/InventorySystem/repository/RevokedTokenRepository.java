@@ -0,0 +1,32 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    List<RevokedToken> findAllByExpiresAtAfter(LocalDateTime now);
+
+    //rows other instances added since the last poll, still worth enforcing
+    List<RevokedToken> findAllByCreatedAtAfterAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+
+    //two logouts with the same token, here or on another instance, leave one row and neither fails
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO RevokedToken (tokenId, expiresAt, createdAt, updatedAt) " +
+            "VALUES (:tokenId, :expiresAt, :now, :now) ON CONFLICT DO NOTHING")
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("expiresAt") LocalDateTime expiresAt,
+                       @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,61 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.dto.StockCountLineDTO;
+import com.teckiz.InventorySystem.entity.StockCountLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface StockCountLineRepository extends JpaRepository<StockCountLine, Long> {
+
+    //the expected stock is copied in one statement when the count starts, without loading the products
+    @Modifying
+    @Query("INSERT INTO StockCountLine (stockCount, product, expectedQuantity) " +
+            "SELECT c, s.product, s.quantity FROM StockCount c, StockLevel s " +
+            "WHERE c.id = :countId AND s.warehouse.id = :warehouseId " +
+            "AND (:categoryId IS NULL OR s.product.category.id = :categoryId)")
+    int snapshotWarehouse(@Param("countId") Long countId, @Param("warehouseId") Long warehouseId,
+                          @Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("INSERT INTO StockCountLine (stockCount, product, expectedQuantity) " +
+            "SELECT c, p, COALESCE(p.stockQuantity, 0) FROM StockCount c, Product p " +
+            "WHERE c.id = :countId AND (:categoryId IS NULL OR p.category.id = :categoryId)")
+    int snapshotProducts(@Param("countId") Long countId, @Param("categoryId") Long categoryId);
+
+    @Query("SELECT l FROM StockCountLine l WHERE l.stockCount.id = :countId AND l.product.id IN :productIds")
+    List<StockCountLine> findByCountAndProducts(@Param("countId") Long countId, @Param("productIds") Collection<Long> productIds);
+
+    //posting needs the product's price and category for the adjustment rows
+    @Query("SELECT l FROM StockCountLine l JOIN FETCH l.product p LEFT JOIN FETCH p.category " +
+            "WHERE l.stockCount.id = :countId AND l.countedQuantity IS NOT NULL ORDER BY p.id")
+    List<StockCountLine> findCountedWithProducts(@Param("countId") Long countId);
+
+    @Query("SELECT l.product.id FROM StockCountLine l WHERE l.stockCount.id = :countId AND l.countedQuantity > 0")
+    List<Long> findProductIdsCountedAboveZero(@Param("countId") Long countId);
+
+    @Query("SELECT new com.teckiz.InventorySystem.dto.StockCountLineDTO(" +
+            "p.id, p.name, p.sku, l.expectedQuantity, l.countedQuantity, l.variance) " +
+            "FROM StockCountLine l JOIN l.product p " +
+            "WHERE l.stockCount.id = :countId AND l.countedQuantity IS NOT NULL ORDER BY p.id")
+    List<StockCountLineDTO> findCountedLines(@Param("countId") Long countId);
+
+    //net movement per counted product between the start of the count and its scan, in one grouped statement;
+    //purchases add, sales and returns take away, adjustments carry their own sign
+    @Query("SELECT l.product.id, SUM(CASE " +
+            "WHEN t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.SALE THEN -t.totalProducts " +
+            "WHEN t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.RETURN_TO_SUPPLIER THEN -t.totalProducts " +
+            "ELSE t.totalProducts END) " +
+            "FROM StockCountLine l JOIN Transaction t ON t.product.id = l.product.id " +
+            "WHERE l.stockCount.id = :countId AND l.countedAt IS NOT NULL " +
+            "AND t.createdAt >= :startedAt AND t.createdAt < l.countedAt " +
+            "AND (:warehouseId IS NULL OR t.warehouse.id = :warehouseId) " +
+            "GROUP BY l.product.id")
+    List<Object[]> sumMovementsSinceStart(@Param("countId") Long countId, @Param("startedAt") LocalDateTime startedAt,
+                                          @Param("warehouseId") Long warehouseId);
+}
@@ -0,0 +1,48 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.dto.StockCountDTO;
+import com.teckiz.InventorySystem.entity.StockCount;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface StockCountRepository extends JpaRepository<StockCount, Long> {
+
+    //header with line totals, no lines loaded
+    String SUMMARY_SELECT = "SELECT new com.teckiz.InventorySystem.dto.StockCountDTO(" +
+            "c.id, c.createdAt, c.updatedAt, c.status, c.description, c.warehouse.id, c.category.id, c.postedAt, " +
+            "COUNT(l), COUNT(l.countedQuantity), SUM(l.variance)) " +
+            "FROM StockCount c LEFT JOIN StockCountLine l ON l.stockCount = c ";
+
+    String SUMMARY_GROUP = "GROUP BY c.id, c.createdAt, c.updatedAt, c.status, c.description, c.warehouse.id, c.category.id, c.postedAt";
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :id " + SUMMARY_GROUP)
+    Optional<StockCountDTO> findSummaryById(@Param("id") Long id);
+
+    @Query(value = SUMMARY_SELECT + "WHERE (:status IS NULL OR c.status = :status) " + SUMMARY_GROUP,
+            countQuery = "SELECT COUNT(c) FROM StockCount c WHERE (:status IS NULL OR c.status = :status)")
+    Page<StockCountDTO> findSummaries(@Param("status") TransactionStatus status, Pageable pageable);
+
+    //serialises uploads, posting and cancellation of one count
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM StockCount c WHERE c.id = :id")
+    Optional<StockCount> findForUpdate(@Param("id") Long id);
+
+    //transfers and stock corrections are not recorded as movements, so they wait until a count there is closed
+    @Query("SELECT COUNT(c) > 0 FROM StockCount c WHERE c.warehouse.id IN :warehouseIds " +
+            "AND c.status = com.teckiz.InventorySystem.enums.TransactionStatus.PROCESSING")
+    boolean existsOpenAtWarehouses(@Param("warehouseIds") Collection<Long> warehouseIds);
+
+    //a count started before any warehouse was set up covers the product totals
+    @Query("SELECT COUNT(c) > 0 FROM StockCount c WHERE c.warehouse IS NULL " +
+            "AND c.status = com.teckiz.InventorySystem.enums.TransactionStatus.PROCESSING")
+    boolean existsOpenWithoutWarehouse();
+}
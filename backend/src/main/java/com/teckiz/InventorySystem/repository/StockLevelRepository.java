@@ -0,0 +1,59 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.dto.StockLevelDTO;
+import com.teckiz.InventorySystem.entity.StockLevel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface StockLevelRepository extends JpaRepository<StockLevel, Long> {
+
+    boolean existsByProductIdAndWarehouseId(Long productId, Long warehouseId);
+
+    @Query("SELECT s.product.id FROM StockLevel s WHERE s.warehouse.id = :warehouseId AND s.product.id IN :productIds")
+    List<Long> findProductIdsAtWarehouse(@Param("warehouseId") Long warehouseId, @Param("productIds") Collection<Long> productIds);
+
+    //applied in the database so concurrent movements can't lose updates; 0 rows means the location would go negative
+    @Modifying
+    @Query("UPDATE StockLevel s SET s.quantity = s.quantity + :delta " +
+            "WHERE s.product.id = :productId AND s.warehouse.id = :warehouseId AND s.quantity + :delta >= 0")
+    int addQuantity(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId, @Param("delta") int delta);
+
+    @Query("SELECT new com.teckiz.InventorySystem.dto.StockLevelDTO(w.id, w.name, s.quantity) " +
+            "FROM StockLevel s JOIN s.warehouse w WHERE s.product.id = :productId ORDER BY w.name")
+    List<StockLevelDTO> findLevelsByProductId(@Param("productId") Long productId);
+
+    //product id and the part of its total not yet placed in any warehouse, for products already held at this one
+    @Query("SELECT p.id, COALESCE(p.stockQuantity, 0) - " +
+            "(SELECT COALESCE(SUM(o.quantity), 0) FROM StockLevel o WHERE o.product = p) " +
+            "FROM StockLevel s JOIN s.product p WHERE s.warehouse.id = :warehouseId " +
+            "AND COALESCE(p.stockQuantity, 0) > (SELECT COALESCE(SUM(o.quantity), 0) FROM StockLevel o WHERE o.product = p)")
+    List<Object[]> findUnplacedHeldAtWarehouse(@Param("warehouseId") Long warehouseId);
+
+    //gives every other product with unplaced stock a row here in one statement, without loading the products
+    @Modifying
+    @Query("INSERT INTO StockLevel (product, warehouse, quantity, createdAt, updatedAt) " +
+            "SELECT p, w, COALESCE(p.stockQuantity, 0) - " +
+            "(SELECT COALESCE(SUM(o.quantity), 0) FROM StockLevel o WHERE o.product = p), :now, :now " +
+            "FROM Product p, Warehouse w WHERE w.id = :warehouseId " +
+            "AND NOT EXISTS (SELECT x.id FROM StockLevel x WHERE x.product = p AND x.warehouse = w) " +
+            "AND COALESCE(p.stockQuantity, 0) > (SELECT COALESCE(SUM(o.quantity), 0) FROM StockLevel o WHERE o.product = p)")
+    int insertUnplacedAtWarehouse(@Param("warehouseId") Long warehouseId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COALESCE(SUM(s.quantity), 0) FROM StockLevel s WHERE s.warehouse.id = :warehouseId")
+    long sumQuantityByWarehouseId(@Param("warehouseId") Long warehouseId);
+
+    //a product's location rows go with it
+    @Modifying
+    @Query("DELETE FROM StockLevel s WHERE s.product.id = :productId")
+    int deleteAllByProductId(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("DELETE FROM StockLevel s WHERE s.warehouse.id = :warehouseId")
+    int deleteAllByWarehouseId(@Param("warehouseId") Long warehouseId);
+}
@@ -1,7 +1,17 @@
 package com.teckiz.InventorySystem.repository;
 
 import com.teckiz.InventorySystem.entity.Supplier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+
+    //served from the query cache until a supplier is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Supplier> findAll(Sort sort);
 }
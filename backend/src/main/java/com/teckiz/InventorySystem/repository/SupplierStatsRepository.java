@@ -0,0 +1,77 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.dto.SupplierPerformanceDTO;
+import com.teckiz.InventorySystem.entity.SupplierStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface SupplierStatsRepository extends JpaRepository<SupplierStats, Long> {
+
+    String PERFORMANCE_SELECT = "SELECT new com.teckiz.InventorySystem.dto.SupplierPerformanceDTO(" +
+            "sp.id, sp.name, s.unitsPurchased, s.unitsReturned, s.purchaseCount, s.returnCount, s.spend, s.lastDeliveryAt) " +
+            "FROM Supplier sp " +
+            "LEFT JOIN SupplierStats s ON s.supplierId = sp.id ";
+
+    //per supplier: units purchased, units returned, purchases, returns, spend, last delivery; cancelled rows don't count
+    String HISTORY_AGGREGATE = "SELECT t.supplier.id, " +
+            "SUM(CASE WHEN t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.PURCHASE THEN t.totalProducts ELSE 0 END), " +
+            "SUM(CASE WHEN t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.RETURN_TO_SUPPLIER THEN t.totalProducts ELSE 0 END), " +
+            "SUM(CASE WHEN t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.PURCHASE THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.RETURN_TO_SUPPLIER THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.PURCHASE THEN t.totalPrice ELSE 0 END), " +
+            "MAX(CASE WHEN t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.PURCHASE THEN t.createdAt END) ";
+
+    String HISTORY_FILTER = "WHERE t.supplier IS NOT NULL " +
+            "AND t.status <> com.teckiz.InventorySystem.enums.TransactionStatus.CANCELED " +
+            "AND t.transactionType IN (com.teckiz.InventorySystem.enums.TransactionType.PURCHASE, " +
+            "com.teckiz.InventorySystem.enums.TransactionType.RETURN_TO_SUPPLIER) " +
+            "GROUP BY t.supplier.id";
+
+    @Query(PERFORMANCE_SELECT + "ORDER BY sp.name")
+    List<SupplierPerformanceDTO> findAllPerformance();
+
+    @Query(PERFORMANCE_SELECT + "WHERE sp.id = :supplierId")
+    Optional<SupplierPerformanceDTO> findPerformanceBySupplierId(@Param("supplierId") Long supplierId);
+
+    //a zero row for the supplier unless it already has one; a real upsert, so concurrent first writers don't collide
+    @Modifying
+    @Query("INSERT INTO SupplierStats (supplierId, unitsPurchased, unitsReturned, purchaseCount, returnCount, spend) " +
+            "VALUES (:supplierId, 0, 0, 0, 0, 0) ON CONFLICT DO NOTHING")
+    int insertIfAbsent(@Param("supplierId") Long supplierId);
+
+    //increments applied in the database so concurrent restocks of one supplier can't lose updates
+    @Modifying
+    @Query("UPDATE SupplierStats s SET s.unitsPurchased = s.unitsPurchased + :units, " +
+            "s.purchaseCount = s.purchaseCount + :count, s.spend = s.spend + :spend, " +
+            "s.lastDeliveryAt = CASE WHEN s.lastDeliveryAt IS NULL OR s.lastDeliveryAt < :deliveredAt " +
+            "THEN :deliveredAt ELSE s.lastDeliveryAt END " +
+            "WHERE s.supplierId = :supplierId")
+    int addPurchases(@Param("supplierId") Long supplierId, @Param("units") long units, @Param("count") long count,
+                     @Param("spend") BigDecimal spend, @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    //for cancellations: the totals move back, the last delivery date stays
+    @Modifying
+    @Query("UPDATE SupplierStats s SET s.unitsPurchased = s.unitsPurchased + :units, " +
+            "s.purchaseCount = s.purchaseCount + :count, s.spend = s.spend + :spend " +
+            "WHERE s.supplierId = :supplierId")
+    int addPurchaseTotals(@Param("supplierId") Long supplierId, @Param("units") long units, @Param("count") long count,
+                          @Param("spend") BigDecimal spend);
+
+    @Modifying
+    @Query("UPDATE SupplierStats s SET s.unitsReturned = s.unitsReturned + :units, s.returnCount = s.returnCount + :count " +
+            "WHERE s.supplierId = :supplierId")
+    int addReturns(@Param("supplierId") Long supplierId, @Param("units") long units, @Param("count") long count);
+
+    @Query(HISTORY_AGGREGATE + "FROM Transaction t " + HISTORY_FILTER)
+    List<Object[]> aggregateTransactionHistory();
+
+    @Query(HISTORY_AGGREGATE + "FROM ArchivedTransaction t " + HISTORY_FILTER)
+    List<Object[]> aggregateArchivedHistory();
+}
@@ -1,30 +1,109 @@
 package com.teckiz.InventorySystem.repository;
 
+import com.teckiz.InventorySystem.dto.TransactionDTO;
 import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    //list views only need the transaction columns plus product name/sku, so we select straight into the DTO
+    String SUMMARY_SELECT = "SELECT new com.teckiz.InventorySystem.dto.TransactionDTO(" +
+            "t.id, t.key, t.createdAt, t.updatedAt, t.totalProducts, t.totalPrice, " +
+            "t.transactionType, t.status, t.description, p.name, p.sku) " +
+            "FROM Transaction t " +
+            "LEFT JOIN t.product p ";
 
-    @Query("SELECT t FROM Transaction t " +
-            "WHERE YEAR(t.createdAt) = :year AND MONTH(t.createdAt) = :month")
-    List<Transaction> findAllByMonthAndYear(@Param("month") int month, @Param("year") int year);
-
-
-    //we are searching these field; Transaction's description, note, status, Product's name, sku
-    @Query("SELECT t FROM Transaction t " +
-            "LEFT JOIN t.product p " +
-            "WHERE (:searchText IS NULL OR " +
+    String SEARCH_FILTER = "WHERE (:searchText IS NULL OR " +
             "LOWER(t.description) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
             "LOWER(t.status) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
             "LOWER(p.name) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
-            "LOWER(p.sku) LIKE LOWER(CONCAT('%', :searchText, '%')))")
-    Page<Transaction> searchTransactions(@Param("searchText") String searchText, Pageable pageable);
+            "LOWER(p.sku) LIKE LOWER(CONCAT('%', :searchText, '%')))";
+
+
+    //a range on created_at instead of YEAR()/MONTH(), so the index and partition pruning can be used
+    @Query(SUMMARY_SELECT +
+            "WHERE t.createdAt >= :from AND t.createdAt < :to")
+    List<TransactionDTO> findAllCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    default List<TransactionDTO> findAllByMonthAndYear(int month, int year) {
+        LocalDateTime from = YearMonth.of(year, month).atDay(1).atStartOfDay();
+        return findAllCreatedBetween(from, from.plusMonths(1));
+    }
+
+
+    //we are searching these field; Transaction's description, note, status, Product's name, sku
+    @Query(value = SUMMARY_SELECT + SEARCH_FILTER,
+            countQuery = "SELECT COUNT(t) FROM Transaction t LEFT JOIN t.product p " + SEARCH_FILTER)
+    Page<TransactionDTO> searchTransactions(@Param("searchText") String searchText, Pageable pageable);
+
+    //detail view: one select that brings the user, product (with its category) and supplier along
+    @EntityGraph(attributePaths = {"user", "product", "product.category", "supplier", "warehouse"})
+    Optional<Transaction> findWithDetailsById(Long id);
+
+
+    @Query(value = SUMMARY_SELECT + "WHERE t.user.id = :userId",
+            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId")
+    Page<TransactionDTO> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT t.id FROM Transaction t WHERE t.createdAt < :cutoff ORDER BY t.id")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
+
+    //keyset page over one type in one status, oldest first; ids follow creation time, so due rows come first
+    @Query("SELECT t.id FROM Transaction t WHERE t.transactionType = :type AND t.status = :status " +
+            "AND t.createdAt < :before AND t.id > :afterId ORDER BY t.id")
+    List<Long> findIdsInStatusCreatedBefore(@Param("type") TransactionType type,
+                                            @Param("status") TransactionStatus status,
+                                            @Param("before") LocalDateTime before,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    //bulk status updates page through the filter in id order; only rows the move is allowed from are matched
+    @Query("SELECT t.id FROM Transaction t WHERE t.id > :afterId AND t.status IN :from " +
+            "AND (:type IS NULL OR t.transactionType = :type) " +
+            "AND (:productId IS NULL OR t.product.id = :productId) " +
+            "AND (:supplierId IS NULL OR t.supplier.id = :supplierId) " +
+            "AND (:createdFrom IS NULL OR t.createdAt >= :createdFrom) " +
+            "AND (:createdBefore IS NULL OR t.createdAt < :createdBefore) " +
+            "ORDER BY t.id")
+    List<Long> findIdsForStatusChange(@Param("from") Collection<TransactionStatus> from,
+                                      @Param("type") TransactionType type,
+                                      @Param("productId") Long productId,
+                                      @Param("supplierId") Long supplierId,
+                                      @Param("createdFrom") LocalDateTime createdFrom,
+                                      @Param("createdBefore") LocalDateTime createdBefore,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    //the transition is checked here: rows whose status doesn't allow the move are neither locked nor returned
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id IN :ids AND (t.status IS NULL OR t.status IN :from)")
+    List<Transaction> findAllForStatusChange(@Param("ids") Collection<Long> ids,
+                                             @Param("from") Collection<TransactionStatus> from);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :status, t.updatedAt = :now WHERE t.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") TransactionStatus status,
+                     @Param("now") LocalDateTime now);
 
 }
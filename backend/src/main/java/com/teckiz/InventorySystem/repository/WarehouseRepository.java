@@ -0,0 +1,29 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.entity.Warehouse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Warehouse> findAll(Sort sort);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Warehouse> findFirstByDefaultLocationTrue();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Warehouse w SET w.defaultLocation = false WHERE w.id <> :id AND w.defaultLocation = true")
+    int clearDefaultExcept(@Param("id") Long id);
+}
@@ -1,5 +1,7 @@
 package com.teckiz.InventorySystem.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,25 +24,32 @@ import java.io.IOException;
 public class AuthFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationList tokenRevocationList;
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         String token = getTokenFromRequest(request);
 
-        if(token !=null){
-            String email = jwtUtils.getUsernameFromToken(token);
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+        Claims claims = token != null ? parseClaims(token) : null;
+
+        //tokens from before revocation carry no jti and could never be revoked, so they are refused outright
+        if (claims != null && !StringUtils.hasText(claims.getId())) {
+            log.debug("Rejected token without an id");
+            claims = null;
+        }
 
-            if (StringUtils.hasText(email) && jwtUtils.isTokenValid(token, userDetails)) {
-                log.info("Token is valid, {}", email);
+        //parsing already checked signature and expiry, the revocation check is an in-memory lookup
+        if (claims != null && StringUtils.hasText(claims.getSubject()) && !tokenRevocationList.isRevoked(claims.getId())) {
+            String email = claims.getSubject();
+            UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+            log.debug("Token is valid, {}", email);
 
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            }
+            UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities()
+            );
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
         }
 
         try {
@@ -52,6 +61,16 @@ public class AuthFilter extends OncePerRequestFilter {
 
     }
 
+    //expired or tampered tokens leave the request unauthenticated, so the client gets a 401 and refreshes
+    private Claims parseClaims(String token){
+        try {
+            return jwtUtils.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected token: {}", e.getMessage());
+            return null;
+        }
+    }
+
     private String getTokenFromRequest(HttpServletRequest request){
         String tokenWithBearer = request.getHeader("Authorization");
         if (tokenWithBearer != null && tokenWithBearer.startsWith("Bearer ")) {
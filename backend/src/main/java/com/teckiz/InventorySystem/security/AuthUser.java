@@ -1,6 +1,7 @@
 package com.teckiz.InventorySystem.security;
 
 import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.UserRole;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
@@ -16,9 +17,17 @@ public class AuthUser implements UserDetails {
 
     private User user;
 
+    public Long getUserId() {
+        return user.getId();
+    }
+
+    public UserRole getRole() {
+        return user.getRole();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority(user.getRole().name()));
+        return List.of(new SimpleGrantedAuthority(getRole().name()));
     }
 
     @Override
@@ -11,19 +11,32 @@ import org.springframework.stereotype.Service;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 @Slf4j
 public class JwtUtils {
 
-    private static final long EXPIRATION_TIME_IN_MILLISEC = 100L * 60L * 60L * 24L * 30L * 6L; //expires in 6 months
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
     private SecretKey key;
 
     @Value("${secreteJwtString}")
     private String secreteJwtString ;
 
+    //access tokens are short, clients renew them with the refresh token
+    @Value("${inventory.security.jwt.access-token-minutes:15}")
+    private long accessTokenMinutes = 15;
+
+    @Value("${inventory.security.jwt.refresh-token-days:14}")
+    private long refreshTokenDays = 14;
+
     @PostConstruct
     private void init(){
         byte[] keyByte = secreteJwtString.getBytes(StandardCharsets.UTF_8);
@@ -34,20 +47,51 @@ public class JwtUtils {
         if (email == null || email.isBlank()) {
             throw new IllegalArgumentException("Email must not be null or blank");
         }
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME_IN_MILLISEC))
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + accessTokenMinutes * 60_000L))
                 .signWith(key)
                 .compact();
     }
 
+    //opaque random value, it is never parsed, only looked up by its hash
+    public String generateRefreshToken(){
+        byte[] bytes = new byte[32];
+        SECURE_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public String hashRefreshToken(String refreshToken){
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public long getAccessTokenMinutes(){
+        return accessTokenMinutes;
+    }
+
+    public long getRefreshTokenDays(){
+        return refreshTokenDays;
+    }
+
     public String getUsernameFromToken(String token){
         return extractClaims(token, Claims::getSubject);
     }
 
+    //verifies signature and expiry in one parse
+    public Claims parseClaims(String token){
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
     private <T> T extractClaims(String token, Function<Claims,T> claimsTFunction){
-        return claimsTFunction.apply(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload());
+        return claimsTFunction.apply(parseClaims(token));
     }
     public boolean isTokenValid(String token, UserDetails userDetails){
         final String username = getUsernameFromToken(token);
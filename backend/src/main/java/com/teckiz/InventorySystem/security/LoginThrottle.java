@@ -0,0 +1,88 @@
+package com.teckiz.InventorySystem.security;
+
+import com.teckiz.InventorySystem.exceptions.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-window attempt counters per account and per client address. Checked before the user lookup
+ * and the BCrypt work, so a throttled login costs a map update and nothing else.
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    private final int maxAttemptsPerAccount;
+    private final int maxAttemptsPerAddress;
+    private final long windowMillis;
+
+    private final ConcurrentHashMap<String, Window> accountWindows = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Window> addressWindows = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+
+    public LoginThrottle(
+            @Value("${inventory.security.login.max-attempts-per-account:10}") int maxAttemptsPerAccount,
+            @Value("${inventory.security.login.max-attempts-per-address:300}") int maxAttemptsPerAddress,
+            @Value("${inventory.security.login.window-seconds:60}") long windowSeconds) {
+        this.maxAttemptsPerAccount = maxAttemptsPerAccount;
+        this.maxAttemptsPerAddress = maxAttemptsPerAddress;
+        this.windowMillis = windowSeconds * 1000;
+    }
+
+    public void acquire(String email, String remoteAddress) {
+        long now = System.currentTimeMillis();
+        String account = email == null ? "" : email.toLowerCase(Locale.ROOT);
+
+        if (!tryAcquire(addressWindows, remoteAddress == null ? "" : remoteAddress, maxAttemptsPerAddress, now)
+                || !tryAcquire(accountWindows, account, maxAttemptsPerAccount, now)) {
+            throttled.increment();
+            log.debug("Login throttled for {} from {}", account, remoteAddress);
+            throw new TooManyRequestsException("Too many login attempts, please wait and try again");
+        }
+    }
+
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    //drops expired windows once per window length, off the login path, so a spray of addresses can't grow the maps
+    @Scheduled(initialDelayString = "${inventory.security.login.window-seconds:60}",
+            fixedDelayString = "${inventory.security.login.window-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        accountWindows.values().removeIf(window -> now - window.startedAt >= windowMillis);
+        addressWindows.values().removeIf(window -> now - window.startedAt >= windowMillis);
+    }
+
+    public int size() {
+        return accountWindows.size() + addressWindows.size();
+    }
+
+    private boolean tryAcquire(ConcurrentHashMap<String, Window> windows, String key, int limit, long now) {
+        Window window = windows.compute(key, (k, current) ->
+                current == null || now - current.startedAt >= windowMillis ? new Window(now) : current.increment());
+        return window.attempts <= limit;
+    }
+
+    private static final class Window {
+        private final long startedAt;
+        private int attempts = 1;
+
+        private Window(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        //only called inside ConcurrentHashMap.compute, which serialises updates per key
+        private Window increment() {
+            attempts++;
+            return this;
+        }
+    }
+}
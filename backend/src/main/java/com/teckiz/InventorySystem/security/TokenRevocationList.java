@@ -0,0 +1,172 @@
+package com.teckiz.InventorySystem.security;
+
+import com.teckiz.InventorySystem.entity.RevokedToken;
+import com.teckiz.InventorySystem.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory view of the revoked_tokens table, checked by AuthFilter on every request.
+ * A Bloom filter answers "definitely not revoked" for almost every token without allocating;
+ * only a filter hit goes on to the exact map. The table is the source of truth: the filter is
+ * rebuilt from it at startup and hourly, which also drops entries whose token has expired, and rows
+ * added since the last look are polled well within an access token's lifetime, so a logout on another
+ * instance is enforced here too.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private static final int HASH_FUNCTIONS = 7;
+    //about 1% false positives at the expected size
+    private static final int BITS_PER_ENTRY = 10;
+    //a row whose insert committed a little after its created_at is still picked up by the next poll
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedEntries;
+
+    private volatile Filter filter;
+    //held while a revocation is added and while a rebuild copies the live filter and swaps, so no add lands in between
+    private final Object swapLock = new Object();
+    private volatile LocalDateTime lastPolled = LocalDateTime.now();
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${inventory.security.revocation.expected-entries:100000}") int expectedEntries) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = Math.max(expectedEntries, 1024);
+        this.filter = new Filter(this.expectedEntries);
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) return false;
+        Filter current = filter;
+        return current.mightContain(tokenId) && current.revoked.containsKey(tokenId);
+    }
+
+    public void revoke(String tokenId, LocalDateTime expiresAt) {
+        if (tokenId == null || isRevoked(tokenId)) return;
+        revokedTokenRepository.insertIfAbsent(tokenId, expiresAt, LocalDateTime.now());
+        synchronized (swapLock) {
+            filter.add(tokenId, toEpochMillis(expiresAt));
+        }
+    }
+
+    //revocations written by other instances since the last poll or rebuild
+    @Scheduled(initialDelayString = "${inventory.security.revocation.poll-interval-ms:30000}",
+            fixedDelayString = "${inventory.security.revocation.poll-interval-ms:30000}")
+    public void pollNew() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> added = revokedTokenRepository.findAllByCreatedAtAfterAndExpiresAtAfter(
+                lastPolled.minus(POLL_OVERLAP), now);
+        synchronized (swapLock) {
+            Filter current = filter;
+            for (RevokedToken revokedToken : added) {
+                if (!current.revoked.containsKey(revokedToken.getTokenId())) {
+                    current.add(revokedToken.getTokenId(), toEpochMillis(revokedToken.getExpiresAt()));
+                }
+            }
+        }
+        lastPolled = now;
+    }
+
+    @Scheduled(initialDelayString = "${inventory.security.revocation.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${inventory.security.revocation.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        lastPolled = now;
+        int purged = revokedTokenRepository.deleteExpired(now);
+
+        Filter rebuilt = new Filter(expectedEntries);
+        for (RevokedToken revokedToken : revokedTokenRepository.findAllByExpiresAtAfter(now)) {
+            rebuilt.add(revokedToken.getTokenId(), toEpochMillis(revokedToken.getExpiresAt()));
+        }
+        //keep revocations that landed while the table was being read; revoke() waits until the swap is done
+        long nowMillis = System.currentTimeMillis();
+        synchronized (swapLock) {
+            filter.revoked.forEach((tokenId, expiresAt) -> {
+                if (expiresAt > nowMillis) rebuilt.add(tokenId, expiresAt);
+            });
+            filter = rebuilt;
+        }
+        log.info("Token revocation list rebuilt with {} entries, {} expired rows purged", rebuilt.revoked.size(), purged);
+    }
+
+    public int size() {
+        return filter.revoked.size();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Filter {
+        private final AtomicLongArray bits;
+        private final int bitCount;
+        //token id -> expiry in epoch millis
+        private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+        private Filter(int expectedEntries) {
+            int words = (int) Math.min(Integer.MAX_VALUE / 64, ((long) expectedEntries * BITS_PER_ENTRY + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = words * 64;
+        }
+
+        private void add(String tokenId, long expiresAt) {
+            revoked.put(tokenId, expiresAt);
+            long hash = hash(tokenId);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+                int word = bit >>> 6;
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        private boolean mightContain(String tokenId) {
+            long hash = hash(tokenId);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        //FNV-1a over the chars with a murmur finaliser, walks the string in place so nothing is allocated
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
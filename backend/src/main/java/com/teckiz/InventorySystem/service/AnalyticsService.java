@@ -0,0 +1,11 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.SalesQuery;
+
+public interface AnalyticsService {
+    Response aggregateSales(SalesQuery salesQuery);
+    Response getReorderSuggestions();
+    Response runDemandForecast();
+    Response runClassification();
+}
@@ -7,6 +7,8 @@ public interface CategoryService {
     Response createCategory(CategoryDTO categoryDTO);
     Response getAllCategories();
     Response getCategoryById(Long id);
+    Response getCategorySummaries();
+    Response getCategorySummary(Long id);
     Response updateCategory(Long id, CategoryDTO categoryDTO);
     Response deleteCategory(Long id);
 }
@@ -1,13 +1,19 @@
 package com.teckiz.InventorySystem.service;
 
 import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.ProductSearchRequest;
 import com.teckiz.InventorySystem.dto.Response;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 public interface ProductService {
     Response saveProduct(ProductDTO productDTO, MultipartFile imageFile);
     Response updateProduct(ProductDTO productDTO, MultipartFile imageFile);
     Response getAllProducts();
+    Response searchProducts(ProductSearchRequest searchRequest);
     Response getProductById(Long id);
     Response deleteProduct(Long id);
+    Response lookupBySku(String sku);
+    Response lookupBySkus(List<String> skus);
 }
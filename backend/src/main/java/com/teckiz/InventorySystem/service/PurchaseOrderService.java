@@ -0,0 +1,14 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.PurchaseOrderReceiptRequest;
+import com.teckiz.InventorySystem.dto.PurchaseOrderRequest;
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+
+public interface PurchaseOrderService {
+    Response createPurchaseOrder(PurchaseOrderRequest purchaseOrderRequest);
+    Response getAllPurchaseOrders(int page, int size, TransactionStatus status, Long supplierId);
+    Response getPurchaseOrderById(Long id);
+    Response receivePurchaseOrder(Long id, PurchaseOrderReceiptRequest receiptRequest);
+    Response cancelPurchaseOrder(Long id);
+}
@@ -0,0 +1,17 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.StockCountRequest;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+
+import java.io.InputStream;
+
+public interface StockCountService {
+    Response startStockCount(StockCountRequest stockCountRequest);
+    Response getAllStockCounts(int page, int size, TransactionStatus status);
+    Response getStockCountById(Long id);
+    Response recordCounts(Long id, InputStream counts);
+    Response getVariances(Long id);
+    Response postStockCount(Long id);
+    Response cancelStockCount(Long id);
+}
@@ -9,4 +9,7 @@ public interface SupplierService {
     Response getAllSuppliers();
     Response getSupplierById(Long id);
     Response deleteSupplier(Long id);
+    Response getSupplierPerformances();
+    Response getSupplierPerformance(Long id);
+    Response rebuildSupplierPerformance();
 }
@@ -2,6 +2,7 @@ package com.teckiz.InventorySystem.service;
 
 import com.teckiz.InventorySystem.dto.Response;
 import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.dto.TransactionStatusUpdateRequest;
 import com.teckiz.InventorySystem.enums.TransactionStatus;
 
 public interface TransactionService {
@@ -12,4 +13,5 @@ public interface TransactionService {
     Response getTransactionById(Long id);
     Response getAllTransactionByMonthAndYear(int month, int year);
     Response updateTransactionStatus(Long transactionId, TransactionStatus transactionStatus);
+    Response updateTransactionStatuses(TransactionStatusUpdateRequest statusUpdateRequest);
 }
@@ -1,6 +1,7 @@
 package com.teckiz.InventorySystem.service;
 
 import com.teckiz.InventorySystem.dto.LoginRequest;
+import com.teckiz.InventorySystem.dto.RefreshTokenRequest;
 import com.teckiz.InventorySystem.dto.RegisterRequest;
 import com.teckiz.InventorySystem.dto.Response;
 import com.teckiz.InventorySystem.dto.UserDTO;
@@ -9,9 +10,12 @@ import com.teckiz.InventorySystem.entity.User;
 public interface UserService {
     Response registerUser(RegisterRequest registerRequest);
     Response loginUser(LoginRequest loginRequest);
+    Response refreshToken(RefreshTokenRequest refreshTokenRequest);
+    Response logout(String accessToken, RefreshTokenRequest refreshTokenRequest);
     Response getAllUsers();
     User getCurrentLoggedInUser();
+    User getCurrentUserReference();
     Response updateUser(Long id, UserDTO userDTO);
     Response deleteUser(Long id);
-    Response getUserTransactions(Long id);
+    Response getUserTransactions(Long id, int page, int size);
 }
@@ -0,0 +1,15 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.StockTransferRequest;
+import com.teckiz.InventorySystem.dto.WarehouseDTO;
+
+public interface WarehouseService {
+    Response addWarehouse(WarehouseDTO warehouseDTO);
+    Response updateWarehouse(Long id, WarehouseDTO warehouseDTO);
+    Response getAllWarehouses();
+    Response getWarehouseById(Long id);
+    Response deleteWarehouse(Long id);
+    Response getProductStock(Long productId);
+    Response transferStock(StockTransferRequest stockTransferRequest);
+}
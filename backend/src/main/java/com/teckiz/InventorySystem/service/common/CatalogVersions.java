@@ -0,0 +1,55 @@
+package com.teckiz.InventorySystem.service.common;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One version counter per catalog collection, bumped by every write that changes what the /all listing returns.
+ * The list endpoints turn it into an ETag, so an unchanged collection is answered with 304 before
+ * the service, the database or ModelMapper are touched.
+ * Counters live in this instance only; the epoch keeps ETags from a previous run or another instance from matching.
+ */
+@Component
+public class CatalogVersions {
+
+    public enum Collection { PRODUCTS, CATEGORIES, SUPPLIERS }
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+    private final AtomicLongArray versions = new AtomicLongArray(Collection.values().length);
+
+    //bumped once the write is committed; bumping earlier would let a concurrent read tag the old rows with the new version
+    public void bump(Collection collection) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.incrementAndGet(collection.ordinal());
+                }
+            });
+        } else {
+            versions.incrementAndGet(collection.ordinal());
+        }
+    }
+
+    public long current(Collection collection) {
+        return versions.get(collection.ordinal());
+    }
+
+    //weak because Tomcat never gzips a response carrying a strong ETag; If-None-Match compares weakly anyway.
+    //JSON, CBOR and Smile still get their own tag so a cache keyed on the tag alone can't mix them up
+    public String etag(Collection collection, String accept) {
+        return "W/\"" + collection.name().toLowerCase() + "-" + epoch + "-" + current(collection) + representation(accept) + "\"";
+    }
+
+    private static String representation(String accept) {
+        if (accept == null) return "";
+        if (accept.contains(MediaType.APPLICATION_CBOR_VALUE)) return "-cbor";
+        if (accept.contains("application/x-jackson-smile")) return "-smile";
+        return "";
+    }
+}
@@ -0,0 +1,238 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.entity.ProductForecast;
+import com.teckiz.InventorySystem.repository.ProductForecastRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Folds closed days of sales into an exponentially smoothed daily demand per product (product_forecast).
+ * Each run only reads the days after the last one folded, so the nightly run scans a single day of history.
+ * Products without new sales are not touched: their demand decays to "today" when it is read, see {@link #demandOn}.
+ * The fold itself runs on a fork-join pool over the products with new activity.
+ */
+@Component
+@Slf4j
+public class DemandForecaster {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int FOLD_THRESHOLD = 512;
+
+    private final ProductForecastRepository productForecastRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double smoothing;
+    private final int historyDays;
+    private final int parallelism;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    //a manual run and the scheduled one must not fold the same days twice
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DemandForecaster(
+            ProductForecastRepository productForecastRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${inventory.forecast.smoothing:0.2}") double smoothing,
+            @Value("${inventory.forecast.history-days:180}") int historyDays,
+            @Value("${inventory.forecast.parallelism:0}") int parallelism) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Forecast smoothing must be in (0, 1]");
+        }
+        this.productForecastRepository = productForecastRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.smoothing = smoothing;
+        this.historyDays = historyDays;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Scheduled(cron = "${inventory.forecast.cron:0 30 1 * * *}")
+    public int run() {
+        return run(LocalDate.now());
+    }
+
+    //folds every day before today that hasn't been folded yet; returns the number of products updated
+    public int run(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Demand forecast already running, skipping");
+            return 0;
+        }
+        try {
+            long started = System.nanoTime();
+            LocalDate watermark = productForecastRepository.findWatermark();
+            LocalDate firstDay = watermark != null ? watermark.plusDays(1) : today.minusDays(historyDays);
+            if (!firstDay.isBefore(today)) return 0;
+
+            List<ProductWork> work = readActivity(firstDay.atStartOfDay(), today.atStartOfDay());
+            if (work.isEmpty()) return 0;
+
+            try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+                pool.invoke(new FoldTask(work, 0, work.size(), firstDay.minusDays(1), LocalDateTime.now()));
+            }
+            write(work);
+
+            log.info("Folded {} to {} into the demand forecast of {} products in {} ms",
+                    firstDay, today.minusDays(1), work.size(), (System.nanoTime() - started) / 1_000_000);
+            return work.size();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    //smoothed demand carried forward to the given day: every closed day without sales since demandAsOf counts as zero
+    public double demandOn(double dailyDemand, LocalDate demandAsOf, LocalDate day) {
+        if (demandAsOf == null) return 0;
+        long quietDays = ChronoUnit.DAYS.between(demandAsOf, day) - 1;
+        return quietDays <= 0 ? dailyDemand : dailyDemand * Math.pow(1 - smoothing, quietDays);
+    }
+
+    //new sales and purchases in the window, hot table and archive, joined with the products' current forecast rows
+    private List<ProductWork> readActivity(LocalDateTime from, LocalDateTime to) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, ProductWork> work = new HashMap<>();
+            addSales(work, productForecastRepository.findArchivedDailySales(from, to));
+            addSales(work, productForecastRepository.findDailySales(from, to));
+            addPurchases(work, productForecastRepository.findArchivedLatestPurchases(from, to));
+            addPurchases(work, productForecastRepository.findLatestPurchases(from, to));
+
+            List<Long> ids = new ArrayList<>(work.keySet());
+            for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+                for (ProductForecast forecast : productForecastRepository.findAllById(ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size())))) {
+                    work.get(forecast.getProductId()).forecast = forecast;
+                }
+                entityManager.clear();
+            }
+            return new ArrayList<>(work.values());
+        });
+    }
+
+    //each chunk in its own transaction; existing rows are reloaded per chunk so the merge doesn't select them one by one
+    private void write(List<ProductWork> work) {
+        for (int i = 0; i < work.size(); i += CHUNK_SIZE) {
+            List<ProductWork> chunk = work.subList(i, Math.min(i + CHUNK_SIZE, work.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(CHUNK_SIZE);
+                productForecastRepository.findAllById(chunk.stream()
+                        .filter(w -> !w.forecast.isNew())
+                        .map(w -> w.productId)
+                        .toList());
+                for (ProductWork w : chunk) {
+                    if (w.forecast.isNew()) {
+                        entityManager.persist(w.forecast);
+                    } else {
+                        entityManager.merge(w.forecast);
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    //row layout follows ProductForecastRepository.DAILY_SALES
+    private static void addSales(Map<Long, ProductWork> work, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            long units = row[2] == null ? 0 : ((Number) row[2]).longValue();
+            work.computeIfAbsent((Long) row[0], ProductWork::new).sales.merge((LocalDate) row[1], units, Long::sum);
+        }
+    }
+
+    //row layout follows ProductForecastRepository.LATEST_PURCHASES
+    private static void addPurchases(Map<Long, ProductWork> work, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            ProductWork w = work.computeIfAbsent((Long) row[0], ProductWork::new);
+            LocalDateTime purchasedAt = (LocalDateTime) row[2];
+            if (w.purchasedAt == null || w.purchasedAt.isBefore(purchasedAt)) {
+                w.supplierId = (Long) row[1];
+                w.purchasedAt = purchasedAt;
+            }
+        }
+    }
+
+    private void fold(ProductWork w, LocalDate dayBeforeWindow, LocalDateTime now) {
+        if (w.forecast == null) {
+            w.forecast = ProductForecast.builder().productId(w.productId).build();
+        }
+        ProductForecast forecast = w.forecast;
+
+        //a product new to the forecast starts from zero demand the day before the window
+        LocalDate asOf = forecast.getDemandAsOf() != null ? forecast.getDemandAsOf() : dayBeforeWindow;
+        double level = forecast.getDemandAsOf() != null ? forecast.getDailyDemand() : 0;
+        boolean folded = false;
+        for (Map.Entry<LocalDate, Long> sale : w.sales.entrySet()) {
+            if (!sale.getKey().isAfter(asOf)) continue;
+            level = demandOn(level, asOf, sale.getKey());
+            level = smoothing * sale.getValue() + (1 - smoothing) * level;
+            asOf = sale.getKey();
+            folded = true;
+        }
+        if (folded) {
+            forecast.setDailyDemand(level);
+            forecast.setDemandAsOf(asOf);
+        }
+
+        if (w.purchasedAt != null && (forecast.getLastPurchaseAt() == null || forecast.getLastPurchaseAt().isBefore(w.purchasedAt))) {
+            forecast.setSupplierId(w.supplierId);
+            forecast.setLastPurchaseAt(w.purchasedAt);
+        }
+        forecast.setUpdatedAt(now);
+    }
+
+    private final class FoldTask extends RecursiveAction {
+        private final List<ProductWork> work;
+        private final int from;
+        private final int to;
+        private final LocalDate dayBeforeWindow;
+        private final LocalDateTime now;
+
+        FoldTask(List<ProductWork> work, int from, int to, LocalDate dayBeforeWindow, LocalDateTime now) {
+            this.work = work;
+            this.from = from;
+            this.to = to;
+            this.dayBeforeWindow = dayBeforeWindow;
+            this.now = now;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= FOLD_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    fold(work.get(i), dayBeforeWindow, now);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FoldTask(work, from, middle, dayBeforeWindow, now), new FoldTask(work, middle, to, dayBeforeWindow, now));
+        }
+    }
+
+    private static final class ProductWork {
+        final Long productId;
+        final TreeMap<LocalDate, Long> sales = new TreeMap<>();
+        Long supplierId;
+        LocalDateTime purchasedAt;
+        ProductForecast forecast;
+
+        ProductWork(Long productId) {
+            this.productId = productId;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.enums.AbcClass;
+import com.teckiz.InventorySystem.enums.XyzClass;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Classifies every product by revenue share (ABC, Pareto over the window's sales) and by the coefficient of
+ * variation of its weekly demand (XYZ), and stores both classes on the product for the catalog filter.
+ * Daily sales are streamed ordered by product, so only one product's weeks are held while reading;
+ * what is kept per product is its id, revenue and variation in primitive arrays.
+ * The window is read from the live transactions table, keep it inside the archive's retain-months.
+ */
+@Component
+@Slf4j
+public class InventoryClassifier {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    //per product and day, ordered by product: units sold and revenue; cancelled sales don't count
+    private static final String DAILY_SALES =
+            "SELECT t.product.id, CAST(t.createdAt AS LocalDate), SUM(t.totalProducts), SUM(t.totalPrice) " +
+            "FROM Transaction t " +
+            "WHERE t.transactionType = com.teckiz.InventorySystem.enums.TransactionType.SALE " +
+            "AND t.status <> com.teckiz.InventorySystem.enums.TransactionStatus.CANCELED " +
+            "AND t.product IS NOT NULL AND t.createdAt >= :from AND t.createdAt < :to " +
+            "GROUP BY t.product.id, CAST(t.createdAt AS LocalDate) " +
+            "ORDER BY t.product.id";
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final CatalogVersions catalogVersions;
+    private final int weeks;
+    private final double aShare;
+    private final double bShare;
+    private final double xVariation;
+    private final double yVariation;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public InventoryClassifier(
+            ProductRepository productRepository,
+            TransactionTemplate transactionTemplate,
+            CatalogVersions catalogVersions,
+            @Value("${inventory.classification.weeks:26}") int weeks,
+            @Value("${inventory.classification.a-share:0.8}") double aShare,
+            @Value("${inventory.classification.b-share:0.95}") double bShare,
+            @Value("${inventory.classification.x-variation:0.5}") double xVariation,
+            @Value("${inventory.classification.y-variation:1.0}") double yVariation) {
+        if (weeks < 2 || aShare <= 0 || bShare < aShare || bShare > 1 || yVariation < xVariation) {
+            throw new IllegalArgumentException("Classification needs weeks >= 2, 0 < a-share <= b-share <= 1 and x-variation <= y-variation");
+        }
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTemplate.setReadOnly(true);
+        this.catalogVersions = catalogVersions;
+        this.weeks = weeks;
+        this.aShare = aShare;
+        this.bShare = bShare;
+        this.xVariation = xVariation;
+        this.yVariation = yVariation;
+    }
+
+    @Scheduled(cron = "${inventory.classification.cron:0 0 4 * * MON}")
+    public int classify() {
+        return classify(LocalDate.now());
+    }
+
+    //classifies on the full weeks before today; returns the number of products with sales in the window
+    public int classify(LocalDate today) {
+        long started = System.nanoTime();
+        LocalDate from = today.minusWeeks(weeks);
+        SalesStats stats = readStats(from, today);
+
+        Map<AbcClass, Map<XyzClass, List<Long>>> classes = new EnumMap<>(AbcClass.class);
+        AbcClass[] abc = abcClasses(stats);
+        for (int i = 0; i < stats.size; i++) {
+            classes.computeIfAbsent(abc[i], c -> new EnumMap<>(XyzClass.class))
+                    .computeIfAbsent(xyzClass(stats.variation[i]), c -> new ArrayList<>())
+                    .add(stats.productIds[i]);
+        }
+
+        int changed = transactionTemplate.execute(status ->
+                productRepository.classifyUnsold(from.atStartOfDay(), today.atStartOfDay()));
+        for (Map.Entry<AbcClass, Map<XyzClass, List<Long>>> byAbc : classes.entrySet()) {
+            for (Map.Entry<XyzClass, List<Long>> byXyz : byAbc.getValue().entrySet()) {
+                List<Long> ids = byXyz.getValue();
+                for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+                    List<Long> chunk = ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size()));
+                    changed += transactionTemplate.execute(status ->
+                            productRepository.classify(chunk, byAbc.getKey(), byXyz.getKey()));
+                }
+            }
+        }
+        if (changed > 0) catalogVersions.bump(CatalogVersions.Collection.PRODUCTS);
+
+        log.info("Classified {} selling products over {} weeks, {} changed class, in {} ms",
+                stats.size, weeks, changed, (System.nanoTime() - started) / 1_000_000);
+        return stats.size;
+    }
+
+    private SalesStats readStats(LocalDate from, LocalDate to) {
+        long fromDay = from.toEpochDay();
+        SalesStats stats = new SalesStats();
+        readOnlyTemplate.executeWithoutResult(status -> {
+            long[] weeklyUnits = new long[weeks];
+            long currentId = -1;
+            double revenue = 0;
+            //fetched in batches where the driver supports it (MySQL needs useCursorFetch=true on the URL)
+            try (var rows = entityManager.createQuery(DAILY_SALES, Object[].class)
+                    .setParameter("from", from.atStartOfDay())
+                    .setParameter("to", to.atStartOfDay())
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, CHUNK_SIZE)
+                    .getResultStream()) {
+                for (var iterator = rows.iterator(); iterator.hasNext(); ) {
+                    Object[] row = iterator.next();
+                    long productId = (Long) row[0];
+                    if (productId != currentId) {
+                        if (currentId >= 0) stats.add(currentId, revenue, variation(weeklyUnits));
+                        currentId = productId;
+                        revenue = 0;
+                        Arrays.fill(weeklyUnits, 0);
+                    }
+                    int week = (int) ((((LocalDate) row[1]).toEpochDay() - fromDay) / 7);
+                    weeklyUnits[Math.min(week, weeks - 1)] += row[2] == null ? 0 : ((Number) row[2]).longValue();
+                    revenue += row[3] == null ? 0 : ((BigDecimal) row[3]).doubleValue();
+                }
+            }
+            if (currentId >= 0) stats.add(currentId, revenue, variation(weeklyUnits));
+        });
+        return stats;
+    }
+
+    //coefficient of variation over every week of the window, weeks without sales count as zero
+    private static double variation(long[] weeklyUnits) {
+        double mean = 0;
+        for (long units : weeklyUnits) mean += units;
+        mean /= weeklyUnits.length;
+        if (mean == 0) return Double.POSITIVE_INFINITY;
+        double variance = 0;
+        for (long units : weeklyUnits) variance += (units - mean) * (units - mean);
+        return Math.sqrt(variance / weeklyUnits.length) / mean;
+    }
+
+    //a product is A while the revenue ranked before it is under the A share, so the product crossing the line is still A
+    private AbcClass[] abcClasses(SalesStats stats) {
+        double total = 0;
+        for (int i = 0; i < stats.size; i++) total += stats.revenue[i];
+
+        AbcClass[] classes = new AbcClass[stats.size];
+        int[] byRevenue = IntStream.range(0, stats.size)
+                .boxed()
+                .sorted((a, b) -> Double.compare(stats.revenue[b], stats.revenue[a]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        double before = 0;
+        for (int i : byRevenue) {
+            double share = total > 0 ? before / total : 1;
+            classes[i] = stats.revenue[i] <= 0 ? AbcClass.C
+                    : share < aShare ? AbcClass.A
+                    : share < bShare ? AbcClass.B
+                    : AbcClass.C;
+            before += stats.revenue[i];
+        }
+        return classes;
+    }
+
+    private XyzClass xyzClass(double variation) {
+        return variation <= xVariation ? XyzClass.X
+                : variation <= yVariation ? XyzClass.Y
+                : XyzClass.Z;
+    }
+
+    private static final class SalesStats {
+        long[] productIds = new long[1024];
+        double[] revenue = new double[1024];
+        double[] variation = new double[1024];
+        int size;
+
+        void add(long productId, double productRevenue, double productVariation) {
+            if (size == productIds.length) {
+                productIds = Arrays.copyOf(productIds, size * 2);
+                revenue = Arrays.copyOf(revenue, size * 2);
+                variation = Arrays.copyOf(variation, size * 2);
+            }
+            productIds[size] = productId;
+            revenue[size] = productRevenue;
+            variation[size] = productVariation;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.entity.StockLevel;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.StockLevelRepository;
+import com.teckiz.InventorySystem.repository.WarehouseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * Moves stock in and out of a warehouse. The location row and the product total change in one
+ * database transaction through conditional updates, so they never drift apart and neither can go negative.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocationStockWriter {
+
+    private final StockLevelRepository stockLevelRepository;
+    private final ProductRepository productRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public void adjust(Long productId, Long warehouseId, int delta) {
+        if (delta > 0) ensureStockRow(productId, warehouseId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (stockLevelRepository.addQuantity(productId, warehouseId, delta) == 0) {
+                throw new InvalidStockOperationException("Not enough stock at this warehouse");
+            }
+            if (productRepository.addStock(productId, delta) == 0) {
+                throw new InvalidStockOperationException("Not enough stock");
+            }
+        });
+    }
+
+    //stock arriving for many products at once, all in one database transaction (joined if the caller has one);
+    //rows are updated in product id order so two deliveries can't deadlock. Without a warehouse only the totals move.
+    public void receiveAll(Long warehouseId, SortedMap<Long, Integer> quantities) {
+        adjustAll(warehouseId, quantities);
+    }
+
+    //like receiveAll, but deltas may be negative; one that would take a location or total below zero fails the whole batch
+    public void adjustAll(Long warehouseId, SortedMap<Long, Integer> deltas) {
+        if (warehouseId != null) prepareLocations(deltas.keySet(), warehouseId);
+
+        transactionTemplate.executeWithoutResult(status -> deltas.forEach((productId, delta) -> {
+            if (warehouseId != null && stockLevelRepository.addQuantity(productId, warehouseId, delta) == 0) {
+                throw new InvalidStockOperationException("Not enough stock of product " + productId + " at this warehouse");
+            }
+            if (productRepository.addStock(productId, delta) == 0) {
+                throw new InvalidStockOperationException("Not enough stock of product " + productId);
+            }
+        }));
+    }
+
+    //moves stock between locations, the product total is unchanged
+    public void transfer(Long productId, Long fromWarehouseId, Long toWarehouseId, int quantity) {
+        ensureStockRow(productId, toWarehouseId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            //touch the two rows in id order so opposite transfers can't deadlock
+            if (fromWarehouseId < toWarehouseId) {
+                takeFrom(productId, fromWarehouseId, quantity);
+                stockLevelRepository.addQuantity(productId, toWarehouseId, quantity);
+            } else {
+                stockLevelRepository.addQuantity(productId, toWarehouseId, quantity);
+                takeFrom(productId, fromWarehouseId, quantity);
+            }
+        });
+    }
+
+    //stock that is already counted in the product total, recorded at its first location
+    public void placeOpeningStock(Long productId, Long warehouseId, int quantity) {
+        if (quantity <= 0) return;
+        stockLevelRepository.save(StockLevel.builder()
+                .product(productRepository.getReferenceById(productId))
+                .warehouse(warehouseRepository.getReferenceById(warehouseId))
+                .quantity(quantity)
+                .build());
+    }
+
+    private void takeFrom(Long productId, Long warehouseId, int quantity) {
+        if (stockLevelRepository.addQuantity(productId, warehouseId, -quantity) == 0) {
+            throw new InvalidStockOperationException("Not enough stock at the source warehouse");
+        }
+    }
+
+    //creates missing location rows, one lookup for the whole batch; a caller that wraps receiveAll in its own
+    //transaction calls this first, so a lost insert race can't roll that transaction back
+    public void prepareLocations(Collection<Long> productIds, Long warehouseId) {
+        Set<Long> existing = new HashSet<>(stockLevelRepository.findProductIdsAtWarehouse(warehouseId, productIds));
+        for (Long productId : productIds) {
+            if (!existing.contains(productId)) ensureStockRow(productId, warehouseId);
+        }
+    }
+
+    private void ensureStockRow(Long productId, Long warehouseId) {
+        if (stockLevelRepository.existsByProductIdAndWarehouseId(productId, warehouseId)) return;
+        try {
+            stockLevelRepository.save(StockLevel.builder()
+                    .product(productRepository.getReferenceById(productId))
+                    .warehouse(warehouseRepository.getReferenceById(warehouseId))
+                    .quantity(0)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            //another writer created the row first, the update below will find it
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.exceptions.ConcurrentUpdateException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Re-runs a read-modify-write block when another writer bumped the entity version first.
+ * Backoff is exponential with full jitter so colliding writers spread out instead of colliding again.
+ */
+@Component
+@Slf4j
+public class OptimisticRetryExecutor {
+
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public OptimisticRetryExecutor(
+            @Value("${inventory.stock.retry.max-attempts:5}") int maxAttempts,
+            @Value("${inventory.stock.retry.base-backoff-ms:5}") long baseBackoffMillis,
+            @Value("${inventory.stock.retry.max-backoff-ms:200}") long maxBackoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Retry max attempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    //the action receives the 1-based attempt number so it can reuse an already loaded entity on the first try
+    public <T> T execute(String operation, IntFunction<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.apply(attempt);
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("{} gave up after {} conflicting attempts", operation, attempt);
+                    throw new ConcurrentUpdateException("Product was modified concurrently, please retry");
+                }
+                log.debug("{} hit a version conflict on attempt {}, retrying", operation, attempt);
+                backoff(operation, attempt);
+            }
+        }
+    }
+
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+
+    private void backoff(String operation, int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt, 20));
+        if (ceiling <= 0) return;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while waiting to retry " + operation);
+        }
+    }
+}
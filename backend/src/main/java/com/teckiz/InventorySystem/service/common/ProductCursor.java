@@ -0,0 +1,77 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.enums.ProductSortField;
+import com.teckiz.InventorySystem.exceptions.InvalidSearchRequestException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row on a catalog page: its sort value plus the id that breaks ties.
+ * Handed to clients as an opaque url-safe token; the sort and direction are part of it,
+ * so a token from one ordering can't be replayed against another.
+ */
+public final class ProductCursor {
+
+    private final ProductSortField sortBy;
+    private final boolean ascending;
+    private final Comparable<?> value;
+    private final long id;
+
+    public ProductCursor(ProductSortField sortBy, boolean ascending, Comparable<?> value, long id) {
+        this.sortBy = sortBy;
+        this.ascending = ascending;
+        this.value = value;
+        this.id = id;
+    }
+
+    public ProductSortField getSortBy() {
+        return sortBy;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public Comparable<?> getValue() {
+        return value;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = sortBy.name() + "|" + (ascending ? "A" : "D") + "|" + id + "|" + asText(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token, ProductSortField sortBy, boolean ascending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            //the name is last and may itself contain the separator
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4
+                    || ProductSortField.valueOf(parts[0]) != sortBy
+                    || !parts[1].equals(ascending ? "A" : "D")) {
+                throw new InvalidSearchRequestException("Cursor does not belong to this sort order");
+            }
+            return new ProductCursor(sortBy, ascending, parseValue(sortBy, parts[3]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchRequestException("Invalid cursor");
+        }
+    }
+
+    private static Comparable<?> parseValue(ProductSortField sortBy, String text) {
+        return switch (sortBy) {
+            case NAME -> text;
+            case PRICE -> new BigDecimal(text);
+            case STOCK -> Integer.valueOf(text);
+        };
+    }
+
+    private static String asText(Comparable<?> value) {
+        return value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value);
+    }
+}
@@ -0,0 +1,123 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Completes returns to supplier that are still PROCESSING once the confirmation timeout has passed,
+ * so a return no longer waits for someone to send the status update by hand.
+ * Due ids are read in keyset pages; each page is handed to a small worker pool and moved with
+ * one locking select and one UPDATE. A return cancelled in the meantime is left alone.
+ */
+@Component
+@Slf4j
+public class ReturnWorkflow {
+
+    private static final EnumSet<TransactionStatus> IN_FLIGHT = EnumSet.of(TransactionStatus.PROCESSING);
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionStatusWriter transactionStatusWriter;
+    private final TransactionTemplate readOnlyTemplate;
+    private final long completeAfterHours;
+    private final int batchSize;
+    private final ExecutorService workers;
+
+    //a manual run and the scheduled one must not hand out the same pages twice
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReturnWorkflow(
+            TransactionRepository transactionRepository,
+            TransactionStatusWriter transactionStatusWriter,
+            TransactionTemplate transactionTemplate,
+            @Value("${inventory.returns.complete-after-hours:48}") long completeAfterHours,
+            @Value("${inventory.returns.batch-size:500}") int batchSize,
+            @Value("${inventory.returns.workers:2}") int workers) {
+        if (completeAfterHours < 0 || batchSize < 1 || workers < 1) {
+            throw new IllegalArgumentException("Return workflow needs complete-after-hours >= 0, batch-size and workers >= 1");
+        }
+        this.transactionRepository = transactionRepository;
+        this.transactionStatusWriter = transactionStatusWriter;
+        this.readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTemplate.setReadOnly(true);
+        this.completeAfterHours = completeAfterHours;
+        this.batchSize = batchSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "return-workflow-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(cron = "${inventory.returns.cron:0 */5 * * * *}")
+    public int completeDueReturns() {
+        return completeDueReturns(LocalDateTime.now());
+    }
+
+    //returns the number of returns completed; a failed page stays PROCESSING and is picked up by the next run
+    public int completeDueReturns(LocalDateTime now) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Return workflow already running, skipping");
+            return 0;
+        }
+        try {
+            long started = System.nanoTime();
+            LocalDateTime dueBefore = now.minusHours(completeAfterHours);
+            List<Future<Integer>> pages = new ArrayList<>();
+            long afterId = 0;
+            while (true) {
+                long lastId = afterId;
+                List<Long> ids = readOnlyTemplate.execute(status -> transactionRepository.findIdsInStatusCreatedBefore(
+                        TransactionType.RETURN_TO_SUPPLIER, TransactionStatus.PROCESSING, dueBefore, lastId,
+                        PageRequest.of(0, batchSize)));
+                if (ids.isEmpty()) break;
+                pages.add(workers.submit(() -> transactionStatusWriter.transition(ids, IN_FLIGHT, TransactionStatus.COMPLETED)));
+                if (ids.size() < batchSize) break;
+                afterId = ids.get(ids.size() - 1);
+            }
+
+            int completed = 0;
+            for (Future<Integer> page : pages) {
+                try {
+                    completed += page.get();
+                } catch (ExecutionException e) {
+                    log.warn("Completing a page of returns failed, it is retried on the next run", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (completed > 0) {
+                log.info("Completed {} returns to supplier in {} pages in {} ms",
+                        completed, pages.size(), (System.nanoTime() - started) / 1_000_000);
+            }
+            return completed;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
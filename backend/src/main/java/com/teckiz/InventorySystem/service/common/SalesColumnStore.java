@@ -0,0 +1,409 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.dto.SalesAggregateDTO;
+import com.teckiz.InventorySystem.dto.SalesQuery;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.enums.SalesDimension;
+import com.teckiz.InventorySystem.enums.TimeBucket;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory column store of transactions for ad-hoc grouped aggregations, so analytical scans never reach MySQL.
+ * Rows live in fixed-size segments of primitive arrays; a segment is never moved once allocated,
+ * so a query reads each segment's published row count and scans without taking the writers' lock.
+ * Loaded from the last retain-days of history (through the read-only, replica-routed path) when the application
+ * is ready, then fed by TransactionServiceImpl as each movement is saved and by a poll of rows committed or
+ * changed since, so movements and status changes made on other instances show up within a poll interval.
+ * Once every row of the oldest segment is past retain-days the segment is dropped. Contents are rebuilt on every start.
+ */
+@Component
+@Slf4j
+public class SalesColumnStore {
+
+    private static final int SEGMENT_BITS = 16;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final byte CANCELED = (byte) TransactionStatus.CANCELED.ordinal();
+    //a row whose commit landed a little after its updated_at is still picked up by the next poll
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    //history is split between the live table and the archive, both are read; category is the product's current one
+    private static final String HISTORY_QUERY =
+            "SELECT t.id, t.createdAt, t.transactionType, t.status, t.product.id, p.category.id, " +
+            "t.supplier.id, t.user.id, t.totalProducts, t.totalPrice " +
+            "FROM %s t LEFT JOIN t.product p WHERE t.createdAt >= :since";
+    private static final String CHANGES_QUERY =
+            "SELECT t.id, t.createdAt, t.transactionType, t.status, t.product.id, p.category.id, " +
+            "t.supplier.id, t.user.id, t.totalProducts, t.totalPrice " +
+            "FROM Transaction t LEFT JOIN t.product p WHERE t.updatedAt >= :changedSince AND t.createdAt >= :since";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTemplate;
+    private final int retainDays;
+
+    //oldest first; only the last one takes appends
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    //guarded by this; id to row number, keeps a row from being added twice when the load or a poll overlaps live appends
+    private final IdIndex rowById = new IdIndex();
+    //guarded by this; row numbers count every row ever appended, firstRow is the first one still held
+    private long appended;
+    private long firstRow;
+    private volatile int size;
+    private volatile boolean loaded;
+    private volatile LocalDateTime lastPolled;
+
+    public SalesColumnStore(
+            TransactionTemplate transactionTemplate,
+            @Value("${inventory.analytics.retain-days:400}") int retainDays) {
+        this.readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTemplate.setReadOnly(true);
+        this.retainDays = retainDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        LocalDateTime since = retainedSince();
+        lastPolled = LocalDateTime.now();
+        readOnlyTemplate.executeWithoutResult(status -> {
+            for (String entity : List.of("ArchivedTransaction", "Transaction")) {
+                //streamed so the whole history is never materialised as entities or one big list
+                try (var rows = entityManager.createQuery(String.format(HISTORY_QUERY, entity), Object[].class)
+                        .setParameter("since", since)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+                        .setHint(HibernateHints.HINT_READ_ONLY, true)
+                        .getResultStream()) {
+                    rows.forEach(this::appendRow);
+                }
+                entityManager.clear();
+            }
+        });
+        loaded = true;
+        log.info("Loaded {} transactions into the sales column store in {} ms",
+                size, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    //rows committed or changed since the last look, by this instance or another; rows already held take the new status
+    @Scheduled(initialDelayString = "${inventory.analytics.poll-interval-ms:30000}",
+            fixedDelayString = "${inventory.analytics.poll-interval-ms:30000}")
+    public void poll() {
+        if (!loaded) return;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime changedSince = lastPolled.minus(POLL_OVERLAP);
+        readOnlyTemplate.executeWithoutResult(status -> {
+            try (var rows = entityManager.createQuery(CHANGES_QUERY, Object[].class)
+                    .setParameter("changedSince", changedSince)
+                    .setParameter("since", retainedSince())
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                rows.forEach(row -> {
+                    updateStatus((Long) row[0], (TransactionStatus) row[3]);
+                    appendRow(row);
+                });
+            }
+            entityManager.clear();
+        });
+        lastPolled = now;
+    }
+
+    //drops the oldest segments once all their rows are older than retain-days; the segment taking appends stays
+    @Scheduled(cron = "${inventory.analytics.evict-cron:0 15 0 * * *}")
+    public synchronized void evict() {
+        int cutoff = (int) retainedSince().toLocalDate().toEpochDay();
+        int dropped = 0;
+        while (segments.size() > 1 && segments.get(0).maxDay < cutoff) {
+            Segment oldest = segments.remove(0);
+            for (long id : oldest.ids) {
+                rowById.remove(id);
+            }
+            firstRow += SEGMENT_SIZE;
+            size -= SEGMENT_SIZE;
+            dropped++;
+        }
+        if (dropped > 0) {
+            log.info("Dropped {} sales column store segments older than {} days, {} rows left", dropped, retainDays, size);
+        }
+    }
+
+    public void append(Transaction transaction) {
+        Long categoryId = transaction.getProduct() != null && transaction.getProduct().getCategory() != null
+                ? transaction.getProduct().getCategory().getId()
+                : null;
+        append(transaction.getId(),
+                transaction.getCreatedAt() != null ? transaction.getCreatedAt() : LocalDateTime.now(),
+                transaction.getTransactionType(),
+                transaction.getStatus(),
+                transaction.getProduct() != null ? transaction.getProduct().getId() : null,
+                categoryId,
+                transaction.getSupplier() != null ? transaction.getSupplier().getId() : null,
+                transaction.getUser() != null ? transaction.getUser().getId() : null,
+                transaction.getTotalProducts(),
+                transaction.getTotalPrice());
+    }
+
+    public synchronized void append(long id, LocalDateTime createdAt, TransactionType type, TransactionStatus status,
+                                    Long productId, Long categoryId, Long supplierId, Long userId,
+                                    Integer units, BigDecimal revenue) {
+        if (type == null || id == IdIndex.FREE || rowById.get(id) >= 0) return;
+        long row = appended;
+        int i = (int) (row & SEGMENT_MASK);
+        if (i == 0) {
+            segments.add(new Segment());
+        }
+        Segment segment = segments.get(segments.size() - 1);
+        int day = (int) createdAt.toLocalDate().toEpochDay();
+        segment.ids[i] = id;
+        segment.days[i] = day;
+        segment.maxDay = Math.max(segment.maxDay, day);
+        segment.types[i] = (byte) type.ordinal();
+        segment.statuses[i] = (byte) (status != null ? status : TransactionStatus.COMPLETED).ordinal();
+        segment.productIds[i] = productId != null ? productId : 0;
+        segment.categoryIds[i] = categoryId != null ? categoryId : 0;
+        segment.supplierIds[i] = supplierId != null ? supplierId : 0;
+        segment.userIds[i] = userId != null ? userId : 0;
+        segment.units[i] = units != null ? units : 0;
+        segment.revenueCents[i] = revenue != null ? revenue.movePointRight(2).longValue() : 0;
+        rowById.put(id, row);
+        appended = row + 1;
+        size++;
+        //publishes the row: a query that reads the new count also sees every column written above
+        segment.count = i + 1;
+    }
+
+    public synchronized void updateStatus(long id, TransactionStatus status) {
+        long row = rowById.get(id);
+        if (row < 0 || status == null) return;
+        segments.get((int) ((row - firstRow) >>> SEGMENT_BITS)).statuses[(int) (row & SEGMENT_MASK)] = (byte) status.ordinal();
+    }
+
+    //a bulk status change takes the lock once for the whole batch
+    public synchronized void updateStatus(Collection<Long> ids, TransactionStatus status) {
+        for (Long id : ids) {
+            updateStatus(id, status);
+        }
+    }
+
+    public List<SalesAggregateDTO> aggregate(SalesQuery query) {
+        int fromDay = query.getFrom() != null ? (int) query.getFrom().toEpochDay() : Integer.MIN_VALUE;
+        int toDay = query.getTo() != null ? (int) query.getTo().toEpochDay() : Integer.MAX_VALUE;
+        int type = query.getType() != null ? query.getType().ordinal() : -1;
+        long productId = query.getProductId() != null ? query.getProductId() : 0;
+        long categoryId = query.getCategoryId() != null ? query.getCategoryId() : 0;
+        long supplierId = query.getSupplierId() != null ? query.getSupplierId() : 0;
+        long userId = query.getUserId() != null ? query.getUserId() : 0;
+        boolean byType = query.getGroupBy().contains(SalesDimension.TYPE);
+        boolean byProduct = query.getGroupBy().contains(SalesDimension.PRODUCT);
+        boolean byCategory = query.getGroupBy().contains(SalesDimension.CATEGORY);
+        boolean bySupplier = query.getGroupBy().contains(SalesDimension.SUPPLIER);
+        boolean byUser = query.getGroupBy().contains(SalesDimension.USER);
+        TimeBucket bucket = query.getBucket();
+
+        Map<GroupKey, long[]> groups = new HashMap<>();
+        //the iterator works on a snapshot, so a segment dropped meanwhile is still scanned whole
+        for (Segment s : segments) {
+            int limit = s.count;
+            for (int i = 0; i < limit; i++) {
+                //cheapest and most selective columns first
+                int day = s.days[i];
+                if (day < fromDay || day > toDay) continue;
+                if (type >= 0 && s.types[i] != type) continue;
+                if (!query.isIncludeCancelled() && s.statuses[i] == CANCELED) continue;
+                if (productId != 0 && s.productIds[i] != productId) continue;
+                if (categoryId != 0 && s.categoryIds[i] != categoryId) continue;
+                if (supplierId != 0 && s.supplierIds[i] != supplierId) continue;
+                if (userId != 0 && s.userIds[i] != userId) continue;
+
+                GroupKey key = new GroupKey(
+                        byType ? s.types[i] : -1,
+                        byProduct ? s.productIds[i] : 0,
+                        byCategory ? s.categoryIds[i] : 0,
+                        bySupplier ? s.supplierIds[i] : 0,
+                        byUser ? s.userIds[i] : 0,
+                        bucket != null ? bucketStart(bucket, day) : Integer.MIN_VALUE);
+                long[] totals = groups.computeIfAbsent(key, k -> new long[3]);
+                totals[0]++;
+                totals[1] += s.units[i];
+                totals[2] += s.revenueCents[i];
+            }
+        }
+
+        List<SalesAggregateDTO> result = new ArrayList<>(groups.size());
+        groups.forEach((key, totals) -> result.add(SalesAggregateDTO.builder()
+                .type(key.type() >= 0 ? TYPES[key.type()] : null)
+                .productId(byProduct ? nullIfNone(key.productId()) : null)
+                .categoryId(byCategory ? nullIfNone(key.categoryId()) : null)
+                .supplierId(bySupplier ? nullIfNone(key.supplierId()) : null)
+                .userId(byUser ? nullIfNone(key.userId()) : null)
+                .bucket(bucket != null ? LocalDate.ofEpochDay(key.day()) : null)
+                .transactions(totals[0])
+                .units(totals[1])
+                .revenue(BigDecimal.valueOf(totals[2], 2))
+                .build()));
+        result.sort(Comparator.comparing(SalesAggregateDTO::getBucket, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(SalesAggregateDTO::getRevenue, Comparator.reverseOrder()));
+        return result;
+    }
+
+    public int getRowCount() {
+        return size;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    private LocalDateTime retainedSince() {
+        return LocalDate.now().minusDays(retainDays).atStartOfDay();
+    }
+
+    private void appendRow(Object[] row) {
+        if (row[1] == null) return;
+        append((Long) row[0],
+                (LocalDateTime) row[1],
+                (TransactionType) row[2],
+                (TransactionStatus) row[3],
+                (Long) row[4],
+                (Long) row[5],
+                (Long) row[6],
+                (Long) row[7],
+                (Integer) row[8],
+                (BigDecimal) row[9]);
+    }
+
+    //weeks start on Monday; epoch day 0 was a Thursday
+    private static int bucketStart(TimeBucket bucket, int day) {
+        return switch (bucket) {
+            case DAY -> day;
+            case WEEK -> day - Math.floorMod(day + 3, 7);
+            case MONTH -> (int) LocalDate.ofEpochDay(day).withDayOfMonth(1).toEpochDay();
+        };
+    }
+
+    private static Long nullIfNone(long id) {
+        return id == 0 ? null : id;
+    }
+
+    private record GroupKey(int type, long productId, long categoryId, long supplierId, long userId, int day) {
+    }
+
+    private static final class Segment {
+        final long[] ids = new long[SEGMENT_SIZE];
+        final int[] days = new int[SEGMENT_SIZE];
+        final byte[] types = new byte[SEGMENT_SIZE];
+        final byte[] statuses = new byte[SEGMENT_SIZE];
+        final long[] productIds = new long[SEGMENT_SIZE];
+        final long[] categoryIds = new long[SEGMENT_SIZE];
+        final long[] supplierIds = new long[SEGMENT_SIZE];
+        final long[] userIds = new long[SEGMENT_SIZE];
+        final int[] units = new int[SEGMENT_SIZE];
+        final long[] revenueCents = new long[SEGMENT_SIZE];
+        //written under the store's lock
+        int maxDay = Integer.MIN_VALUE;
+        volatile int count;
+    }
+
+    //open addressing with linear probing over two primitive arrays, no boxed key, value or node per row
+    private static final class IdIndex {
+        //transaction ids come from IDENTITY columns and start at 1, so 0 marks a free slot
+        static final long FREE = 0;
+
+        private long[] ids = new long[1 << 10];
+        private long[] rows = new long[1 << 10];
+        private int size;
+
+        //-1 when the id isn't held
+        long get(long id) {
+            int mask = ids.length - 1;
+            for (int slot = home(id, mask); ids[slot] != FREE; slot = (slot + 1) & mask) {
+                if (ids[slot] == id) return rows[slot];
+            }
+            return -1;
+        }
+
+        void put(long id, long row) {
+            //at most half the slots are taken, so probes stay short and a miss always reaches a free slot
+            if ((size + 1) * 2L > ids.length) grow();
+            int mask = ids.length - 1;
+            int slot = home(id, mask);
+            while (ids[slot] != FREE && ids[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            if (ids[slot] == FREE) size++;
+            ids[slot] = id;
+            rows[slot] = row;
+        }
+
+        //backward-shift deletion keeps every probe chain unbroken without tombstones
+        void remove(long id) {
+            int mask = ids.length - 1;
+            int gap = home(id, mask);
+            while (ids[gap] != id) {
+                if (ids[gap] == FREE) return;
+                gap = (gap + 1) & mask;
+            }
+            int next = (gap + 1) & mask;
+            while (ids[next] != FREE) {
+                int home = home(ids[next], mask);
+                boolean stays = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+                if (!stays) {
+                    ids[gap] = ids[next];
+                    rows[gap] = rows[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            ids[gap] = FREE;
+            size--;
+        }
+
+        private void grow() {
+            long[] oldIds = ids;
+            long[] oldRows = rows;
+            ids = new long[oldIds.length << 1];
+            rows = new long[oldIds.length << 1];
+            int mask = ids.length - 1;
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldIds[i] == FREE) continue;
+                int slot = home(oldIds[i], mask);
+                while (ids[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                ids[slot] = oldIds[i];
+                rows[slot] = oldRows[i];
+            }
+        }
+
+        //ids are mostly consecutive, the multiply spreads them over the whole table
+        private static int home(long id, int mask) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+}
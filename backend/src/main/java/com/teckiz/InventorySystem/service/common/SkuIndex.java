@@ -0,0 +1,282 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.dto.ProductLookupDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-memory index from SKU (what the counter scanners read off the barcode) to product id and price,
+ * so most lookups never reach MySQL. Open addressing with linear probing over parallel primitive arrays,
+ * keyed by a 64-bit hash of the trimmed, upper-cased SKU; the SKU itself is kept to confirm a hit.
+ * Readers take no lock: they probe under an optimistic stamp and retry under the read lock if a write got in between.
+ * Loaded when the application is ready and kept current by ProductServiceImpl on each product write here.
+ * Writes made on another instance are not seen, so an entry is only answered for max-age-ms after it was last
+ * read from the database; past that it counts as a miss and ProductServiceImpl revalidates it.
+ * Contents are rebuilt on every start.
+ */
+@Component
+@Slf4j
+public class SkuIndex {
+
+    private static final int MIN_CAPACITY = 1 << 10;
+    //at most half the slots are taken, so probes stay short and a miss always reaches an empty slot
+    private static final int MAX_LOAD_PERCENT = 50;
+    //product ids come from IDENTITY columns and start at 1, so 0 marks a free slot
+    private static final long FREE = 0;
+    private static final long NO_PRICE = Long.MIN_VALUE;
+
+    private static final String LOAD_QUERY = "SELECT p.id, p.sku, p.price FROM Product p WHERE p.sku IS NOT NULL";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTemplate;
+    private final long maxAgeMillis;
+    private final StampedLock lock = new StampedLock();
+
+    //replaced whole when the table grows; slots are only written under the write lock
+    private volatile Table table = new Table(MIN_CAPACITY);
+    private int size;
+    private volatile boolean loaded;
+
+    public SkuIndex(
+            TransactionTemplate transactionTemplate,
+            @Value("${inventory.catalog.sku-index.max-age-ms:60000}") long maxAgeMillis) {
+        this.readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTemplate.setReadOnly(true);
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        readOnlyTemplate.executeWithoutResult(status -> {
+            try (var rows = entityManager.createQuery(LOAD_QUERY, Object[].class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                rows.forEach(row -> put((Long) row[0], (String) row[1], (BigDecimal) row[2]));
+            }
+            entityManager.clear();
+        });
+        loaded = true;
+        log.info("Loaded {} SKUs into the lookup index in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    //until the load has finished a miss says nothing, callers check the database instead
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    //null when the SKU isn't indexed or its entry is older than max-age
+    public ProductLookupDTO find(String sku) {
+        String key = normalize(sku);
+        if (key == null) return null;
+        long hash = hash(key);
+        long freshAfter = System.currentTimeMillis() - maxAgeMillis;
+
+        long stamp = lock.tryOptimisticRead();
+        ProductLookupDTO found = probe(table, key, hash, freshAfter);
+        if (lock.validate(stamp)) return found;
+
+        stamp = lock.readLock();
+        try {
+            return probe(table, key, hash, freshAfter);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    //adds the product or moves it to a new price; a SKU taken over by another product is re-pointed.
+    //callers pass what they just read or wrote, so the entry counts as fresh from now
+    public void put(long productId, String sku, BigDecimal price) {
+        String key = normalize(sku);
+        if (key == null || productId == FREE) return;
+        long hash = hash(key);
+        long cents = price != null ? price.movePointRight(2).longValue() : NO_PRICE;
+        long now = System.currentTimeMillis();
+
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            int slot = slotOf(t, key, hash);
+            if (t.ids[slot] == FREE) {
+                if ((size + 1) * 100L > (long) t.capacity() * MAX_LOAD_PERCENT) {
+                    t = grow(t);
+                    slot = slotOf(t, key, hash);
+                }
+                size++;
+            }
+            t.hashes[slot] = hash;
+            t.skus[slot] = sku.trim();
+            t.cents[slot] = cents;
+            t.verified[slot] = now;
+            t.ids[slot] = productId;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    //only drops the entry while it still points at this product
+    public void remove(long productId, String sku) {
+        String key = normalize(sku);
+        if (key == null) return;
+        long hash = hash(key);
+
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            int slot = slotOf(t, key, hash);
+            if (t.ids[slot] != productId) return;
+            deleteSlot(t, slot);
+            size--;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    //for a SKU the database no longer has (deleted, or renamed elsewhere); an entry refreshed meanwhile stays
+    public void removeStale(String sku) {
+        String key = normalize(sku);
+        if (key == null) return;
+        long hash = hash(key);
+        long freshAfter = System.currentTimeMillis() - maxAgeMillis;
+
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            int slot = slotOf(t, key, hash);
+            if (t.ids[slot] == FREE || t.verified[slot] >= freshAfter) return;
+            deleteSlot(t, slot);
+            size--;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    //a torn read under the optimistic stamp is thrown away by validate, so the probe only has to terminate
+    private static ProductLookupDTO probe(Table t, String key, long hash, long freshAfter) {
+        int mask = t.capacity() - 1;
+        int slot = (int) hash & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long id = t.ids[slot];
+            if (id == FREE) return null;
+            if (t.hashes[slot] == hash && key.equalsIgnoreCase(t.skus[slot])) {
+                if (t.verified[slot] < freshAfter) return null;
+                long cents = t.cents[slot];
+                return new ProductLookupDTO(t.skus[slot], id, cents == NO_PRICE ? null : BigDecimal.valueOf(cents, 2));
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    //the slot holding the key, else the free slot where it would go
+    private static int slotOf(Table t, String key, long hash) {
+        int mask = t.capacity() - 1;
+        int slot = (int) hash & mask;
+        while (t.ids[slot] != FREE && !(t.hashes[slot] == hash && key.equalsIgnoreCase(t.skus[slot]))) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    //backward-shift deletion keeps every probe chain unbroken without tombstones
+    private static void deleteSlot(Table t, int slot) {
+        int mask = t.capacity() - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (t.ids[next] != FREE) {
+            int home = (int) t.hashes[next] & mask;
+            //the entry at next may fill the gap unless its home lies cyclically in (gap, next]
+            boolean stays = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+            if (!stays) {
+                t.hashes[gap] = t.hashes[next];
+                t.skus[gap] = t.skus[next];
+                t.cents[gap] = t.cents[next];
+                t.verified[gap] = t.verified[next];
+                t.ids[gap] = t.ids[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        t.ids[gap] = FREE;
+        t.skus[gap] = null;
+    }
+
+    private Table grow(Table old) {
+        Table grown = new Table(old.capacity() << 1);
+        for (int i = 0; i < old.capacity(); i++) {
+            if (old.ids[i] == FREE) continue;
+            int slot = slotOf(grown, old.skus[i], old.hashes[i]);
+            grown.hashes[slot] = old.hashes[i];
+            grown.skus[slot] = old.skus[i];
+            grown.cents[slot] = old.cents[i];
+            grown.verified[slot] = old.verified[i];
+            grown.ids[slot] = old.ids[i];
+        }
+        table = grown;
+        return grown;
+    }
+
+    //SKUs are unique case-insensitively in MySQL, and scanners may add stray whitespace
+    private static String normalize(String sku) {
+        if (sku == null) return null;
+        String key = sku.trim();
+        return key.isEmpty() ? null : key.toUpperCase(Locale.ROOT);
+    }
+
+    //64-bit FNV-1a with a final mix, so the low bits used for the slot depend on every character
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Table {
+        final long[] hashes;
+        final long[] ids;
+        final long[] cents;
+        //epoch millis the entry was last read from or written to the database
+        final long[] verified;
+        final String[] skus;
+
+        Table(int capacity) {
+            hashes = new long[capacity];
+            ids = new long[capacity];
+            cents = new long[capacity];
+            verified = new long[capacity];
+            skus = new String[capacity];
+        }
+
+        int capacity() {
+            return ids.length;
+        }
+    }
+}
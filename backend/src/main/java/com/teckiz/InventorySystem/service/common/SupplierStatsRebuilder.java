@@ -0,0 +1,68 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.entity.SupplierStats;
+import com.teckiz.InventorySystem.repository.SupplierStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recomputes supplier_stats from the transaction history, hot table and archive together.
+ * Runs weekly to wash out any drift from failed increments; the rows are replaced in one database transaction.
+ * Increments committed while a rebuild runs can be counted twice or not at all until the next run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SupplierStatsRebuilder {
+
+    private final SupplierStatsRepository supplierStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${inventory.suppliers.stats.rebuild-cron:0 15 3 * * SUN}")
+    public int rebuild() {
+        Integer suppliers = transactionTemplate.execute(status -> {
+            Map<Long, SupplierStats> stats = new HashMap<>();
+            merge(stats, supplierStatsRepository.aggregateTransactionHistory());
+            merge(stats, supplierStatsRepository.aggregateArchivedHistory());
+
+            supplierStatsRepository.deleteAllInBatch();
+            supplierStatsRepository.flush();
+            supplierStatsRepository.saveAll(stats.values());
+            return stats.size();
+        });
+        log.info("Rebuilt supplier stats for {} suppliers", suppliers);
+        return suppliers == null ? 0 : suppliers;
+    }
+
+    //row layout follows SupplierStatsRepository.HISTORY_AGGREGATE
+    private void merge(Map<Long, SupplierStats> stats, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            SupplierStats total = stats.computeIfAbsent((Long) row[0], id -> SupplierStats.builder()
+                    .supplierId(id)
+                    .spend(BigDecimal.ZERO)
+                    .build());
+            total.setUnitsPurchased(total.getUnitsPurchased() + asLong(row[1]));
+            total.setUnitsReturned(total.getUnitsReturned() + asLong(row[2]));
+            total.setPurchaseCount(total.getPurchaseCount() + asLong(row[3]));
+            total.setReturnCount(total.getReturnCount() + asLong(row[4]));
+            if (row[5] != null) total.setSpend(total.getSpend().add(new BigDecimal(row[5].toString())));
+            LocalDateTime lastDelivery = (LocalDateTime) row[6];
+            if (lastDelivery != null && (total.getLastDeliveryAt() == null || total.getLastDeliveryAt().isBefore(lastDelivery))) {
+                total.setLastDeliveryAt(lastDelivery);
+            }
+        }
+    }
+
+    private static long asLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,91 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.repository.SupplierStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Folds each committed purchase or return into the supplier's running totals with one conditional update,
+ * so supplier analytics never have to scan the transaction history.
+ * A failure here only skews the totals until SupplierStatsRebuilder recomputes them from history.
+ */
+@Component
+@RequiredArgsConstructor
+public class SupplierStatsWriter {
+
+    private final SupplierStatsRepository supplierStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public void recordPurchase(Long supplierId, int units, BigDecimal spend, LocalDateTime deliveredAt) {
+        BigDecimal amount = spend != null ? spend : BigDecimal.ZERO;
+        LocalDateTime at = deliveredAt != null ? deliveredAt : LocalDateTime.now();
+        applyToRow(supplierId, () -> supplierStatsRepository.addPurchases(supplierId, units, 1, amount, at));
+    }
+
+    public void recordReturn(Long supplierId, int units) {
+        applyToRow(supplierId, () -> supplierStatsRepository.addReturns(supplierId, units, 1));
+    }
+
+    //CANCELED is final (see TransactionTransitions), so a status change can only take movements out of the totals;
+    //a whole batch of cancellations ends up as one decrement per supplier and type
+    public void statusesChanged(Collection<Transaction> transactions, TransactionStatus to) {
+        if (to != TransactionStatus.CANCELED) return;
+
+        Map<Long, Totals> purchases = new HashMap<>();
+        Map<Long, Totals> returns = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getStatus() == TransactionStatus.CANCELED || transaction.getSupplier() == null) continue;
+            Map<Long, Totals> totals = transaction.getTransactionType() == TransactionType.PURCHASE ? purchases
+                    : transaction.getTransactionType() == TransactionType.RETURN_TO_SUPPLIER ? returns
+                    : null;
+            if (totals != null) {
+                totals.computeIfAbsent(transaction.getSupplier().getId(), id -> new Totals()).add(transaction);
+            }
+        }
+
+        purchases.forEach((supplierId, totals) ->
+                update(() -> supplierStatsRepository.addPurchaseTotals(supplierId, -totals.units, -totals.count, totals.spend.negate())));
+        returns.forEach((supplierId, totals) ->
+                update(() -> supplierStatsRepository.addReturns(supplierId, -totals.units, -totals.count)));
+    }
+
+    //suppliers get their row when created; one without (older than the table, or dropped by a rebuild) gets it here
+    private void applyToRow(Long supplierId, IntSupplier increment) {
+        if (update(increment) == 0) {
+            ensureStatsRow(supplierId);
+            update(increment);
+        }
+    }
+
+    private int update(IntSupplier increment) {
+        Integer rows = transactionTemplate.execute(status -> increment.getAsInt());
+        return rows == null ? 0 : rows;
+    }
+
+    private void ensureStatsRow(Long supplierId) {
+        transactionTemplate.executeWithoutResult(status -> supplierStatsRepository.insertIfAbsent(supplierId));
+    }
+
+    private static final class Totals {
+        long units;
+        long count;
+        BigDecimal spend = BigDecimal.ZERO;
+
+        void add(Transaction transaction) {
+            units += transaction.getTotalProducts() != null ? transaction.getTotalProducts() : 0;
+            count++;
+            if (transaction.getTotalPrice() != null) spend = spend.add(transaction.getTotalPrice());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.repository.ArchivedTransactionRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves transactions from closed months into transactions_archive so the hot table only holds
+ * the recent months that search, month listings and user history mostly ask for.
+ * Each batch is copied and deleted in its own database transaction, so an interrupted run just resumes.
+ */
+@Component
+@Slf4j
+public class TransactionArchiver {
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retainMonths;
+    private final int batchSize;
+
+    private final LongAdder archived = new LongAdder();
+
+    public TransactionArchiver(
+            TransactionRepository transactionRepository,
+            ArchivedTransactionRepository archivedTransactionRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${inventory.transactions.archive.retain-months:12}") int retainMonths,
+            @Value("${inventory.transactions.archive.batch-size:1000}") int batchSize) {
+        if (retainMonths < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("Archive retain-months must be >= 0 and batch-size >= 1");
+        }
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retainMonths = retainMonths;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${inventory.transactions.archive.cron:0 30 2 1 * *}")
+    public int archiveClosedMonths() {
+        return archiveBefore(getCutoff(LocalDate.now()));
+    }
+
+    //first day of the oldest month that stays in the hot table; the current month is never archived
+    public LocalDateTime getCutoff(LocalDate today) {
+        return YearMonth.from(today).minusMonths(retainMonths).atDay(1).atStartOfDay();
+    }
+
+    public int archiveBefore(LocalDateTime cutoff) {
+        int total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = transactionRepository.findIdsCreatedBefore(cutoff, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) return 0;
+                archivedTransactionRepository.copyFromTransactions(ids, LocalDateTime.now());
+                return transactionRepository.deleteAllByIdIn(ids);
+            });
+            if (moved == null || moved == 0) break;
+            total += moved;
+            archived.add(moved);
+        }
+        if (total > 0) log.info("Archived {} transactions created before {}", total, cutoff);
+        return total;
+    }
+
+    public long getArchivedCount() {
+        return archived.sum();
+    }
+}
@@ -0,0 +1,95 @@
+package com.teckiz.InventorySystem.service.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the monthly RANGE partitions of a MySQL transactions table in shape (see db/mysql/partition-transactions.sql):
+ * splits p_future so the coming months always have their own partition, and drops month partitions
+ * the archiver has emptied. Only enabled where the table has been partitioned.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.transactions.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class TransactionPartitionMaintainer {
+
+    static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'uuuuMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionArchiver transactionArchiver;
+    private final int monthsAhead;
+
+    public TransactionPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            TransactionArchiver transactionArchiver,
+            @Value("${inventory.transactions.partitioning.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionArchiver = transactionArchiver;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Scheduled(cron = "${inventory.transactions.partitioning.cron:0 45 2 * * *}")
+    public void maintain() {
+        List<String> existing = jdbcTemplate.queryForList(
+                "SELECT partition_name FROM information_schema.partitions " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'transactions' AND partition_name IS NOT NULL",
+                String.class);
+        if (existing.isEmpty()) {
+            log.warn("transactions is not partitioned, run db/mysql/partition-transactions.sql first");
+            return;
+        }
+
+        String split = splitFutureStatement(YearMonth.now(), monthsAhead, existing);
+        if (split != null) jdbcTemplate.execute(split);
+
+        YearMonth cutoff = YearMonth.from(transactionArchiver.getCutoff(LocalDate.now()));
+        for (String partition : existing) {
+            YearMonth month = monthOf(partition);
+            if (month == null || !month.isBefore(cutoff)) continue;
+            Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions PARTITION (" + partition + ")", Integer.class);
+            if (rows != null && rows == 0) {
+                jdbcTemplate.execute("ALTER TABLE transactions DROP PARTITION " + partition);
+                log.info("Dropped archived transactions partition {}", partition);
+            }
+        }
+    }
+
+    //REORGANIZE of an empty p_future only rewrites metadata, so adding months is cheap
+    static String splitFutureStatement(YearMonth current, int monthsAhead, List<String> existing) {
+        //new partitions can only be carved off p_future, i.e. after the last month that already has one
+        YearMonth next = existing.stream().map(TransactionPartitionMaintainer::monthOf)
+                .filter(month -> month != null)
+                .max(YearMonth::compareTo)
+                .map(last -> last.plusMonths(1))
+                .orElse(current);
+        if (next.isBefore(current)) next = current;
+
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = next; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            definitions.add("PARTITION " + month.format(PARTITION_NAME) +
+                    " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        if (definitions.isEmpty()) return null;
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        return "ALTER TABLE transactions REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" + String.join(", ", definitions) + ")";
+    }
+
+    static YearMonth monthOf(String partition) {
+        try {
+            return YearMonth.parse(partition, PARTITION_NAME);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
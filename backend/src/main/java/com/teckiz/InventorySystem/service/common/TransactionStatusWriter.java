@@ -0,0 +1,103 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
+import com.teckiz.InventorySystem.repository.StockCountRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Moves a set of transactions to a new status with one locking select and one UPDATE, whatever the set size.
+ * Rows whose current status doesn't allow the move (see {@link TransactionTransitions}) are skipped, not failed.
+ * Every transaction moved its stock when it was created, so cancelling puts that stock back in the same database
+ * transaction; a batch that would take stock below zero, or touch a warehouse with an open count, fails whole.
+ * Supplier totals and the sales column store follow once the change has committed, once per batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionStatusWriter {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SupplierStatsWriter supplierStatsWriter;
+    private final SalesColumnStore salesColumnStore;
+    private final LocationStockWriter locationStockWriter;
+    private final StockCountRepository stockCountRepository;
+    private final CatalogVersions catalogVersions;
+
+    //returns the number of transactions that moved
+    public int transition(Collection<Long> ids, TransactionStatus to) {
+        return transition(ids, TransactionTransitions.sourcesOf(to), to);
+    }
+
+    //only rows currently in one of the given statuses move, e.g. the status a caller read before deciding
+    public int transition(Collection<Long> ids, Set<TransactionStatus> from, TransactionStatus to) {
+        Set<TransactionStatus> allowed = EnumSet.noneOf(TransactionStatus.class);
+        allowed.addAll(from);
+        allowed.retainAll(TransactionTransitions.sourcesOf(to));
+        if (ids.isEmpty() || allowed.isEmpty()) return 0;
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean cancel = to == TransactionStatus.CANCELED;
+        List<Transaction> moved = transactionTemplate.execute(status -> {
+            List<Transaction> rows = transactionRepository.findAllForStatusChange(ids, allowed);
+            if (!rows.isEmpty()) {
+                transactionRepository.updateStatus(rows.stream().map(Transaction::getId).toList(), to, now);
+                if (cancel) reverseStock(rows);
+            }
+            return rows;
+        });
+        if (cancel && !moved.isEmpty()) catalogVersions.bump(CatalogVersions.Collection.PRODUCTS);
+
+        //the loaded rows still carry the status they had before the update; listeners get the batch at once
+        supplierStatsWriter.statusesChanged(moved, to);
+        salesColumnStore.updateStatus(moved.stream().map(Transaction::getId).toList(), to);
+        return moved.size();
+    }
+
+    //one adjustAll per warehouse, products in id order; null is the product total when no warehouses are set up
+    private void reverseStock(List<Transaction> rows) {
+        Map<Long, SortedMap<Long, Integer>> byWarehouse = new HashMap<>();
+        for (Transaction row : rows) {
+            int effect = stockEffect(row);
+            if (effect == 0 || row.getProduct() == null) continue;
+            Long warehouseId = row.getWarehouse() != null ? row.getWarehouse().getId() : null;
+            byWarehouse.computeIfAbsent(warehouseId, id -> new TreeMap<>())
+                    .merge(row.getProduct().getId(), -effect, Integer::sum);
+        }
+        if (byWarehouse.isEmpty()) return;
+
+        //a count would book the returned stock as variance, as it would a transfer
+        Set<Long> warehouseIds = new HashSet<>(byWarehouse.keySet());
+        boolean unlocated = warehouseIds.remove(null);
+        if ((!warehouseIds.isEmpty() && stockCountRepository.existsOpenAtWarehouses(warehouseIds))
+                || (unlocated && stockCountRepository.existsOpenWithoutWarehouse())) {
+            throw new InvalidStockOperationException("A stock count is open where this stock is kept, post or cancel it first");
+        }
+        byWarehouse.forEach(locationStockWriter::adjustAll);
+    }
+
+    //what the transaction did to stock when it was recorded
+    private static int stockEffect(Transaction transaction) {
+        int quantity = transaction.getTotalProducts() != null ? transaction.getTotalProducts() : 0;
+        if (transaction.getTransactionType() == null) return 0;
+        return switch (transaction.getTransactionType()) {
+            case PURCHASE, ADJUSTMENT -> quantity;
+            case SALE, RETURN_TO_SUPPLIER -> -quantity;
+        };
+    }
+}
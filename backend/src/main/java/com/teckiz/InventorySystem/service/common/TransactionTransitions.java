@@ -0,0 +1,57 @@
+package com.teckiz.InventorySystem.service.common;
+
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.exceptions.InvalidStatusTransitionException;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The status moves a transaction may make: PENDING and PROCESSING move forward or get cancelled,
+ * a completed transaction can still be cancelled, and CANCELED is final. A cancelled transaction counts as never
+ * having happened, everywhere: TransactionStatusWriter puts back the stock it moved, and the supplier totals,
+ * forecasts, classification and sales store leave it out.
+ * {@link #sourcesOf} lets set-based updates check the move in their WHERE clause instead of per row.
+ */
+public final class TransactionTransitions {
+
+    private static final Map<TransactionStatus, Set<TransactionStatus>> TARGETS = new EnumMap<>(TransactionStatus.class);
+    private static final Map<TransactionStatus, Set<TransactionStatus>> SOURCES = new EnumMap<>(TransactionStatus.class);
+
+    static {
+        TARGETS.put(TransactionStatus.PENDING, EnumSet.of(TransactionStatus.PROCESSING, TransactionStatus.COMPLETED, TransactionStatus.CANCELED));
+        TARGETS.put(TransactionStatus.PROCESSING, EnumSet.of(TransactionStatus.COMPLETED, TransactionStatus.CANCELED));
+        TARGETS.put(TransactionStatus.COMPLETED, EnumSet.of(TransactionStatus.CANCELED));
+        TARGETS.put(TransactionStatus.CANCELED, EnumSet.noneOf(TransactionStatus.class));
+
+        for (TransactionStatus to : TransactionStatus.values()) {
+            Set<TransactionStatus> sources = EnumSet.noneOf(TransactionStatus.class);
+            TARGETS.forEach((from, targets) -> {
+                if (targets.contains(to)) sources.add(from);
+            });
+            SOURCES.put(to, Collections.unmodifiableSet(sources));
+        }
+    }
+
+    private TransactionTransitions() {
+    }
+
+    public static boolean isAllowed(TransactionStatus from, TransactionStatus to) {
+        //rows written before statuses were tracked may have none, they can move anywhere
+        return from == null || TARGETS.get(from).contains(to);
+    }
+
+    public static void requireAllowed(TransactionStatus from, TransactionStatus to) {
+        if (!isAllowed(from, to)) {
+            throw new InvalidStatusTransitionException("A " + from.name().toLowerCase() + " transaction cannot be moved to " + to);
+        }
+    }
+
+    //every status a transaction may be in for the move to the given one to be allowed
+    public static Set<TransactionStatus> sourcesOf(TransactionStatus to) {
+        return SOURCES.get(to);
+    }
+}
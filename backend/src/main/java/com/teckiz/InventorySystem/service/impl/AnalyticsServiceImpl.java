@@ -0,0 +1,118 @@
+package com.teckiz.InventorySystem.service.impl;
+
+import com.teckiz.InventorySystem.dto.ReorderLineDTO;
+import com.teckiz.InventorySystem.dto.ReorderSuggestionDTO;
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.SalesAggregateDTO;
+import com.teckiz.InventorySystem.dto.SalesQuery;
+import com.teckiz.InventorySystem.exceptions.InvalidSearchRequestException;
+import com.teckiz.InventorySystem.repository.ProductForecastRepository;
+import com.teckiz.InventorySystem.service.AnalyticsService;
+import com.teckiz.InventorySystem.service.common.DemandForecaster;
+import com.teckiz.InventorySystem.service.common.InventoryClassifier;
+import com.teckiz.InventorySystem.service.common.SalesColumnStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final SalesColumnStore salesColumnStore;
+    private final DemandForecaster demandForecaster;
+    private final InventoryClassifier inventoryClassifier;
+    private final ProductForecastRepository productForecastRepository;
+
+    @Value("${inventory.forecast.lead-time-days:7}")
+    private int leadTimeDays;
+
+    @Value("${inventory.forecast.cover-days:14}")
+    private int coverDays;
+
+    //answered from the in-memory column store, no database access
+    @Override
+    public Response aggregateSales(SalesQuery salesQuery) {
+
+        if (salesQuery.getFrom() != null && salesQuery.getTo() != null && salesQuery.getFrom().isAfter(salesQuery.getTo())) {
+            throw new InvalidSearchRequestException("From date cannot be after to date");
+        }
+
+        List<SalesAggregateDTO> aggregates = salesColumnStore.aggregate(salesQuery);
+
+        return Response.builder()
+                .status(200)
+                .message(salesColumnStore.isLoaded() ? "success" : "success, history still loading")
+                .salesAggregates(aggregates)
+                .build();
+    }
+
+    //reorder once stock covers no more than the lead time, enough to last the lead time plus the cover period
+    @Override
+    public Response getReorderSuggestions() {
+
+        LocalDate today = LocalDate.now();
+        Map<Long, ReorderSuggestionDTO> bySupplier = new LinkedHashMap<>();
+
+        for (ReorderLineDTO line : productForecastRepository.findReorderCandidates(leadTimeDays)) {
+            double demand = demandForecaster.demandOn(line.getDailyDemand(), line.getDemandAsOf(), today);
+            if (line.getStockQuantity() > demand * leadTimeDays) continue;
+
+            int quantity = (int) Math.ceil(demand * (leadTimeDays + coverDays)) - line.getStockQuantity();
+            if (quantity <= 0) continue;
+
+            line.setDailyDemand(demand);
+            line.setDaysOfCover(line.getStockQuantity() / demand);
+            line.setSuggestedQuantity(quantity);
+
+            ReorderSuggestionDTO suggestion = bySupplier.computeIfAbsent(line.getSupplierId(), id -> ReorderSuggestionDTO.builder()
+                    .supplierId(id)
+                    .supplierName(line.getSupplierName())
+                    .lines(new ArrayList<>())
+                    .build());
+            suggestion.getLines().add(line);
+            suggestion.setTotalUnits(suggestion.getTotalUnits() + quantity);
+        }
+
+        List<ReorderSuggestionDTO> suggestions = new ArrayList<>(bySupplier.values());
+        suggestions.forEach(s -> s.getLines().sort(Comparator.comparingDouble(ReorderLineDTO::getDaysOfCover)));
+        suggestions.sort(Comparator.comparingLong(ReorderSuggestionDTO::getTotalUnits).reversed());
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .reorderSuggestions(suggestions)
+                .build();
+    }
+
+    @Override
+    public Response runDemandForecast() {
+
+        int products = demandForecaster.run();
+
+        return Response.builder()
+                .status(200)
+                .message("Demand forecast updated for " + products + " products")
+                .build();
+    }
+
+    @Override
+    public Response runClassification() {
+
+        int products = inventoryClassifier.classify();
+
+        return Response.builder()
+                .status(200)
+                .message("ABC/XYZ classes computed for " + products + " selling products")
+                .build();
+    }
+}
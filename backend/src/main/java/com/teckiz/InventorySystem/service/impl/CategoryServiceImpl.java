@@ -2,17 +2,20 @@ package com.teckiz.InventorySystem.service.impl;
 
 
 import com.teckiz.InventorySystem.dto.CategoryDTO;
+import com.teckiz.InventorySystem.dto.CategorySummaryDTO;
 import com.teckiz.InventorySystem.dto.Response;
 import com.teckiz.InventorySystem.entity.Category;
 import com.teckiz.InventorySystem.exceptions.NotFoundException;
 import com.teckiz.InventorySystem.repository.CategoryRepository;
 import com.teckiz.InventorySystem.service.CategoryService;
+import com.teckiz.InventorySystem.service.common.CatalogVersions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -23,11 +26,13 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ModelMapper modelMapper;
+    private final CatalogVersions catalogVersions;
 
     @Override
     public Response createCategory(CategoryDTO categoryDTO) {
         Category categoryToSave = modelMapper.map(categoryDTO, Category.class);
         categoryRepository.save(categoryToSave);
+        catalogVersions.bump(CatalogVersions.Collection.CATEGORIES);
 
         return Response.builder()
                 .status(200)
@@ -36,6 +41,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getAllCategories() {
 
         List<Category> categories = categoryRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
@@ -50,6 +56,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getCategoryById(Long id) {
 
         Category category = categoryRepository.findById(id)
@@ -63,6 +70,33 @@ public class CategoryServiceImpl implements CategoryService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Response getCategorySummaries() {
+
+        List<CategorySummaryDTO> summaries = categoryRepository.findAllSummaries();
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .categorySummaries(summaries)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getCategorySummary(Long id) {
+
+        CategorySummaryDTO summary = categoryRepository.findSummaryById(id)
+                .orElseThrow(()-> new NotFoundException("Category Not Found"));
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .categorySummary(summary)
+                .build();
+    }
+
     @Override
     public Response updateCategory(Long id, CategoryDTO categoryDTO) {
 
@@ -71,6 +105,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         existingCategory.setName(categoryDTO.getName());
         categoryRepository.save(existingCategory);
+        catalogVersions.bump(CatalogVersions.Collection.CATEGORIES);
 
         return Response.builder()
                 .status(200)
@@ -86,6 +121,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(()-> new NotFoundException("Category Not Found"));
 
         categoryRepository.deleteById(id);
+        catalogVersions.bump(CatalogVersions.Collection.CATEGORIES);
 
         return Response.builder()
                 .status(200)
@@ -1,24 +1,44 @@
 package com.teckiz.InventorySystem.service.impl;
 
 import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.ProductLookupDTO;
+import com.teckiz.InventorySystem.dto.ProductSearchRequest;
 import com.teckiz.InventorySystem.dto.Response;
 import com.teckiz.InventorySystem.entity.Category;
 import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Warehouse;
+import com.teckiz.InventorySystem.exceptions.InvalidSearchRequestException;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
 import com.teckiz.InventorySystem.exceptions.NotFoundException;
 import com.teckiz.InventorySystem.repository.CategoryRepository;
 import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.StockCountRepository;
+import com.teckiz.InventorySystem.repository.StockLevelRepository;
+import com.teckiz.InventorySystem.repository.WarehouseRepository;
 import com.teckiz.InventorySystem.service.ProductService;
+import com.teckiz.InventorySystem.service.common.LocationStockWriter;
+import com.teckiz.InventorySystem.service.common.OptimisticRetryExecutor;
+import com.teckiz.InventorySystem.service.common.CatalogVersions;
+import com.teckiz.InventorySystem.service.common.ProductCursor;
+import com.teckiz.InventorySystem.service.common.SkuIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.File;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -29,6 +49,21 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final ModelMapper modelMapper;
     private final CategoryRepository categoryRepository;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final WarehouseRepository warehouseRepository;
+    private final LocationStockWriter locationStockWriter;
+    private final CatalogVersions catalogVersions;
+    private final SkuIndex skuIndex;
+    private final StockCountRepository stockCountRepository;
+    private final StockLevelRepository stockLevelRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MAX_PAGE_SIZE = 200;
+    //codes answered per batch lookup request
+    private static final int MAX_LOOKUP_BATCH = 1000;
+
+    @Value("${inventory.catalog.low-stock-threshold:10}")
+    private int lowStockThreshold;
 
     private static final String IMAGE_DIRECTORY = System.getProperty("user.dir") + "/product-image/";
 
@@ -59,6 +94,14 @@ public class ProductServiceImpl implements ProductService {
 
         //save the product to our database
         productRepository.save(productToSave);
+
+        //opening stock goes to the default warehouse so the location rows add up to the total
+        if (productToSave.getStockQuantity() != null && productToSave.getStockQuantity() > 0) {
+            warehouseRepository.findFirstByDefaultLocationTrue().ifPresent(warehouse ->
+                    locationStockWriter.placeOpeningStock(productToSave.getId(), warehouse.getId(), productToSave.getStockQuantity()));
+        }
+        indexSku(productToSave);
+        catalogVersions.bump(CatalogVersions.Collection.PRODUCTS);
         return Response.builder()
                 .status(200)
                 .message("Product successfully saved")
@@ -68,46 +111,63 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public Response updateProduct(ProductDTO productDTO, MultipartFile imageFile) {
 
-        Product existingProduct = productRepository.findById(productDTO.getProductId())
-                .orElseThrow(()-> new NotFoundException("Product Not Found"));
-
-        //check if image is associated with the update request
-        if (imageFile != null && !imageFile.isEmpty()){
-            String imagePath = saveImageToFrontendPublicFolder(imageFile);
-            existingProduct.setImageUrl(imagePath);
-        }
-        //Check if category is to be changed for the product
-        if (productDTO.getCategoryId() != null && productDTO.getCategoryId() > 0){
-
-            Category category = categoryRepository.findById(productDTO.getCategoryId())
-                    .orElseThrow(()-> new NotFoundException("Category Not Found"));
-            existingProduct.setCategory(category);
+        Product existingProduct = loadProduct(productDTO.getProductId());
+
+        //with warehouses set up a stock correction is booked against the default location instead of overwriting the total
+        Integer targetStock = productDTO.getStockQuantity() != null && productDTO.getStockQuantity() >= 0
+                ? productDTO.getStockQuantity()
+                : null;
+        Warehouse defaultWarehouse = targetStock != null
+                ? warehouseRepository.findFirstByDefaultLocationTrue().orElse(null)
+                : null;
+
+        //a correction isn't recorded as a movement, so while the stock is being counted it would come back as variance
+        if (targetStock != null && !targetStock.equals(existingProduct.getStockQuantity())) {
+            boolean countOpen = defaultWarehouse != null
+                    ? stockCountRepository.existsOpenAtWarehouses(List.of(defaultWarehouse.getId()))
+                    : stockCountRepository.existsOpenWithoutWarehouse();
+            if (countOpen) {
+                throw new InvalidStockOperationException("A stock count is open for this stock, post or cancel it first");
+            }
         }
 
-        //check and update fiedls
-
-        if (productDTO.getName() !=null && !productDTO.getName().isBlank()){
-            existingProduct.setName(productDTO.getName());
-        }
+        //check if image is associated with the update request
+        String imagePath = imageFile != null && !imageFile.isEmpty()
+                ? saveImageToFrontendPublicFolder(imageFile)
+                : null;
 
-        if (productDTO.getSku() !=null && !productDTO.getSku().isBlank()){
-            existingProduct.setSku(productDTO.getSku());
-        }
+        //Check if category is to be changed for the product
+        Category category = productDTO.getCategoryId() != null && productDTO.getCategoryId() > 0
+                ? categoryRepository.findById(productDTO.getCategoryId())
+                        .orElseThrow(()-> new NotFoundException("Category Not Found"))
+                : null;
 
-        if (productDTO.getDescription() !=null && !productDTO.getDescription().isBlank()){
-            existingProduct.setDescription(productDTO.getDescription());
-        }
+        //the first attempt updates this very instance, so the SKU it had is read now
+        String previousSku = existingProduct.getSku();
 
-        if (productDTO.getPrice() !=null && productDTO.getPrice().compareTo(BigDecimal.ZERO) >=0){
-            existingProduct.setPrice(productDTO.getPrice());
+        //the location row the correction goes to exists before the transaction below, so a lost insert race can't roll it back
+        if (defaultWarehouse != null) {
+            locationStockWriter.prepareLocations(List.of(existingProduct.getId()), defaultWarehouse.getId());
         }
 
-        if (productDTO.getStockQuantity() !=null && productDTO.getStockQuantity() >=0){
-            existingProduct.setStockQuantity(productDTO.getStockQuantity());
+        //Update the product and book the stock correction in one transaction, so a correction the location can't take
+        //leaves the other changes unsaved too; re-applied on a fresh copy if a stock movement got in first
+        Product updatedProduct = optimisticRetryExecutor.execute("updateProduct", attempt -> transactionTemplate.execute(status -> {
+            Product product = attempt == 1 ? existingProduct : loadProduct(productDTO.getProductId());
+            applyUpdates(product, productDTO, category, imagePath, defaultWarehouse == null);
+            Product saved = productRepository.save(product);
+            if (defaultWarehouse != null && saved.getStockQuantity() != null) {
+                int delta = targetStock - saved.getStockQuantity();
+                if (delta != 0) locationStockWriter.adjust(saved.getId(), defaultWarehouse.getId(), delta);
+            }
+            return saved;
+        }));
+
+        if (updatedProduct != null && updatedProduct.getId() != null && !Objects.equals(previousSku, updatedProduct.getSku())) {
+            skuIndex.remove(updatedProduct.getId(), previousSku);
         }
-
-        //Update the product
-        productRepository.save(existingProduct);
+        indexSku(updatedProduct);
+        catalogVersions.bump(CatalogVersions.Collection.PRODUCTS);
         return Response.builder()
                 .status(200)
                 .message("Product successfully Updated")
@@ -116,6 +176,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getAllProducts() {
 
         List<Product> products = productRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
@@ -130,6 +191,40 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Response searchProducts(ProductSearchRequest searchRequest) {
+
+        if (searchRequest.getMinPrice() != null && searchRequest.getMaxPrice() != null
+                && searchRequest.getMinPrice().compareTo(searchRequest.getMaxPrice()) > 0) {
+            throw new InvalidSearchRequestException("Minimum price cannot be above maximum price");
+        }
+        int size = Math.max(1, Math.min(searchRequest.getSize(), MAX_PAGE_SIZE));
+        if (searchRequest.isLowStock() && searchRequest.getMaxStock() == null) {
+            searchRequest.setMaxStock(lowStockThreshold);
+        }
+
+        ProductCursor after = searchRequest.getCursor() != null && !searchRequest.getCursor().isBlank()
+                ? ProductCursor.decode(searchRequest.getCursor(), searchRequest.getSortBy(), searchRequest.isAscending())
+                : null;
+
+        //one row past the page tells us whether there is a next page without running a count
+        List<ProductDTO> productDTOS = productRepository.findCatalogPage(searchRequest, after, size + 1);
+        String nextCursor = null;
+        if (productDTOS.size() > size) {
+            productDTOS = productDTOS.subList(0, size);
+            nextCursor = cursorAfter(productDTOS.get(size - 1), searchRequest).encode();
+        }
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .products(productDTOS)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Response getProductById(Long id) {
 
         Product product = productRepository.findById(id)
@@ -144,12 +239,17 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional
     public Response deleteProduct(Long id) {
 
-        productRepository.findById(id)
+        Product product = productRepository.findById(id)
                 .orElseThrow(()-> new NotFoundException("Product Not Found"));
 
+        //every product with opening stock has a location row once warehouses exist, and stock_levels references product
+        stockLevelRepository.deleteAllByProductId(id);
         productRepository.deleteById(id);
+        skuIndex.remove(id, product.getSku());
+        catalogVersions.bump(CatalogVersions.Collection.PRODUCTS);
 
         return Response.builder()
                 .status(200)
@@ -157,6 +257,122 @@ public class ProductServiceImpl implements ProductService {
                 .build();
     }
 
+    //answered from the in-memory index; only a code it doesn't know, or hasn't checked for max-age, costs a database query
+    @Override
+    public Response lookupBySku(String sku) {
+
+        ProductLookupDTO found = lookup(List.of(sku))[0];
+        if (found == null) throw new NotFoundException("Product Not Found");
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .productLookup(found)
+                .build();
+    }
+
+    //one entry per distinct code found, in request order; the codes not found are listed apart
+    @Override
+    public Response lookupBySkus(List<String> skus) {
+
+        if (skus == null || skus.isEmpty()) throw new InvalidSearchRequestException("At least one SKU is required");
+        if (skus.size() > MAX_LOOKUP_BATCH) {
+            throw new InvalidSearchRequestException("At most " + MAX_LOOKUP_BATCH + " SKUs can be looked up at once");
+        }
+
+        List<String> codes = new ArrayList<>(new LinkedHashSet<>(skus));
+        ProductLookupDTO[] hits = lookup(codes);
+        List<ProductLookupDTO> found = new ArrayList<>(codes.size());
+        List<String> unknown = new ArrayList<>();
+        for (int i = 0; i < codes.size(); i++) {
+            if (hits[i] != null) found.add(hits[i]);
+            else unknown.add(codes.get(i));
+        }
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .productLookups(found)
+                .unknownSkus(unknown)
+                .build();
+    }
+
+    //index first; the codes it misses (written on another instance, past max-age, or unknown) go to the database
+    //in one query, whatever is found there is indexed on the way back and stale entries it no longer has are dropped
+    private ProductLookupDTO[] lookup(List<String> codes) {
+        ProductLookupDTO[] hits = new ProductLookupDTO[codes.size()];
+        List<String> missed = new ArrayList<>();
+        for (int i = 0; i < codes.size(); i++) {
+            hits[i] = skuIndex.find(codes.get(i));
+            if (hits[i] == null && codes.get(i) != null && !codes.get(i).isBlank()) missed.add(codes.get(i).trim());
+        }
+        if (missed.isEmpty()) return hits;
+
+        for (ProductLookupDTO row : productRepository.findLookupsBySkus(missed)) {
+            skuIndex.put(row.getProductId(), row.getSku(), row.getPrice());
+        }
+        for (int i = 0; i < codes.size(); i++) {
+            if (hits[i] != null) continue;
+            hits[i] = skuIndex.find(codes.get(i));
+            if (hits[i] == null) skuIndex.removeStale(codes.get(i));
+        }
+        return hits;
+    }
+
+    private void indexSku(Product product) {
+        if (product != null && product.getId() != null) {
+            skuIndex.put(product.getId(), product.getSku(), product.getPrice());
+        }
+    }
+
+    private ProductCursor cursorAfter(ProductDTO last, ProductSearchRequest searchRequest) {
+        Comparable<?> value = switch (searchRequest.getSortBy()) {
+            case NAME -> last.getName();
+            case PRICE -> last.getPrice();
+            case STOCK -> last.getStockQuantity();
+        };
+        return new ProductCursor(searchRequest.getSortBy(), searchRequest.isAscending(), value, last.getId());
+    }
+
+    //read in a read-write transaction so it comes from the primary, not a replica that may not have the latest version yet
+    private Product loadProduct(Long productId) {
+        Optional<Product> product = transactionTemplate.execute(status -> productRepository.findById(productId));
+        return product.orElseThrow(()-> new NotFoundException("Product Not Found"));
+    }
+
+    private void applyUpdates(Product product, ProductDTO productDTO, Category category, String imagePath, boolean setStock){
+
+        if (imagePath != null){
+            product.setImageUrl(imagePath);
+        }
+
+        if (category != null){
+            product.setCategory(category);
+        }
+
+        //check and update fiedls
+
+        if (productDTO.getName() !=null && !productDTO.getName().isBlank()){
+            product.setName(productDTO.getName());
+        }
+
+        if (productDTO.getSku() !=null && !productDTO.getSku().isBlank()){
+            product.setSku(productDTO.getSku());
+        }
+
+        if (productDTO.getDescription() !=null && !productDTO.getDescription().isBlank()){
+            product.setDescription(productDTO.getDescription());
+        }
+
+        if (productDTO.getPrice() !=null && productDTO.getPrice().compareTo(BigDecimal.ZERO) >=0){
+            product.setPrice(productDTO.getPrice());
+        }
+
+        if (setStock && productDTO.getStockQuantity() !=null && productDTO.getStockQuantity() >=0){
+            product.setStockQuantity(productDTO.getStockQuantity());
+        }
+    }
+
     private String saveImageToFrontendPublicFolder(MultipartFile imageFile){
         //validate image check
         if (!imageFile.getContentType().startsWith("image/")){
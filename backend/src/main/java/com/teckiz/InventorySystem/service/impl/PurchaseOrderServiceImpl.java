@@ -0,0 +1,305 @@
+package com.teckiz.InventorySystem.service.impl;
+
+import com.teckiz.InventorySystem.dto.PurchaseOrderDTO;
+import com.teckiz.InventorySystem.dto.PurchaseOrderLineDTO;
+import com.teckiz.InventorySystem.dto.PurchaseOrderLineRequest;
+import com.teckiz.InventorySystem.dto.PurchaseOrderReceiptRequest;
+import com.teckiz.InventorySystem.dto.PurchaseOrderRequest;
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.PurchaseOrder;
+import com.teckiz.InventorySystem.entity.PurchaseOrderLine;
+import com.teckiz.InventorySystem.entity.Supplier;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.entity.Warehouse;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.exceptions.InvalidStatusTransitionException;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
+import com.teckiz.InventorySystem.exceptions.NameValueRequiredException;
+import com.teckiz.InventorySystem.exceptions.NotFoundException;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.PurchaseOrderRepository;
+import com.teckiz.InventorySystem.repository.SupplierRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.WarehouseRepository;
+import com.teckiz.InventorySystem.service.PurchaseOrderService;
+import com.teckiz.InventorySystem.service.UserService;
+import com.teckiz.InventorySystem.service.common.CatalogVersions;
+import com.teckiz.InventorySystem.service.common.LocationStockWriter;
+import com.teckiz.InventorySystem.service.common.SalesColumnStore;
+import com.teckiz.InventorySystem.service.common.SupplierStatsWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PurchaseOrderServiceImpl implements PurchaseOrderService {
+
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final SupplierRepository supplierRepository;
+    private final ProductRepository productRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserService userService;
+    private final LocationStockWriter locationStockWriter;
+    private final SupplierStatsWriter supplierStatsWriter;
+    private final SalesColumnStore salesColumnStore;
+    private final CatalogVersions catalogVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public Response createPurchaseOrder(PurchaseOrderRequest purchaseOrderRequest) {
+
+        if (purchaseOrderRequest.getSupplierId() == null) throw new NameValueRequiredException("Supplier Id id Required");
+
+        Supplier supplier = supplierRepository.findById(purchaseOrderRequest.getSupplierId())
+                .orElseThrow(()-> new NotFoundException("Supplier Not Found"));
+
+        Warehouse warehouse = purchaseOrderRequest.getWarehouseId() != null
+                ? warehouseRepository.findById(purchaseOrderRequest.getWarehouseId())
+                        .orElseThrow(()-> new NotFoundException("Warehouse Not Found"))
+                : null;
+
+        //one line per product, repeated products are added up
+        Map<Long, PurchaseOrderLineRequest> requestedLines = new LinkedHashMap<>();
+        for (PurchaseOrderLineRequest line : purchaseOrderRequest.getLines()) {
+            requestedLines.merge(line.getProductId(), line, (first, repeat) -> new PurchaseOrderLineRequest(
+                    first.getProductId(), first.getQuantity() + repeat.getQuantity(), first.getUnitPrice()));
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(requestedLines.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        if (products.size() != requestedLines.size()) throw new NotFoundException("Product Not Found");
+
+        PurchaseOrder purchaseOrder = PurchaseOrder.builder()
+                .status(TransactionStatus.PENDING)
+                .supplier(supplier)
+                .warehouse(warehouse)
+                .user(userService.getCurrentUserReference())
+                .description(purchaseOrderRequest.getDescription())
+                .build();
+        for (PurchaseOrderLineRequest line : requestedLines.values()) {
+            Product product = products.get(line.getProductId());
+            purchaseOrder.getLines().add(PurchaseOrderLine.builder()
+                    .purchaseOrder(purchaseOrder)
+                    .product(product)
+                    .quantityOrdered(line.getQuantity())
+                    .unitPrice(line.getUnitPrice() != null ? line.getUnitPrice() : product.getPrice())
+                    .build());
+        }
+
+        purchaseOrderRepository.save(purchaseOrder);
+
+        return Response.builder()
+                .status(200)
+                .message("Purchase Order Created Successfully")
+                .purchaseOrder(toDTO(purchaseOrder))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getAllPurchaseOrders(int page, int size, TransactionStatus status, Long supplierId) {
+
+        Page<PurchaseOrderDTO> purchaseOrders = purchaseOrderRepository.findSummaries(
+                status, supplierId, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id")));
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .purchaseOrders(purchaseOrders.getContent())
+                .totalPages(purchaseOrders.getTotalPages())
+                .totalElements(purchaseOrders.getTotalElements())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getPurchaseOrderById(Long id) {
+
+        PurchaseOrder purchaseOrder = purchaseOrderRepository.findWithLinesById(id)
+                .orElseThrow(()-> new NotFoundException("Purchase Order Not Found"));
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .purchaseOrder(toDTO(purchaseOrder))
+                .build();
+    }
+
+    @Override
+    public Response receivePurchaseOrder(Long id, PurchaseOrderReceiptRequest receiptRequest) {
+        return receivePurchaseOrder(id, receiptRequest, units -> {});
+    }
+
+    //the whole delivery is one database transaction: stock for every line, the PURCHASE rows and the order status;
+    //receivedUnits hears the delivered total once it has committed
+    public Response receivePurchaseOrder(Long id, PurchaseOrderReceiptRequest receiptRequest, IntConsumer receivedUnits) {
+
+        //read outside the lock to find the locations the receipt will touch; quantities are checked again under it
+        PurchaseOrder snapshot = purchaseOrderRepository.findWithLinesById(id)
+                .orElseThrow(()-> new NotFoundException("Purchase Order Not Found"));
+        requireOpen(snapshot, "received");
+        Warehouse warehouse = snapshot.getWarehouse() != null
+                ? snapshot.getWarehouse()
+                : warehouseRepository.findFirstByDefaultLocationTrue().orElse(null);
+        Long warehouseId = warehouse != null ? warehouse.getId() : null;
+        SortedMap<Long, Integer> quantities = receivedQuantities(snapshot, receiptRequest);
+        if (quantities.isEmpty()) throw new InvalidStockOperationException("Nothing left to receive on this order");
+        if (warehouseId != null) locationStockWriter.prepareLocations(quantities.keySet(), warehouseId);
+
+        User user = userService.getCurrentUserReference();
+        String description = receiptRequest != null && receiptRequest.getDescription() != null
+                ? receiptRequest.getDescription()
+                : "Purchase order " + id;
+
+        List<Transaction> transactions = transactionTemplate.execute(status -> {
+            PurchaseOrder purchaseOrder = purchaseOrderRepository.findForUpdate(id)
+                    .orElseThrow(()-> new NotFoundException("Purchase Order Not Found"));
+            requireOpen(purchaseOrder, "received");
+
+            Map<Long, PurchaseOrderLine> linesByProduct = purchaseOrder.getLines().stream()
+                    .collect(Collectors.toMap(line -> line.getProduct().getId(), Function.identity()));
+            quantities.forEach((productId, quantity) -> {
+                PurchaseOrderLine line = linesByProduct.get(productId);
+                if (line == null) throw new InvalidStockOperationException("Product " + productId + " is not on this order");
+                if (quantity > line.getOutstanding()) {
+                    throw new InvalidStockOperationException("Only " + line.getOutstanding() + " units of product " + productId + " are outstanding");
+                }
+            });
+
+            locationStockWriter.receiveAll(warehouseId, quantities);
+
+            //loaded with their categories so the movements can be indexed after the commit
+            Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            List<Transaction> received = new ArrayList<>(quantities.size());
+            quantities.forEach((productId, quantity) -> {
+                PurchaseOrderLine line = linesByProduct.get(productId);
+                line.setQuantityReceived(line.getQuantityReceived() + quantity);
+                received.add(Transaction.builder()
+                        .transactionType(TransactionType.PURCHASE)
+                        .status(TransactionStatus.COMPLETED)
+                        .product(products.get(productId))
+                        .user(user)
+                        .warehouse(warehouse)
+                        .supplier(purchaseOrder.getSupplier())
+                        .totalProducts(quantity)
+                        .totalPrice(line.getUnitPrice().multiply(BigDecimal.valueOf(quantity)))
+                        .description(description)
+                        .build());
+            });
+            transactionRepository.saveAll(received);
+
+            boolean complete = purchaseOrder.getLines().stream().allMatch(line -> line.getOutstanding() == 0);
+            purchaseOrder.setStatus(complete ? TransactionStatus.COMPLETED : TransactionStatus.PROCESSING);
+            return received;
+        });
+
+        //one stats increment for the delivery instead of one per line
+        int units = 0;
+        BigDecimal spend = BigDecimal.ZERO;
+        for (Transaction transaction : transactions) {
+            salesColumnStore.append(transaction);
+            units += transaction.getTotalProducts();
+            spend = spend.add(transaction.getTotalPrice());
+        }
+        supplierStatsWriter.recordPurchase(snapshot.getSupplier().getId(), units, spend, LocalDateTime.now());
+        catalogVersions.bump(CatalogVersions.Collection.PRODUCTS);
+        receivedUnits.accept(units);
+
+        return Response.builder()
+                .status(200)
+                .message("Purchase Order Received Successfully")
+                .build();
+    }
+
+    //received stock stays; what is still outstanding is no longer expected
+    @Override
+    public Response cancelPurchaseOrder(Long id) {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            PurchaseOrder purchaseOrder = purchaseOrderRepository.findForUpdate(id)
+                    .orElseThrow(()-> new NotFoundException("Purchase Order Not Found"));
+            requireOpen(purchaseOrder, "cancelled");
+            purchaseOrder.setStatus(TransactionStatus.CANCELED);
+        });
+
+        return Response.builder()
+                .status(200)
+                .message("Purchase Order Cancelled Successfully")
+                .build();
+    }
+
+    //by product id, the order the stock rows are locked in; without lines the receipt takes everything outstanding
+    private SortedMap<Long, Integer> receivedQuantities(PurchaseOrder purchaseOrder, PurchaseOrderReceiptRequest receiptRequest) {
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        if (receiptRequest == null || receiptRequest.getLines() == null || receiptRequest.getLines().isEmpty()) {
+            for (PurchaseOrderLine line : purchaseOrder.getLines()) {
+                if (line.getOutstanding() > 0) quantities.put(line.getProduct().getId(), line.getOutstanding());
+            }
+            return quantities;
+        }
+        for (PurchaseOrderLineRequest line : receiptRequest.getLines()) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private void requireOpen(PurchaseOrder purchaseOrder, String action) {
+        TransactionStatus status = purchaseOrder.getStatus();
+        if (status == TransactionStatus.COMPLETED || status == TransactionStatus.CANCELED) {
+            throw new InvalidStatusTransitionException("A " + status.name().toLowerCase() + " purchase order cannot be " + action);
+        }
+    }
+
+    private PurchaseOrderDTO toDTO(PurchaseOrder purchaseOrder) {
+        List<PurchaseOrderLineDTO> lines = purchaseOrder.getLines().stream()
+                .map(line -> PurchaseOrderLineDTO.builder()
+                        .id(line.getId())
+                        .productId(line.getProduct().getId())
+                        .productName(line.getProduct().getName())
+                        .sku(line.getProduct().getSku())
+                        .quantityOrdered(line.getQuantityOrdered())
+                        .quantityReceived(line.getQuantityReceived())
+                        .unitPrice(line.getUnitPrice())
+                        .build())
+                .toList();
+
+        PurchaseOrderDTO purchaseOrderDTO = new PurchaseOrderDTO(
+                purchaseOrder.getId(),
+                purchaseOrder.getCreatedAt(),
+                purchaseOrder.getUpdatedAt(),
+                purchaseOrder.getStatus(),
+                purchaseOrder.getDescription(),
+                purchaseOrder.getSupplier().getId(),
+                purchaseOrder.getSupplier().getName(),
+                purchaseOrder.getWarehouse() != null ? purchaseOrder.getWarehouse().getId() : null,
+                lines.stream().mapToLong(PurchaseOrderLineDTO::getQuantityOrdered).sum(),
+                lines.stream().mapToLong(PurchaseOrderLineDTO::getQuantityReceived).sum());
+        purchaseOrderDTO.setKey(purchaseOrder.getKey());
+        purchaseOrderDTO.setLines(lines);
+        return purchaseOrderDTO;
+    }
+}
@@ -0,0 +1,382 @@
+package com.teckiz.InventorySystem.service.impl;
+
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.StockCountDTO;
+import com.teckiz.InventorySystem.dto.StockCountLineDTO;
+import com.teckiz.InventorySystem.dto.StockCountRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.StockCount;
+import com.teckiz.InventorySystem.entity.StockCountLine;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.entity.Warehouse;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.exceptions.InvalidStatusTransitionException;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
+import com.teckiz.InventorySystem.exceptions.NotFoundException;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.StockCountLineRepository;
+import com.teckiz.InventorySystem.repository.StockCountRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.WarehouseRepository;
+import com.teckiz.InventorySystem.service.StockCountService;
+import com.teckiz.InventorySystem.service.UserService;
+import com.teckiz.InventorySystem.service.common.CatalogVersions;
+import com.teckiz.InventorySystem.service.common.LocationStockWriter;
+import com.teckiz.InventorySystem.service.common.SalesColumnStore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockCountServiceImpl implements StockCountService {
+
+    //distinct SKUs resolved and written per database transaction, and the JDBC batch size for line updates
+    private static final int CHUNK_SIZE = 1000;
+    //an upload names at most this many rejected SKUs
+    private static final int MAX_REJECTED_REPORTED = 100;
+
+    private final StockCountRepository stockCountRepository;
+    private final StockCountLineRepository stockCountLineRepository;
+    private final ProductRepository productRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserService userService;
+    private final LocationStockWriter locationStockWriter;
+    private final SalesColumnStore salesColumnStore;
+    private final CatalogVersions catalogVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    //the count row and the snapshot of expected stock are written in one transaction
+    @Override
+    public Response startStockCount(StockCountRequest stockCountRequest) {
+
+        Warehouse warehouse = stockCountRequest.getWarehouseId() != null
+                ? warehouseRepository.findById(stockCountRequest.getWarehouseId())
+                        .orElseThrow(()-> new NotFoundException("Warehouse Not Found"))
+                : warehouseRepository.findFirstByDefaultLocationTrue().orElse(null);
+
+        Category category = stockCountRequest.getCategoryId() != null
+                ? categoryRepository.findById(stockCountRequest.getCategoryId())
+                        .orElseThrow(()-> new NotFoundException("Category Not Found"))
+                : null;
+        Long categoryId = category != null ? category.getId() : null;
+
+        User user = userService.getCurrentUserReference();
+
+        Long id = transactionTemplate.execute(status -> {
+            StockCount stockCount = stockCountRepository.save(StockCount.builder()
+                    .status(TransactionStatus.PROCESSING)
+                    .description(stockCountRequest.getDescription())
+                    .warehouse(warehouse)
+                    .category(category)
+                    .user(user)
+                    .build());
+            int lines = warehouse != null
+                    ? stockCountLineRepository.snapshotWarehouse(stockCount.getId(), warehouse.getId(), categoryId)
+                    : stockCountLineRepository.snapshotProducts(stockCount.getId(), categoryId);
+            log.info("Stock count {} started with {} products expected", stockCount.getId(), lines);
+            return stockCount.getId();
+        });
+
+        return Response.builder()
+                .status(200)
+                .message("Stock Count Started Successfully")
+                .stockCount(summary(id))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getAllStockCounts(int page, int size, TransactionStatus status) {
+
+        Page<StockCountDTO> stockCounts = stockCountRepository.findSummaries(
+                status, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id")));
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .stockCounts(stockCounts.getContent())
+                .totalPages(stockCounts.getTotalPages())
+                .totalElements(stockCounts.getTotalElements())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getStockCountById(Long id) {
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .stockCount(summary(id))
+                .build();
+    }
+
+    //the upload is read as a stream and only the distinct SKUs are held; lines are then written a chunk at a time
+    @Override
+    public Response recordCounts(Long id, InputStream counts) {
+
+        StockCount stockCount = stockCountRepository.findById(id)
+                .orElseThrow(()-> new NotFoundException("Stock Count Not Found"));
+        requireOpen(stockCount, "counted");
+        Long categoryId = stockCount.getCategory() != null ? stockCount.getCategory().getId() : null;
+
+        Map<String, Integer> counted = readCounts(counts);
+        if (counted.isEmpty()) throw new InvalidStockOperationException("The upload holds no counts");
+
+        List<String> skus = new ArrayList<>(counted.keySet());
+        List<String> rejected = new ArrayList<>();
+        int accepted = 0;
+        for (int i = 0; i < skus.size(); i += CHUNK_SIZE) {
+            List<String> chunk = skus.subList(i, Math.min(i + CHUNK_SIZE, skus.size()));
+            Map<Long, Integer> quantities = new HashMap<>();
+            Set<String> known = new HashSet<>();
+            for (Object[] row : productRepository.findIdsBySkus(chunk)) {
+                if (categoryId != null && !categoryId.equals(row[2])) continue;
+                known.add((String) row[0]);
+                quantities.put((Long) row[1], counted.get((String) row[0]));
+            }
+            for (String sku : chunk) {
+                if (!known.contains(sku) && rejected.size() < MAX_REJECTED_REPORTED) rejected.add(sku);
+            }
+            if (!quantities.isEmpty()) writeCounts(id, quantities);
+            accepted += quantities.size();
+        }
+
+        StockCountDTO stockCountDTO = summary(id);
+        stockCountDTO.setSkusAccepted(accepted);
+        stockCountDTO.setSkusRejected(rejected);
+
+        return Response.builder()
+                .status(200)
+                .message("Counts Recorded Successfully")
+                .stockCount(stockCountDTO)
+                .build();
+    }
+
+    //an open count shows what posting would book now; a posted one what it booked
+    @Override
+    @Transactional(readOnly = true)
+    public Response getVariances(Long id) {
+
+        StockCountDTO stockCountDTO = summary(id);
+        List<StockCountLineDTO> lines = stockCountLineRepository.findCountedLines(id);
+        if (stockCountDTO.getStatus() == TransactionStatus.PROCESSING) {
+            Map<Long, Long> moved = movementsSinceStart(id, stockCountDTO.getCreatedAt(), stockCountDTO.getWarehouseId());
+            for (StockCountLineDTO line : lines) {
+                line.setMovedSinceStart(moved.getOrDefault(line.getProductId(), 0L));
+                line.setVariance(Math.toIntExact(line.getCountedQuantity() - line.getExpectedQuantity() - line.getMovedSinceStart()));
+            }
+        } else {
+            for (StockCountLineDTO line : lines) {
+                if (line.getVariance() != null) {
+                    line.setMovedSinceStart(line.getCountedQuantity() - line.getExpectedQuantity() - line.getVariance());
+                }
+            }
+        }
+        stockCountDTO.setVariances(lines.stream()
+                .filter(line -> line.getVariance() != null && line.getVariance() != 0)
+                .toList());
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .stockCount(stockCountDTO)
+                .build();
+    }
+
+    //every difference is booked in one database transaction: the stock deltas, the ADJUSTMENT rows and the count status;
+    //uncounted lines are left as they are
+    @Override
+    public Response postStockCount(Long id) {
+
+        //read outside the lock to create the locations stock may arrive at; everything is checked again under it
+        StockCount snapshot = stockCountRepository.findById(id)
+                .orElseThrow(()-> new NotFoundException("Stock Count Not Found"));
+        requireOpen(snapshot, "posted");
+        Long warehouseId = snapshot.getWarehouse() != null ? snapshot.getWarehouse().getId() : null;
+        if (warehouseId != null) {
+            locationStockWriter.prepareLocations(stockCountLineRepository.findProductIdsCountedAboveZero(id), warehouseId);
+        }
+
+        User user = userService.getCurrentUserReference();
+        String description = snapshot.getDescription() != null ? snapshot.getDescription() : "Stock count " + id;
+
+        List<Transaction> adjustments = transactionTemplate.execute(status -> {
+            StockCount stockCount = stockCountRepository.findForUpdate(id)
+                    .orElseThrow(()-> new NotFoundException("Stock Count Not Found"));
+            requireOpen(stockCount, "posted");
+            entityManager.unwrap(Session.class).setJdbcBatchSize(CHUNK_SIZE);
+
+            Map<Long, Long> moved = movementsSinceStart(id, stockCount.getCreatedAt(), warehouseId);
+            SortedMap<Long, Integer> deltas = new TreeMap<>();
+            List<Transaction> booked = new ArrayList<>();
+            for (StockCountLine line : stockCountLineRepository.findCountedWithProducts(id)) {
+                Product product = line.getProduct();
+                int variance = Math.toIntExact(line.getCountedQuantity() - line.getExpectedQuantity()
+                        - moved.getOrDefault(product.getId(), 0L));
+                line.setVariance(variance);
+                if (variance == 0) continue;
+
+                deltas.put(product.getId(), variance);
+                booked.add(Transaction.builder()
+                        .transactionType(TransactionType.ADJUSTMENT)
+                        .status(TransactionStatus.COMPLETED)
+                        .product(product)
+                        .user(user)
+                        .warehouse(stockCount.getWarehouse())
+                        .totalProducts(variance)
+                        .totalPrice(product.getPrice() != null
+                                ? product.getPrice().multiply(BigDecimal.valueOf(variance))
+                                : BigDecimal.ZERO)
+                        .description(description)
+                        .build());
+            }
+
+            locationStockWriter.adjustAll(warehouseId, deltas);
+            transactionRepository.saveAll(booked);
+            stockCount.setStatus(TransactionStatus.COMPLETED);
+            stockCount.setPostedAt(LocalDateTime.now());
+            return booked;
+        });
+
+        for (Transaction transaction : adjustments) {
+            salesColumnStore.append(transaction);
+        }
+        if (!adjustments.isEmpty()) catalogVersions.bump(CatalogVersions.Collection.PRODUCTS);
+
+        return Response.builder()
+                .status(200)
+                .message("Stock Count Posted Successfully")
+                .stockCount(summary(id))
+                .build();
+    }
+
+    //nothing is adjusted; the snapshot and counts stay for reference
+    @Override
+    public Response cancelStockCount(Long id) {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            StockCount stockCount = stockCountRepository.findForUpdate(id)
+                    .orElseThrow(()-> new NotFoundException("Stock Count Not Found"));
+            requireOpen(stockCount, "cancelled");
+            stockCount.setStatus(TransactionStatus.CANCELED);
+        });
+
+        return Response.builder()
+                .status(200)
+                .message("Stock Count Cancelled Successfully")
+                .build();
+    }
+
+    //a later upload replaces the counted quantity of the products it names
+    private void writeCounts(Long id, Map<Long, Integer> quantities) {
+        LocalDateTime countedAt = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            StockCount stockCount = stockCountRepository.findForUpdate(id)
+                    .orElseThrow(()-> new NotFoundException("Stock Count Not Found"));
+            requireOpen(stockCount, "counted");
+            entityManager.unwrap(Session.class).setJdbcBatchSize(CHUNK_SIZE);
+
+            Map<Long, Integer> unlisted = new HashMap<>(quantities);
+            for (StockCountLine line : stockCountLineRepository.findByCountAndProducts(id, quantities.keySet())) {
+                line.setCountedQuantity(unlisted.remove(line.getProduct().getId()));
+                line.setCountedAt(countedAt);
+            }
+
+            //a product without a line had no stock on record here when the count started
+            List<StockCountLine> added = new ArrayList<>(unlisted.size());
+            unlisted.forEach((productId, quantity) -> added.add(StockCountLine.builder()
+                    .stockCount(stockCount)
+                    .product(productRepository.getReferenceById(productId))
+                    .expectedQuantity(0)
+                    .countedQuantity(quantity)
+                    .countedAt(countedAt)
+                    .build()));
+            stockCountLineRepository.saveAll(added);
+        });
+    }
+
+    //"sku,quantity" per line; a header line is skipped and a SKU repeated in one upload is added up (several shelves)
+    private Map<String, Integer> readCounts(InputStream counts) {
+        Map<String, Integer> counted = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(counts, StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank()) continue;
+                int separator = line.lastIndexOf(',');
+                String sku = separator > 0 ? line.substring(0, separator).trim() : "";
+                int quantity;
+                try {
+                    quantity = Integer.parseInt(line.substring(separator + 1).trim());
+                } catch (NumberFormatException e) {
+                    if (number == 1) continue;
+                    throw new InvalidStockOperationException("Line " + number + ": the quantity must be a whole number");
+                }
+                if (sku.isEmpty() || quantity < 0) {
+                    throw new InvalidStockOperationException("Line " + number + ": a SKU and a quantity of 0 or more are required");
+                }
+                counted.merge(sku, quantity, Integer::sum);
+            }
+        } catch (IOException e) {
+            throw new InvalidStockOperationException("The counts could not be read: " + e.getMessage());
+        }
+        return counted;
+    }
+
+    //row layout follows StockCountLineRepository.sumMovementsSinceStart
+    private Map<Long, Long> movementsSinceStart(Long id, LocalDateTime startedAt, Long warehouseId) {
+        Map<Long, Long> moved = new HashMap<>();
+        for (Object[] row : stockCountLineRepository.sumMovementsSinceStart(id, startedAt, warehouseId)) {
+            moved.put((Long) row[0], row[1] == null ? 0 : ((Number) row[1]).longValue());
+        }
+        return moved;
+    }
+
+    private StockCountDTO summary(Long id) {
+        return stockCountRepository.findSummaryById(id)
+                .orElseThrow(()-> new NotFoundException("Stock Count Not Found"));
+    }
+
+    private void requireOpen(StockCount stockCount, String action) {
+        if (stockCount.getStatus() != TransactionStatus.PROCESSING) {
+            throw new InvalidStatusTransitionException("A " + stockCount.getStatus().name().toLowerCase() + " stock count cannot be " + action);
+        }
+    }
+}
@@ -3,16 +3,21 @@ package com.teckiz.InventorySystem.service.impl;
 
 import com.teckiz.InventorySystem.dto.Response;
 import com.teckiz.InventorySystem.dto.SupplierDTO;
+import com.teckiz.InventorySystem.dto.SupplierPerformanceDTO;
 import com.teckiz.InventorySystem.entity.Supplier;
 import com.teckiz.InventorySystem.exceptions.NotFoundException;
 import com.teckiz.InventorySystem.repository.SupplierRepository;
+import com.teckiz.InventorySystem.repository.SupplierStatsRepository;
 import com.teckiz.InventorySystem.service.SupplierService;
+import com.teckiz.InventorySystem.service.common.CatalogVersions;
+import com.teckiz.InventorySystem.service.common.SupplierStatsRebuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -23,11 +28,18 @@ public class SupplierServiceImpl implements SupplierService {
 
     private final SupplierRepository supplierRepository;
     private final ModelMapper modelMapper;
+    private final CatalogVersions catalogVersions;
+    private final SupplierStatsRepository supplierStatsRepository;
+    private final SupplierStatsRebuilder supplierStatsRebuilder;
 
     @Override
+    @Transactional
     public Response addSupplier(SupplierDTO supplierDTO) {
         Supplier supplierToSave = modelMapper.map(supplierDTO, Supplier.class);
         supplierRepository.save(supplierToSave);
+        //the stats row exists from the start, so SupplierStatsWriter only ever updates it
+        supplierStatsRepository.insertIfAbsent(supplierToSave.getId());
+        catalogVersions.bump(CatalogVersions.Collection.SUPPLIERS);
 
         return Response.builder()
                 .status(200)
@@ -45,6 +57,7 @@ public class SupplierServiceImpl implements SupplierService {
         if (supplierDTO.getAddress() != null) existingSupplier.setAddress(supplierDTO.getAddress());
 
         supplierRepository.save(existingSupplier);
+        catalogVersions.bump(CatalogVersions.Collection.SUPPLIERS);
 
         return Response.builder()
                 .status(200)
@@ -53,6 +66,7 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getAllSuppliers() {
 
         List<Supplier> categories = supplierRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
@@ -67,6 +81,7 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getSupplierById(Long id) {
 
         Supplier supplier = supplierRepository.findById(id)
@@ -88,10 +103,49 @@ public class SupplierServiceImpl implements SupplierService {
                 .orElseThrow(()-> new NotFoundException("Supplier Not Found"));
 
         supplierRepository.deleteById(id);
+        catalogVersions.bump(CatalogVersions.Collection.SUPPLIERS);
 
         return Response.builder()
                 .status(200)
                 .message("Supplier Successfully Deleted")
                 .build();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getSupplierPerformances() {
+
+        List<SupplierPerformanceDTO> performances = supplierStatsRepository.findAllPerformance();
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .supplierPerformances(performances)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getSupplierPerformance(Long id) {
+
+        SupplierPerformanceDTO performance = supplierStatsRepository.findPerformanceBySupplierId(id)
+                .orElseThrow(()-> new NotFoundException("Supplier Not Found"));
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .supplierPerformance(performance)
+                .build();
+    }
+
+    @Override
+    public Response rebuildSupplierPerformance() {
+
+        int suppliers = supplierStatsRebuilder.rebuild();
+
+        return Response.builder()
+                .status(200)
+                .message("Supplier analytics rebuilt for " + suppliers + " suppliers")
+                .build();
+    }
 }
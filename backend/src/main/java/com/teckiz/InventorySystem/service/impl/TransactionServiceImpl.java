@@ -1,46 +1,78 @@
 package com.teckiz.InventorySystem.service.impl;
 
 import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.StatusUpdateResultDTO;
 import com.teckiz.InventorySystem.dto.TransactionDTO;
 import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.dto.TransactionStatusUpdateRequest;
 import com.teckiz.InventorySystem.entity.Product;
 import com.teckiz.InventorySystem.entity.Supplier;
 import com.teckiz.InventorySystem.entity.Transaction;
 import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.entity.Warehouse;
 import com.teckiz.InventorySystem.enums.TransactionStatus;
 import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.exceptions.InvalidStatusTransitionException;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
 import com.teckiz.InventorySystem.exceptions.NameValueRequiredException;
 import com.teckiz.InventorySystem.exceptions.NotFoundException;
+import com.teckiz.InventorySystem.repository.ArchivedTransactionRepository;
 import com.teckiz.InventorySystem.repository.ProductRepository;
 import com.teckiz.InventorySystem.repository.SupplierRepository;
 import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.WarehouseRepository;
 import com.teckiz.InventorySystem.service.TransactionService;
 import com.teckiz.InventorySystem.service.UserService;
+import com.teckiz.InventorySystem.service.common.LocationStockWriter;
+import com.teckiz.InventorySystem.service.common.OptimisticRetryExecutor;
+import com.teckiz.InventorySystem.service.common.CatalogVersions;
+import com.teckiz.InventorySystem.service.common.SalesColumnStore;
+import com.teckiz.InventorySystem.service.common.SupplierStatsWriter;
+import com.teckiz.InventorySystem.service.common.TransactionStatusWriter;
+import com.teckiz.InventorySystem.service.common.TransactionTransitions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TransactionServiceImpl implements TransactionService {
 
+    //ids per locking select and UPDATE in bulk status changes
+    private static final int STATUS_BATCH_SIZE = 500;
+
     private final TransactionRepository transactionRepository;
     private final ModelMapper modelMapper;
     private final SupplierRepository supplierRepository;
     private final UserService userService;
     private final ProductRepository productRepository;
-
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final WarehouseRepository warehouseRepository;
+    private final LocationStockWriter locationStockWriter;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final CatalogVersions catalogVersions;
+    private final SupplierStatsWriter supplierStatsWriter;
+    private final SalesColumnStore salesColumnStore;
+    private final TransactionStatusWriter transactionStatusWriter;
+    private final TransactionTemplate transactionTemplate;
 
 
     @Override
@@ -52,17 +84,17 @@ public class TransactionServiceImpl implements TransactionService {
 
         if (supplierId == null) throw new NameValueRequiredException("Supplier Id id Required");
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(()-> new NotFoundException("Product Not Found"));
+        Product product = loadProduct(productId);
 
         Supplier supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(()-> new NotFoundException("Supplier Not Found"));
 
-        User user = userService.getCurrentLoggedInUser();
+        Warehouse warehouse = resolveWarehouse(transactionRequest.getWarehouseId());
+
+        User user = userService.getCurrentUserReference();
 
         //update the stock quantity and re-save
-        product.setStockQuantity(product.getStockQuantity() + quantity);
-        productRepository.save(product);
+        product = adjustStock("restockInventory", product, warehouse, quantity);
 
         //create a transaction
         Transaction transaction = Transaction.builder()
@@ -70,6 +102,7 @@ public class TransactionServiceImpl implements TransactionService {
                 .status(TransactionStatus.COMPLETED)
                 .product(product)
                 .user(user)
+                .warehouse(warehouse)
                 .supplier(supplier)
                 .totalProducts(quantity)
                 .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
@@ -77,6 +110,8 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
 
         transactionRepository.save(transaction);
+        salesColumnStore.append(transaction);
+        supplierStatsWriter.recordPurchase(supplierId, quantity, transaction.getTotalPrice(), transaction.getCreatedAt());
 
         return Response.builder()
                 .status(200)
@@ -94,15 +129,15 @@ public class TransactionServiceImpl implements TransactionService {
         Integer quantity = transactionRequest.getQuantity();
 
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(()-> new NotFoundException("Product Not Found"));
+        Product product = loadProduct(productId);
+
 
+        Warehouse warehouse = resolveWarehouse(transactionRequest.getWarehouseId());
 
-        User user = userService.getCurrentLoggedInUser();
+        User user = userService.getCurrentUserReference();
 
         //update the stock quantity and re-save
-        product.setStockQuantity(product.getStockQuantity() - quantity);
-        productRepository.save(product);
+        product = adjustStock("sell", product, warehouse, -quantity);
 
         //create a transaction
         Transaction transaction = Transaction.builder()
@@ -110,12 +145,14 @@ public class TransactionServiceImpl implements TransactionService {
                 .status(TransactionStatus.COMPLETED)
                 .product(product)
                 .user(user)
+                .warehouse(warehouse)
                 .totalProducts(quantity)
                 .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
                 .description(transactionRequest.getDescription())
                 .build();
 
         transactionRepository.save(transaction);
+        salesColumnStore.append(transaction);
 
         return Response.builder()
                 .status(200)
@@ -132,17 +169,17 @@ public class TransactionServiceImpl implements TransactionService {
 
         if (supplierId == null) throw new NameValueRequiredException("Supplier Id id Required");
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(()-> new NotFoundException("Product Not Found"));
+        Product product = loadProduct(productId);
 
         Supplier supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(()-> new NotFoundException("Supplier Not Found"));
 
-        User user = userService.getCurrentLoggedInUser();
+        Warehouse warehouse = resolveWarehouse(transactionRequest.getWarehouseId());
+
+        User user = userService.getCurrentUserReference();
 
         //update the stock quantity and re-save
-        product.setStockQuantity(product.getStockQuantity() - quantity);
-        productRepository.save(product);
+        product = adjustStock("returnToSupplier", product, warehouse, -quantity);
 
         //create a transaction
         Transaction transaction = Transaction.builder()
@@ -150,6 +187,7 @@ public class TransactionServiceImpl implements TransactionService {
                 .status(TransactionStatus.PROCESSING)
                 .product(product)
                 .user(user)
+                .warehouse(warehouse)
                 .supplier(supplier)
                 .totalProducts(quantity)
                 .totalPrice(BigDecimal.ZERO)
@@ -157,6 +195,8 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
 
         transactionRepository.save(transaction);
+        salesColumnStore.append(transaction);
+        supplierStatsWriter.recordReturn(supplierId, quantity);
 
         return Response.builder()
                 .status(200)
@@ -165,37 +205,31 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getAllTransactions(int page, int size, String searchText) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
-        Page<Transaction> transactionPage = transactionRepository.searchTransactions(searchText, pageable);
-
-        List<TransactionDTO> transactionDTOS = modelMapper
-                .map(transactionPage.getContent(), new TypeToken<List<TransactionDTO>>() {}.getType());
-
-        transactionDTOS.forEach(transactionDTOItem -> {
-            transactionDTOItem.setUser(null);
-            transactionDTOItem.setProduct(null);
-            transactionDTOItem.setSupplier(null);
-        });
-
+        Page<TransactionDTO> transactionPage = transactionRepository.searchTransactions(searchText, pageable);
 
         return Response.builder()
                 .status(200)
                 .message("success")
-                .transactions(transactionDTOS)
+                .transactions(transactionPage.getContent())
+                .totalPages(transactionPage.getTotalPages())
+                .totalElements(transactionPage.getTotalElements())
                 .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getTransactionById(Long id) {
-        Transaction transaction = transactionRepository.findById(id)
+        //closed months live in the archive, which keeps the original ids
+        TransactionDTO transactionDTO = transactionRepository.findWithDetailsById(id)
+                .map(transaction -> modelMapper.map(transaction, TransactionDTO.class))
+                .or(() -> archivedTransactionRepository.findWithDetailsById(id)
+                        .map(transaction -> modelMapper.map(transaction, TransactionDTO.class)))
                 .orElseThrow(()-> new NotFoundException("Transaction Not Found"));
 
-        TransactionDTO transactionDTO = modelMapper.map(transaction, TransactionDTO.class);
-
-        transactionDTO.getUser().setTransactions(null); //removing the user trnasaction list
-
         return Response.builder()
                 .status(200)
                 .message("success")
@@ -205,19 +239,21 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getAllTransactionByMonthAndYear(int month, int year) {
 
-       List<Transaction> transactions = transactionRepository.findAllByMonthAndYear(month, year);
-
-        List<TransactionDTO> transactionDTOS = modelMapper
-                .map(transactions, new TypeToken<List<TransactionDTO>>() {}.getType());
-
-        transactionDTOS.forEach(transactionDTOItem -> {
-            transactionDTOItem.setUser(null);
-            transactionDTOItem.setProduct(null);
-            transactionDTOItem.setSupplier(null);
-        });
+        List<TransactionDTO> transactionDTOS = transactionRepository.findAllByMonthAndYear(month, year);
 
+        //a closed month may have been archived, in full or partly while the archiver runs
+        YearMonth requested = YearMonth.of(year, month);
+        if (requested.isBefore(YearMonth.now())) {
+            LocalDateTime from = requested.atDay(1).atStartOfDay();
+            List<TransactionDTO> archived = archivedTransactionRepository.findAllCreatedBetween(from, from.plusMonths(1));
+            if (!archived.isEmpty()) {
+                transactionDTOS = new ArrayList<>(transactionDTOS);
+                transactionDTOS.addAll(archived);
+            }
+        }
 
         return Response.builder()
                 .status(200)
@@ -232,14 +268,117 @@ public class TransactionServiceImpl implements TransactionService {
         Transaction existingTransaction = transactionRepository.findById(transactionId)
                 .orElseThrow(()-> new NotFoundException("Transaction Not Found"));
 
-        existingTransaction.setStatus(transactionStatus);
-        existingTransaction.setUpdatedAt(LocalDateTime.now());
+        TransactionStatus previousStatus = existingTransaction.getStatus();
+        if (previousStatus != transactionStatus) {
+            TransactionTransitions.requireAllowed(previousStatus, transactionStatus);
 
-        transactionRepository.save(existingTransaction);
+            //only moves from the status read above, so a concurrent change (e.g. the returns workflow) isn't overwritten
+            Set<TransactionStatus> from = previousStatus != null
+                    ? EnumSet.of(previousStatus)
+                    : TransactionTransitions.sourcesOf(transactionStatus);
+            if (transactionStatusWriter.transition(List.of(transactionId), from, transactionStatus) == 0) {
+                throw new InvalidStatusTransitionException("Transaction status was changed concurrently, reload and retry");
+            }
+        }
 
         return Response.builder()
                 .status(200)
                 .message("Transaction Status Successfully Updated")
                 .build();
     }
+
+    @Override
+    public Response updateTransactionStatuses(TransactionStatusUpdateRequest statusUpdateRequest) {
+
+        TransactionStatus transactionStatus = statusUpdateRequest.getStatus();
+        List<Long> ids = statusUpdateRequest.getIds();
+        boolean byIds = ids != null && !ids.isEmpty();
+        if (!byIds && !statusUpdateRequest.hasFilter()) {
+            throw new NameValueRequiredException("Transaction ids or a filter are required");
+        }
+
+        int updated = 0;
+        int skipped = 0;
+        if (byIds) {
+            //sorted, so two bulk updates over the same rows lock them in the same order
+            List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+            for (int i = 0; i < distinctIds.size(); i += STATUS_BATCH_SIZE) {
+                updated += transactionStatusWriter.transition(
+                        distinctIds.subList(i, Math.min(i + STATUS_BATCH_SIZE, distinctIds.size())), transactionStatus);
+            }
+            skipped = distinctIds.size() - updated;
+        } else {
+            Set<TransactionStatus> from = TransactionTransitions.sourcesOf(transactionStatus);
+            if (statusUpdateRequest.getCurrentStatus() != null) {
+                TransactionTransitions.requireAllowed(statusUpdateRequest.getCurrentStatus(), transactionStatus);
+                from = EnumSet.of(statusUpdateRequest.getCurrentStatus());
+            }
+            //keyset pages of matching ids, each page moved in its own short transaction
+            long afterId = 0;
+            List<Long> page = List.of();
+            while (!from.isEmpty()) {
+                page = transactionRepository.findIdsForStatusChange(from,
+                        statusUpdateRequest.getTransactionType(),
+                        statusUpdateRequest.getProductId(),
+                        statusUpdateRequest.getSupplierId(),
+                        statusUpdateRequest.getCreatedFrom(),
+                        statusUpdateRequest.getCreatedBefore(),
+                        afterId,
+                        PageRequest.of(0, STATUS_BATCH_SIZE));
+                if (page.isEmpty()) break;
+                int moved = transactionStatusWriter.transition(page, from, transactionStatus);
+                updated += moved;
+                skipped += page.size() - moved;
+                if (page.size() < STATUS_BATCH_SIZE) break;
+                afterId = page.get(page.size() - 1);
+            }
+        }
+
+        return Response.builder()
+                .status(200)
+                .message("Transaction Statuses Successfully Updated")
+                .statusUpdate(new StatusUpdateResultDTO(transactionStatus, updated, skipped))
+                .build();
+    }
+
+    //the named warehouse, else the default one; null when no warehouses are set up and stock is only kept as a total
+    private Warehouse resolveWarehouse(Long warehouseId) {
+        if (warehouseId != null) {
+            return warehouseRepository.findById(warehouseId)
+                    .orElseThrow(()-> new NotFoundException("Warehouse Not Found"));
+        }
+        return warehouseRepository.findFirstByDefaultLocationTrue().orElse(null);
+    }
+
+    //read in a read-write transaction so it comes from the primary: the repository's own read-only one would go to
+    //a replica, and a lagging copy would hand the write a stale stock figure, version and price
+    private Product loadProduct(Long productId) {
+        Optional<Product> product = transactionTemplate.execute(status -> productRepository.findById(productId));
+        return product.orElseThrow(()-> new NotFoundException("Product Not Found"));
+    }
+
+    //every stock movement changes the product listing, so it also moves the products ETag on
+    private Product adjustStock(String operation, Product product, Warehouse warehouse, int delta) {
+        Product adjusted = product;
+        if (warehouse == null) {
+            adjusted = adjustStock(operation, product, delta);
+        } else {
+            locationStockWriter.adjust(product.getId(), warehouse.getId(), delta);
+        }
+        catalogVersions.bump(CatalogVersions.Collection.PRODUCTS);
+        return adjusted;
+    }
+
+    //applies the delta on top of the latest stored quantity, never below zero, re-reading the product whenever a concurrent writer won
+    private Product adjustStock(String operation, Product loadedProduct, int delta) {
+        Long productId = loadedProduct.getId();
+        return optimisticRetryExecutor.execute(operation, attempt -> {
+            Product product = attempt == 1 ? loadedProduct : loadProduct(productId);
+            int stock = (product.getStockQuantity() == null ? 0 : product.getStockQuantity()) + delta;
+            //the same floor LocationStockWriter applies once warehouses are set up
+            if (stock < 0) throw new InvalidStockOperationException("Not enough stock");
+            product.setStockQuantity(stock);
+            return productRepository.save(product);
+        });
+    }
 }
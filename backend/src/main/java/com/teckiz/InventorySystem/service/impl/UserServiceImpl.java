@@ -1,26 +1,41 @@
 package com.teckiz.InventorySystem.service.impl;
 
 import com.teckiz.InventorySystem.dto.LoginRequest;
+import com.teckiz.InventorySystem.dto.RefreshTokenRequest;
 import com.teckiz.InventorySystem.dto.RegisterRequest;
 import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.TransactionDTO;
 import com.teckiz.InventorySystem.dto.UserDTO;
+import com.teckiz.InventorySystem.entity.RefreshToken;
 import com.teckiz.InventorySystem.entity.User;
 import com.teckiz.InventorySystem.enums.UserRole;
 import com.teckiz.InventorySystem.exceptions.InvalidCredentialsException;
 import com.teckiz.InventorySystem.exceptions.NotFoundException;
+import com.teckiz.InventorySystem.repository.RefreshTokenRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
 import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.security.AuthUser;
 import com.teckiz.InventorySystem.security.JwtUtils;
+import com.teckiz.InventorySystem.security.TokenRevocationList;
 import com.teckiz.InventorySystem.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 @Service
@@ -32,6 +47,9 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final ModelMapper modelMapper;
     private final JwtUtils jwtUtils;
+    private final TransactionRepository transactionRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList tokenRevocationList;
 
 
     @Override
@@ -67,25 +85,75 @@ public class UserServiceImpl implements UserService {
         if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
             throw new InvalidCredentialsException("password does not match");
         }
+        return issueTokens(user, "user logged in successfully");
+    }
+
+    @Override
+    public Response refreshToken(RefreshTokenRequest refreshTokenRequest) {
+        RefreshToken refreshToken = refreshTokenRepository
+                .findByTokenHash(jwtUtils.hashRefreshToken(refreshTokenRequest.getRefreshToken()))
+                .orElseThrow(()-> new InvalidCredentialsException("Invalid refresh token"));
+
+        if (refreshToken.isRevoked() || refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new InvalidCredentialsException("Refresh token expired or revoked");
+        }
+        //rotate: each refresh token works once, a concurrent second use loses the update
+        if (refreshTokenRepository.revokeIfActive(refreshToken.getId()) == 0) {
+            throw new InvalidCredentialsException("Refresh token expired or revoked");
+        }
+
+        return issueTokens(refreshToken.getUser(), "token refreshed successfully");
+    }
+
+    @Override
+    public Response logout(String accessToken, RefreshTokenRequest refreshTokenRequest) {
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtUtils.parseClaims(accessToken);
+                tokenRevocationList.revoke(claims.getId(),
+                        LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Logout with an unusable access token: {}", e.getMessage());
+            }
+        }
+        if (refreshTokenRequest != null && refreshTokenRequest.getRefreshToken() != null) {
+            refreshTokenRepository.findByTokenHash(jwtUtils.hashRefreshToken(refreshTokenRequest.getRefreshToken()))
+                    .ifPresent(refreshToken -> refreshTokenRepository.revokeIfActive(refreshToken.getId()));
+        }
+
+        return Response.builder()
+                .status(200)
+                .message("user logged out successfully")
+                .build();
+    }
+
+    private Response issueTokens(User user, String message) {
         String token = jwtUtils.generateToken(user.getEmail());
+        String refreshToken = jwtUtils.generateRefreshToken();
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(jwtUtils.hashRefreshToken(refreshToken))
+                .user(user)
+                .expiresAt(LocalDateTime.now().plusDays(jwtUtils.getRefreshTokenDays()))
+                .build());
 
         return Response.builder()
                 .status(200)
-                .message("user logged in successfully")
+                .message(message)
                 .role(user.getRole())
                 .token(token)
-                .expirationTime("6 month")
+                .refreshToken(refreshToken)
+                .expirationTime(jwtUtils.getAccessTokenMinutes() + " minutes")
                 .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getAllUsers() {
         List<User> users = userRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
 
         List<UserDTO> userDTOS = modelMapper.map(users, new TypeToken<List<UserDTO>>() {}.getType());
 
-        userDTOS.forEach(userDTO -> userDTO.setTransactions(null));
-
         return Response.builder()
                 .status(200)
                 .message("success")
@@ -107,6 +175,17 @@ public class UserServiceImpl implements UserService {
         return user;
     }
 
+    @Override
+    public User getCurrentUserReference() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        //AuthFilter already loaded this user for the request, linking a transaction only needs the id
+        if (authentication != null && authentication.getPrincipal() instanceof AuthUser authUser) {
+            return userRepository.getReferenceById(authUser.getUserId());
+        }
+        return getCurrentLoggedInUser();
+    }
+
     @Override
     public Response updateUser(Long id, UserDTO userDTO) {
 
@@ -120,6 +199,8 @@ public class UserServiceImpl implements UserService {
 
         if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
             existingUser.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+            //a password change signs the user out everywhere once their access tokens run out
+            refreshTokenRepository.revokeAllByUserId(id);
         }
 
         userRepository.save(existingUser);
@@ -136,6 +217,7 @@ public class UserServiceImpl implements UserService {
          userRepository.findById(id)
                 .orElseThrow(()-> new NotFoundException("User Not Found"));
 
+         refreshTokenRepository.deleteAllByUserId(id);
          userRepository.deleteById(id);
 
         return Response.builder()
@@ -145,21 +227,25 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Response getUserTransactions(Long id) {
+    @Transactional(readOnly = true)
+    public Response getUserTransactions(Long id, int page, int size) {
         User user = userRepository.findById(id)
                 .orElseThrow(()-> new NotFoundException("User Not Found"));
 
         UserDTO userDTO = modelMapper.map(user, UserDTO.class);
 
-        userDTO.getTransactions().forEach(transactionDTO -> {
-            transactionDTO.setUser(null);
-            transactionDTO.setSupplier(null);
-        });
+        //newest first, one page at a time so a long history stays a bounded load
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Page<TransactionDTO> transactionPage = transactionRepository.findSummariesByUserId(id, pageable);
+
+        userDTO.setTransactions(transactionPage.getContent());
 
         return Response.builder()
                 .status(200)
                 .message("success")
                 .user(userDTO)
+                .totalPages(transactionPage.getTotalPages())
+                .totalElements(transactionPage.getTotalElements())
                 .build();
     }
 
@@ -0,0 +1,190 @@
+package com.teckiz.InventorySystem.service.impl;
+
+import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.StockLevelDTO;
+import com.teckiz.InventorySystem.dto.StockTransferRequest;
+import com.teckiz.InventorySystem.dto.WarehouseDTO;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Warehouse;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
+import com.teckiz.InventorySystem.exceptions.NotFoundException;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.StockCountRepository;
+import com.teckiz.InventorySystem.repository.StockLevelRepository;
+import com.teckiz.InventorySystem.repository.WarehouseRepository;
+import com.teckiz.InventorySystem.service.WarehouseService;
+import com.teckiz.InventorySystem.service.common.LocationStockWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WarehouseServiceImpl implements WarehouseService {
+
+    private final WarehouseRepository warehouseRepository;
+    private final StockLevelRepository stockLevelRepository;
+    private final ProductRepository productRepository;
+    private final LocationStockWriter locationStockWriter;
+    private final StockCountRepository stockCountRepository;
+    private final ModelMapper modelMapper;
+
+    @Override
+    @Transactional
+    public Response addWarehouse(WarehouseDTO warehouseDTO) {
+        boolean makeDefault = Boolean.TRUE.equals(warehouseDTO.getDefaultLocation())
+                || warehouseRepository.count() == 0;
+
+        Warehouse warehouseToSave = Warehouse.builder()
+                .name(warehouseDTO.getName())
+                .address(warehouseDTO.getAddress())
+                .defaultLocation(makeDefault)
+                .build();
+
+        warehouseRepository.save(warehouseToSave);
+        if (makeDefault) makeDefault(warehouseToSave);
+
+        return Response.builder()
+                .status(200)
+                .message("Warehouse added successfully")
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public Response updateWarehouse(Long id, WarehouseDTO warehouseDTO) {
+
+        Warehouse existingWarehouse = warehouseRepository.findById(id)
+                .orElseThrow(()-> new NotFoundException("Warehouse Not Found"));
+
+        if (warehouseDTO.getName() != null) existingWarehouse.setName(warehouseDTO.getName());
+        if (warehouseDTO.getAddress() != null) existingWarehouse.setAddress(warehouseDTO.getAddress());
+
+        boolean becomesDefault = Boolean.TRUE.equals(warehouseDTO.getDefaultLocation()) && !existingWarehouse.isDefaultLocation();
+        if (becomesDefault) existingWarehouse.setDefaultLocation(true);
+
+        warehouseRepository.save(existingWarehouse);
+        if (becomesDefault) makeDefault(existingWarehouse);
+
+        return Response.builder()
+                .status(200)
+                .message("Warehouse Successfully Updated")
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getAllWarehouses() {
+
+        List<Warehouse> warehouses = warehouseRepository.findAll(Sort.by(Sort.Direction.ASC, "name"));
+
+        List<WarehouseDTO> warehouseDTOS = modelMapper.map(warehouses, new TypeToken<List<WarehouseDTO>>() {}.getType());
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .warehouses(warehouseDTOS)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getWarehouseById(Long id) {
+
+        Warehouse warehouse = warehouseRepository.findById(id)
+                .orElseThrow(()-> new NotFoundException("Warehouse Not Found"));
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .warehouse(modelMapper.map(warehouse, WarehouseDTO.class))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public Response deleteWarehouse(Long id) {
+
+        Warehouse warehouse = warehouseRepository.findById(id)
+                .orElseThrow(()-> new NotFoundException("Warehouse Not Found"));
+
+        if (stockLevelRepository.sumQuantityByWarehouseId(id) > 0) {
+            throw new InvalidStockOperationException("Warehouse still holds stock, transfer it out first");
+        }
+        if (warehouse.isDefaultLocation()) {
+            throw new InvalidStockOperationException("Make another warehouse the default before deleting this one");
+        }
+
+        stockLevelRepository.deleteAllByWarehouseId(id);
+        warehouseRepository.delete(warehouse);
+
+        return Response.builder()
+                .status(200)
+                .message("Warehouse Successfully Deleted")
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getProductStock(Long productId) {
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(()-> new NotFoundException("Product Not Found"));
+
+        List<StockLevelDTO> stockLevels = stockLevelRepository.findLevelsByProductId(productId);
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .product(modelMapper.map(product, ProductDTO.class))
+                .stockLevels(stockLevels)
+                .build();
+    }
+
+    @Override
+    public Response transferStock(StockTransferRequest stockTransferRequest) {
+
+        Long productId = stockTransferRequest.getProductId();
+        Long fromWarehouseId = stockTransferRequest.getFromWarehouseId();
+        Long toWarehouseId = stockTransferRequest.getToWarehouseId();
+
+        if (fromWarehouseId.equals(toWarehouseId)) {
+            throw new InvalidStockOperationException("Source and target warehouse must differ");
+        }
+        if (!productRepository.existsById(productId)) throw new NotFoundException("Product Not Found");
+        if (!warehouseRepository.existsById(fromWarehouseId) || !warehouseRepository.existsById(toWarehouseId)) {
+            throw new NotFoundException("Warehouse Not Found");
+        }
+        //transfers aren't recorded as transactions, so a count couldn't tell them from shrinkage
+        if (stockCountRepository.existsOpenAtWarehouses(List.of(fromWarehouseId, toWarehouseId))) {
+            throw new InvalidStockOperationException("A stock count is open at one of these warehouses, post or cancel it first");
+        }
+
+        locationStockWriter.transfer(productId, fromWarehouseId, toWarehouseId, stockTransferRequest.getQuantity());
+
+        return Response.builder()
+                .status(200)
+                .message("Stock Transferred Successfully")
+                .build();
+    }
+
+    //one default at a time; stock recorded before locations existed is placed here so totals and rows agree
+    private void makeDefault(Warehouse warehouse) {
+        warehouseRepository.clearDefaultExcept(warehouse.getId());
+
+        //rows already here take their share in place (MySQL can't UPDATE stock_levels from a subquery on itself)
+        for (Object[] row : stockLevelRepository.findUnplacedHeldAtWarehouse(warehouse.getId())) {
+            stockLevelRepository.addQuantity((Long) row[0], warehouse.getId(), ((Number) row[1]).intValue());
+        }
+        stockLevelRepository.insertUnplacedAtWarehouse(warehouse.getId(), LocalDateTime.now());
+    }
+}
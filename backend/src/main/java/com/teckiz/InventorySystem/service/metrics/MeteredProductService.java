@@ -0,0 +1,127 @@
+package com.teckiz.InventorySystem.service.metrics;
+
+import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.ProductSearchRequest;
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.service.ProductService;
+import com.teckiz.InventorySystem.service.impl.ProductServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every ProductService call with meters registered up front.
+ */
+@Service
+@Primary
+public class MeteredProductService implements ProductService {
+
+    private final ProductService delegate;
+
+    private final Timer saveTimer;
+    private final Timer updateTimer;
+    private final Timer getAllTimer;
+    private final Timer searchTimer;
+    private final Timer getByIdTimer;
+    private final Timer deleteTimer;
+    private final Timer lookupTimer;
+    private final Timer lookupBatchTimer;
+
+    public MeteredProductService(ProductServiceImpl delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        this.saveTimer = ServiceMetrics.timer(meterRegistry, "ProductService", "saveProduct");
+        this.updateTimer = ServiceMetrics.timer(meterRegistry, "ProductService", "updateProduct");
+        this.getAllTimer = ServiceMetrics.timer(meterRegistry, "ProductService", "getAllProducts");
+        this.searchTimer = ServiceMetrics.timer(meterRegistry, "ProductService", "searchProducts");
+        this.getByIdTimer = ServiceMetrics.timer(meterRegistry, "ProductService", "getProductById");
+        this.deleteTimer = ServiceMetrics.timer(meterRegistry, "ProductService", "deleteProduct");
+        this.lookupTimer = ServiceMetrics.timer(meterRegistry, "ProductService", "lookupBySku");
+        this.lookupBatchTimer = ServiceMetrics.timer(meterRegistry, "ProductService", "lookupBySkus");
+    }
+
+    @Override
+    public Response saveProduct(ProductDTO productDTO, MultipartFile imageFile) {
+        long start = System.nanoTime();
+        try {
+            return delegate.saveProduct(productDTO, imageFile);
+        } finally {
+            saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response updateProduct(ProductDTO productDTO, MultipartFile imageFile) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateProduct(productDTO, imageFile);
+        } finally {
+            updateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response getAllProducts() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllProducts();
+        } finally {
+            getAllTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response searchProducts(ProductSearchRequest searchRequest) {
+        long start = System.nanoTime();
+        try {
+            return delegate.searchProducts(searchRequest);
+        } finally {
+            searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response getProductById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getProductById(id);
+        } finally {
+            getByIdTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response deleteProduct(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.deleteProduct(id);
+        } finally {
+            deleteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response lookupBySku(String sku) {
+        long start = System.nanoTime();
+        try {
+            return delegate.lookupBySku(sku);
+        } finally {
+            lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response lookupBySkus(List<String> skus) {
+        long start = System.nanoTime();
+        try {
+            return delegate.lookupBySkus(skus);
+        } finally {
+            lookupBatchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
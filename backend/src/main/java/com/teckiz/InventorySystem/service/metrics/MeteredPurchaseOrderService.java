@@ -0,0 +1,97 @@
+package com.teckiz.InventorySystem.service.metrics;
+
+import com.teckiz.InventorySystem.dto.PurchaseOrderReceiptRequest;
+import com.teckiz.InventorySystem.dto.PurchaseOrderRequest;
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.service.PurchaseOrderService;
+import com.teckiz.InventorySystem.service.impl.PurchaseOrderServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Times every PurchaseOrderService call. Received units go to the same PURCHASE counter as restocks,
+ * since a receipt books PURCHASE transactions without passing through TransactionService.
+ */
+@Service
+@Primary
+public class MeteredPurchaseOrderService implements PurchaseOrderService {
+
+    private final PurchaseOrderServiceImpl delegate;
+
+    private final Timer createTimer;
+    private final Timer getAllTimer;
+    private final Timer getByIdTimer;
+    private final Timer receiveTimer;
+    private final Timer cancelTimer;
+
+    private final IntConsumer purchasedUnits;
+
+    public MeteredPurchaseOrderService(PurchaseOrderServiceImpl delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        this.createTimer = ServiceMetrics.timer(meterRegistry, "PurchaseOrderService", "createPurchaseOrder");
+        this.getAllTimer = ServiceMetrics.timer(meterRegistry, "PurchaseOrderService", "getAllPurchaseOrders");
+        this.getByIdTimer = ServiceMetrics.timer(meterRegistry, "PurchaseOrderService", "getPurchaseOrderById");
+        this.receiveTimer = ServiceMetrics.timer(meterRegistry, "PurchaseOrderService", "receivePurchaseOrder");
+        this.cancelTimer = ServiceMetrics.timer(meterRegistry, "PurchaseOrderService", "cancelPurchaseOrder");
+
+        this.purchasedUnits = ServiceMetrics.units(meterRegistry, TransactionType.PURCHASE)::increment;
+    }
+
+    @Override
+    public Response createPurchaseOrder(PurchaseOrderRequest purchaseOrderRequest) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createPurchaseOrder(purchaseOrderRequest);
+        } finally {
+            createTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response getAllPurchaseOrders(int page, int size, TransactionStatus status, Long supplierId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllPurchaseOrders(page, size, status, supplierId);
+        } finally {
+            getAllTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response getPurchaseOrderById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPurchaseOrderById(id);
+        } finally {
+            getByIdTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response receivePurchaseOrder(Long id, PurchaseOrderReceiptRequest receiptRequest) {
+        long start = System.nanoTime();
+        try {
+            return delegate.receivePurchaseOrder(id, receiptRequest, purchasedUnits);
+        } finally {
+            receiveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response cancelPurchaseOrder(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.cancelPurchaseOrder(id);
+        } finally {
+            cancelTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
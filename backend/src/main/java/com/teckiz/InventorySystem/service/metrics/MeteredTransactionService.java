@@ -0,0 +1,143 @@
+package com.teckiz.InventorySystem.service.metrics;
+
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.dto.TransactionStatusUpdateRequest;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.service.TransactionService;
+import com.teckiz.InventorySystem.service.impl.TransactionServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every TransactionService call and counts moved units per transaction type.
+ * All meters are registered up front, so a call only reads the clock and bumps pre-built meters.
+ */
+@Service
+@Primary
+public class MeteredTransactionService implements TransactionService {
+
+    private final TransactionService delegate;
+
+    private final Timer restockTimer;
+    private final Timer sellTimer;
+    private final Timer returnTimer;
+    private final Timer getAllTimer;
+    private final Timer getByIdTimer;
+    private final Timer getByMonthTimer;
+    private final Timer updateStatusTimer;
+    private final Timer updateStatusesTimer;
+
+    private final Counter purchasedUnits;
+    private final Counter soldUnits;
+    private final Counter returnedUnits;
+
+    public MeteredTransactionService(TransactionServiceImpl delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        this.restockTimer = ServiceMetrics.timer(meterRegistry, "TransactionService", "restockInventory");
+        this.sellTimer = ServiceMetrics.timer(meterRegistry, "TransactionService", "sell");
+        this.returnTimer = ServiceMetrics.timer(meterRegistry, "TransactionService", "returnToSupplier");
+        this.getAllTimer = ServiceMetrics.timer(meterRegistry, "TransactionService", "getAllTransactions");
+        this.getByIdTimer = ServiceMetrics.timer(meterRegistry, "TransactionService", "getTransactionById");
+        this.getByMonthTimer = ServiceMetrics.timer(meterRegistry, "TransactionService", "getAllTransactionByMonthAndYear");
+        this.updateStatusTimer = ServiceMetrics.timer(meterRegistry, "TransactionService", "updateTransactionStatus");
+        this.updateStatusesTimer = ServiceMetrics.timer(meterRegistry, "TransactionService", "updateTransactionStatuses");
+
+        this.purchasedUnits = ServiceMetrics.units(meterRegistry, TransactionType.PURCHASE);
+        this.soldUnits = ServiceMetrics.units(meterRegistry, TransactionType.SALE);
+        this.returnedUnits = ServiceMetrics.units(meterRegistry, TransactionType.RETURN_TO_SUPPLIER);
+    }
+
+    @Override
+    public Response restockInventory(TransactionRequest transactionRequest) {
+        long start = System.nanoTime();
+        try {
+            Response response = delegate.restockInventory(transactionRequest);
+            purchasedUnits.increment(transactionRequest.getQuantity());
+            return response;
+        } finally {
+            restockTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response sell(TransactionRequest transactionRequest) {
+        long start = System.nanoTime();
+        try {
+            Response response = delegate.sell(transactionRequest);
+            soldUnits.increment(transactionRequest.getQuantity());
+            return response;
+        } finally {
+            sellTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response returnToSupplier(TransactionRequest transactionRequest) {
+        long start = System.nanoTime();
+        try {
+            Response response = delegate.returnToSupplier(transactionRequest);
+            returnedUnits.increment(transactionRequest.getQuantity());
+            return response;
+        } finally {
+            returnTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response getAllTransactions(int page, int size, String searchText) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllTransactions(page, size, searchText);
+        } finally {
+            getAllTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response getTransactionById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getTransactionById(id);
+        } finally {
+            getByIdTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response getAllTransactionByMonthAndYear(int month, int year) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllTransactionByMonthAndYear(month, year);
+        } finally {
+            getByMonthTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response updateTransactionStatus(Long transactionId, TransactionStatus transactionStatus) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateTransactionStatus(transactionId, transactionStatus);
+        } finally {
+            updateStatusTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Response updateTransactionStatuses(TransactionStatusUpdateRequest statusUpdateRequest) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateTransactionStatuses(statusUpdateRequest);
+        } finally {
+            updateStatusesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.teckiz.InventorySystem.service.metrics;
+
+import com.teckiz.InventorySystem.enums.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+//meter names shared by the metered service decorators
+final class ServiceMetrics {
+
+    static final String SERVICE_TIMER = "inventory.service.calls";
+    static final String UNITS_COUNTER = "inventory.units";
+
+    private ServiceMetrics() {
+    }
+
+    static Timer timer(MeterRegistry meterRegistry, String service, String method) {
+        return Timer.builder(SERVICE_TIMER)
+                .description("Time spent in inventory service methods")
+                .tag("service", service)
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+
+    static Counter units(MeterRegistry meterRegistry, TransactionType type) {
+        return Counter.builder(UNITS_COUNTER)
+                .description("Product units moved by committed transactions")
+                .baseUnit("units")
+                .tag("type", type.name())
+                .register(meterRegistry);
+    }
+}
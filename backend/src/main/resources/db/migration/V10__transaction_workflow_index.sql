@@ -0,0 +1,2 @@
+-- the return workflow pages through one type in one status in id order
+CREATE INDEX idx_transactions_type_status ON transactions (transaction_type, status, id);
@@ -0,0 +1,38 @@
+-- Stock counts: expected stock is snapshotted into one line per product when the count starts,
+-- scanned quantities are written onto the lines and posting books the differences as ADJUSTMENT transactions.
+ALTER TABLE transactions MODIFY COLUMN transaction_type ENUM ('ADJUSTMENT','PURCHASE','RETURN_TO_SUPPLIER','SALE');
+ALTER TABLE transactions_archive MODIFY COLUMN transaction_type ENUM ('ADJUSTMENT','PURCHASE','RETURN_TO_SUPPLIER','SALE');
+
+CREATE TABLE stock_counts (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    `key`        VARCHAR(255),
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    status       ENUM ('CANCELED','COMPLETED','PENDING','PROCESSING') NOT NULL,
+    description  VARCHAR(255),
+    warehouse_id BIGINT,
+    category_id  BIGINT,
+    user_id      BIGINT,
+    posted_at    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_stock_counts_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses (id),
+    CONSTRAINT fk_stock_counts_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_stock_counts_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+-- transfers check for an open count at either warehouse
+CREATE INDEX idx_stock_counts_warehouse_status ON stock_counts (warehouse_id, status);
+
+CREATE TABLE stock_count_lines (
+    id                BIGINT  NOT NULL AUTO_INCREMENT,
+    stock_count_id    BIGINT  NOT NULL,
+    product_id        BIGINT  NOT NULL,
+    expected_quantity INTEGER NOT NULL,
+    counted_quantity  INTEGER,
+    counted_at        DATETIME(6),
+    variance          INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_stock_count_lines_product UNIQUE (stock_count_id, product_id),
+    CONSTRAINT fk_stock_count_lines_count FOREIGN KEY (stock_count_id) REFERENCES stock_counts (id) ON DELETE CASCADE,
+    CONSTRAINT fk_stock_count_lines_product FOREIGN KEY (product_id) REFERENCES product (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
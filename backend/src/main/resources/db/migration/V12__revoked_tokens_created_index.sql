@@ -0,0 +1,2 @@
+-- the revocation list polls for rows added by other instances since its last look
+CREATE INDEX idx_revoked_tokens_created_at ON revoked_tokens (created_at);
@@ -0,0 +1,2 @@
+-- the sales column store polls for transactions committed or changed since its last look
+CREATE INDEX idx_transactions_updated_at ON transactions (updated_at);
@@ -0,0 +1,4 @@
+-- V2 added product.version without a value, and a null @Version makes Spring Data treat an existing row as new;
+-- every upgraded product starts at 0 and new rows get 0 from the column default.
+UPDATE product SET version = 0 WHERE version IS NULL;
+ALTER TABLE product MODIFY COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,73 @@
+-- Schema of the application before versioned migrations, as Hibernate's ddl-auto=update created it.
+-- Databases created before migrations existed are baselined at this version and skip this script.
+
+CREATE TABLE users (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    `key`        VARCHAR(255),
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    name         VARCHAR(255) NOT NULL,
+    email        VARCHAR(255) NOT NULL,
+    password     VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255) NOT NULL,
+    role         ENUM ('ADMIN','MANAGER'),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE categories (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    `key`      VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    name       VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE suppliers (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    `key`      VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    name       VARCHAR(255) NOT NULL,
+    address    VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product (
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    `key`          VARCHAR(255),
+    created_at     DATETIME(6),
+    updated_at     DATETIME(6),
+    name           VARCHAR(255)  NOT NULL,
+    sku            VARCHAR(255)  NOT NULL,
+    price          DECIMAL(38,2),
+    stock_quantity INTEGER,
+    description    VARCHAR(255),
+    image_url      VARCHAR(255),
+    expiry_date    DATETIME(6),
+    category_id    BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_product_sku UNIQUE (sku),
+    CONSTRAINT fk_product_category FOREIGN KEY (category_id) REFERENCES categories (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE transactions (
+    id               BIGINT NOT NULL AUTO_INCREMENT,
+    `key`            VARCHAR(255),
+    created_at       DATETIME(6),
+    updated_at       DATETIME(6),
+    total_products   INTEGER,
+    total_price      DECIMAL(38,2),
+    transaction_type ENUM ('PURCHASE','RETURN_TO_SUPPLIER','SALE'),
+    status           ENUM ('CANCELED','COMPLETED','PENDING','PROCESSING'),
+    description      VARCHAR(255),
+    user_id          BIGINT,
+    product_id       BIGINT,
+    supplier_id      BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_transactions_product FOREIGN KEY (product_id) REFERENCES product (id),
+    CONSTRAINT fk_transactions_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,81 @@
+-- Tables and columns added while ddl-auto=update still owned the schema: optimistic locking on products,
+-- warehouses with per-location stock, the transaction archive and the refresh/revoked token stores.
+-- A database baselined at V1 starts here.
+
+ALTER TABLE product ADD COLUMN version BIGINT;
+
+CREATE TABLE warehouses (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    `key`            VARCHAR(255),
+    created_at       DATETIME(6),
+    updated_at       DATETIME(6),
+    name             VARCHAR(255) NOT NULL,
+    address          VARCHAR(255),
+    default_location BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_warehouses_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE stock_levels (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    `key`        VARCHAR(255),
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    product_id   BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    quantity     INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_stock_levels_product_warehouse UNIQUE (product_id, warehouse_id),
+    CONSTRAINT fk_stock_levels_product FOREIGN KEY (product_id) REFERENCES product (id),
+    CONSTRAINT fk_stock_levels_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses (id)
+) ENGINE = InnoDB;
+
+ALTER TABLE transactions ADD COLUMN warehouse_id BIGINT;
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses (id);
+
+CREATE TABLE transactions_archive (
+    id               BIGINT NOT NULL,
+    `key`            VARCHAR(255),
+    created_at       DATETIME(6),
+    updated_at       DATETIME(6),
+    total_products   INTEGER,
+    total_price      DECIMAL(38,2),
+    transaction_type ENUM ('PURCHASE','RETURN_TO_SUPPLIER','SALE'),
+    status           ENUM ('CANCELED','COMPLETED','PENDING','PROCESSING'),
+    description      VARCHAR(255),
+    user_id          BIGINT,
+    product_id       BIGINT,
+    supplier_id      BIGINT,
+    warehouse_id     BIGINT,
+    archived_at      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_archive_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_transactions_archive_product FOREIGN KEY (product_id) REFERENCES product (id),
+    CONSTRAINT fk_transactions_archive_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers (id),
+    CONSTRAINT fk_transactions_archive_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE refresh_tokens (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    `key`      VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    token_hash VARCHAR(64) NOT NULL,
+    expires_at DATETIME(6),
+    revoked    BIT         NOT NULL,
+    user_id    BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE revoked_tokens (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    `key`      VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    token_id   VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_revoked_tokens_token_id UNIQUE (token_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,21 @@
+-- Secondary indexes for the repository queries. MySQL drops the implicit foreign key indexes
+-- once one of these can back the constraint, so FK columns are not indexed twice.
+
+-- month listings, the archiver's cutoff scan, user history sorted by date, per product/supplier history
+CREATE INDEX idx_transactions_created_at ON transactions (created_at);
+CREATE INDEX idx_transactions_user_created ON transactions (user_id, created_at);
+CREATE INDEX idx_transactions_product_created ON transactions (product_id, created_at);
+CREATE INDEX idx_transactions_supplier_created ON transactions (supplier_id, created_at);
+
+CREATE INDEX idx_transactions_archive_created_at ON transactions_archive (created_at);
+
+CREATE INDEX idx_product_category ON product (category_id);
+
+-- sumQuantityByWarehouseId reads only the index
+CREATE INDEX idx_stock_levels_warehouse_quantity ON stock_levels (warehouse_id, quantity);
+
+-- revokeAllByUserId only touches tokens still active
+CREATE INDEX idx_refresh_tokens_user_revoked ON refresh_tokens (user_id, revoked);
+
+-- the revocation list reloads and purges by expiry
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,16 @@
+-- Keyset paging for the product catalog. Every sortable column is NOT NULL, so the
+-- (sort value, id) seek never has to special-case nulls.
+UPDATE product SET stock_quantity = 0 WHERE stock_quantity IS NULL;
+UPDATE product SET price = 0 WHERE price IS NULL;
+ALTER TABLE product MODIFY price DECIMAL(38,2) NOT NULL;
+ALTER TABLE product MODIFY stock_quantity INTEGER NOT NULL;
+
+-- one index per sort order; InnoDB appends the primary key, so each is effectively (column, id)
+CREATE INDEX idx_product_name ON product (name);
+CREATE INDEX idx_product_price ON product (price);
+CREATE INDEX idx_product_stock ON product (stock_quantity);
+
+-- the same orders within a category filter
+CREATE INDEX idx_product_category_name ON product (category_id, name);
+CREATE INDEX idx_product_category_price ON product (category_id, price);
+CREATE INDEX idx_product_category_stock ON product (category_id, stock_quantity);
@@ -0,0 +1,3 @@
+-- Covering index for the category summaries: count, units and stock value per category
+-- are aggregated from the index alone, without touching the product rows.
+CREATE INDEX idx_product_category_value ON product (category_id, stock_quantity, price);
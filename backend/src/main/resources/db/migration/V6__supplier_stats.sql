@@ -0,0 +1,29 @@
+-- Running purchase and return totals per supplier, maintained incrementally by the application.
+CREATE TABLE supplier_stats (
+    supplier_id      BIGINT        NOT NULL,
+    units_purchased  BIGINT        NOT NULL,
+    units_returned   BIGINT        NOT NULL,
+    purchase_count   BIGINT        NOT NULL,
+    return_count     BIGINT        NOT NULL,
+    spend            DECIMAL(38,2) NOT NULL,
+    last_delivery_at DATETIME(6),
+    PRIMARY KEY (supplier_id),
+    CONSTRAINT fk_supplier_stats_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- seed from the existing history, hot table and archive, same rules as SupplierStatsRebuilder
+INSERT INTO supplier_stats (supplier_id, units_purchased, units_returned, purchase_count, return_count, spend, last_delivery_at)
+SELECT h.supplier_id,
+       SUM(CASE WHEN h.transaction_type = 'PURCHASE' THEN COALESCE(h.total_products, 0) ELSE 0 END),
+       SUM(CASE WHEN h.transaction_type = 'RETURN_TO_SUPPLIER' THEN COALESCE(h.total_products, 0) ELSE 0 END),
+       SUM(CASE WHEN h.transaction_type = 'PURCHASE' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN h.transaction_type = 'RETURN_TO_SUPPLIER' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN h.transaction_type = 'PURCHASE' THEN COALESCE(h.total_price, 0) ELSE 0 END),
+       MAX(CASE WHEN h.transaction_type = 'PURCHASE' THEN h.created_at END)
+FROM (SELECT supplier_id, transaction_type, status, total_products, total_price, created_at FROM transactions
+      UNION ALL
+      SELECT supplier_id, transaction_type, status, total_products, total_price, created_at FROM transactions_archive) h
+WHERE h.supplier_id IS NOT NULL
+  AND h.status <> 'CANCELED'
+  AND h.transaction_type IN ('PURCHASE', 'RETURN_TO_SUPPLIER')
+GROUP BY h.supplier_id;
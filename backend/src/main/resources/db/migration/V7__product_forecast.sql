@@ -0,0 +1,12 @@
+-- Smoothed daily demand and preferred supplier per product, folded forward nightly by the application.
+CREATE TABLE product_forecast (
+    product_id       BIGINT      NOT NULL,
+    daily_demand     DOUBLE      NOT NULL,
+    demand_as_of     DATE,
+    supplier_id      BIGINT,
+    last_purchase_at DATETIME(6),
+    updated_at       DATETIME(6),
+    PRIMARY KEY (product_id),
+    CONSTRAINT fk_product_forecast_product FOREIGN KEY (product_id) REFERENCES product (id) ON DELETE CASCADE,
+    CONSTRAINT fk_product_forecast_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers (id) ON DELETE SET NULL
+) ENGINE = InnoDB;
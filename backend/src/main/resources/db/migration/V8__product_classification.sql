@@ -0,0 +1,6 @@
+-- ABC (revenue share) and XYZ (weekly demand variability) classes, set by the classification job.
+ALTER TABLE product ADD COLUMN abc_class ENUM ('A','B','C');
+ALTER TABLE product ADD COLUMN xyz_class ENUM ('X','Y','Z');
+
+-- catalog filter on the classes
+CREATE INDEX idx_product_abc_xyz ON product (abc_class, xyz_class);
@@ -0,0 +1,32 @@
+-- Purchase orders: a header per supplier delivery and one line per product, received in one or more batches.
+CREATE TABLE purchase_orders (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    `key`        VARCHAR(255),
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    status       ENUM ('CANCELED','COMPLETED','PENDING','PROCESSING') NOT NULL,
+    description  VARCHAR(255),
+    supplier_id  BIGINT NOT NULL,
+    warehouse_id BIGINT,
+    user_id      BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_purchase_orders_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers (id),
+    CONSTRAINT fk_purchase_orders_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses (id),
+    CONSTRAINT fk_purchase_orders_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_purchase_orders_status ON purchase_orders (status);
+CREATE INDEX idx_purchase_orders_supplier ON purchase_orders (supplier_id);
+
+CREATE TABLE purchase_order_lines (
+    id                BIGINT        NOT NULL AUTO_INCREMENT,
+    purchase_order_id BIGINT        NOT NULL,
+    product_id        BIGINT        NOT NULL,
+    quantity_ordered  INTEGER       NOT NULL,
+    quantity_received INTEGER       NOT NULL,
+    unit_price        DECIMAL(38,2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_purchase_order_lines_product UNIQUE (purchase_order_id, product_id),
+    CONSTRAINT fk_purchase_order_lines_order FOREIGN KEY (purchase_order_id) REFERENCES purchase_orders (id) ON DELETE CASCADE,
+    CONSTRAINT fk_purchase_order_lines_product FOREIGN KEY (product_id) REFERENCES product (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,35 @@
+-- Range-partitions the transactions table by created_at month (MySQL 8, InnoDB).
+-- Run once during a maintenance window, then set inventory.transactions.partitioning.enabled=true so
+-- TransactionPartitionMaintainer keeps adding month partitions and drops the ones the archiver emptied.
+--
+-- MySQL requirements for partitioned tables:
+--   * every unique key, including the primary key, must contain the partitioning column
+--   * foreign keys are not supported, so the ones Hibernate generated on transactions are dropped;
+--     the service layer only ever writes ids it has just loaded
+--
+-- Adjust the first month partition to the oldest month still in the table; older rows land in p_history
+-- and are moved out by the archiver.
+
+SET @drop_fks = (
+    SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', constraint_name, '`'))
+    FROM information_schema.table_constraints
+    WHERE table_schema = DATABASE() AND table_name = 'transactions' AND constraint_type = 'FOREIGN KEY');
+SET @sql = IF(@drop_fks IS NULL, 'DO 0', CONCAT('ALTER TABLE transactions ', @drop_fks));
+PREPARE drop_fks FROM @sql;
+EXECUTE drop_fks;
+DEALLOCATE PREPARE drop_fks;
+
+ALTER TABLE transactions
+    MODIFY created_at DATETIME(6) NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE transactions
+    PARTITION BY RANGE COLUMNS (created_at) (
+        PARTITION p_history VALUES LESS THAN ('2026-01-01'),
+        PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
+
+-- Archived rows are rarely read, trade some CPU on those reads for a smaller footprint
+ALTER TABLE transactions_archive ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
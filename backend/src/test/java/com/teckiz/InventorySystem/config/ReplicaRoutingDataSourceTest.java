@@ -0,0 +1,117 @@
+package com.teckiz.InventorySystem.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two H2 databases stand in for the primary and the replica; each knows its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(200);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTemplate;
+    private TransactionTemplate readTemplate;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReplicaRoutingDataSource(node("primary"), node("replica"), new ReadYourWritesTracker(WINDOW));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTemplate = new TransactionTemplate(transactionManager);
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica() {
+        // Act & Assert
+        assertEquals("replica", readTemplate.execute(status -> nodeName()));
+        assertEquals(1, routingDataSource.getReplicaRouteCount());
+    }
+
+    @Test
+    void writeTransaction_ShouldUsePrimary() {
+        // Act & Assert
+        assertEquals("primary", writeTemplate.execute(status -> nodeName()));
+        assertEquals(0, routingDataSource.getReplicaRouteCount());
+    }
+
+    @Test
+    void noTransaction_ShouldUsePrimary() {
+        // Act & Assert
+        assertEquals("primary", nodeName());
+    }
+
+    @Test
+    void readAfterOwnWrite_ShouldStayOnPrimaryUntilWindowPasses() throws InterruptedException {
+        // Arrange
+        signIn("alice@example.com");
+        writeTemplate.execute(status -> nodeName());
+
+        // Act & Assert - alice sees the primary, bob is unaffected
+        assertEquals("primary", readTemplate.execute(status -> nodeName()));
+        assertEquals(1, routingDataSource.getPinnedReadCount());
+        signIn("bob@example.com");
+        assertEquals("replica", readTemplate.execute(status -> nodeName()));
+
+        signIn("alice@example.com");
+        Thread.sleep(WINDOW.toMillis() + 50);
+        assertEquals("replica", readTemplate.execute(status -> nodeName()));
+    }
+
+    @Test
+    void readAfterRolledBackWrite_ShouldUseReplica() {
+        // Arrange
+        signIn("alice@example.com");
+        writeTemplate.executeWithoutResult(status -> {
+            nodeName();
+            status.setRollbackOnly();
+        });
+
+        // Act & Assert
+        assertEquals("replica", readTemplate.execute(status -> nodeName()));
+        assertEquals(0, routingDataSource.getPinnedReadCount());
+    }
+
+    private String nodeName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        setup.update("DELETE FROM node");
+        setup.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,73 @@
+package com.teckiz.InventorySystem.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmallResponseBufferingFilterTest {
+
+    private final SmallResponseBufferingFilter filter = new SmallResponseBufferingFilter(2048);
+
+    @Test
+    void doFilter_SmallBody_ShouldSetContentLength() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicInteger writtenDuringChain = new AtomicInteger(-1);
+        FilterChain chain = (request, servletResponse) -> {
+            servletResponse.getOutputStream().write("{\"status\":200}".getBytes(StandardCharsets.UTF_8));
+            servletResponse.getOutputStream().flush();
+            writtenDuringChain.set(response.getContentAsByteArray().length);
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/categories/all"), response, chain);
+
+        // Assert - held back until the end, then sent with its length
+        assertEquals(0, writtenDuringChain.get());
+        assertEquals(14, response.getContentLength());
+        assertEquals("{\"status\":200}", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_LargeBody_ShouldStreamThroughWithoutContentLength() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicInteger writtenDuringChain = new AtomicInteger(-1);
+        byte[] chunk = new byte[1500];
+        FilterChain chain = (request, servletResponse) -> {
+            servletResponse.getOutputStream().write(chunk);
+            servletResponse.getOutputStream().write(chunk);
+            servletResponse.getOutputStream().write(chunk);
+            writtenDuringChain.set(response.getContentAsByteArray().length);
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/all"), response, chain);
+
+        // Assert - everything past the buffer went straight to the client
+        assertEquals(4500, writtenDuringChain.get());
+        assertEquals(0, response.getContentLength());
+        assertEquals(4500, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void doFilter_Writer_ShouldBufferLikeTheStream() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding("UTF-8");
+        FilterChain chain = (request, servletResponse) -> servletResponse.getWriter().write("café");
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/all"), response, chain);
+
+        // Assert
+        assertEquals(5, response.getContentLength());
+        assertEquals("café", response.getContentAsString());
+    }
+}
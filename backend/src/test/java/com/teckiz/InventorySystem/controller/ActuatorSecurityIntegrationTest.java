@@ -0,0 +1,68 @@
+package com.teckiz.InventorySystem.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs actuator requests through the application's security filter chain: health is open,
+ * the Prometheus scrape needs an ADMIN.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureWebMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class ActuatorSecurityIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+    }
+
+    @Test
+    void health_Anonymous_ShouldBeOpen() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void prometheus_Anonymous_ShouldReturn401() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_Manager_ShouldReturn403() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus").with(user("manager@example.com").authorities(() -> "MANAGER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void prometheus_Admin_ShouldScrape() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus").with(user("admin@example.com").authorities(() -> "ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("jvm_memory_used_bytes")));
+    }
+}
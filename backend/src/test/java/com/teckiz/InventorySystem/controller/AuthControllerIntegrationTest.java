@@ -6,6 +6,7 @@ import com.teckiz.InventorySystem.dto.RegisterRequest;
 import com.teckiz.InventorySystem.dto.Response;
 import com.teckiz.InventorySystem.entity.User;
 import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.repository.RefreshTokenRepository;
 import com.teckiz.InventorySystem.repository.UserRepository;
 import com.teckiz.InventorySystem.security.JwtUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,6 +47,9 @@ class AuthControllerIntegrationTest {
     @MockBean
     private JwtUtils jwtUtils;
 
+    @MockBean
+    private RefreshTokenRepository refreshTokenRepository;
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
@@ -130,6 +134,8 @@ class AuthControllerIntegrationTest {
         when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
         when(jwtUtils.generateToken("john@example.com")).thenReturn("jwtToken");
+        when(jwtUtils.generateRefreshToken()).thenReturn("refreshToken");
+        when(jwtUtils.getAccessTokenMinutes()).thenReturn(15L);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/login")
@@ -140,7 +146,8 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("user logged in successfully"))
                 .andExpect(jsonPath("$.token").value("jwtToken"))
                 .andExpect(jsonPath("$.role").value("MANAGER"))
-                .andExpect(jsonPath("$.expirationTime").value("6 month"));
+                .andExpect(jsonPath("$.refreshToken").value("refreshToken"))
+                .andExpect(jsonPath("$.expirationTime").value("15 minutes"));
     }
 
     @Test
@@ -182,6 +189,28 @@ class AuthControllerIntegrationTest {
                 .andExpect(status().isBadRequest()); // Changed from 401 to 400 based on actual implementation
     }
 
+    @Test
+    void loginUser_TooManyAttemptsForAccount_ShouldReturnTooManyRequests() throws Exception {
+        // Arrange
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("throttled@example.com");
+        loginRequest.setPassword("wrongpassword");
+
+        when(userRepository.findByEmail("throttled@example.com")).thenReturn(Optional.empty());
+        String body = objectMapper.writeValueAsString(loginRequest);
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isNotFound());
+        }
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
     @Test
     void loginUser_WithValidationErrors_ShouldReturnBadRequest() throws Exception {
         // Arrange
@@ -0,0 +1,123 @@
+package com.teckiz.InventorySystem.controller;
+
+import com.teckiz.InventorySystem.dto.CategoryDTO;
+import com.teckiz.InventorySystem.dto.SupplierDTO;
+import com.teckiz.InventorySystem.service.CategoryService;
+import com.teckiz.InventorySystem.service.SupplierService;
+import com.teckiz.InventorySystem.service.common.IdGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class CatalogETagIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getAllCategories_MatchingETag_ShouldReturn304WithoutQuerying() throws Exception {
+        // Arrange
+        String etag = fetchETag("/api/categories/all");
+        statistics.clear();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/categories/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllCategories_AfterCreate_ShouldReturnNewETagAndBody() throws Exception {
+        // Arrange
+        String etag = fetchETag("/api/categories/all");
+        String name = "ETag Category " + IdGenerator.generateUniqueId();
+        categoryService.createCategory(new CategoryDTO(name));
+
+        // Act & Assert
+        String body = mockMvc.perform(get("/api/categories/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains(name));
+        assertNotEquals(etag, fetchETag("/api/categories/all"));
+    }
+
+    @Test
+    void getAllSuppliers_AfterUpdate_ShouldNotMatchOldETag() throws Exception {
+        // Arrange
+        supplierService.addSupplier(new SupplierDTO("ETag Supplier", "Dock 1"));
+        String etag = fetchETag("/api/suppliers/all");
+        Long supplierId = supplierIdByName("ETag Supplier");
+
+        // Act
+        supplierService.updateSupplier(supplierId, new SupplierDTO(null, "Dock 2"));
+
+        // Assert
+        mockMvc.perform(get("/api/suppliers/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getAllProducts_CborAndJson_ShouldUseDifferentETags() throws Exception {
+        // Act
+        String json = fetchETag("/api/products/all");
+        String cbor = mockMvc.perform(get("/api/products/all").header(HttpHeaders.ACCEPT, "application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert
+        assertNotEquals(json, cbor);
+    }
+
+    private String fetchETag(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Long supplierIdByName(String name) {
+        return supplierService.getAllSuppliers().getSuppliers().stream()
+                .filter(supplier -> name.equals(supplier.getName()))
+                .findFirst().orElseThrow().getId();
+    }
+}
@@ -0,0 +1,61 @@
+package com.teckiz.InventorySystem.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class PurchaseOrderValidationIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void createPurchaseOrder_LineWithoutProductId_ShouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/purchase-orders/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"supplierId\":1,\"lines\":[{\"quantity\":5}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("lines[0].productId: Product id is required"));
+    }
+
+    @Test
+    void createPurchaseOrder_LineWithoutQuantity_ShouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/purchase-orders/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"supplierId\":1,\"lines\":[{\"productId\":7}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("lines[0].quantity: Quantity is required"));
+    }
+
+    @Test
+    void createPurchaseOrder_WithoutSupplierId_ShouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/purchase-orders/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\":[{\"productId\":7,\"quantity\":5}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("supplierId: Supplier id is required"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.teckiz.InventorySystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.TransactionDTO;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Payload size and serialization CPU of the product and transaction list envelopes in JSON, Smile and CBOR,
+ * each also gzipped. Logs a table at DEBUG; the assertions only pin the size ordering.
+ * Tagged benchmark, so it only runs with -Pbenchmark.
+ */
+@Tag("benchmark")
+@Slf4j
+class ResponseEncodingBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int WARMUP = 20;
+    private static final int RUNS = 30;
+
+    private final Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+
+    ResponseEncodingBenchmarkTest() {
+        //same builder settings as Boot applies (ISO dates, modules), see ResponseEncodingConfig
+        mappers.put("json", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("smile", Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+        mappers.put("cbor", Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+    }
+
+    @Test
+    void productList_BinaryAndGzip_ShouldBeSmallerThanJson() throws IOException {
+        Map<String, int[]> sizes = measure("products", productsResponse());
+
+        assertTrue(sizes.get("smile")[0] < sizes.get("json")[0]);
+        assertTrue(sizes.get("cbor")[0] < sizes.get("json")[0]);
+        assertTrue(sizes.get("json")[1] * 3 < sizes.get("json")[0], "gzip should cut JSON product lists by over 3x");
+    }
+
+    @Test
+    void transactionList_BinaryAndGzip_ShouldBeSmallerThanJson() throws IOException {
+        Map<String, int[]> sizes = measure("transactions", transactionsResponse());
+
+        assertTrue(sizes.get("smile")[0] < sizes.get("json")[0]);
+        assertTrue(sizes.get("cbor")[0] < sizes.get("json")[0]);
+        assertTrue(sizes.get("json")[1] * 3 < sizes.get("json")[0], "gzip should cut JSON transaction lists by over 3x");
+    }
+
+    //returns encoding -> {raw bytes, gzipped bytes}
+    private Map<String, int[]> measure(String label, Response response) throws IOException {
+        Map<String, int[]> sizes = new LinkedHashMap<>();
+        log.debug("{} x{}: format bytes gzip encode(us) gzip+enc(us)", label, ROWS);
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            byte[] raw = mapper.writeValueAsBytes(response);
+            byte[] gzipped = gzip(raw);
+            long encodeMicros = medianMicros(() -> mapper.writeValueAsBytes(response));
+            long gzipMicros = medianMicros(() -> gzip(mapper.writeValueAsBytes(response)));
+            log.debug("{} {} {} {} {}", entry.getKey(), raw.length, gzipped.length, encodeMicros, gzipMicros);
+            sizes.put(entry.getKey(), new int[]{raw.length, gzipped.length});
+        }
+        return sizes;
+    }
+
+    private static long medianMicros(Encoding encoding) throws IOException {
+        for (int i = 0; i < WARMUP; i++) encoding.run();
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            encoding.run();
+            samples[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static Response productsResponse() {
+        List<ProductDTO> products = new ArrayList<>(ROWS);
+        LocalDateTime now = LocalDateTime.of(2026, 10, 1, 9, 30);
+        for (int i = 0; i < ROWS; i++) {
+            ProductDTO product = ProductDTO.builder()
+                    .productId((long) i)
+                    .categoryId((long) (i % 40))
+                    .name("Product " + i)
+                    .sku("SKU-" + (100_000 + i))
+                    .price(new BigDecimal("12.49").add(BigDecimal.valueOf(i % 100)))
+                    .stockQuantity(i % 500)
+                    .description("Shelf stable item, aisle " + (i % 30))
+                    .imageUrl("https://cdn.example.com/products/" + i + ".jpg")
+                    .build();
+            product.setId((long) i);
+            product.setKey(Long.toHexString(0x5f3a_0000_0000L + i));
+            product.setCreatedAt(now.minusDays(i % 365));
+            product.setUpdatedAt(now);
+            products.add(product);
+        }
+        return Response.builder().status(200).message("success").products(products).build();
+    }
+
+    private static Response transactionsResponse() {
+        List<TransactionDTO> transactions = new ArrayList<>(ROWS);
+        LocalDateTime now = LocalDateTime.of(2026, 10, 1, 9, 30);
+        for (int i = 0; i < ROWS; i++) {
+            transactions.add(new TransactionDTO((long) i, Long.toHexString(0x7a11_0000_0000L + i),
+                    now.minusMinutes(i), now.minusMinutes(i), 1 + i % 5, new BigDecimal("24.98"),
+                    TransactionType.values()[i % TransactionType.values().length], TransactionStatus.COMPLETED,
+                    "Sale at till " + (i % 8), "Product " + (i % 900), "SKU-" + (100_000 + i % 900)));
+        }
+        return Response.builder().status(200).message("success").transactions(transactions).build();
+    }
+
+    @FunctionalInterface
+    private interface Encoding {
+        Object run() throws IOException;
+    }
+}
@@ -0,0 +1,157 @@
+package com.teckiz.InventorySystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.security.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Goes through the real Tomcat connector, so the negotiated encoding and compression are what a client sees.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:encodingdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.jpa.show-sql=false",
+        "server.compression.enabled=true",
+        "server.compression.min-response-size=2KB",
+        "server.compression.mime-types=application/json,application/cbor,application/x-jackson-smile"
+})
+@ActiveProfiles("test")
+class ResponseEncodingIntegrationTest {
+
+    private static final int PRODUCTS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.findByEmail("encoding@example.com").orElseGet(() -> userRepository.save(User.builder()
+                .name("Encoding User")
+                .email("encoding@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.ADMIN)
+                .build()));
+        token = jwtUtils.generateToken(user.getEmail());
+
+        if (productRepository.count() == 0) {
+            Category category = categoryRepository.save(Category.builder().name("Encoding").build());
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < PRODUCTS; i++) {
+                products.add(Product.builder()
+                        .name("Encoded Product " + i)
+                        .sku("ENC-" + i)
+                        .price(new BigDecimal("4.99"))
+                        .stockQuantity(i)
+                        .description("Shelf item number " + i)
+                        .category(category)
+                        .build());
+            }
+            productRepository.saveAll(products);
+        }
+    }
+
+    @Test
+    void getAllProducts_AcceptGzip_ShouldReturnCompressedJson() throws Exception {
+        // Act
+        HttpResponse<byte[]> response = get("/api/products/all", "application/json", "gzip");
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        JsonNode body = new ObjectMapper().readTree(new GZIPInputStream(new ByteArrayInputStream(response.body())));
+        assertEquals(PRODUCTS, body.get("products").size());
+    }
+
+    @Test
+    void getAllProducts_WithoutAcceptEncoding_ShouldReturnPlainJson() throws Exception {
+        // Act
+        HttpResponse<byte[]> response = get("/api/products/all", "application/json", null);
+
+        // Assert
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals(PRODUCTS, new ObjectMapper().readTree(response.body()).get("products").size());
+    }
+
+    @Test
+    void getAllProducts_AcceptCbor_ShouldReturnCbor() throws Exception {
+        // Act
+        HttpResponse<byte[]> response = get("/api/products/all", "application/cbor", null);
+
+        // Assert
+        assertEquals("application/cbor", response.headers().firstValue("Content-Type").orElse(null));
+        JsonNode body = new CBORMapper().readTree(response.body());
+        assertEquals(PRODUCTS, body.get("products").size());
+        assertEquals("success", body.get("message").asText());
+    }
+
+    @Test
+    void getAllProducts_AcceptSmile_ShouldReturnSmileWithIsoDates() throws Exception {
+        // Act
+        HttpResponse<byte[]> response = get("/api/products/all", "application/x-jackson-smile", null);
+
+        // Assert
+        assertEquals("application/x-jackson-smile", response.headers().firstValue("Content-Type").orElse(null));
+        JsonNode product = new SmileMapper().readTree(response.body()).get("products").get(0);
+        assertTrue(product.get("createdAt").isTextual(), "dates should be written like the JSON encoding");
+    }
+
+    @Test
+    void getAllCategories_SmallBody_ShouldNotBeCompressed() throws Exception {
+        // Act
+        HttpResponse<byte[]> response = get("/api/categories/all", "application/json", "gzip");
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", accept);
+        if (acceptEncoding != null) request.header("Accept-Encoding", acceptEncoding);
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
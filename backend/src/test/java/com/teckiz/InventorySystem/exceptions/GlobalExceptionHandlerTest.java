@@ -47,6 +47,21 @@ class GlobalExceptionHandlerTest {
         assertEquals("Invalid password", response.getBody().getMessage());
     }
 
+    @Test
+    void handleConcurrentUpdateException_ShouldReturnConflictResponse() {
+        // Arrange
+        ConcurrentUpdateException exception = new ConcurrentUpdateException("Product was modified concurrently, please retry");
+
+        // Act
+        ResponseEntity<Response> response = exceptionHandler.handleConcurrentUpdateException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(409, response.getBody().getStatus());
+        assertEquals("Product was modified concurrently, please retry", response.getBody().getMessage());
+    }
+
     @Test
     void handleNameValueRequiredException_ShouldReturnBadRequestResponse() {
         // Arrange
@@ -0,0 +1,101 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.dto.CategorySummaryDTO;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class CategoryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Statistics statistics;
+    private Long toolsId;
+    private Long emptyId;
+
+    @BeforeEach
+    void setUp() {
+        Category tools = entityManager.persist(Category.builder().name("Tools").build());
+        Category garden = entityManager.persist(Category.builder().name("Garden").build());
+        Category empty = entityManager.persist(Category.builder().name("Empty").build());
+        toolsId = tools.getId();
+        emptyId = empty.getId();
+
+        persistProduct("HAMMER", "12.50", 4, tools);
+        persistProduct("SAW", "20.00", 1, tools);
+        persistProduct("WRENCH", "7.25", 0, tools);
+        persistProduct("RAKE", "15.00", 10, garden);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllSummaries_ShouldAggregateInOneStatementWithoutLoadingProducts() {
+        // Act
+        List<CategorySummaryDTO> summaries = categoryRepository.findAllSummaries();
+
+        // Assert
+        assertEquals(List.of("Empty", "Garden", "Tools"), summaries.stream().map(CategorySummaryDTO::getName).toList());
+        CategorySummaryDTO tools = summaries.get(2);
+        assertEquals(3, tools.getProductCount());
+        assertEquals(5, tools.getTotalUnits());
+        assertEquals(0, new BigDecimal("70.00").compareTo(tools.getStockValue()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findSummaryById_CategoryWithoutProducts_ShouldReturnZeros() {
+        // Act
+        CategorySummaryDTO summary = categoryRepository.findSummaryById(emptyId).orElseThrow();
+
+        // Assert
+        assertEquals("Empty", summary.getName());
+        assertEquals(0, summary.getProductCount());
+        assertEquals(0, summary.getTotalUnits());
+        assertEquals(BigDecimal.ZERO, summary.getStockValue());
+    }
+
+    @Test
+    void findSummaryById_ShouldMatchAllSummariesRow() {
+        // Act
+        CategorySummaryDTO summary = categoryRepository.findSummaryById(toolsId).orElseThrow();
+
+        // Assert
+        assertEquals(toolsId, summary.getCategoryId());
+        assertEquals(3, summary.getProductCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void persistProduct(String sku, String price, int stock, Category category) {
+        entityManager.persist(Product.builder()
+                .name(sku.toLowerCase())
+                .sku(sku)
+                .price(new BigDecimal(price))
+                .stockQuantity(stock)
+                .category(category)
+                .build());
+    }
+}
@@ -0,0 +1,73 @@
+package com.teckiz.InventorySystem.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the schema from the Flyway migrations only and lets Hibernate validate the entities against it,
+ * so a new column or table without a migration fails here.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flywaydb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class FlywayMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_ShouldApplyEveryMigration() {
+        // Assert
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals(flyway.info().all().length, flyway.info().applied().length);
+    }
+
+    @Test
+    void migrate_ShouldCreateQueryIndexesOnTransactions() {
+        // Act
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_name = 'transactions'", String.class);
+
+        // Assert
+        assertTrue(indexes.containsAll(List.of(
+                "idx_transactions_created_at",
+                "idx_transactions_user_created",
+                "idx_transactions_product_created",
+                "idx_transactions_supplier_created",
+                "idx_transactions_type_status")), indexes.toString());
+    }
+
+    @Test
+    void migrate_ShouldCreateCatalogIndexesOnProducts() {
+        // Act
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_name = 'product'", String.class);
+
+        // Assert
+        assertTrue(indexes.containsAll(List.of(
+                "idx_product_category",
+                "idx_product_name",
+                "idx_product_price",
+                "idx_product_stock",
+                "idx_product_category_name",
+                "idx_product_category_price",
+                "idx_product_category_stock",
+                "idx_product_category_value")), indexes.toString());
+    }
+}
@@ -0,0 +1,107 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.entity.Product;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.CoreMigrationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts from a database the old ddl-auto=update created (db/ddl-auto-baseline.sql), lets Flyway baseline it
+ * at V1 and migrate it as production does, then has Hibernate validate the entities against the result.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flywayupgradedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.flyway.enabled=true",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class FlywayUpgradeTest {
+
+    @TestConfiguration
+    static class ExistingDatabase {
+
+        //the pre-Flyway tables are in place before Flyway first looks at the database
+        @Bean
+        FlywayMigrationStrategy migrateExistingDatabase() {
+            return flyway -> {
+                new ResourceDatabasePopulator(new ClassPathResource("db/ddl-auto-baseline.sql"))
+                        .execute(flyway.getConfiguration().getDataSource());
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void migrate_DatabaseFromDdlAuto_ShouldBaselineAtV1AndApplyEveryLaterMigration() {
+        // Act
+        MigrationInfo[] applied = flyway.info().applied();
+
+        // Assert
+        assertEquals(CoreMigrationType.BASELINE, applied[0].getType());
+        assertEquals("1", applied[0].getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+        assertTrue(Arrays.stream(applied).anyMatch(m -> "2".equals(m.getVersion().getVersion())));
+        assertDoesNotThrow(() -> flyway.validate());
+    }
+
+    @Test
+    void migrate_DatabaseFromDdlAuto_ShouldAddSeriesTablesAndKeepRows() {
+        // Act - the tables and columns login, refresh and stock writes need
+        jdbcTemplate.update("INSERT INTO warehouses (name, default_location) VALUES ('Shop Floor', TRUE)");
+        jdbcTemplate.update("INSERT INTO stock_levels (product_id, warehouse_id, quantity) " +
+                "SELECT 1, id, 40 FROM warehouses WHERE name = 'Shop Floor'");
+        jdbcTemplate.update("INSERT INTO refresh_tokens (token_hash, revoked, user_id) VALUES ('abc', FALSE, 1)");
+        jdbcTemplate.update("INSERT INTO revoked_tokens (token_id) VALUES ('0b6f3a4e-1111-2222-3333-444455556666')");
+        jdbcTemplate.update("UPDATE transactions SET warehouse_id = (SELECT id FROM warehouses WHERE name = 'Shop Floor') WHERE id = 1");
+
+        // Assert - existing rows are carried along, and V6 seeded the supplier totals from them
+        assertEquals(40, jdbcTemplate.queryForObject("SELECT stock_quantity FROM product WHERE sku = 'RICE-1'", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions_archive", Integer.class));
+        assertEquals(0, new BigDecimal("80.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT spend FROM supplier_stats WHERE supplier_id = 1", BigDecimal.class)));
+    }
+
+    @Test
+    void migrate_DatabaseFromDdlAuto_ShouldLetJpaUpdateExistingProducts() {
+        // Arrange - a product from before the upgrade, untouched since
+        Product product = productRepository.findById(1L).orElseThrow();
+        assertEquals(0L, product.getVersion());
+
+        // Act
+        product.setStockQuantity(45);
+        productRepository.saveAndFlush(product);
+
+        // Assert - updated in place, not inserted again
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product WHERE sku = 'RICE-1'", Integer.class));
+        assertEquals(45, jdbcTemplate.queryForObject("SELECT stock_quantity FROM product WHERE sku = 'RICE-1'", Integer.class));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT version FROM product WHERE sku = 'RICE-1'", Long.class));
+    }
+}
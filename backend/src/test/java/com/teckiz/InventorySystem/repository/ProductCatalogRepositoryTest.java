@@ -0,0 +1,152 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.ProductSearchRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.enums.ProductSortField;
+import com.teckiz.InventorySystem.service.common.ProductCursor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ProductCatalogRepositoryTest {
+
+    private static final int PRODUCT_COUNT = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Statistics statistics;
+    private Long toolsCategoryId;
+
+    @BeforeEach
+    void setUp() {
+        Category tools = entityManager.persist(Category.builder().name("Tools").build());
+        Category garden = entityManager.persist(Category.builder().name("Garden").build());
+        toolsCategoryId = tools.getId();
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            // only five distinct prices, so paging by price has to break ties on id
+            entityManager.persist(Product.builder()
+                    .name(String.format("Item %02d", i))
+                    .sku("CAT-" + i)
+                    .price(new BigDecimal(i % 5 + 1 + ".00"))
+                    .stockQuantity(i)
+                    .category(i % 2 == 0 ? tools : garden)
+                    .build());
+        }
+        entityManager.persist(Product.builder()
+                .name("100%_Cotton Rag")
+                .sku("RAG-1")
+                .price(new BigDecimal("1.00"))
+                .stockQuantity(3)
+                .category(garden)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findCatalogPage_WalkingByPriceWithTies_ShouldVisitEveryRowOnceInOrder() {
+        // Arrange
+        ProductSearchRequest search = ProductSearchRequest.builder().sortBy(ProductSortField.PRICE).searchText("Item").build();
+        List<ProductDTO> visited = new ArrayList<>();
+        ProductCursor after = null;
+
+        // Act - pages of 7 until a short page comes back
+        List<ProductDTO> page;
+        do {
+            page = productRepository.findCatalogPage(search, after, 7);
+            visited.addAll(page);
+            if (!page.isEmpty()) {
+                ProductDTO last = page.get(page.size() - 1);
+                after = new ProductCursor(ProductSortField.PRICE, true, last.getPrice(), last.getId());
+            }
+        } while (page.size() == 7);
+
+        // Assert
+        assertEquals(PRODUCT_COUNT, visited.size());
+        assertEquals(PRODUCT_COUNT, visited.stream().map(ProductDTO::getId).distinct().count());
+        List<ProductDTO> expected = new ArrayList<>(visited);
+        expected.sort(Comparator.comparing(ProductDTO::getPrice).thenComparing(ProductDTO::getId));
+        assertEquals(expected, visited);
+        assertEquals(5, statistics.getPrepareStatementCount()); // one statement per page, no counts
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findCatalogPage_StockDescending_ShouldSeekPastCursor() {
+        // Arrange
+        ProductSearchRequest search = ProductSearchRequest.builder()
+                .sortBy(ProductSortField.STOCK)
+                .ascending(false)
+                .build();
+        ProductDTO lastOfFirstPage = productRepository.findCatalogPage(search, null, 3).get(2);
+        ProductCursor after = new ProductCursor(ProductSortField.STOCK, false, lastOfFirstPage.getStockQuantity(), lastOfFirstPage.getId());
+
+        // Act
+        List<ProductDTO> secondPage = productRepository.findCatalogPage(search, after, 3);
+
+        // Assert
+        assertEquals(27, lastOfFirstPage.getStockQuantity());
+        assertEquals(List.of(26, 25, 24), secondPage.stream().map(ProductDTO::getStockQuantity).toList());
+    }
+
+    @Test
+    void findCatalogPage_WithFilters_ShouldApplyCategoryPriceAndStock() {
+        // Arrange
+        ProductSearchRequest search = ProductSearchRequest.builder()
+                .categoryId(toolsCategoryId)
+                .minPrice(new BigDecimal("2.00"))
+                .maxPrice(new BigDecimal("3.00"))
+                .maxStock(20)
+                .build();
+
+        // Act
+        List<ProductDTO> products = productRepository.findCatalogPage(search, null, 50);
+
+        // Assert - even rows (tools), price 2 or 3, stock <= 20
+        assertEquals(List.of("Item 02", "Item 06", "Item 12", "Item 16"),
+                products.stream().map(ProductDTO::getName).toList());
+        assertTrue(products.stream().allMatch(p -> toolsCategoryId.equals(p.getCategoryId())));
+    }
+
+    @Test
+    void findCatalogPage_WithSearchText_ShouldPrefixMatchNameOrSkuAndTreatWildcardsLiterally() {
+        // Act
+        List<ProductDTO> bySku = productRepository.findCatalogPage(
+                ProductSearchRequest.builder().searchText("CAT-2").build(), null, 50);
+        List<ProductDTO> byName = productRepository.findCatalogPage(
+                ProductSearchRequest.builder().searchText("100%_").build(), null, 50);
+        List<ProductDTO> wildcardOnly = productRepository.findCatalogPage(
+                ProductSearchRequest.builder().searchText("%").build(), null, 50);
+
+        // Assert
+        assertEquals(List.of("CAT-2", "CAT-20", "CAT-21", "CAT-22", "CAT-23", "CAT-24", "CAT-25", "CAT-26", "CAT-27", "CAT-28", "CAT-29"),
+                bySku.stream().map(ProductDTO::getSku).sorted().toList());
+        assertEquals(List.of("RAG-1"), byName.stream().map(ProductDTO::getSku).toList());
+        assertTrue(wildcardOnly.isEmpty());
+    }
+}
@@ -0,0 +1,36 @@
+package com.teckiz.InventorySystem.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class RevokedTokenRepositoryTest {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    void insertIfAbsent_SameTokenTwice_ShouldKeepOneRowWithoutFailing() {
+        // Arrange
+        String tokenId = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act
+        int first = revokedTokenRepository.insertIfAbsent(tokenId, now.plusMinutes(15), now);
+        int second = revokedTokenRepository.insertIfAbsent(tokenId, now.plusMinutes(15), now);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertEquals(1, revokedTokenRepository.findAllByExpiresAtAfter(now).stream()
+                .filter(token -> tokenId.equals(token.getTokenId())).count());
+    }
+}
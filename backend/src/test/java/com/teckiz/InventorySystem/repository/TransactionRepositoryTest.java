@@ -0,0 +1,178 @@
+package com.teckiz.InventorySystem.repository;
+
+import com.teckiz.InventorySystem.config.ModelMapperConfig;
+import com.teckiz.InventorySystem.dto.TransactionDTO;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Supplier;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.enums.UserRole;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TransactionRepositoryTest {
+
+    private static final int TRANSACTION_COUNT = 25;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Statistics statistics;
+
+    private Long firstUserId;
+    private Long lastTransactionId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(Category.builder().name("Electronics").build());
+        Supplier supplier = entityManager.persist(Supplier.builder().name("Acme").address("Main Street").build());
+
+        for (int i = 0; i < TRANSACTION_COUNT; i++) {
+            // a distinct user and product per row, so any lazy loading would show up as extra selects
+            User user = entityManager.persist(User.builder()
+                    .name("User " + i)
+                    .email("user" + i + "@example.com")
+                    .password("encodedPassword")
+                    .phoneNumber("1234567890")
+                    .role(UserRole.MANAGER)
+                    .build());
+            Product product = entityManager.persist(Product.builder()
+                    .name("Product " + i)
+                    .sku("SKU-" + i)
+                    .price(new BigDecimal("10.00"))
+                    .stockQuantity(100)
+                    .category(category)
+                    .build());
+            if (i == 0) firstUserId = user.getId();
+            lastTransactionId = entityManager.persist(Transaction.builder()
+                    .transactionType(TransactionType.SALE)
+                    .status(TransactionStatus.COMPLETED)
+                    .totalProducts(1)
+                    .totalPrice(new BigDecimal("10.00"))
+                    .description("sale " + i)
+                    .user(user)
+                    .product(product)
+                    .supplier(supplier)
+                    .build()).getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void searchTransactions_ShouldLoadPageWithContentAndCountQueriesOnly() {
+        // Act
+        Page<TransactionDTO> page = transactionRepository.searchTransactions(
+                null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+
+        // Assert
+        assertEquals(10, page.getContent().size());
+        assertEquals(TRANSACTION_COUNT, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        TransactionDTO first = page.getContent().get(0);
+        assertEquals("Product " + (TRANSACTION_COUNT - 1), first.getProductName());
+        assertEquals("SKU-" + (TRANSACTION_COUNT - 1), first.getProductSku());
+        assertNull(first.getUser());
+        assertNull(first.getProduct());
+        assertNull(first.getSupplier());
+    }
+
+    @Test
+    void searchTransactions_WithSearchText_ShouldFilterOnProductSku() {
+        // Act
+        Page<TransactionDTO> page = transactionRepository.searchTransactions(
+                "sku-7", PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+
+        // Assert
+        assertEquals(1, page.getTotalElements());
+        assertEquals("SKU-7", page.getContent().get(0).getProductSku());
+    }
+
+    @Test
+    void findAllByMonthAndYear_ShouldUseSingleStatement() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act
+        List<TransactionDTO> transactions = transactionRepository.findAllByMonthAndYear(now.getMonthValue(), now.getYear());
+
+        // Assert
+        assertEquals(TRANSACTION_COUNT, transactions.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findWithDetailsById_ShouldLoadAssociationsInOneStatement() {
+        // Act
+        Transaction transaction = transactionRepository.findWithDetailsById(lastTransactionId).orElseThrow();
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(Hibernate.isInitialized(transaction.getUser()));
+        assertTrue(Hibernate.isInitialized(transaction.getProduct()));
+        assertTrue(Hibernate.isInitialized(transaction.getSupplier()));
+        assertFalse(Hibernate.isInitialized(transaction.getUser().getTransactions()));
+    }
+
+    @Test
+    void findWithDetailsById_MappedToDto_ShouldNotTouchUserHistory() {
+        // Arrange
+        ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+        Transaction transaction = transactionRepository.findWithDetailsById(lastTransactionId).orElseThrow();
+
+        // Act
+        TransactionDTO transactionDTO = modelMapper.map(transaction, TransactionDTO.class);
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("User " + (TRANSACTION_COUNT - 1), transactionDTO.getUser().getName());
+        assertNull(transactionDTO.getUser().getTransactions());
+        assertEquals("Product " + (TRANSACTION_COUNT - 1), transactionDTO.getProduct().getName());
+        assertEquals("Acme", transactionDTO.getSupplier().getName());
+    }
+
+    @Test
+    void findSummariesByUserId_ShouldReturnOnlyThatUsersPage() {
+        // Act
+        Page<TransactionDTO> page = transactionRepository.findSummariesByUserId(
+                firstUserId, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        // Assert
+        assertEquals(1, page.getTotalElements());
+        assertEquals("SKU-0", page.getContent().get(0).getProductSku());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
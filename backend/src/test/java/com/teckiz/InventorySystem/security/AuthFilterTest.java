@@ -0,0 +1,83 @@
+package com.teckiz.InventorySystem.security;
+
+import com.teckiz.InventorySystem.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthFilterTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private AuthFilter authFilter;
+
+    @BeforeEach
+    void setUp() {
+        authFilter = new AuthFilter(jwtUtils, customUserDetailsService, new TokenRevocationList(revokedTokenRepository, 1024));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_TokenWithId_ShouldAuthenticate() throws Exception {
+        // Arrange
+        String tokenId = UUID.randomUUID().toString();
+        when(jwtUtils.parseClaims("token")).thenReturn(Jwts.claims().id(tokenId).subject(EMAIL).build());
+        when(customUserDetailsService.loadUserByUsername(EMAIL))
+                .thenReturn(new User(EMAIL, "encodedPassword", List.of()));
+
+        // Act
+        authFilter.doFilter(bearer("token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_TokenWithoutId_ShouldLeaveRequestUnauthenticated() throws Exception {
+        // Arrange - signed and unexpired, but issued before tokens carried a jti
+        when(jwtUtils.parseClaims("legacy")).thenReturn(Jwts.claims().subject(EMAIL).build());
+
+        // Act
+        authFilter.doFilter(bearer("legacy"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(customUserDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    private MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
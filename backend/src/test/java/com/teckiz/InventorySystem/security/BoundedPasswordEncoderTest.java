@@ -0,0 +1,95 @@
+package com.teckiz.InventorySystem.security;
+
+import com.teckiz.InventorySystem.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRunOnHashingPool() {
+        // Arrange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 4, 5000);
+
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrongpassword", hash));
+        encoder.shutdown();
+    }
+
+    @Test
+    void matches_WhenQueueFull_ShouldRejectImmediately() throws Exception {
+        // Arrange - one thread busy, one slot queued
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, 5000);
+        callers.submit(() -> encoder.matches("a", "a"));
+        callers.submit(() -> encoder.matches("b", "b"));
+        waitUntil(() -> encoder.getActiveCount() == 1 && encoder.getQueueSize() == 1);
+
+        // Act & Assert
+        long startedAt = System.nanoTime();
+        assertThrows(TooManyRequestsException.class, () -> encoder.matches("c", "c"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 1000);
+        assertEquals(1, encoder.getRejectedCount());
+        encoder.shutdown();
+    }
+
+    @Test
+    void matches_WhenHashingTakesTooLong_ShouldTimeOut() {
+        // Arrange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, 100);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> encoder.matches("a", "a"));
+        assertEquals(1, encoder.getRejectedCount());
+        encoder.shutdown();
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -179,4 +179,42 @@ class JwtUtilsTest {
         assertTrue(parts[1].matches("^[A-Za-z0-9_-]*$"));
         assertTrue(parts[2].matches("^[A-Za-z0-9_-]*$"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void generateToken_ShouldGiveEachTokenItsOwnId() {
+        // Act
+        String token1 = jwtUtils.generateToken(TEST_EMAIL);
+        String token2 = jwtUtils.generateToken(TEST_EMAIL);
+
+        // Assert
+        assertNotNull(jwtUtils.parseClaims(token1).getId());
+        assertNotEquals(jwtUtils.parseClaims(token1).getId(), jwtUtils.parseClaims(token2).getId());
+    }
+
+    @Test
+    void generateToken_ShouldExpireAfterAccessTokenLifetime() {
+        // Act
+        long issuedAt = System.currentTimeMillis();
+        String token = jwtUtils.generateToken(TEST_EMAIL);
+
+        // Assert
+        long expiresIn = jwtUtils.parseClaims(token).getExpiration().getTime() - issuedAt;
+        assertTrue(expiresIn <= jwtUtils.getAccessTokenMinutes() * 60_000L + 1000);
+        assertTrue(expiresIn > (jwtUtils.getAccessTokenMinutes() - 1) * 60_000L);
+    }
+
+    @Test
+    void hashRefreshToken_ShouldBeStableAndNotEchoTheToken() {
+        // Arrange
+        String refreshToken = jwtUtils.generateRefreshToken();
+
+        // Act
+        String hash = jwtUtils.hashRefreshToken(refreshToken);
+
+        // Assert
+        assertEquals(hash, jwtUtils.hashRefreshToken(refreshToken));
+        assertEquals(64, hash.length());
+        assertNotEquals(refreshToken, hash);
+        assertNotEquals(refreshToken, jwtUtils.generateRefreshToken());
+    }
+}
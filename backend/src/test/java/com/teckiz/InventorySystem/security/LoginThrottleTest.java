@@ -0,0 +1,76 @@
+package com.teckiz.InventorySystem.security;
+
+import com.teckiz.InventorySystem.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    @Test
+    void acquire_OverAccountLimit_ShouldThrow() {
+        // Arrange
+        LoginThrottle loginThrottle = new LoginThrottle(3, 100, 60);
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.acquire("john@example.com", "10.0.0.1");
+        }
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("john@example.com", "10.0.0.2"));
+        assertEquals(1, loginThrottle.getThrottledCount());
+    }
+
+    @Test
+    void acquire_AccountLimit_ShouldIgnoreEmailCase() {
+        // Arrange
+        LoginThrottle loginThrottle = new LoginThrottle(1, 100, 60);
+        loginThrottle.acquire("John@Example.com", "10.0.0.1");
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("john@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    void acquire_OverAddressLimit_ShouldThrowForAnyAccount() {
+        // Arrange
+        LoginThrottle loginThrottle = new LoginThrottle(100, 2, 60);
+        loginThrottle.acquire("a@example.com", "10.0.0.1");
+        loginThrottle.acquire("b@example.com", "10.0.0.1");
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("c@example.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> loginThrottle.acquire("c@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void acquire_AfterWindowExpires_ShouldAllowAgain() throws InterruptedException {
+        // Arrange
+        LoginThrottle loginThrottle = new LoginThrottle(1, 100, 1);
+        loginThrottle.acquire("john@example.com", "10.0.0.1");
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("john@example.com", "10.0.0.1"));
+
+        // Act
+        Thread.sleep(1100);
+
+        // Assert
+        assertDoesNotThrow(() -> loginThrottle.acquire("john@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    void pruneExpired_ShouldDropOnlyExpiredWindows() throws InterruptedException {
+        // Arrange - a spray of addresses, then one login in a fresh window
+        LoginThrottle loginThrottle = new LoginThrottle(100, 100, 1);
+        for (int i = 0; i < 20_000; i++) {
+            loginThrottle.acquire("spray" + i + "@example.com", "10.1." + (i >> 8) + "." + (i & 255));
+        }
+        Thread.sleep(1100);
+        loginThrottle.acquire("john@example.com", "10.0.0.1");
+
+        // Act
+        loginThrottle.pruneExpired();
+
+        // Assert
+        assertEquals(2, loginThrottle.size());
+        assertDoesNotThrow(() -> loginThrottle.acquire("spray0@example.com", "10.1.0.0"));
+    }
+}
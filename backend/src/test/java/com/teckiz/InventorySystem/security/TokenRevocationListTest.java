@@ -0,0 +1,191 @@
+package com.teckiz.InventorySystem.security;
+
+import com.teckiz.InventorySystem.entity.RevokedToken;
+import com.teckiz.InventorySystem.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList tokenRevocationList;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationList = new TokenRevocationList(revokedTokenRepository, 1024);
+        tokenRevocationList.init();
+    }
+
+    @Test
+    void revoke_ShouldPersistAndRejectToken() {
+        // Arrange
+        String tokenId = UUID.randomUUID().toString();
+
+        // Act
+        tokenRevocationList.revoke(tokenId, LocalDateTime.now().plusMinutes(15));
+
+        // Assert
+        assertTrue(tokenRevocationList.isRevoked(tokenId));
+        assertFalse(tokenRevocationList.isRevoked(UUID.randomUUID().toString()));
+        verify(revokedTokenRepository).insertIfAbsent(eq(tokenId), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void revoke_SameTokenTwice_ShouldPersistOnce() {
+        // Arrange
+        String tokenId = UUID.randomUUID().toString();
+
+        // Act
+        tokenRevocationList.revoke(tokenId, LocalDateTime.now().plusMinutes(15));
+        tokenRevocationList.revoke(tokenId, LocalDateTime.now().plusMinutes(15));
+
+        // Assert
+        verify(revokedTokenRepository, times(1)).insertIfAbsent(eq(tokenId), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void isRevoked_WithoutTokenId_ShouldReturnFalse() {
+        // Act & Assert
+        assertFalse(tokenRevocationList.isRevoked(null));
+    }
+
+    @Test
+    void rebuild_ShouldLoadRevocationsFromTable() {
+        // Arrange
+        String tokenId = UUID.randomUUID().toString();
+        when(revokedTokenRepository.findAllByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of(
+                RevokedToken.builder().tokenId(tokenId).expiresAt(LocalDateTime.now().plusMinutes(10)).build()));
+
+        // Act
+        tokenRevocationList.rebuild();
+
+        // Assert
+        assertTrue(tokenRevocationList.isRevoked(tokenId));
+        assertEquals(1, tokenRevocationList.size());
+        verify(revokedTokenRepository, atLeastOnce()).deleteExpired(any(LocalDateTime.class));
+    }
+
+    @Test
+    void rebuild_ShouldDropExpiredInMemoryEntries() {
+        // Arrange
+        String expired = UUID.randomUUID().toString();
+        String live = UUID.randomUUID().toString();
+        tokenRevocationList.revoke(expired, LocalDateTime.now().minusSeconds(1));
+        tokenRevocationList.revoke(live, LocalDateTime.now().plusMinutes(10));
+
+        // Act
+        tokenRevocationList.rebuild();
+
+        // Assert
+        assertFalse(tokenRevocationList.isRevoked(expired));
+        assertTrue(tokenRevocationList.isRevoked(live));
+    }
+
+    @Test
+    void rebuild_WhileRevoking_ShouldNotLoseRevocations() throws Exception {
+        // Arrange - the table read comes back empty, so only the in-memory copy carries new revocations over
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            revoked.add(UUID.randomUUID().toString());
+        }
+        AtomicBoolean revoking = new AtomicBoolean(true);
+        Thread rebuilder = new Thread(() -> {
+            while (revoking.get()) tokenRevocationList.rebuild();
+        });
+
+        // Act
+        rebuilder.start();
+        for (String tokenId : revoked) {
+            tokenRevocationList.revoke(tokenId, LocalDateTime.now().plusMinutes(15));
+        }
+        revoking.set(false);
+        rebuilder.join();
+
+        // Assert
+        for (String tokenId : revoked) {
+            assertTrue(tokenRevocationList.isRevoked(tokenId), tokenId);
+        }
+    }
+
+    @Test
+    void pollNew_RowWrittenByOtherInstance_ShouldBeRejected() {
+        // Arrange
+        String tokenId = UUID.randomUUID().toString();
+        when(revokedTokenRepository.findAllByCreatedAtAfterAndExpiresAtAfter(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(RevokedToken.builder().tokenId(tokenId).expiresAt(LocalDateTime.now().plusMinutes(10)).build()));
+        assertFalse(tokenRevocationList.isRevoked(tokenId));
+
+        // Act
+        tokenRevocationList.pollNew();
+        tokenRevocationList.pollNew();
+
+        // Assert
+        assertTrue(tokenRevocationList.isRevoked(tokenId));
+        assertEquals(1, tokenRevocationList.size());
+        verify(revokedTokenRepository, never()).insertIfAbsent(any(), any(), any());
+    }
+
+    @Test
+    void isRevoked_WithManyRevocations_ShouldHaveNoFalseNegatives() {
+        // Arrange
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String tokenId = UUID.randomUUID().toString();
+            revoked.add(tokenId);
+            tokenRevocationList.revoke(tokenId, LocalDateTime.now().plusMinutes(15));
+        }
+
+        // Act & Assert
+        for (String tokenId : revoked) {
+            assertTrue(tokenRevocationList.isRevoked(tokenId));
+        }
+    }
+
+    @Test
+    void isRevoked_HappyPath_ShouldNotAllocate() {
+        // Arrange
+        for (int i = 0; i < 500; i++) {
+            tokenRevocationList.revoke(UUID.randomUUID().toString(), LocalDateTime.now().plusMinutes(15));
+        }
+        String[] liveTokens = new String[64];
+        for (int i = 0; i < liveTokens.length; i++) {
+            liveTokens[i] = UUID.randomUUID().toString();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int revokedHits = 0;
+        for (int i = 0; i < 50_000; i++) {
+            if (tokenRevocationList.isRevoked(liveTokens[i & 63])) revokedHits++;
+        }
+
+        // Act
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            if (tokenRevocationList.isRevoked(liveTokens[i & 63])) revokedHits++;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Assert
+        assertEquals(0, revokedHits);
+        assertTrue(allocated < 10_000, "revocation check allocated " + allocated + " bytes for 100k calls");
+    }
+}
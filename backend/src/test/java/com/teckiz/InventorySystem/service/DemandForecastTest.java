@@ -0,0 +1,205 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.ReorderLineDTO;
+import com.teckiz.InventorySystem.dto.ReorderSuggestionDTO;
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.ProductForecast;
+import com.teckiz.InventorySystem.entity.Supplier;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductForecastRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.SupplierRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.service.common.DemandForecaster;
+import com.teckiz.InventorySystem.service.common.IdGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sells and restocks through the service on its own H2 database, folds the history into the forecast and
+ * checks the smoothed demand, the preferred supplier and the resulting reorder suggestion.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:forecastdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.jpa.show-sql=false",
+        "inventory.forecast.smoothing=0.2",
+        "inventory.forecast.lead-time-days=7",
+        "inventory.forecast.cover-days=14"
+})
+@ActiveProfiles("test")
+class DemandForecastTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private DemandForecaster demandForecaster;
+
+    @Autowired
+    private ProductForecastRepository productForecastRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Supplier firstSupplier;
+    private Supplier secondSupplier;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        //each test starts a fresh forecast; earlier tests' sales are folded again but belong to other products
+        productForecastRepository.deleteAll();
+
+        String suffix = IdGenerator.generateUniqueId();
+        User user = userRepository.save(User.builder()
+                .name("Forecast User")
+                .email("forecast-" + suffix + "@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.MANAGER)
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("Forecast " + suffix).build());
+        firstSupplier = supplierRepository.save(Supplier.builder().name("First Supplier " + suffix).build());
+        secondSupplier = supplierRepository.save(Supplier.builder().name("Second Supplier " + suffix).build());
+        product = productRepository.save(Product.builder()
+                .name("Forecast Product")
+                .sku("FORECAST-" + suffix)
+                .price(new BigDecimal("3.00"))
+                .stockQuantity(0)
+                .category(category)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void run_FirstRun_ShouldSmoothSalesAndPickLatestSupplier() {
+        // Arrange
+        transactionService.restockInventory(request(firstSupplier, 6));
+        transactionService.restockInventory(request(secondSupplier, 6));
+        transactionService.sell(request(null, 10));
+
+        // Act - with tomorrow as "today", today's sales count as a closed day
+        int products = demandForecaster.run(TODAY.plusDays(1));
+
+        // Assert - demand starts from zero before the window, so one day of 10 units smooths to 2
+        assertTrue(products >= 1);
+        ProductForecast forecast = productForecastRepository.findById(product.getId()).orElseThrow();
+        assertEquals(2.0, forecast.getDailyDemand(), 1e-9);
+        assertEquals(TODAY, forecast.getDemandAsOf());
+        assertEquals(secondSupplier.getId(), forecast.getSupplierId());
+    }
+
+    @Test
+    void run_AlreadyFolded_ShouldNotCountDaysTwice() {
+        // Arrange
+        transactionService.restockInventory(request(firstSupplier, 10));
+        transactionService.sell(request(null, 10));
+        demandForecaster.run(TODAY.plusDays(1));
+
+        // Act
+        int products = demandForecaster.run(TODAY.plusDays(1));
+
+        // Assert
+        assertEquals(0, products);
+        assertEquals(2.0, productForecastRepository.findById(product.getId()).orElseThrow().getDailyDemand(), 1e-9);
+    }
+
+    @Test
+    void run_LaterDays_ShouldDecayQuietDaysAndFoldOnlyNewSales() {
+        // Arrange - 10 units two days ago, folded by the run of yesterday
+        transactionService.restockInventory(request(firstSupplier, 40));
+        transactionService.sell(request(null, 10));
+        backdateTransactions(TODAY.minusDays(2));
+        demandForecaster.run(TODAY.minusDays(1));
+        transactionService.sell(request(null, 20));
+
+        // Act
+        demandForecaster.run(TODAY.plusDays(1));
+
+        // Assert - yesterday was quiet: 2 * 0.8 = 1.6, then today's 20 units: 0.2 * 20 + 0.8 * 1.6
+        ProductForecast forecast = productForecastRepository.findById(product.getId()).orElseThrow();
+        assertEquals(5.28, forecast.getDailyDemand(), 1e-9);
+        assertEquals(TODAY, forecast.getDemandAsOf());
+        assertEquals(5.28 * 0.64, demandForecaster.demandOn(forecast.getDailyDemand(), TODAY, TODAY.plusDays(3)), 1e-9);
+    }
+
+    @Test
+    void getReorderSuggestions_LowCover_ShouldSuggestLeadTimePlusCoverPerSupplier() {
+        // Arrange - stock ends at 2 with a demand of 2 per day
+        transactionService.restockInventory(request(firstSupplier, 12));
+        transactionService.sell(request(null, 10));
+        demandForecaster.run(TODAY.plusDays(1));
+
+        // Act
+        List<ReorderSuggestionDTO> suggestions = analyticsService.getReorderSuggestions().getReorderSuggestions();
+
+        // Assert - 2 per day for 7 + 14 days, minus the 2 on hand
+        ReorderSuggestionDTO suggestion = suggestions.stream()
+                .filter(s -> firstSupplier.getId().equals(s.getSupplierId()))
+                .findFirst().orElseThrow();
+        assertEquals(firstSupplier.getName(), suggestion.getSupplierName());
+        ReorderLineDTO line = suggestion.getLines().get(0);
+        assertEquals(product.getId(), line.getProductId());
+        assertEquals(2, line.getStockQuantity());
+        assertEquals(1.0, line.getDaysOfCover(), 1e-9);
+        assertEquals(40, line.getSuggestedQuantity());
+        assertEquals(40, suggestion.getTotalUnits());
+    }
+
+    private void backdateTransactions(LocalDate day) {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE Transaction t SET t.createdAt = :at WHERE t.product.id = :productId")
+                .setParameter("at", day.atTime(12, 0))
+                .setParameter("productId", product.getId())
+                .executeUpdate());
+    }
+
+    private TransactionRequest request(Supplier supplier, int quantity) {
+        return new TransactionRequest(product.getId(), quantity, supplier != null ? supplier.getId() : null, "forecast");
+    }
+}
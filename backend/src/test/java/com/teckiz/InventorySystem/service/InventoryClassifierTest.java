@@ -0,0 +1,172 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.ProductSearchRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.enums.AbcClass;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.enums.XyzClass;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.service.common.InventoryClassifier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classifies a small catalogue with known revenue and weekly demand over a four-week window on its own H2 database.
+ * Revenue totals 1000: steady 800 (A), one-off 150 (B), irregular 50 (C), and one product with only a cancelled sale.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:classificationdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.jpa.show-sql=false",
+        "inventory.classification.weeks=4"
+})
+@ActiveProfiles("test")
+class InventoryClassifierTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate WINDOW_START = TODAY.minusWeeks(4);
+
+    @Autowired
+    private InventoryClassifier inventoryClassifier;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Product steady;
+    private Product oneOff;
+    private Product irregular;
+    private Product unsold;
+
+    @BeforeEach
+    void setUp() {
+        //the classes are relative to the whole catalogue, so every test starts from an empty one
+        transactionRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+
+        Category category = categoryRepository.save(Category.builder().name("Classified " + System.nanoTime()).build());
+        steady = product("STEADY", category);
+        oneOff = product("ONE-OFF", category);
+        irregular = product("IRREGULAR", category);
+        unsold = product("UNSOLD", category);
+
+        for (int week = 0; week < 4; week++) {
+            sale(steady, week, 10, "200.00", TransactionStatus.COMPLETED);
+        }
+        sale(oneOff, 1, 30, "150.00", TransactionStatus.COMPLETED);
+        int[] irregularUnits = {5, 15, 0, 20};
+        for (int week = 0; week < 4; week++) {
+            if (irregularUnits[week] > 0) {
+                sale(irregular, week, irregularUnits[week], String.valueOf(irregularUnits[week] * 1.25), TransactionStatus.COMPLETED);
+            }
+        }
+        sale(unsold, 2, 100, "5000.00", TransactionStatus.CANCELED);
+    }
+
+    @Test
+    void classify_ShouldRankRevenueAndMeasureWeeklyVariation() {
+        // Act
+        int selling = inventoryClassifier.classify(TODAY);
+
+        // Assert
+        assertEquals(3, selling);
+        assertClass(steady, AbcClass.A, XyzClass.X);
+        assertClass(oneOff, AbcClass.B, XyzClass.Z);
+        assertClass(irregular, AbcClass.C, XyzClass.Y);
+        assertClass(unsold, AbcClass.C, XyzClass.Z);
+    }
+
+    @Test
+    void classify_Unchanged_ShouldNotRewriteProducts() {
+        // Arrange
+        inventoryClassifier.classify(TODAY);
+        long version = productRepository.findById(steady.getId()).orElseThrow().getVersion();
+
+        // Act
+        inventoryClassifier.classify(TODAY);
+
+        // Assert
+        assertEquals(version, productRepository.findById(steady.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void searchProducts_ByClass_ShouldFilterCatalog() {
+        // Arrange
+        inventoryClassifier.classify(TODAY);
+
+        // Act
+        List<ProductDTO> products = productService.searchProducts(ProductSearchRequest.builder()
+                .abcClass(AbcClass.C)
+                .xyzClass(XyzClass.Z)
+                .build()).getProducts();
+
+        // Assert
+        assertEquals(1, products.size());
+        assertEquals(unsold.getId(), products.get(0).getId());
+        assertEquals(AbcClass.C, products.get(0).getAbcClass());
+        assertEquals(XyzClass.Z, products.get(0).getXyzClass());
+    }
+
+    private void assertClass(Product product, AbcClass abcClass, XyzClass xyzClass) {
+        Product classified = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(abcClass, classified.getAbcClass(), product.getSku());
+        assertEquals(xyzClass, classified.getXyzClass(), product.getSku());
+    }
+
+    private Product product(String sku, Category category) {
+        return productRepository.save(Product.builder()
+                .name(sku)
+                .sku(sku)
+                .price(new BigDecimal("1.00"))
+                .stockQuantity(0)
+                .category(category)
+                .build());
+    }
+
+    //creation time is set on persist, so the sale is moved into the wanted week afterwards
+    private void sale(Product product, int week, int units, String revenue, TransactionStatus status) {
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .transactionType(TransactionType.SALE)
+                .status(status)
+                .totalProducts(units)
+                .totalPrice(new BigDecimal(revenue))
+                .product(product)
+                .build());
+        transactionTemplate.executeWithoutResult(s -> entityManager
+                .createQuery("UPDATE Transaction t SET t.createdAt = :at WHERE t.id = :id")
+                .setParameter("at", WINDOW_START.plusDays(7L * week + 1).atTime(12, 0))
+                .setParameter("id", transaction.getId())
+                .executeUpdate());
+    }
+}
@@ -0,0 +1,172 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.LoginRequest;
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.exceptions.TooManyRequestsException;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.security.AuthUser;
+import com.teckiz.InventorySystem.service.common.IdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures sell latency on its own and again while 500 logins hit the service at once.
+ * With hashing confined to the bounded pool the sells should barely notice the burst.
+ * Wall-clock timing depends on the machine, so it is tagged benchmark and only runs with -Pbenchmark.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.teckiz.InventorySystem=INFO",
+        "logging.level.org.springframework.security=INFO"
+})
+@ActiveProfiles("test")
+@Tag("benchmark")
+@Slf4j
+class LoginBurstLatencyTest {
+
+    private static final int LOGINS = 500;
+    private static final int LOGIN_THREADS = 64;
+    private static final int SELLS = 200;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private User user;
+    private TransactionRequest sellRequest;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = IdGenerator.generateUniqueId();
+        user = userRepository.save(User.builder()
+                .name("Shift User")
+                .email("shift-" + suffix + "@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .phoneNumber("1234567890")
+                .role(UserRole.MANAGER)
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("Burst " + suffix).build());
+        Product product = productRepository.save(Product.builder()
+                .name("Burst Product")
+                .sku("BURST-" + suffix)
+                .price(new BigDecimal("1.00"))
+                .stockQuantity(10_000)
+                .category(category)
+                .build());
+        sellRequest = new TransactionRequest(product.getId(), 1, null, "burst sale");
+
+        AuthUser authUser = AuthUser.builder().user(user).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(authUser, null, authUser.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sell_DuringLoginBurst_ShouldKeepLatencyFlat() throws Exception {
+        // Arrange - warm up, then a quiet baseline
+        measureSells(50);
+        long[] baseline = measureSells(SELLS);
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(user.getEmail());
+        loginRequest.setPassword("password123");
+        AtomicInteger loggedIn = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService loginPool = Executors.newFixedThreadPool(LOGIN_THREADS);
+        List<Future<?>> logins = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < LOGINS; i++) {
+            logins.add(loginPool.submit(() -> {
+                try {
+                    userService.loginUser(loginRequest);
+                    loggedIn.incrementAndGet();
+                } catch (TooManyRequestsException e) {
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+        long[] duringBurst = measureSells(SELLS);
+        for (Future<?> login : logins) {
+            login.get(2, TimeUnit.MINUTES);
+        }
+        loginPool.shutdown();
+
+        // Assert
+        long baselineP50 = percentile(baseline, 50);
+        long baselineP95 = percentile(baseline, 95);
+        long burstP50 = percentile(duringBurst, 50);
+        long burstP95 = percentile(duringBurst, 95);
+        log.debug("sell latency us: baseline p50={} p95={}, during {} logins p50={} p95={} (logged in={}, rejected={})",
+                baselineP50 / 1000, baselineP95 / 1000, LOGINS, burstP50 / 1000, burstP95 / 1000,
+                loggedIn.get(), rejected.get());
+
+        assertEquals(LOGINS, loggedIn.get() + rejected.get());
+        assertTrue(loggedIn.get() > 0);
+        //the hashing pool may take a core, so allow a small constant factor but nothing like a stall
+        assertTrue(burstP50 <= Math.max(4 * baselineP50, baselineP50 + TimeUnit.MILLISECONDS.toNanos(20)),
+                "median sell latency should stay flat during the login burst");
+    }
+
+    private long[] measureSells(int count) {
+        long[] latencies = new long[count];
+        for (int i = 0; i < count; i++) {
+            long startedAt = System.nanoTime();
+            transactionService.sell(sellRequest);
+            latencies[i] = System.nanoTime() - startedAt;
+        }
+        return latencies;
+    }
+
+    private long percentile(long[] latencies, int percentile) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+}
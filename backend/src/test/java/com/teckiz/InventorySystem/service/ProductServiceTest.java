@@ -1,22 +1,42 @@
 package com.teckiz.InventorySystem.service;
 
 import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.ProductLookupDTO;
+import com.teckiz.InventorySystem.dto.ProductSearchRequest;
 import com.teckiz.InventorySystem.dto.Response;
 import com.teckiz.InventorySystem.entity.Category;
 import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Warehouse;
+import com.teckiz.InventorySystem.enums.ProductSortField;
+import com.teckiz.InventorySystem.exceptions.ConcurrentUpdateException;
+import com.teckiz.InventorySystem.exceptions.InvalidSearchRequestException;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
 import com.teckiz.InventorySystem.exceptions.NotFoundException;
 import com.teckiz.InventorySystem.repository.CategoryRepository;
 import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.StockCountRepository;
+import com.teckiz.InventorySystem.repository.StockLevelRepository;
+import com.teckiz.InventorySystem.repository.WarehouseRepository;
+import com.teckiz.InventorySystem.service.common.CatalogVersions;
+import com.teckiz.InventorySystem.service.common.LocationStockWriter;
+import com.teckiz.InventorySystem.service.common.OptimisticRetryExecutor;
+import com.teckiz.InventorySystem.service.common.ProductCursor;
+import com.teckiz.InventorySystem.service.common.SkuIndex;
 import com.teckiz.InventorySystem.service.impl.ProductServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -39,6 +59,31 @@ class ProductServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private WarehouseRepository warehouseRepository;
+
+    @Mock
+    private LocationStockWriter locationStockWriter;
+
+    @Mock
+    private CatalogVersions catalogVersions;
+
+    @Mock
+    private StockCountRepository stockCountRepository;
+
+    @Mock
+    private StockLevelRepository stockLevelRepository;
+
+    @Spy
+    private OptimisticRetryExecutor optimisticRetryExecutor = new OptimisticRetryExecutor(3, 0, 0);
+
+    //runs the callback straight away, there is no database behind the mocks
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Spy
+    private SkuIndex skuIndex = new SkuIndex(new TransactionTemplate(), 60_000);
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -143,6 +188,67 @@ class ProductServiceTest {
         verify(productRepository).save(any(Product.class));
     }
 
+    @Test
+    void saveProduct_WithDefaultWarehouse_ShouldPlaceOpeningStock() {
+        // Arrange
+        Warehouse warehouse = Warehouse.builder().name("Main").defaultLocation(true).build();
+        warehouse.setId(3L);
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
+            Product saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+        when(warehouseRepository.findFirstByDefaultLocationTrue()).thenReturn(Optional.of(warehouse));
+
+        // Act
+        productService.saveProduct(productDTO, null);
+
+        // Assert
+        verify(locationStockWriter).placeOpeningStock(1L, 3L, 50);
+    }
+
+    @Test
+    void updateProduct_WithDefaultWarehouse_ShouldBookStockChangeAtDefaultLocation() {
+        // Arrange
+        Warehouse warehouse = Warehouse.builder().name("Main").defaultLocation(true).build();
+        warehouse.setId(3L);
+        testProduct.setId(1L);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(testCategory));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(warehouseRepository.findFirstByDefaultLocationTrue()).thenReturn(Optional.of(warehouse));
+
+        productDTO.setProductId(1L);
+        productDTO.setStockQuantity(60);
+
+        // Act
+        productService.updateProduct(productDTO, null);
+
+        // Assert - the total is left to the location movement, not overwritten
+        verify(productRepository).save(argThat(product -> product.getStockQuantity() == 50));
+        verify(locationStockWriter).adjust(1L, 3L, 10);
+    }
+
+    @Test
+    void updateProduct_StockChangeWhileCountOpen_ShouldThrowAndSaveNothing() {
+        // Arrange
+        Warehouse warehouse = Warehouse.builder().name("Main").defaultLocation(true).build();
+        warehouse.setId(3L);
+        testProduct.setId(1L);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(warehouseRepository.findFirstByDefaultLocationTrue()).thenReturn(Optional.of(warehouse));
+        when(stockCountRepository.existsOpenAtWarehouses(List.of(3L))).thenReturn(true);
+
+        productDTO.setProductId(1L);
+        productDTO.setStockQuantity(60);
+
+        // Act & Assert
+        assertThrows(InvalidStockOperationException.class, () -> productService.updateProduct(productDTO, null));
+        verify(productRepository, never()).save(any());
+        verify(locationStockWriter, never()).adjust(anyLong(), anyLong(), anyInt());
+    }
+
     @Test
     void updateProduct_ProductNotFound_ShouldThrowNotFoundException() {
         // Arrange
@@ -254,7 +360,9 @@ class ProductServiceTest {
         assertEquals(200, response.getStatus());
         assertEquals("Product successfully deleted", response.getMessage());
         verify(productRepository).findById(1L);
+        verify(stockLevelRepository).deleteAllByProductId(1L);
         verify(productRepository).deleteById(1L);
+        verify(catalogVersions).bump(CatalogVersions.Collection.PRODUCTS);
     }
 
     @Test
@@ -264,6 +372,7 @@ class ProductServiceTest {
 
         // Act & Assert
         assertThrows(NotFoundException.class, () -> productService.deleteProduct(1L));
+        verify(catalogVersions, never()).bump(any());
         verify(productRepository).findById(1L);
         verify(productRepository, never()).deleteById(any());
     }
@@ -315,4 +424,179 @@ class ProductServiceTest {
             "Latest iPhone model".equals(product.getDescription())
         ));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void updateProduct_VersionConflict_ShouldRetryOnFreshCopy() {
+        // Arrange
+        Product freshProduct = Product.builder()
+                .name("iPhone 15")
+                .sku("IPHONE-15-001")
+                .price(new BigDecimal("999.99"))
+                .stockQuantity(42)
+                .description("Latest iPhone model")
+                .category(testCategory)
+                .build();
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct), Optional.of(freshProduct));
+        when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(testCategory));
+        when(productRepository.save(any(Product.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L))
+                .thenReturn(freshProduct);
+
+        productDTO.setProductId(1L);
+        productDTO.setName("iPhone 15 Pro");
+        productDTO.setStockQuantity(null);
+
+        // Act
+        Response response = productService.updateProduct(productDTO, null);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals("iPhone 15 Pro", freshProduct.getName());
+        assertEquals(42, freshProduct.getStockQuantity()); // concurrent stock change is kept
+        verify(productRepository, times(2)).findById(1L);
+        verify(productRepository, times(2)).save(any(Product.class));
+        assertEquals(1, optimisticRetryExecutor.getConflictCount());
+    }
+
+    @Test
+    void updateProduct_PersistentVersionConflict_ShouldThrowConcurrentUpdateException() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(testCategory));
+        when(productRepository.save(any(Product.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L));
+
+        productDTO.setProductId(1L);
+
+        // Act & Assert
+        assertThrows(ConcurrentUpdateException.class, () -> productService.updateProduct(productDTO, null));
+        verify(productRepository, times(3)).save(any(Product.class));
+        assertEquals(1, optimisticRetryExecutor.getExhaustedCount());
+    }
+
+    @Test
+    void searchProducts_MoreRowsThanPage_ShouldTrimAndReturnCursorForLastRow() {
+        // Arrange
+        ProductDTO first = ProductDTO.builder().name("Apple").price(new BigDecimal("1.00")).stockQuantity(5).build();
+        first.setId(7L);
+        ProductDTO second = ProductDTO.builder().name("Banana").price(new BigDecimal("2.50")).stockQuantity(9).build();
+        second.setId(3L);
+        ProductDTO extra = ProductDTO.builder().name("Cherry").price(new BigDecimal("2.50")).stockQuantity(1).build();
+        extra.setId(4L);
+        ProductSearchRequest searchRequest = ProductSearchRequest.builder().sortBy(ProductSortField.PRICE).size(2).build();
+        when(productRepository.findCatalogPage(searchRequest, null, 3)).thenReturn(List.of(first, second, extra));
+
+        // Act
+        Response response = productService.searchProducts(searchRequest);
+
+        // Assert
+        assertEquals(2, response.getProducts().size());
+        ProductCursor cursor = ProductCursor.decode(response.getNextCursor(), ProductSortField.PRICE, true);
+        assertEquals(3L, cursor.getId());
+        assertEquals(new BigDecimal("2.50"), cursor.getValue());
+        assertNull(response.getTotalElements());
+    }
+
+    @Test
+    void searchProducts_LastPage_ShouldNotReturnCursor() {
+        // Arrange
+        ProductSearchRequest searchRequest = ProductSearchRequest.builder().size(10).build();
+        when(productRepository.findCatalogPage(searchRequest, null, 11)).thenReturn(List.of(ProductDTO.builder().name("Only").build()));
+
+        // Act
+        Response response = productService.searchProducts(searchRequest);
+
+        // Assert
+        assertEquals(1, response.getProducts().size());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void searchProducts_CursorFromOtherSort_ShouldThrowInvalidSearchRequestException() {
+        // Arrange
+        String priceCursor = new ProductCursor(ProductSortField.PRICE, true, new BigDecimal("2.50"), 3L).encode();
+        ProductSearchRequest searchRequest = ProductSearchRequest.builder()
+                .sortBy(ProductSortField.NAME)
+                .cursor(priceCursor)
+                .build();
+
+        // Act & Assert
+        assertThrows(InvalidSearchRequestException.class, () -> productService.searchProducts(searchRequest));
+        verify(productRepository, never()).findCatalogPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void lookupBySkus_PartlyIndexed_ShouldQueryOnlyTheMissesAndIndexThem() {
+        // Arrange
+        skuIndex.put(1L, "IPHONE-15-001", new BigDecimal("999.99"));
+        when(productRepository.findLookupsBySkus(List.of("PIXEL-9", "NOPE")))
+                .thenReturn(List.of(new ProductLookupDTO("PIXEL-9", 2L, new BigDecimal("799.00"))));
+
+        // Act
+        Response response = productService.lookupBySkus(List.of("iphone-15-001", "PIXEL-9", "NOPE", "PIXEL-9"));
+        Response again = productService.lookupBySku("pixel-9");
+
+        // Assert
+        assertEquals(2, response.getProductLookups().size());
+        assertEquals(1L, response.getProductLookups().get(0).getProductId());
+        assertEquals(2L, response.getProductLookups().get(1).getProductId());
+        assertEquals(List.of("NOPE"), response.getUnknownSkus());
+        assertEquals(new BigDecimal("799.00"), again.getProductLookup().getPrice());
+        verify(productRepository, times(1)).findLookupsBySkus(any());
+    }
+
+    @Test
+    void lookupBySku_Unknown_ShouldThrowNotFoundException() {
+        // Arrange
+        when(productRepository.findLookupsBySkus(List.of("NOPE"))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> productService.lookupBySku(" NOPE "));
+    }
+
+    @Test
+    void updateProduct_SkuChanged_ShouldReindexUnderNewSku() {
+        // Arrange
+        testProduct.setId(1L);
+        skuIndex.put(1L, "IPHONE-15-001", new BigDecimal("999.99"));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(testCategory));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        productDTO.setProductId(1L);
+        productDTO.setSku("IPHONE-15-PRO");
+        productDTO.setPrice(new BigDecimal("1099.00"));
+
+        // Act
+        productService.updateProduct(productDTO, null);
+
+        // Assert
+        assertNull(skuIndex.find("IPHONE-15-001"));
+        assertEquals(new BigDecimal("1099.00"), skuIndex.find("IPHONE-15-PRO").getPrice());
+        assertEquals(1, skuIndex.size());
+    }
+
+    @Test
+    void lookupBySkus_RowsChangedBehindIndex_ShouldRevalidateOncePastMaxAge() throws InterruptedException {
+        // Arrange - another instance repriced one product, renamed another's SKU and deleted a third
+        SkuIndex shortLived = new SkuIndex(new TransactionTemplate(), 20);
+        ReflectionTestUtils.setField(productService, "skuIndex", shortLived);
+        shortLived.put(1L, "IPHONE-15-001", new BigDecimal("999.99"));
+        shortLived.put(2L, "PIXEL-9", new BigDecimal("799.00"));
+        shortLived.put(3L, "GALAXY-S24", new BigDecimal("899.00"));
+        when(productRepository.findLookupsBySkus(List.of("IPHONE-15-001", "PIXEL-9", "GALAXY-S24")))
+                .thenReturn(List.of(new ProductLookupDTO("IPHONE-15-001", 1L, new BigDecimal("949.00"))));
+        Response before = productService.lookupBySkus(List.of("IPHONE-15-001", "PIXEL-9", "GALAXY-S24"));
+        Thread.sleep(40);
+
+        // Act
+        Response after = productService.lookupBySkus(List.of("IPHONE-15-001", "PIXEL-9", "GALAXY-S24"));
+
+        // Assert - answered from memory while fresh, then from the database
+        assertEquals(3, before.getProductLookups().size());
+        assertEquals(1, after.getProductLookups().size());
+        assertEquals(new BigDecimal("949.00"), after.getProductLookups().get(0).getPrice());
+        assertEquals(List.of("PIXEL-9", "GALAXY-S24"), after.getUnknownSkus());
+        assertEquals(1, shortLived.size());
+        verify(productRepository, times(1)).findLookupsBySkus(any());
+    }
+}
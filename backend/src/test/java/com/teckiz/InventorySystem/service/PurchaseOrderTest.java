@@ -0,0 +1,220 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.PurchaseOrderDTO;
+import com.teckiz.InventorySystem.dto.PurchaseOrderLineRequest;
+import com.teckiz.InventorySystem.dto.PurchaseOrderReceiptRequest;
+import com.teckiz.InventorySystem.dto.PurchaseOrderRequest;
+import com.teckiz.InventorySystem.dto.WarehouseDTO;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Supplier;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.exceptions.InvalidStatusTransitionException;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.StockLevelRepository;
+import com.teckiz.InventorySystem.repository.SupplierRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.service.common.IdGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Raises and receives purchase orders on its own H2 database, which has a default warehouse,
+ * and checks stock totals, locations, PURCHASE rows and supplier totals after each receipt.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:purchaseorderdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class PurchaseOrderTest {
+
+    @Autowired
+    private PurchaseOrderService purchaseOrderService;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StockLevelRepository stockLevelRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Supplier supplier;
+    private Product rice;
+    private Product flour;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = IdGenerator.generateUniqueId();
+        User user = userRepository.save(User.builder()
+                .name("Buyer")
+                .email("buyer-" + suffix + "@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.ADMIN)
+                .build());
+        if (warehouseService.getAllWarehouses().getWarehouses().isEmpty()) {
+            warehouseService.addWarehouse(new WarehouseDTO("Receiving Dock", "Back Lane", true));
+        }
+        Category category = categoryRepository.save(Category.builder().name("Dry Goods " + suffix).build());
+        supplier = supplierRepository.save(Supplier.builder().name("Mill " + suffix).build());
+        rice = product("RICE-" + suffix, "2.00", category);
+        flour = product("FLOUR-" + suffix, "1.50", category);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createPurchaseOrder_RepeatedProduct_ShouldMergeLinesAndDefaultPrice() {
+        // Act
+        PurchaseOrderDTO order = purchaseOrderService.createPurchaseOrder(order(
+                new PurchaseOrderLineRequest(rice.getId(), 10),
+                new PurchaseOrderLineRequest(rice.getId(), 5),
+                new PurchaseOrderLineRequest(flour.getId(), 8, new BigDecimal("1.20")))).getPurchaseOrder();
+
+        // Assert
+        assertEquals(TransactionStatus.PENDING, order.getStatus());
+        assertEquals(2, order.getLines().size());
+        assertEquals(15, order.getLines().get(0).getQuantityOrdered());
+        assertEquals(new BigDecimal("2.00"), order.getLines().get(0).getUnitPrice());
+        assertEquals(new BigDecimal("1.20"), order.getLines().get(1).getUnitPrice());
+        assertEquals(23, order.getUnitsOrdered());
+
+        PurchaseOrderDTO summary = purchaseOrderService.getAllPurchaseOrders(0, 10, null, supplier.getId())
+                .getPurchaseOrders().get(0);
+        assertEquals(order.getId(), summary.getId());
+        assertEquals(23, summary.getUnitsOrdered());
+        assertEquals(0, summary.getUnitsReceived());
+    }
+
+    @Test
+    void receivePurchaseOrder_PartialThenRest_ShouldMoveStockAndCompleteOrder() {
+        // Arrange
+        Long orderId = purchaseOrderService.createPurchaseOrder(order(
+                new PurchaseOrderLineRequest(rice.getId(), 10),
+                new PurchaseOrderLineRequest(flour.getId(), 4))).getPurchaseOrder().getId();
+        double unitsBefore = purchasedUnits();
+
+        // Act - part of the rice first, then whatever is outstanding
+        purchaseOrderService.receivePurchaseOrder(orderId, new PurchaseOrderReceiptRequest(
+                List.of(new PurchaseOrderLineRequest(rice.getId(), 6)), null));
+        TransactionStatus afterFirst = purchaseOrderService.getPurchaseOrderById(orderId).getPurchaseOrder().getStatus();
+        purchaseOrderService.receivePurchaseOrder(orderId, null);
+
+        // Assert
+        assertEquals(TransactionStatus.PROCESSING, afterFirst);
+        PurchaseOrderDTO order = purchaseOrderService.getPurchaseOrderById(orderId).getPurchaseOrder();
+        assertEquals(TransactionStatus.COMPLETED, order.getStatus());
+        assertEquals(14, order.getUnitsReceived());
+
+        assertEquals(10, stock(rice));
+        assertEquals(4, stock(flour));
+        assertEquals(10, stockLevelRepository.findLevelsByProductId(rice.getId()).get(0).getQuantity());
+
+        long purchases = transactionRepository.findAll().stream()
+                .filter(t -> t.getTransactionType() == TransactionType.PURCHASE && t.getSupplier().getId().equals(supplier.getId()))
+                .count();
+        assertEquals(3, purchases);
+        var performance = supplierService.getSupplierPerformance(supplier.getId()).getSupplierPerformance();
+        assertEquals(14, performance.getUnitsPurchased());
+        assertEquals(0, new BigDecimal("26.00").compareTo(performance.getSpend()));
+        assertEquals(14.0, purchasedUnits() - unitsBefore);
+    }
+
+    @Test
+    void receivePurchaseOrder_MoreThanOutstanding_ShouldApplyNothing() {
+        // Arrange
+        Long orderId = purchaseOrderService.createPurchaseOrder(order(
+                new PurchaseOrderLineRequest(rice.getId(), 10),
+                new PurchaseOrderLineRequest(flour.getId(), 4))).getPurchaseOrder().getId();
+
+        // Act
+        assertThrows(InvalidStockOperationException.class, () -> purchaseOrderService.receivePurchaseOrder(orderId,
+                new PurchaseOrderReceiptRequest(List.of(
+                        new PurchaseOrderLineRequest(rice.getId(), 10),
+                        new PurchaseOrderLineRequest(flour.getId(), 5)), null)));
+
+        // Assert - the rice line was valid but the delivery is all or nothing
+        assertEquals(0, stock(rice));
+        assertEquals(0, stock(flour));
+        assertEquals(TransactionStatus.PENDING, purchaseOrderService.getPurchaseOrderById(orderId).getPurchaseOrder().getStatus());
+    }
+
+    @Test
+    void receivePurchaseOrder_Cancelled_ShouldBeRejected() {
+        // Arrange
+        Long orderId = purchaseOrderService.createPurchaseOrder(order(
+                new PurchaseOrderLineRequest(rice.getId(), 10))).getPurchaseOrder().getId();
+        purchaseOrderService.cancelPurchaseOrder(orderId);
+
+        // Act & Assert
+        assertThrows(InvalidStatusTransitionException.class, () -> purchaseOrderService.receivePurchaseOrder(orderId, null));
+        assertThrows(InvalidStatusTransitionException.class, () -> purchaseOrderService.cancelPurchaseOrder(orderId));
+        assertEquals(0, stock(rice));
+    }
+
+    private PurchaseOrderRequest order(PurchaseOrderLineRequest... lines) {
+        return new PurchaseOrderRequest(supplier.getId(), null, "weekly order", List.of(lines));
+    }
+
+    private Product product(String sku, String price, Category category) {
+        return productRepository.save(Product.builder()
+                .name(sku)
+                .sku(sku)
+                .price(new BigDecimal(price))
+                .stockQuantity(0)
+                .category(category)
+                .build());
+    }
+
+    private int stock(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+    }
+
+    private double purchasedUnits() {
+        return meterRegistry.get("inventory.units").tag("type", TransactionType.PURCHASE.name()).counter().count();
+    }
+}
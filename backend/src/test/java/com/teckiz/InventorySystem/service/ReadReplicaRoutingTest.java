@@ -0,0 +1,143 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.config.ReplicaRoutingDataSource;
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Service reads and writes through the routing data source. Both pools point at the same H2 database,
+ * so the routing counters show where each transaction went.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "inventory.datasource.replica.url=jdbc:h2:mem:routingdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "inventory.datasource.replica.read-your-writes-ms=60000",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @SpyBean
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.findByEmail("routing-seller@example.com").orElseGet(() -> userRepository.save(User.builder()
+                .name("Routing Seller")
+                .email("routing-seller@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.MANAGER)
+                .build()));
+        Category category = categoryRepository.save(Category.builder().name("Routing " + System.nanoTime()).build());
+        product = productRepository.save(Product.builder()
+                .name("Routed Product")
+                .sku("ROUTED-" + System.nanoTime())
+                .price(new BigDecimal("3.00"))
+                .stockQuantity(10)
+                .category(category)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getAllProducts_ShouldBeServedByReplica() {
+        // Arrange
+        signIn("routing-reader@example.com");
+        long replicaBefore = replicaRoutingDataSource.getReplicaRouteCount();
+
+        // Act
+        productService.getAllProducts();
+
+        // Assert
+        assertEquals(replicaBefore + 1, replicaRoutingDataSource.getReplicaRouteCount());
+    }
+
+    @Test
+    void getProductById_AfterOwnSell_ShouldBeServedByPrimary() {
+        // Arrange
+        signIn("routing-seller@example.com");
+        transactionService.sell(new TransactionRequest(product.getId(), 2, null, "routed sale"));
+        long replicaBefore = replicaRoutingDataSource.getReplicaRouteCount();
+        long pinnedBefore = replicaRoutingDataSource.getPinnedReadCount();
+
+        // Act
+        int stock = productService.getProductById(product.getId()).getProduct().getStockQuantity();
+
+        // Assert
+        assertEquals(8, stock);
+        assertEquals(replicaBefore, replicaRoutingDataSource.getReplicaRouteCount());
+        assertEquals(pinnedBefore + 1, replicaRoutingDataSource.getPinnedReadCount());
+    }
+
+    @Test
+    void sell_ShouldReadProductFromPrimary() {
+        // Arrange - the repository's read-only transaction only reaches the primary when it joins a read-write one
+        signIn("routing-seller@example.com");
+        List<Boolean> readOnPrimary = new ArrayList<>();
+        Answer<?> repository = mockingDetails(productRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            readOnPrimary.add(TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return repository.answer(invocation);
+        }).when(productRepository).findById(product.getId());
+
+        // Act
+        transactionService.sell(new TransactionRequest(product.getId(), 1, null, "routed sale"));
+
+        // Assert
+        assertEquals(List.of(true), readOnPrimary);
+        assertEquals(9, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+}
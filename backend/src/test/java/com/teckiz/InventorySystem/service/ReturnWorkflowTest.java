@@ -0,0 +1,190 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Supplier;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.exceptions.InvalidStatusTransitionException;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.SupplierRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.service.common.IdGenerator;
+import com.teckiz.InventorySystem.service.common.ReturnWorkflow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Raises returns to supplier on its own H2 database, ages some past the 48 hour timeout and runs the workflow
+ * with pages of two, so several pages go through the worker pool.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:returnsdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.jpa.show-sql=false",
+        "inventory.returns.complete-after-hours=48",
+        "inventory.returns.batch-size=2"
+})
+@ActiveProfiles("test")
+class ReturnWorkflowTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ReturnWorkflow returnWorkflow;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Supplier supplier;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        //earlier tests' returns are due as well, so every test starts without transactions
+        transactionRepository.deleteAllInBatch();
+
+        String suffix = IdGenerator.generateUniqueId();
+        User user = userRepository.save(User.builder()
+                .name("Returns Clerk")
+                .email("returns-" + suffix + "@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.MANAGER)
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("Returns " + suffix).build());
+        supplier = supplierRepository.save(Supplier.builder().name("Returns Supplier " + suffix).build());
+        product = productRepository.save(Product.builder()
+                .name("Returned Product")
+                .sku("RETURN-" + suffix)
+                .price(new BigDecimal("4.00"))
+                .stockQuantity(100)
+                .category(category)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void completeDueReturns_PastTimeout_ShouldCompleteEveryPage() {
+        // Arrange - five due returns, one recent, one due but already cancelled
+        for (int i = 0; i < 5; i++) {
+            age(returnToSupplier(), 49);
+        }
+        Long recent = returnToSupplier();
+        Long cancelled = returnToSupplier();
+        age(cancelled, 49);
+        transactionService.updateTransactionStatus(cancelled, TransactionStatus.CANCELED);
+
+        // Act
+        int completed = returnWorkflow.completeDueReturns(NOW);
+
+        // Assert
+        assertEquals(5, completed);
+        assertEquals(5, countReturns(TransactionStatus.COMPLETED));
+        assertEquals(TransactionStatus.PROCESSING, status(recent));
+        assertEquals(TransactionStatus.CANCELED, status(cancelled));
+        assertEquals(0, returnWorkflow.completeDueReturns(NOW));
+    }
+
+    @Test
+    void updateTransactionStatus_CancelledReturn_ShouldRejectFurtherMoves() {
+        // Arrange
+        Long id = returnToSupplier();
+        transactionService.updateTransactionStatus(id, TransactionStatus.CANCELED);
+
+        // Act & Assert
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> transactionService.updateTransactionStatus(id, TransactionStatus.COMPLETED));
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> transactionService.updateTransactionStatus(id, TransactionStatus.PROCESSING));
+        assertEquals(TransactionStatus.CANCELED, status(id));
+    }
+
+    @Test
+    void updateTransactionStatus_CompletedReturn_ShouldStillBeCancellableAndPutStockBack() {
+        // Arrange
+        int stockBefore = productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+        Long id = returnToSupplier();
+        transactionService.updateTransactionStatus(id, TransactionStatus.COMPLETED);
+
+        // Act & Assert
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> transactionService.updateTransactionStatus(id, TransactionStatus.PROCESSING));
+        transactionService.updateTransactionStatus(id, TransactionStatus.CANCELED);
+        assertEquals(TransactionStatus.CANCELED, status(id));
+        assertEquals(stockBefore, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+    }
+
+    private Long returnToSupplier() {
+        transactionService.returnToSupplier(new TransactionRequest(product.getId(), 1, supplier.getId(), "damaged"));
+        return transactionRepository.findAll().stream()
+                .mapToLong(Transaction::getId)
+                .max().orElseThrow();
+    }
+
+    //creation time is set on persist, so the return is aged afterwards
+    private void age(Long id, int hours) {
+        transactionTemplate.executeWithoutResult(s -> entityManager
+                .createQuery("UPDATE Transaction t SET t.createdAt = :at WHERE t.id = :id")
+                .setParameter("at", NOW.minusHours(hours))
+                .setParameter("id", id)
+                .executeUpdate());
+    }
+
+    private TransactionStatus status(Long id) {
+        return transactionRepository.findById(id).orElseThrow().getStatus();
+    }
+
+    private long countReturns(TransactionStatus status) {
+        return transactionRepository.findAll().stream()
+                .filter(t -> t.getTransactionType() == TransactionType.RETURN_TO_SUPPLIER && t.getStatus() == status)
+                .count();
+    }
+}
@@ -0,0 +1,130 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.SalesAggregateDTO;
+import com.teckiz.InventorySystem.dto.SalesQuery;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.service.common.IdGenerator;
+import com.teckiz.InventorySystem.service.common.SalesColumnStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes transactions straight to its own H2 database, as another instance would, and checks that a poll
+ * brings the new rows and their later status changes into the sales column store.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:salespolldb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.jpa.show-sql=false",
+        "inventory.analytics.poll-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class SalesColumnStorePollTest {
+
+    @Autowired
+    private SalesColumnStore salesColumnStore;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = IdGenerator.generateUniqueId();
+        user = userRepository.save(User.builder()
+                .name("Other Instance")
+                .email("poll-" + suffix + "@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.MANAGER)
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("Polled " + suffix).build());
+        product = productRepository.save(Product.builder()
+                .name("Polled Product")
+                .sku("POLL-" + suffix)
+                .price(new BigDecimal("4.00"))
+                .stockQuantity(10)
+                .category(category)
+                .build());
+    }
+
+    @Test
+    void poll_SaleWrittenElsewhere_ShouldAppearOnce() {
+        // Arrange
+        sale(2, "8.00");
+
+        // Act
+        salesColumnStore.poll();
+        salesColumnStore.poll();
+
+        // Assert
+        List<SalesAggregateDTO> result = salesColumnStore.aggregate(salesOfProduct());
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getTransactions());
+        assertEquals(new BigDecimal("8.00"), result.get(0).getRevenue());
+    }
+
+    @Test
+    void poll_CancelledElsewhere_ShouldDropRow() {
+        // Arrange
+        Transaction sale = sale(1, "4.00");
+        salesColumnStore.poll();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status ->
+                transactionRepository.updateStatus(List.of(sale.getId()), TransactionStatus.CANCELED, LocalDateTime.now()));
+        salesColumnStore.poll();
+
+        // Assert
+        assertTrue(salesColumnStore.aggregate(salesOfProduct()).isEmpty());
+    }
+
+    private Transaction sale(int units, String revenue) {
+        return transactionRepository.save(Transaction.builder()
+                .transactionType(TransactionType.SALE)
+                .status(TransactionStatus.COMPLETED)
+                .product(product)
+                .user(user)
+                .totalProducts(units)
+                .totalPrice(new BigDecimal(revenue))
+                .description("sold on another instance")
+                .build());
+    }
+
+    private SalesQuery salesOfProduct() {
+        return SalesQuery.builder().productId(product.getId()).type(TransactionType.SALE).build();
+    }
+}
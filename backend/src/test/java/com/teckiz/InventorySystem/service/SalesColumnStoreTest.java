@@ -0,0 +1,172 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.SalesAggregateDTO;
+import com.teckiz.InventorySystem.dto.SalesQuery;
+import com.teckiz.InventorySystem.enums.SalesDimension;
+import com.teckiz.InventorySystem.enums.TimeBucket;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.service.common.SalesColumnStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesColumnStoreTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    private SalesColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new SalesColumnStore(new TransactionTemplate(), 400);
+        // category 1: two sales in week one, one in week two; category 2: one sale and a purchase
+        sale(1, MONDAY, 10L, 1L, 2, "5.00");
+        sale(2, MONDAY.plusDays(6), 10L, 1L, 1, "2.50");
+        sale(3, MONDAY.plusDays(7), 11L, 1L, 4, "10.00");
+        sale(4, MONDAY.plusDays(1), 20L, 2L, 1, "7.00");
+        store.append(5, MONDAY.atTime(9, 0), TransactionType.PURCHASE, TransactionStatus.COMPLETED,
+                20L, 2L, 99L, 1L, 50, new BigDecimal("100.00"));
+    }
+
+    @Test
+    void aggregate_ByCategoryAndWeek_ShouldBucketOnMondays() {
+        // Arrange
+        SalesQuery query = SalesQuery.builder()
+                .groupBy(EnumSet.of(SalesDimension.CATEGORY))
+                .bucket(TimeBucket.WEEK)
+                .type(TransactionType.SALE)
+                .build();
+
+        // Act
+        List<SalesAggregateDTO> result = store.aggregate(query);
+
+        // Assert
+        assertEquals(3, result.size());
+        SalesAggregateDTO weekOneCategoryOne = result.stream()
+                .filter(r -> r.getBucket().equals(MONDAY) && r.getCategoryId() == 1L).findFirst().orElseThrow();
+        assertEquals(2, weekOneCategoryOne.getTransactions());
+        assertEquals(3, weekOneCategoryOne.getUnits());
+        assertEquals(new BigDecimal("7.50"), weekOneCategoryOne.getRevenue());
+        assertEquals(MONDAY.plusDays(7), result.get(2).getBucket());
+        assertNull(weekOneCategoryOne.getProductId());
+        assertNull(weekOneCategoryOne.getType());
+    }
+
+    @Test
+    void aggregate_NoGrouping_ShouldReturnGrandTotalPerFilter() {
+        // Act
+        List<SalesAggregateDTO> result = store.aggregate(SalesQuery.builder()
+                .from(MONDAY.plusDays(1))
+                .to(MONDAY.plusDays(7))
+                .build());
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(3, result.get(0).getTransactions());
+        assertEquals(new BigDecimal("19.50"), result.get(0).getRevenue());
+    }
+
+    @Test
+    void aggregate_ByType_ShouldSeparatePurchasesFromSales() {
+        // Act
+        List<SalesAggregateDTO> result = store.aggregate(SalesQuery.builder()
+                .groupBy(EnumSet.of(SalesDimension.TYPE, SalesDimension.SUPPLIER))
+                .build());
+
+        // Assert - ordered by revenue within the single (absent) bucket
+        assertEquals(TransactionType.PURCHASE, result.get(0).getType());
+        assertEquals(99L, result.get(0).getSupplierId());
+        assertEquals(50, result.get(0).getUnits());
+        assertEquals(TransactionType.SALE, result.get(1).getType());
+        assertNull(result.get(1).getSupplierId());
+    }
+
+    @Test
+    void updateStatus_Cancelled_ShouldDropRowUnlessIncluded() {
+        // Act
+        store.updateStatus(3, TransactionStatus.CANCELED);
+
+        // Assert
+        SalesQuery query = SalesQuery.builder().type(TransactionType.SALE).build();
+        assertEquals(3, store.aggregate(query).get(0).getTransactions());
+        query.setIncludeCancelled(true);
+        assertEquals(4, store.aggregate(query).get(0).getTransactions());
+    }
+
+    @Test
+    void append_SameIdTwice_ShouldKeepOneRow() {
+        // Act
+        sale(1, MONDAY, 10L, 1L, 2, "5.00");
+
+        // Assert
+        assertEquals(5, store.getRowCount());
+    }
+
+    @Test
+    void append_BeyondOneSegment_ShouldKeepEveryRow() {
+        // Arrange
+        int rows = 70_000;
+        for (int i = 0; i < rows; i++) {
+            sale(1_000 + i, MONDAY.plusDays(i % 28), 30L, 3L, 1, "1.00");
+        }
+
+        // Act
+        List<SalesAggregateDTO> result = store.aggregate(SalesQuery.builder()
+                .categoryId(3L)
+                .bucket(TimeBucket.MONTH)
+                .build());
+
+        // Assert
+        assertEquals(rows, result.stream().mapToLong(SalesAggregateDTO::getTransactions).sum());
+        assertEquals(LocalDate.of(2025, 3, 1), result.get(0).getBucket());
+    }
+
+    @Test
+    void evict_SegmentPastRetention_ShouldDropItAndForgetItsIds() {
+        // Arrange - a store keeping 30 days: one full segment of old sales, then today's
+        SalesColumnStore recent = new SalesColumnStore(new TransactionTemplate(), 30);
+        LocalDateTime old = LocalDate.now().minusDays(60).atTime(12, 0);
+        for (int i = 1; i <= 65_536; i++) {
+            recent.append(i, old, TransactionType.SALE, TransactionStatus.COMPLETED, 10L, 1L, null, 1L, 1, BigDecimal.ONE);
+        }
+        recent.append(100_000, LocalDateTime.now(), TransactionType.SALE, TransactionStatus.COMPLETED,
+                10L, 1L, null, 1L, 3, new BigDecimal("9.00"));
+
+        // Act
+        recent.evict();
+        recent.updateStatus(100_000, TransactionStatus.CANCELED);
+        recent.updateStatus(5, TransactionStatus.CANCELED);
+
+        // Assert - only today's row is left and still addressable by id
+        assertEquals(1, recent.getRowCount());
+        List<SalesAggregateDTO> all = recent.aggregate(SalesQuery.builder().includeCancelled(true).build());
+        assertEquals(1, all.get(0).getTransactions());
+        assertEquals(new BigDecimal("9.00"), all.get(0).getRevenue());
+        assertTrue(recent.aggregate(SalesQuery.builder().build()).isEmpty());
+    }
+
+    @Test
+    void evict_OnlySegmentWithOldRows_ShouldKeepTakingAppends() {
+        // Act - every row here is long past 400 days, but the segment taking appends is never dropped
+        store.evict();
+        sale(6, MONDAY, 10L, 1L, 1, "1.00");
+
+        // Assert
+        assertEquals(6, store.getRowCount());
+    }
+
+    private void sale(long id, LocalDate day, Long productId, Long categoryId, int units, String revenue) {
+        LocalDateTime at = day.atTime(12, 0);
+        store.append(id, at, TransactionType.SALE, TransactionStatus.COMPLETED,
+                productId, categoryId, null, 1L, units, new BigDecimal(revenue));
+    }
+}
@@ -0,0 +1,160 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Supplier;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.SupplierRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.service.common.IdGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the restock write path with a cold and a warm second-level cache and compares the statements issued.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    private static final int WRITES = 20;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private TransactionRequest request;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        String suffix = IdGenerator.generateUniqueId();
+
+        User user = userRepository.save(User.builder()
+                .name("Cache User")
+                .email("cache-user-" + suffix + "@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.MANAGER)
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("Cached Category " + suffix).build());
+        Supplier supplier = supplierRepository.save(Supplier.builder().name("Cached Supplier").build());
+        Product product = productRepository.save(Product.builder()
+                .name("Cached Product")
+                .sku("CACHED-" + suffix)
+                .price(new BigDecimal("5.00"))
+                .stockQuantity(0)
+                .category(category)
+                .build());
+
+        request = new TransactionRequest(product.getId(), 1, supplier.getId(), "cache workload");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void restockInventory_WarmCache_ShouldIssueFewerSelects() {
+        // Arrange - cold: every write starts from an empty cache
+        statistics.clear();
+        for (int i = 0; i < WRITES; i++) {
+            sessionFactory.getCache().evictAllRegions();
+            transactionService.restockInventory(request);
+        }
+        long coldStatements = statistics.getPrepareStatementCount();
+        long coldSupplierLoads = statistics.getEntityStatistics(Supplier.class.getName()).getLoadCount();
+
+        // Act - warm: reference data stays cached between writes
+        transactionService.restockInventory(request);
+        statistics.clear();
+        for (int i = 0; i < WRITES; i++) {
+            transactionService.restockInventory(request);
+        }
+        long warmStatements = statistics.getPrepareStatementCount();
+        long warmSupplierLoads = statistics.getEntityStatistics(Supplier.class.getName()).getLoadCount();
+        long warmSupplierHits = statistics.getEntityStatistics(Supplier.class.getName()).getCacheHitCount();
+
+        // Assert
+        assertEquals(WRITES, coldSupplierLoads);
+        assertEquals(0, warmSupplierLoads);
+        assertEquals(WRITES, warmSupplierHits);
+        assertTrue(warmStatements <= coldStatements - 2L * WRITES,
+                "supplier and user lookups should be served from the cache");
+    }
+
+    @Test
+    void getAllCategories_SecondCall_ShouldHitQueryCache() {
+        // Arrange
+        categoryService.getAllCategories();
+        statistics.clear();
+
+        // Act
+        categoryService.getAllCategories();
+
+        // Assert
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllCategories_AfterCategoryWrite_ShouldMissQueryCache() {
+        // Arrange
+        categoryService.getAllCategories();
+        categoryRepository.save(Category.builder().name("New Category " + IdGenerator.generateUniqueId()).build());
+        statistics.clear();
+
+        // Act
+        categoryService.getAllCategories();
+
+        // Assert
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getQueryCacheMissCount());
+    }
+}
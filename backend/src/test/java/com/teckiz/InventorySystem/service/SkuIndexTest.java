@@ -0,0 +1,100 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.ProductLookupDTO;
+import com.teckiz.InventorySystem.service.common.SkuIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkuIndexTest {
+
+    private SkuIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SkuIndex(new TransactionTemplate(), 60_000);
+    }
+
+    @Test
+    void find_ScannedWithOtherCaseAndWhitespace_ShouldMatch() {
+        // Arrange
+        index.put(7L, "Rice-5kg", new BigDecimal("12.50"));
+
+        // Act
+        ProductLookupDTO found = index.find("  RICE-5KG\n");
+
+        // Assert
+        assertNotNull(found);
+        assertEquals(7L, found.getProductId());
+        assertEquals("Rice-5kg", found.getSku());
+        assertEquals(new BigDecimal("12.50"), found.getPrice());
+        assertNull(index.find("RICE-1KG"));
+        assertNull(index.find(" "));
+    }
+
+    @Test
+    void put_SameSku_ShouldReplacePriceAndKeepSize() {
+        // Arrange
+        index.put(7L, "4006381333931", new BigDecimal("1.00"));
+
+        // Act
+        index.put(7L, "4006381333931", new BigDecimal("1.25"));
+        index.put(8L, "4006381333948", null);
+
+        // Assert
+        assertEquals(2, index.size());
+        assertEquals(new BigDecimal("1.25"), index.find("4006381333931").getPrice());
+        assertNull(index.find("4006381333948").getPrice());
+    }
+
+    @Test
+    void remove_ManyEntriesAcrossGrowth_ShouldKeepEveryOtherSkuReachable() {
+        // Arrange - enough codes to grow the table several times and build long probe chains
+        int count = 5000;
+        for (int i = 1; i <= count; i++) {
+            index.put(i, "BC" + i, BigDecimal.valueOf(i, 2));
+        }
+
+        // Act - every third one goes, and a stale remove for the wrong product is ignored
+        for (int i = 3; i <= count; i += 3) {
+            index.remove(i, "BC" + i);
+        }
+        index.remove(999_999L, "BC1");
+
+        // Assert
+        assertEquals(count - count / 3, index.size());
+        for (int i = 1; i <= count; i++) {
+            ProductLookupDTO found = index.find("bc" + i);
+            if (i % 3 == 0) {
+                assertNull(found, "BC" + i);
+            } else {
+                assertNotNull(found, "BC" + i);
+                assertEquals(i, found.getProductId());
+                assertEquals(BigDecimal.valueOf(i, 2), found.getPrice());
+            }
+        }
+    }
+
+    @Test
+    void find_EntryPastMaxAge_ShouldMissUntilPutAgain() throws InterruptedException {
+        // Arrange
+        SkuIndex shortLived = new SkuIndex(new TransactionTemplate(), 20);
+        shortLived.put(7L, "RICE-5KG", new BigDecimal("12.50"));
+        shortLived.put(8L, "RICE-1KG", new BigDecimal("3.00"));
+        Thread.sleep(40);
+
+        // Act - the database still has the first code at a new price, the second is gone
+        shortLived.put(7L, "RICE-5KG", new BigDecimal("13.00"));
+        shortLived.removeStale("RICE-1KG");
+        shortLived.removeStale("RICE-5KG");
+
+        // Assert
+        assertEquals(new BigDecimal("13.00"), shortLived.find("rice-5kg").getPrice());
+        assertNull(shortLived.find("RICE-1KG"));
+        assertEquals(1, shortLived.size());
+    }
+}
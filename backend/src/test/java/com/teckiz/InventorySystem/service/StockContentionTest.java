@@ -0,0 +1,139 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Supplier;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.exceptions.ConcurrentUpdateException;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.SupplierRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.service.common.OptimisticRetryExecutor;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers one product with restocks from 1, 8 and 64 writers and checks that no stock update is lost.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "inventory.stock.retry.max-attempts=50",
+        "inventory.stock.retry.base-backoff-ms=1",
+        "inventory.stock.retry.max-backoff-ms=20"
+})
+@ActiveProfiles("test")
+class StockContentionTest {
+
+    private static final int TOTAL_OPERATIONS = 192;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private OptimisticRetryExecutor optimisticRetryExecutor;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @ParameterizedTest(name = "{0} concurrent writers")
+    @ValueSource(ints = {1, 8, 64})
+    void restockInventory_ConcurrentWriters_ShouldNotLoseUpdates(int writers) throws Exception {
+        // Arrange
+        String suffix = "-" + writers;
+        User user = userRepository.save(User.builder()
+                .name("Contention User")
+                .email("contention" + suffix + "@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.MANAGER)
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("Contention" + suffix).build());
+        Supplier supplier = supplierRepository.save(Supplier.builder().name("Contention Supplier" + suffix).build());
+        Product product = productRepository.save(Product.builder()
+                .name("Contended Product")
+                .sku("CONTENDED" + suffix)
+                .price(new BigDecimal("10.00"))
+                .stockQuantity(0)
+                .category(category)
+                .build());
+
+        TransactionRequest request = new TransactionRequest(product.getId(), 1, supplier.getId(), "contention");
+        int operationsPerWriter = TOTAL_OPERATIONS / writers;
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger gaveUp = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        long conflictsBefore = optimisticRetryExecutor.getConflictCount();
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            futures.add(pool.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+                try {
+                    start.await();
+                    for (int op = 0; op < operationsPerWriter; op++) {
+                        try {
+                            transactionService.restockInventory(request);
+                            succeeded.incrementAndGet();
+                        } catch (ConcurrentUpdateException e) {
+                            gaveUp.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        // Assert
+        int attempted = operationsPerWriter * writers;
+        int finalStock = productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+        long conflicts = optimisticRetryExecutor.getConflictCount() - conflictsBefore;
+        assertEquals(attempted, succeeded.get() + gaveUp.get());
+        assertEquals(succeeded.get(), finalStock, "every committed restock must be reflected in stock");
+        assertTrue(succeeded.get() > 0);
+        //a lone writer never conflicts, and each restock given up used all 50 attempts
+        if (writers == 1) assertEquals(0, conflicts);
+        assertTrue(conflicts >= 50L * gaveUp.get());
+    }
+}
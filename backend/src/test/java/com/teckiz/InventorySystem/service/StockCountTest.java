@@ -0,0 +1,249 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.StockCountDTO;
+import com.teckiz.InventorySystem.dto.StockCountLineDTO;
+import com.teckiz.InventorySystem.dto.StockCountRequest;
+import com.teckiz.InventorySystem.dto.StockTransferRequest;
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.dto.WarehouseDTO;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Supplier;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.entity.Warehouse;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.exceptions.InvalidStatusTransitionException;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.StockLevelRepository;
+import com.teckiz.InventorySystem.repository.SupplierRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.repository.WarehouseRepository;
+import com.teckiz.InventorySystem.service.common.IdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts one category at a time on its own H2 database, which has a default warehouse: snapshot, scanner upload,
+ * variances with sales made during the count, posting, and the transfer and cancellation blocks while a count is open.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockcountdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class StockCountTest {
+
+    @Autowired
+    private StockCountService stockCountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private StockLevelRepository stockLevelRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Category category;
+    private Product rice;
+    private Product flour;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = IdGenerator.generateUniqueId();
+        User user = userRepository.save(User.builder()
+                .name("Stock Taker")
+                .email("counter-" + suffix + "@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.ADMIN)
+                .build());
+        if (warehouseService.getAllWarehouses().getWarehouses().isEmpty()) {
+            warehouseService.addWarehouse(new WarehouseDTO("Shop Floor", "High Street", true));
+        }
+        category = categoryRepository.save(Category.builder().name("Counted " + suffix).build());
+        rice = product("RICE-" + suffix, "2.00");
+        flour = product("FLOUR-" + suffix, "1.50");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+
+        Supplier supplier = supplierRepository.save(Supplier.builder().name("Mill " + suffix).build());
+        transactionService.restockInventory(new TransactionRequest(rice.getId(), 20, supplier.getId(), "opening"));
+        transactionService.restockInventory(new TransactionRequest(flour.getId(), 10, supplier.getId(), "opening"));
+    }
+
+    //an open count would block transfers in the next test
+    @AfterEach
+    void tearDown() {
+        for (StockCountDTO open : stockCountService.getAllStockCounts(0, 100, TransactionStatus.PROCESSING).getStockCounts()) {
+            stockCountService.cancelStockCount(open.getId());
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void recordCounts_SaleDuringCount_ShouldNotShowAsVariance() {
+        // Arrange
+        StockCountDTO started = start();
+        transactionService.sell(new TransactionRequest(rice.getId(), 3, null, "counter sale"));
+
+        // Act - flour is on two shelves, one SKU isn't ours
+        StockCountDTO recorded = stockCountService.recordCounts(started.getId(), csv(
+                "sku,quantity",
+                rice.getSku() + ",17",
+                flour.getSku() + ",4",
+                "",
+                flour.getSku() + ",4",
+                "UNKNOWN-SKU,1")).getStockCount();
+
+        // Assert
+        assertEquals(2, started.getProducts());
+        assertEquals(2, recorded.getSkusAccepted());
+        assertEquals(List.of("UNKNOWN-SKU"), recorded.getSkusRejected());
+        assertEquals(2, recorded.getProductsCounted());
+
+        List<StockCountLineDTO> variances = stockCountService.getVariances(started.getId()).getStockCount().getVariances();
+        assertEquals(1, variances.size());
+        assertEquals(flour.getId(), variances.get(0).getProductId());
+        assertEquals(-2, variances.get(0).getVariance());
+    }
+
+    @Test
+    void postStockCount_ShouldBookAdjustmentsAndCorrectStock() {
+        // Arrange
+        Long id = start().getId();
+        stockCountService.recordCounts(id, csv(rice.getSku() + ",22", flour.getSku() + ",10"));
+
+        // Act
+        StockCountDTO posted = stockCountService.postStockCount(id).getStockCount();
+
+        // Assert
+        assertEquals(TransactionStatus.COMPLETED, posted.getStatus());
+        assertNotNull(posted.getPostedAt());
+        assertEquals(2, posted.getNetVariance());
+        assertEquals(22, productRepository.findById(rice.getId()).orElseThrow().getStockQuantity());
+        assertEquals(22, stockLevelRepository.findLevelsByProductId(rice.getId()).get(0).getQuantity());
+        assertEquals(10, productRepository.findById(flour.getId()).orElseThrow().getStockQuantity());
+
+        List<Transaction> adjustments = transactionRepository.findAll().stream()
+                .filter(t -> t.getTransactionType() == TransactionType.ADJUSTMENT)
+                .filter(t -> t.getProduct().getId().equals(rice.getId()) || t.getProduct().getId().equals(flour.getId()))
+                .toList();
+        assertEquals(1, adjustments.size());
+        assertEquals(2, adjustments.get(0).getTotalProducts());
+        assertEquals(0, new BigDecimal("4.00").compareTo(adjustments.get(0).getTotalPrice()));
+        assertThrows(InvalidStatusTransitionException.class, () -> stockCountService.postStockCount(id));
+    }
+
+    @Test
+    void transferStock_WhileCountOpen_ShouldBeRejected() {
+        // Arrange
+        Warehouse backRoom = warehouseRepository.save(Warehouse.builder()
+                .name("Back Room " + category.getName())
+                .address("Yard")
+                .defaultLocation(false)
+                .build());
+        Long defaultId = warehouseRepository.findFirstByDefaultLocationTrue().orElseThrow().getId();
+        StockTransferRequest transfer = new StockTransferRequest(rice.getId(), defaultId, backRoom.getId(), 5);
+        Long id = stockCountService.startStockCount(new StockCountRequest(backRoom.getId(), category.getId(), "back room"))
+                .getStockCount().getId();
+
+        // Act & Assert
+        assertThrows(InvalidStockOperationException.class, () -> warehouseService.transferStock(transfer));
+        stockCountService.cancelStockCount(id);
+        warehouseService.transferStock(transfer);
+        assertEquals(20, productRepository.findById(rice.getId()).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    void updateTransactionStatus_CancelWhileCountOpen_ShouldBeRejected() {
+        // Arrange - cancelling the sale would put stock back that the count started without
+        transactionService.sell(new TransactionRequest(rice.getId(), 2, null, "counter sale"));
+        Long sale = transactionRepository.findAll().stream().mapToLong(Transaction::getId).max().orElseThrow();
+        Long id = start().getId();
+
+        // Act & Assert
+        assertThrows(InvalidStockOperationException.class,
+                () -> transactionService.updateTransactionStatus(sale, TransactionStatus.CANCELED));
+        assertEquals(TransactionStatus.COMPLETED, transactionRepository.findById(sale).orElseThrow().getStatus());
+        stockCountService.cancelStockCount(id);
+        transactionService.updateTransactionStatus(sale, TransactionStatus.CANCELED);
+        assertEquals(20, productRepository.findById(rice.getId()).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    void updateProduct_StockCorrectionWhileCountOpen_ShouldBeRejected() {
+        // Arrange - the correction writes no movement, so posting the count would book it a second time
+        Long id = start().getId();
+        ProductDTO correction = new ProductDTO();
+        correction.setProductId(rice.getId());
+        correction.setStockQuantity(25);
+
+        // Act & Assert
+        assertThrows(InvalidStockOperationException.class, () -> productService.updateProduct(correction, null));
+        assertEquals(20, productRepository.findById(rice.getId()).orElseThrow().getStockQuantity());
+        stockCountService.cancelStockCount(id);
+        productService.updateProduct(correction, null);
+        assertEquals(25, productRepository.findById(rice.getId()).orElseThrow().getStockQuantity());
+    }
+
+    private StockCountDTO start() {
+        return stockCountService.startStockCount(new StockCountRequest(null, category.getId(), "shelf A")).getStockCount();
+    }
+
+    private Product product(String sku, String price) {
+        return productRepository.save(Product.builder()
+                .name(sku)
+                .sku(sku)
+                .price(new BigDecimal(price))
+                .stockQuantity(0)
+                .category(category)
+                .build());
+    }
+
+    private static ByteArrayInputStream csv(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
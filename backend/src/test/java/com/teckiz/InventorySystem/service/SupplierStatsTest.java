@@ -0,0 +1,236 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.SupplierDTO;
+import com.teckiz.InventorySystem.dto.SupplierPerformanceDTO;
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Supplier;
+import com.teckiz.InventorySystem.entity.SupplierStats;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.SupplierRepository;
+import com.teckiz.InventorySystem.repository.SupplierStatsRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.service.common.IdGenerator;
+import com.teckiz.InventorySystem.service.common.SupplierStatsRebuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives purchases, returns and cancellations through the service on its own H2 database and checks
+ * the running supplier totals against a rebuild from history.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:supplierstatsdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.jpa.show-sql=false",
+        "inventory.stock.retry.max-attempts=50",
+        "inventory.stock.retry.base-backoff-ms=1"
+})
+@ActiveProfiles("test")
+class SupplierStatsTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierStatsRebuilder supplierStatsRebuilder;
+
+    @Autowired
+    private SupplierStatsRepository supplierStatsRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Supplier supplier;
+    private Product product;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = IdGenerator.generateUniqueId();
+        user = userRepository.save(User.builder()
+                .name("Stats User")
+                .email("stats-" + suffix + "@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.MANAGER)
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("Stats " + suffix).build());
+        supplier = supplierRepository.save(Supplier.builder().name("Stats Supplier " + suffix).build());
+        product = productRepository.save(Product.builder()
+                .name("Stats Product")
+                .sku("STATS-" + suffix)
+                .price(new BigDecimal("4.00"))
+                .stockQuantity(0)
+                .category(category)
+                .build());
+        authenticate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void restockAndReturn_ShouldUpdateRunningTotals() {
+        // Act
+        transactionService.restockInventory(request(10));
+        transactionService.restockInventory(request(5));
+        transactionService.returnToSupplier(request(3));
+
+        // Assert
+        SupplierPerformanceDTO performance = supplierService.getSupplierPerformance(supplier.getId()).getSupplierPerformance();
+        assertEquals(15, performance.getUnitsPurchased());
+        assertEquals(3, performance.getUnitsReturned());
+        assertEquals(2, performance.getPurchaseCount());
+        assertEquals(1, performance.getReturnCount());
+        assertEquals(0, new BigDecimal("60.00").compareTo(performance.getSpend()));
+        assertEquals(0.2, performance.getReturnRatio(), 1e-9);
+        assertNotNull(performance.getLastDeliveryAt());
+    }
+
+    @Test
+    void updateTransactionStatus_CancelledPurchase_ShouldTakeItOutOfTotals() {
+        // Arrange
+        transactionService.restockInventory(request(10));
+        transactionService.restockInventory(request(4));
+        Transaction latest = transactionRepository.findAll(Sort.by(Sort.Direction.DESC, "id")).get(0);
+
+        // Act
+        transactionService.updateTransactionStatus(latest.getId(), TransactionStatus.CANCELED);
+
+        // Assert
+        SupplierStats stats = supplierStatsRepository.findById(supplier.getId()).orElseThrow();
+        assertEquals(10, stats.getUnitsPurchased());
+        assertEquals(1, stats.getPurchaseCount());
+        assertEquals(0, new BigDecimal("40.00").compareTo(stats.getSpend()));
+        assertEquals(TransactionType.PURCHASE, latest.getTransactionType());
+    }
+
+    @Test
+    void rebuild_AfterDrift_ShouldMatchIncrementalTotals() {
+        // Arrange
+        transactionService.restockInventory(request(7));
+        transactionService.returnToSupplier(request(2));
+        SupplierStats incremental = supplierStatsRepository.findById(supplier.getId()).orElseThrow();
+        transactionTemplate.executeWithoutResult(status -> supplierStatsRepository.addReturns(supplier.getId(), 100, 100)); // simulated drift
+
+        // Act
+        supplierStatsRebuilder.rebuild();
+
+        // Assert
+        SupplierStats rebuilt = supplierStatsRepository.findById(supplier.getId()).orElseThrow();
+        assertEquals(incremental.getUnitsPurchased(), rebuilt.getUnitsPurchased());
+        assertEquals(incremental.getUnitsReturned(), rebuilt.getUnitsReturned());
+        assertEquals(incremental.getReturnCount(), rebuilt.getReturnCount());
+        assertEquals(0, incremental.getSpend().compareTo(rebuilt.getSpend()));
+    }
+
+    @Test
+    void restockInventory_ConcurrentWriters_ShouldNotLoseIncrements() throws Exception {
+        // Arrange
+        int writers = 8;
+        int perWriter = 10;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            futures.add(pool.submit(() -> {
+                authenticate();
+                try {
+                    start.await();
+                    for (int op = 0; op < perWriter; op++) {
+                        transactionService.restockInventory(request(1));
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        // Assert
+        SupplierStats stats = supplierStatsRepository.findById(supplier.getId()).orElseThrow();
+        assertEquals(writers * perWriter, stats.getUnitsPurchased());
+        assertEquals(writers * perWriter, stats.getPurchaseCount());
+    }
+
+    @Test
+    void addSupplier_ShouldStartWithEmptyStatsRow() {
+        // Arrange
+        SupplierDTO supplierDTO = new SupplierDTO();
+        supplierDTO.setName("New Supplier " + IdGenerator.generateUniqueId());
+
+        // Act
+        supplierService.addSupplier(supplierDTO);
+
+        // Assert
+        Supplier created = supplierRepository.findAll().stream()
+                .filter(s -> s.getName().equals(supplierDTO.getName())).findFirst().orElseThrow();
+        SupplierStats stats = supplierStatsRepository.findById(created.getId()).orElseThrow();
+        assertEquals(0, stats.getPurchaseCount());
+        assertEquals(0, stats.getSpend().compareTo(BigDecimal.ZERO));
+        assertNull(stats.getLastDeliveryAt());
+    }
+
+    private TransactionRequest request(int quantity) {
+        return new TransactionRequest(product.getId(), quantity, supplier.getId(), "stats");
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+}
@@ -0,0 +1,180 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.TransactionDTO;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.repository.ArchivedTransactionRepository;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.service.common.TransactionArchiver;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archives closed months into transactions_archive on its own H2 database and reads them back through the service.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "inventory.transactions.archive.retain-months=1",
+        "inventory.transactions.archive.batch-size=2",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class TransactionArchiverTest {
+
+    @Autowired
+    private TransactionArchiver transactionArchiver;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final YearMonth oldMonth = YearMonth.now().minusMonths(3);
+    private Long oldTransactionId;
+
+    @BeforeEach
+    void setUp() {
+        archivedTransactionRepository.deleteAll();
+        transactionRepository.deleteAll();
+
+        User user = userRepository.findByEmail("archive-user@example.com").orElseGet(() -> userRepository.save(User.builder()
+                .name("Archive User")
+                .email("archive-user@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.MANAGER)
+                .build()));
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> categoryRepository.save(Category.builder().name("Archive").build()));
+        Product product = productRepository.findAll().stream().findFirst()
+                .orElseGet(() -> productRepository.save(Product.builder()
+                        .name("Archived Product")
+                        .sku("ARCHIVED-1")
+                        .price(new BigDecimal("2.50"))
+                        .stockQuantity(100)
+                        .category(category)
+                        .build()));
+
+        //five sales three months back, two this month
+        for (int i = 0; i < 7; i++) {
+            Transaction transaction = transactionRepository.save(Transaction.builder()
+                    .transactionType(TransactionType.SALE)
+                    .status(TransactionStatus.COMPLETED)
+                    .totalProducts(1)
+                    .totalPrice(new BigDecimal("2.50"))
+                    .description("sale " + i)
+                    .user(user)
+                    .product(product)
+                    .build());
+            if (i < 5) {
+                backdate(transaction.getId(), oldMonth.atDay(10).atTime(12, 0));
+                oldTransactionId = transaction.getId();
+            }
+        }
+    }
+
+    @Test
+    void archiveClosedMonths_ShouldMoveOnlyMonthsBeforeCutoff() {
+        // Act
+        int archived = transactionArchiver.archiveClosedMonths();
+
+        // Assert
+        assertEquals(5, archived);
+        assertEquals(2, transactionRepository.count());
+        assertEquals(5, archivedTransactionRepository.count());
+    }
+
+    @Test
+    void archiveClosedMonths_RunTwice_ShouldNotMoveAnythingTheSecondTime() {
+        // Act
+        transactionArchiver.archiveClosedMonths();
+        int second = transactionArchiver.archiveClosedMonths();
+
+        // Assert
+        assertEquals(0, second);
+        assertEquals(5, archivedTransactionRepository.count());
+    }
+
+    @Test
+    void getTransactionById_Archived_ShouldReturnFullDetails() {
+        // Arrange
+        transactionArchiver.archiveClosedMonths();
+
+        // Act
+        Response response = transactionService.getTransactionById(oldTransactionId);
+
+        // Assert
+        TransactionDTO transaction = response.getTransaction();
+        assertEquals(oldTransactionId, transaction.getId());
+        assertEquals("Archived Product", transaction.getProduct().getName());
+        assertEquals("Archive User", transaction.getUser().getName());
+        assertEquals(oldMonth.atDay(10).atTime(12, 0), transaction.getCreatedAt());
+    }
+
+    @Test
+    void getAllTransactionByMonthAndYear_ArchivedMonth_ShouldIncludeArchivedRows() {
+        // Arrange
+        transactionArchiver.archiveClosedMonths();
+
+        // Act
+        Response response = transactionService.getAllTransactionByMonthAndYear(oldMonth.getMonthValue(), oldMonth.getYear());
+
+        // Assert
+        assertEquals(5, response.getTransactions().size());
+        assertTrue(response.getTransactions().stream().allMatch(t -> "Archived Product".equals(t.getProductName())));
+    }
+
+    @Test
+    void getCutoff_ShouldKeepCurrentAndRetainedMonths() {
+        // Act & Assert - retain-months=1 keeps last month and this month hot
+        assertEquals(LocalDateTime.of(2026, 9, 1, 0, 0), transactionArchiver.getCutoff(LocalDate.of(2026, 10, 19)));
+    }
+
+    private void backdate(Long id, LocalDateTime createdAt) {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE Transaction t SET t.createdAt = :createdAt WHERE t.id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", id)
+                .executeUpdate());
+    }
+}
@@ -0,0 +1,225 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.StatusUpdateResultDTO;
+import com.teckiz.InventorySystem.dto.SupplierPerformanceDTO;
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.dto.TransactionStatusUpdateRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Supplier;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.TransactionStatus;
+import com.teckiz.InventorySystem.enums.TransactionType;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.exceptions.InvalidStatusTransitionException;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
+import com.teckiz.InventorySystem.exceptions.NameValueRequiredException;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.SupplierRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.service.common.IdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Moves transactions in bulk, by id list and by filter, on its own H2 database and checks the counts,
+ * the rows left alone and the supplier totals after a batch of cancellations.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statusupdatedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class TransactionStatusUpdateTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Supplier supplier;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = IdGenerator.generateUniqueId();
+        User user = userRepository.save(User.builder()
+                .name("Back Office")
+                .email("backoffice-" + suffix + "@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.ADMIN)
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("Bulk " + suffix).build());
+        supplier = supplierRepository.save(Supplier.builder().name("Bulk Supplier " + suffix).build());
+        product = productRepository.save(Product.builder()
+                .name("Bulk Product")
+                .sku("BULK-" + suffix)
+                .price(new BigDecimal("2.50"))
+                .stockQuantity(0)
+                .category(category)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void updateTransactionStatuses_ByIds_ShouldCancelAllowedRowsAndCountTheRest() {
+        // Arrange - three purchases of 4 units, one of them already cancelled, plus an id that doesn't exist
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            transactionService.restockInventory(new TransactionRequest(product.getId(), 4, supplier.getId(), "bulk"));
+            ids.add(latestId());
+        }
+        transactionService.updateTransactionStatus(ids.get(0), TransactionStatus.CANCELED);
+        ids.add(Long.MAX_VALUE);
+
+        // Act
+        StatusUpdateResultDTO result = transactionService.updateTransactionStatuses(TransactionStatusUpdateRequest.builder()
+                .status(TransactionStatus.CANCELED)
+                .ids(ids)
+                .build()).getStatusUpdate();
+
+        // Assert
+        assertEquals(2, result.getUpdated());
+        assertEquals(2, result.getSkipped());
+        assertEquals(TransactionStatus.CANCELED, transactionRepository.findById(ids.get(2)).orElseThrow().getStatus());
+        SupplierPerformanceDTO performance = supplierService.getSupplierPerformance(supplier.getId()).getSupplierPerformance();
+        assertEquals(0, performance.getUnitsPurchased());
+        assertEquals(0, performance.getPurchaseCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(performance.getSpend()));
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    void updateTransactionStatus_CompletedSaleCancelled_ShouldPutStockBack() {
+        // Arrange
+        transactionService.restockInventory(new TransactionRequest(product.getId(), 10, supplier.getId(), "bulk"));
+        transactionService.sell(new TransactionRequest(product.getId(), 4, null, "bulk"));
+        Long sale = latestId();
+
+        // Act
+        transactionService.updateTransactionStatus(sale, TransactionStatus.CANCELED);
+
+        // Assert
+        assertEquals(10, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+        assertEquals(TransactionStatus.CANCELED, transactionRepository.findById(sale).orElseThrow().getStatus());
+    }
+
+    @Test
+    void sellAndReturn_MoreThanInStockWithoutWarehouses_ShouldBeRejected() {
+        // Arrange - no warehouses here, so only the product total is kept
+        transactionService.restockInventory(new TransactionRequest(product.getId(), 3, supplier.getId(), "bulk"));
+        Long restock = latestId();
+
+        // Act & Assert
+        assertThrows(InvalidStockOperationException.class,
+                () -> transactionService.sell(new TransactionRequest(product.getId(), 4, null, "bulk")));
+        assertThrows(InvalidStockOperationException.class,
+                () -> transactionService.returnToSupplier(new TransactionRequest(product.getId(), 4, supplier.getId(), "bulk")));
+        assertEquals(3, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+        assertEquals(restock, latestId());
+    }
+
+    @Test
+    void updateTransactionStatuses_PurchaseAlreadySold_ShouldRejectBatchAndKeepStock() {
+        // Arrange - the first delivery can't be taken back, its units have been sold
+        transactionService.restockInventory(new TransactionRequest(product.getId(), 5, supplier.getId(), "bulk"));
+        Long first = latestId();
+        transactionService.restockInventory(new TransactionRequest(product.getId(), 2, supplier.getId(), "bulk"));
+        Long second = latestId();
+        transactionService.sell(new TransactionRequest(product.getId(), 6, null, "bulk"));
+        TransactionStatusUpdateRequest cancelBoth = TransactionStatusUpdateRequest.builder()
+                .status(TransactionStatus.CANCELED)
+                .ids(List.of(first, second))
+                .build();
+
+        // Act & Assert
+        assertThrows(InvalidStockOperationException.class, () -> transactionService.updateTransactionStatuses(cancelBoth));
+        assertEquals(1, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+        assertEquals(TransactionStatus.COMPLETED, transactionRepository.findById(first).orElseThrow().getStatus());
+        assertEquals(TransactionStatus.COMPLETED, transactionRepository.findById(second).orElseThrow().getStatus());
+        assertEquals(7, supplierService.getSupplierPerformance(supplier.getId()).getSupplierPerformance().getUnitsPurchased());
+    }
+
+    @Test
+    void updateTransactionStatuses_ByFilter_ShouldOnlyMoveMatchingRows() {
+        // Arrange - two returns to this supplier and a sale, all of the same product
+        transactionService.restockInventory(new TransactionRequest(product.getId(), 10, supplier.getId(), "bulk"));
+        transactionService.returnToSupplier(new TransactionRequest(product.getId(), 1, supplier.getId(), "bulk"));
+        transactionService.returnToSupplier(new TransactionRequest(product.getId(), 2, supplier.getId(), "bulk"));
+        transactionService.sell(new TransactionRequest(product.getId(), 3, null, "bulk"));
+
+        // Act
+        StatusUpdateResultDTO result = transactionService.updateTransactionStatuses(TransactionStatusUpdateRequest.builder()
+                .status(TransactionStatus.COMPLETED)
+                .transactionType(TransactionType.RETURN_TO_SUPPLIER)
+                .supplierId(supplier.getId())
+                .build()).getStatusUpdate();
+
+        // Assert
+        assertEquals(2, result.getUpdated());
+        assertEquals(0, result.getSkipped());
+        List<Transaction> transactions = transactionRepository.findAll().stream()
+                .filter(t -> t.getProduct().getId().equals(product.getId()))
+                .toList();
+        assertTrue(transactions.stream()
+                .filter(t -> t.getTransactionType() == TransactionType.RETURN_TO_SUPPLIER)
+                .allMatch(t -> t.getStatus() == TransactionStatus.COMPLETED));
+        assertEquals(3, supplierService.getSupplierPerformance(supplier.getId()).getSupplierPerformance().getUnitsReturned());
+    }
+
+    @Test
+    void updateTransactionStatuses_NoIdsOrFilter_ShouldBeRejected() {
+        // Act & Assert
+        assertThrows(NameValueRequiredException.class, () -> transactionService.updateTransactionStatuses(
+                TransactionStatusUpdateRequest.builder().status(TransactionStatus.CANCELED).build()));
+        assertThrows(InvalidStatusTransitionException.class, () -> transactionService.updateTransactionStatuses(
+                TransactionStatusUpdateRequest.builder()
+                        .status(TransactionStatus.COMPLETED)
+                        .currentStatus(TransactionStatus.CANCELED)
+                        .build()));
+    }
+
+    private Long latestId() {
+        return transactionRepository.findAll().stream()
+                .mapToLong(Transaction::getId)
+                .max().orElseThrow();
+    }
+}
@@ -0,0 +1,112 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.security.AuthUser;
+import com.teckiz.InventorySystem.service.common.IdGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the number of statements a sell costs once the request is authenticated.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class TransactionWriteStatementsTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = IdGenerator.generateUniqueId();
+
+        user = userRepository.save(User.builder()
+                .name("Cashier")
+                .email("cashier-" + suffix + "@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.MANAGER)
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("Counter " + suffix).build());
+        product = productRepository.save(Product.builder()
+                .name("Counter Product")
+                .sku("COUNTER-" + suffix)
+                .price(new BigDecimal("2.50"))
+                .stockQuantity(100)
+                .category(category)
+                .build());
+
+        // same principal AuthFilter puts in the context
+        AuthUser authUser = AuthUser.builder().user(user).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(authUser, null, authUser.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sell_WithAuthenticatedPrincipal_ShouldNotSelectUser() {
+        // Arrange
+        TransactionRequest request = new TransactionRequest(product.getId(), 2, null, "counter sale");
+        statistics.clear();
+
+        // Act
+        transactionService.sell(request);
+
+        // Assert - product select, default warehouse lookup (query cache in production), merge select, stock update, transaction insert
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+        assertEquals(5, statistics.getPrepareStatementCount());
+
+        Transaction saved = transactionRepository.findAll(Sort.by(Sort.Direction.DESC, "id")).get(0);
+        assertEquals(user.getId(), saved.getUser().getId());
+    }
+}
@@ -1,16 +1,26 @@
 package com.teckiz.InventorySystem.service;
 
 import com.teckiz.InventorySystem.dto.LoginRequest;
+import com.teckiz.InventorySystem.dto.RefreshTokenRequest;
 import com.teckiz.InventorySystem.dto.RegisterRequest;
 import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.TransactionDTO;
 import com.teckiz.InventorySystem.dto.UserDTO;
+import com.teckiz.InventorySystem.entity.RefreshToken;
 import com.teckiz.InventorySystem.entity.User;
 import com.teckiz.InventorySystem.enums.UserRole;
 import com.teckiz.InventorySystem.exceptions.InvalidCredentialsException;
 import com.teckiz.InventorySystem.exceptions.NotFoundException;
+import com.teckiz.InventorySystem.repository.RefreshTokenRepository;
+import com.teckiz.InventorySystem.repository.RevokedTokenRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
 import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.security.AuthUser;
 import com.teckiz.InventorySystem.security.JwtUtils;
+import com.teckiz.InventorySystem.security.TokenRevocationList;
 import com.teckiz.InventorySystem.service.impl.UserServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,14 +33,19 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,6 +69,16 @@ class UserServiceTest {
     @Mock
     private JwtUtils jwtUtils;
 
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    //a real list over a mocked table; mocking the class itself would instrument its allocation-free check for the whole run
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
     @Mock
     private Authentication authentication;
 
@@ -144,6 +169,10 @@ class UserServiceTest {
         when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
         when(jwtUtils.generateToken(testUser.getEmail())).thenReturn("jwtToken");
+        when(jwtUtils.generateRefreshToken()).thenReturn("refreshToken");
+        when(jwtUtils.hashRefreshToken("refreshToken")).thenReturn("refreshTokenHash");
+        when(jwtUtils.getAccessTokenMinutes()).thenReturn(15L);
+        when(jwtUtils.getRefreshTokenDays()).thenReturn(14L);
 
         // When
         Response response = userService.loginUser(loginRequest);
@@ -154,11 +183,93 @@ class UserServiceTest {
         assertEquals("user logged in successfully", response.getMessage());
         assertEquals(testUser.getRole(), response.getRole());
         assertEquals("jwtToken", response.getToken());
-        assertEquals("6 month", response.getExpirationTime());
+        assertEquals("refreshToken", response.getRefreshToken());
+        assertEquals("15 minutes", response.getExpirationTime());
         
         verify(userRepository).findByEmail(loginRequest.getEmail());
         verify(passwordEncoder).matches(loginRequest.getPassword(), testUser.getPassword());
         verify(jwtUtils).generateToken(testUser.getEmail());
+        verify(refreshTokenRepository).save(argThat(token ->
+                "refreshTokenHash".equals(token.getTokenHash()) && token.getUser() == testUser && !token.isRevoked()));
+    }
+
+    @Test
+    @DisplayName("Should rotate the refresh token and issue a new access token")
+    void refreshToken_Success() {
+        // Given
+        RefreshToken stored = RefreshToken.builder()
+                .tokenHash("oldHash")
+                .user(testUser)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        stored.setId(5L);
+        when(jwtUtils.hashRefreshToken("oldRefreshToken")).thenReturn("oldHash");
+        when(refreshTokenRepository.findByTokenHash("oldHash")).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.revokeIfActive(5L)).thenReturn(1);
+        when(jwtUtils.generateToken(testUser.getEmail())).thenReturn("newJwtToken");
+        when(jwtUtils.generateRefreshToken()).thenReturn("newRefreshToken");
+
+        // When
+        Response response = userService.refreshToken(new RefreshTokenRequest("oldRefreshToken"));
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("newJwtToken", response.getToken());
+        assertEquals("newRefreshToken", response.getRefreshToken());
+        verify(refreshTokenRepository).revokeIfActive(5L);
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token that was already used")
+    void refreshToken_Revoked_ShouldThrowInvalidCredentials() {
+        // Given
+        RefreshToken stored = RefreshToken.builder()
+                .tokenHash("oldHash")
+                .user(testUser)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .revoked(true)
+                .build();
+        when(jwtUtils.hashRefreshToken("oldRefreshToken")).thenReturn("oldHash");
+        when(refreshTokenRepository.findByTokenHash("oldHash")).thenReturn(Optional.of(stored));
+
+        // When & Then
+        assertThrows(InvalidCredentialsException.class,
+                () -> userService.refreshToken(new RefreshTokenRequest("oldRefreshToken")));
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token that loses a concurrent rotation")
+    void refreshToken_ConcurrentUse_ShouldThrowInvalidCredentials() {
+        // Given
+        RefreshToken stored = RefreshToken.builder()
+                .tokenHash("oldHash")
+                .user(testUser)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        stored.setId(5L);
+        when(jwtUtils.hashRefreshToken("oldRefreshToken")).thenReturn("oldHash");
+        when(refreshTokenRepository.findByTokenHash("oldHash")).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.revokeIfActive(5L)).thenReturn(0);
+
+        // When & Then
+        assertThrows(InvalidCredentialsException.class,
+                () -> userService.refreshToken(new RefreshTokenRequest("oldRefreshToken")));
+        verify(jwtUtils, never()).generateToken(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown refresh token")
+    void refreshToken_Unknown_ShouldThrowInvalidCredentials() {
+        // Given
+        when(jwtUtils.hashRefreshToken("unknown")).thenReturn("unknownHash");
+        when(refreshTokenRepository.findByTokenHash("unknownHash")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(InvalidCredentialsException.class,
+                () -> userService.refreshToken(new RefreshTokenRequest("unknown")));
     }
 
     @Test
@@ -286,6 +397,87 @@ class UserServiceTest {
         }
     }
 
+    @Test
+    @DisplayName("Should resolve current user as a reference from the AuthUser principal")
+    void getCurrentUserReference_WithAuthUserPrincipal_ShouldNotQueryByEmail() {
+        // Given
+        testUser.setId(7L);
+        User reference = User.builder().build();
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContext = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContext.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getPrincipal()).thenReturn(AuthUser.builder().user(testUser).build());
+            when(userRepository.getReferenceById(7L)).thenReturn(reference);
+
+            // When
+            User result = userService.getCurrentUserReference();
+
+            // Then
+            assertSame(reference, result);
+            verify(userRepository).getReferenceById(7L);
+            verify(userRepository, never()).findByEmail(anyString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to email lookup when the principal is not an AuthUser")
+    void getCurrentUserReference_WithOtherPrincipal_ShouldFallBackToEmailLookup() {
+        // Given
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContext = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContext.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getPrincipal()).thenReturn("john@example.com");
+            when(authentication.getName()).thenReturn("john@example.com");
+            when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+
+            // When
+            User result = userService.getCurrentUserReference();
+
+            // Then
+            assertEquals(testUser.getEmail(), result.getEmail());
+            verify(userRepository, never()).getReferenceById(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should revoke the access token and the refresh token on logout")
+    void logout_ShouldRevokeAccessAndRefreshTokens() {
+        // Given
+        Claims claims = Jwts.claims().id("token-id").expiration(new Date(System.currentTimeMillis() + 60_000)).build();
+        RefreshToken stored = RefreshToken.builder().tokenHash("hash").build();
+        stored.setId(5L);
+        when(jwtUtils.parseClaims("accessToken")).thenReturn(claims);
+        when(jwtUtils.hashRefreshToken("refreshToken")).thenReturn("hash");
+        when(refreshTokenRepository.findByTokenHash("hash")).thenReturn(Optional.of(stored));
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(revokedTokenRepository, 1024);
+        ReflectionTestUtils.setField(userService, "tokenRevocationList", tokenRevocationList);
+
+        // When
+        Response response = userService.logout("accessToken", new RefreshTokenRequest("refreshToken"));
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertTrue(tokenRevocationList.isRevoked("token-id"));
+        verify(revokedTokenRepository).insertIfAbsent(eq("token-id"), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(refreshTokenRepository).revokeIfActive(5L);
+    }
+
+    @Test
+    @DisplayName("Should revoke all refresh tokens when the password changes")
+    void updateUser_WithNewPassword_ShouldRevokeRefreshTokens() {
+        // Given
+        Long userId = 1L;
+        userDTO.setPassword("newPassword");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode(anyString())).thenReturn("newEncodedPassword");
+
+        // When
+        userService.updateUser(userId, userDTO);
+
+        // Then
+        verify(refreshTokenRepository).revokeAllByUserId(userId);
+    }
+
     @Test
     @DisplayName("Should update user successfully")
     void updateUser_Success() {
@@ -356,26 +548,35 @@ class UserServiceTest {
         User userWithTransactions = User.builder()
                 .name("John Doe")
                 .email("john@example.com")
-                .transactions(Arrays.asList()) // Empty list to avoid NPE
                 .build();
         
         UserDTO userDTOWithTransactions = new UserDTO();
         userDTOWithTransactions.setId(1L);
-        userDTOWithTransactions.setTransactions(Arrays.asList()); // Empty list to avoid NPE
+
+        TransactionDTO transactionDTO = new TransactionDTO();
+        transactionDTO.setProductName("iPhone 15");
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(userWithTransactions));
         when(modelMapper.map(userWithTransactions, UserDTO.class)).thenReturn(userDTOWithTransactions);
+        when(transactionRepository.findSummariesByUserId(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(transactionDTO)));
 
         // Act
-        Response response = userService.getUserTransactions(1L);
+        Response response = userService.getUserTransactions(1L, 0, 20);
 
         // Assert
         assertNotNull(response);
         assertEquals(200, response.getStatus());
         assertEquals("success", response.getMessage());
         assertNotNull(response.getUser());
+        assertEquals(1, response.getUser().getTransactions().size());
+        assertEquals(1L, response.getTotalElements());
         verify(userRepository).findById(1L);
         verify(modelMapper).map(userWithTransactions, UserDTO.class);
+        verify(transactionRepository).findSummariesByUserId(eq(1L), argThat((Pageable pageable) ->
+                pageable.getPageSize() == 20 &&
+                pageable.getSort().getOrderFor("createdAt") != null &&
+                pageable.getSort().getOrderFor("createdAt").isDescending()));
     }
 
     @Test
@@ -384,8 +585,9 @@ class UserServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(NotFoundException.class, () -> userService.getUserTransactions(1L));
+        assertThrows(NotFoundException.class, () -> userService.getUserTransactions(1L, 0, 20));
         verify(userRepository).findById(1L);
         verifyNoInteractions(modelMapper);
+        verifyNoInteractions(transactionRepository);
     }
 } 
\ No newline at end of file
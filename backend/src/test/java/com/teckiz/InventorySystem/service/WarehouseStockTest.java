@@ -0,0 +1,292 @@
+package com.teckiz.InventorySystem.service;
+
+import com.teckiz.InventorySystem.dto.ProductDTO;
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.StockLevelDTO;
+import com.teckiz.InventorySystem.dto.StockTransferRequest;
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.dto.WarehouseDTO;
+import com.teckiz.InventorySystem.entity.Category;
+import com.teckiz.InventorySystem.entity.Product;
+import com.teckiz.InventorySystem.entity.Supplier;
+import com.teckiz.InventorySystem.entity.Transaction;
+import com.teckiz.InventorySystem.entity.User;
+import com.teckiz.InventorySystem.entity.Warehouse;
+import com.teckiz.InventorySystem.enums.UserRole;
+import com.teckiz.InventorySystem.exceptions.InvalidStockOperationException;
+import com.teckiz.InventorySystem.repository.CategoryRepository;
+import com.teckiz.InventorySystem.repository.ProductRepository;
+import com.teckiz.InventorySystem.repository.StockLevelRepository;
+import com.teckiz.InventorySystem.repository.SupplierRepository;
+import com.teckiz.InventorySystem.repository.TransactionRepository;
+import com.teckiz.InventorySystem.repository.UserRepository;
+import com.teckiz.InventorySystem.repository.WarehouseRepository;
+import com.teckiz.InventorySystem.security.AuthUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stock movements against named warehouses. Runs on its own H2 database: a default warehouse
+ * changes how every other test's products are stocked.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:warehousedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class WarehouseStockTest {
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private StockLevelRepository stockLevelRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Product product;
+    private Supplier supplier;
+    private Long mainId;
+    private Long branchId;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        stockLevelRepository.deleteAll();
+        warehouseRepository.deleteAll();
+        productRepository.deleteAll();
+
+        User user = userRepository.findAll().stream().findFirst().orElseGet(() -> userRepository.save(User.builder()
+                .name("Store Manager")
+                .email("store-manager@example.com")
+                .password("encodedPassword")
+                .phoneNumber("1234567890")
+                .role(UserRole.MANAGER)
+                .build()));
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> categoryRepository.save(Category.builder().name("Stores").build()));
+        supplier = supplierRepository.findAll().stream().findFirst()
+                .orElseGet(() -> supplierRepository.save(Supplier.builder().name("Wholesaler").build()));
+
+        //stock recorded before any warehouse existed
+        product = productRepository.save(Product.builder()
+                .name("Rice 5kg")
+                .sku("RICE-5")
+                .price(new BigDecimal("8.00"))
+                .stockQuantity(30)
+                .category(category)
+                .build());
+
+        warehouseService.addWarehouse(new WarehouseDTO("Main Store", "High Street", null));
+        warehouseService.addWarehouse(new WarehouseDTO("Branch", "Market Square", false));
+        mainId = warehouseRepository.findAll().stream().filter(Warehouse::isDefaultLocation).findFirst().orElseThrow().getId();
+        branchId = warehouseRepository.findAll().stream().filter(w -> !w.isDefaultLocation()).findFirst().orElseThrow().getId();
+
+        AuthUser authUser = AuthUser.builder().user(user).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(authUser, null, authUser.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void addWarehouse_FirstWarehouse_ShouldBecomeDefaultAndHoldExistingStock() {
+        // Assert
+        assertEquals(30, quantityAt(mainId));
+        assertEquals(0, quantityAt(branchId));
+        assertEquals(1, warehouseRepository.findAll().stream().filter(Warehouse::isDefaultLocation).count());
+    }
+
+    @Test
+    void updateWarehouse_BecomesDefault_ShouldTakeUnplacedStockOnly() {
+        // Arrange - the branch already holds some rice; 5 more and a new product were recorded with no location
+        warehouseService.transferStock(new StockTransferRequest(product.getId(), mainId, branchId, 4));
+        product.setStockQuantity(35);
+        productRepository.save(product);
+        Product flour = productRepository.save(Product.builder()
+                .name("Flour 1kg")
+                .sku("FLOUR-1")
+                .price(new BigDecimal("2.00"))
+                .stockQuantity(12)
+                .category(product.getCategory())
+                .build());
+
+        // Act
+        warehouseService.updateWarehouse(branchId, new WarehouseDTO(null, null, true));
+
+        // Assert
+        assertEquals(26, quantityAt(mainId));
+        assertEquals(9, quantityAt(branchId));
+        List<StockLevelDTO> flourLevels = stockLevelRepository.findLevelsByProductId(flour.getId());
+        assertEquals(1, flourLevels.size());
+        assertEquals(branchId, flourLevels.get(0).getWarehouseId());
+        assertEquals(12, flourLevels.get(0).getQuantity());
+        assertTrue(warehouseRepository.findById(branchId).orElseThrow().isDefaultLocation());
+        assertFalse(warehouseRepository.findById(mainId).orElseThrow().isDefaultLocation());
+    }
+
+    @Test
+    void restockAndSell_AtNamedWarehouse_ShouldMoveLocationAndTotal() {
+        // Act
+        transactionService.restockInventory(new TransactionRequest(product.getId(), 12, supplier.getId(), branchId, "branch delivery"));
+        transactionService.sell(new TransactionRequest(product.getId(), 5, null, branchId, "branch sale"));
+
+        // Assert
+        assertEquals(7, quantityAt(branchId));
+        assertEquals(30, quantityAt(mainId));
+        assertEquals(37, totalStock());
+        Transaction last = transactionRepository.findAll(Sort.by(Sort.Direction.DESC, "id")).get(0);
+        assertEquals(branchId, transactionRepository.findWithDetailsById(last.getId()).orElseThrow().getWarehouse().getId());
+    }
+
+    @Test
+    void sell_WithoutWarehouse_ShouldUseDefaultLocation() {
+        // Act
+        transactionService.sell(new TransactionRequest(product.getId(), 4, null, "walk-in"));
+
+        // Assert
+        assertEquals(26, quantityAt(mainId));
+        assertEquals(26, totalStock());
+    }
+
+    @Test
+    void sell_MoreThanLocationHolds_ShouldFailAndLeaveStockUntouched() {
+        // Act & Assert - the total has 30 but the branch has none
+        assertThrows(InvalidStockOperationException.class,
+                () -> transactionService.sell(new TransactionRequest(product.getId(), 1, null, branchId, "branch sale")));
+        assertEquals(30, totalStock());
+        assertEquals(0, quantityAt(branchId));
+    }
+
+    @Test
+    void transferStock_ShouldRebalanceWithoutChangingTotal() {
+        // Act
+        warehouseService.transferStock(new StockTransferRequest(product.getId(), mainId, branchId, 10));
+
+        // Assert
+        assertEquals(20, quantityAt(mainId));
+        assertEquals(10, quantityAt(branchId));
+        assertEquals(30, totalStock());
+    }
+
+    @Test
+    void transferStock_MoreThanSourceHolds_ShouldRollBack() {
+        // Act & Assert
+        assertThrows(InvalidStockOperationException.class,
+                () -> warehouseService.transferStock(new StockTransferRequest(product.getId(), branchId, mainId, 1)));
+        assertEquals(30, quantityAt(mainId));
+        assertEquals(0, quantityAt(branchId));
+    }
+
+    @Test
+    void getProductStock_ShouldListLocationsAndMaintainedTotal() {
+        // Arrange
+        warehouseService.transferStock(new StockTransferRequest(product.getId(), mainId, branchId, 10));
+
+        // Act
+        Response response = warehouseService.getProductStock(product.getId());
+
+        // Assert
+        assertEquals(30, response.getProduct().getStockQuantity());
+        assertEquals(2, response.getStockLevels().size());
+        assertEquals(30, response.getStockLevels().stream().mapToInt(StockLevelDTO::getQuantity).sum());
+    }
+
+    @Test
+    void deleteWarehouse_HoldingStock_ShouldBeRejected() {
+        // Arrange
+        warehouseService.transferStock(new StockTransferRequest(product.getId(), mainId, branchId, 1));
+
+        // Act & Assert
+        assertThrows(InvalidStockOperationException.class, () -> warehouseService.deleteWarehouse(branchId));
+    }
+
+    @Test
+    void updateProduct_CorrectionBelowDefaultLocation_ShouldSaveNothing() {
+        // Arrange - the default location holds 10 of the 30, so it can't give up 25
+        warehouseService.transferStock(new StockTransferRequest(product.getId(), mainId, branchId, 20));
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setProductId(product.getId());
+        productDTO.setName("Rice 5kg Premium");
+        productDTO.setPrice(new BigDecimal("9.50"));
+        productDTO.setStockQuantity(5);
+
+        // Act & Assert
+        assertThrows(InvalidStockOperationException.class, () -> productService.updateProduct(productDTO, null));
+        Product unchanged = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals("Rice 5kg", unchanged.getName());
+        assertEquals(0, new BigDecimal("8.00").compareTo(unchanged.getPrice()));
+        assertEquals(30, unchanged.getStockQuantity());
+        assertEquals(10, quantityAt(mainId));
+    }
+
+    @Test
+    void deleteProduct_NewProductWithOpeningStock_ShouldRemoveItsLocationRows() {
+        // Arrange - opening stock is placed at the default warehouse
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName("Oats 1kg");
+        productDTO.setSku("OATS-1");
+        productDTO.setPrice(new BigDecimal("3.00"));
+        productDTO.setStockQuantity(6);
+        productDTO.setCategoryId(product.getCategory().getId());
+        productService.saveProduct(productDTO, null);
+        Long oatsId = productRepository.findAll().stream()
+                .filter(p -> "OATS-1".equals(p.getSku())).findFirst().orElseThrow().getId();
+        assertEquals(1, stockLevelRepository.findLevelsByProductId(oatsId).size());
+
+        // Act
+        productService.deleteProduct(oatsId);
+
+        // Assert
+        assertFalse(productRepository.existsById(oatsId));
+        assertTrue(stockLevelRepository.findLevelsByProductId(oatsId).isEmpty());
+        assertEquals(30, quantityAt(mainId));
+    }
+
+    private int quantityAt(Long warehouseId) {
+        List<StockLevelDTO> levels = stockLevelRepository.findLevelsByProductId(product.getId());
+        return levels.stream().filter(level -> level.getWarehouseId().equals(warehouseId))
+                .mapToInt(StockLevelDTO::getQuantity).sum();
+    }
+
+    private int totalStock() {
+        return productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+    }
+}
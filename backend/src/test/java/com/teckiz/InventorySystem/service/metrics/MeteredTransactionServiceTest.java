@@ -0,0 +1,109 @@
+package com.teckiz.InventorySystem.service.metrics;
+
+import com.teckiz.InventorySystem.dto.Response;
+import com.teckiz.InventorySystem.dto.TransactionRequest;
+import com.teckiz.InventorySystem.exceptions.NotFoundException;
+import com.teckiz.InventorySystem.service.impl.TransactionServiceImpl;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredTransactionServiceTest {
+
+    private static final Response OK = Response.builder().status(200).message("ok").build();
+
+    private PrometheusMeterRegistry meterRegistry;
+    private MeteredTransactionService meteredTransactionService;
+    private TransactionRequest request;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meteredTransactionService = new MeteredTransactionService(new StubTransactionService(), meterRegistry);
+        request = new TransactionRequest(1L, 3, 1L, "test");
+    }
+
+    @Test
+    void sell_ShouldRecordTimerAndSoldUnits() {
+        // Act
+        meteredTransactionService.sell(request);
+        meteredTransactionService.sell(request);
+
+        // Assert
+        assertEquals(2, meterRegistry.get("inventory.service.calls")
+                .tag("service", "TransactionService").tag("method", "sell").timer().count());
+        assertEquals(6.0, meterRegistry.get("inventory.units").tag("type", "SALE").counter().count());
+        assertEquals(0.0, meterRegistry.get("inventory.units").tag("type", "PURCHASE").counter().count());
+    }
+
+    @Test
+    void restockInventory_Failure_ShouldRecordTimerButNoUnits() {
+        // Arrange
+        request.setProductId(-1L);
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> meteredTransactionService.restockInventory(request));
+        assertEquals(1, meterRegistry.get("inventory.service.calls")
+                .tag("method", "restockInventory").timer().count());
+        assertEquals(0.0, meterRegistry.get("inventory.units").tag("type", "PURCHASE").counter().count());
+    }
+
+    @Test
+    void prometheusScrape_ShouldExposeServiceMeters() {
+        // Act
+        meteredTransactionService.returnToSupplier(request);
+        String scrape = meterRegistry.scrape();
+
+        // Assert
+        assertTrue(scrape.contains("inventory_service_calls_seconds_count"));
+        assertTrue(scrape.contains("inventory_units_total{type=\"RETURN_TO_SUPPLIER\"} 3.0"));
+    }
+
+    @Test
+    void sell_Instrumentation_ShouldNotAllocate() {
+        // Arrange
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 20_000; i++) {
+            meteredTransactionService.sell(request);
+        }
+
+        // Act
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            meteredTransactionService.sell(request);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Assert - allow a little noise from the measurement itself, far below one object per call
+        assertTrue(allocated < 10_000, "sell instrumentation allocated " + allocated + " bytes for 10k calls");
+    }
+
+    //answers instantly so only the decorator's own cost is measured
+    private static class StubTransactionService extends TransactionServiceImpl {
+
+        StubTransactionService() {
+            super(null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public Response sell(TransactionRequest transactionRequest) {
+            return OK;
+        }
+
+        @Override
+        public Response restockInventory(TransactionRequest transactionRequest) {
+            if (transactionRequest.getProductId() < 0) throw new NotFoundException("Product Not Found");
+            return OK;
+        }
+
+        @Override
+        public Response returnToSupplier(TransactionRequest transactionRequest) {
+            return OK;
+        }
+    }
+}
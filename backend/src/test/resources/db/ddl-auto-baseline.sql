@@ -0,0 +1,24 @@
+-- A database as the application's ddl-auto=update left it before Flyway took over: Hibernate's own
+-- constraint names, no flyway_schema_history, and some rows the migrations have to carry along.
+
+create table users (id bigint not null auto_increment, created_at datetime(6), `key` varchar(255), updated_at datetime(6), email varchar(255) not null, name varchar(255) not null, password varchar(255) not null, phone_number varchar(255) not null, role enum ('ADMIN','MANAGER'), primary key (id)) engine=InnoDB;
+create table categories (id bigint not null auto_increment, created_at datetime(6), `key` varchar(255), updated_at datetime(6), name varchar(255) not null, primary key (id)) engine=InnoDB;
+create table suppliers (id bigint not null auto_increment, created_at datetime(6), `key` varchar(255), updated_at datetime(6), address varchar(255), name varchar(255) not null, primary key (id)) engine=InnoDB;
+create table product (id bigint not null auto_increment, created_at datetime(6), `key` varchar(255), updated_at datetime(6), description varchar(255), expiry_date datetime(6), image_url varchar(255), name varchar(255) not null, price decimal(38,2), sku varchar(255) not null, stock_quantity integer, category_id bigint, primary key (id)) engine=InnoDB;
+create table transactions (id bigint not null auto_increment, created_at datetime(6), `key` varchar(255), updated_at datetime(6), description varchar(255), status enum ('CANCELED','COMPLETED','PENDING','PROCESSING'), total_price decimal(38,2), total_products integer, transaction_type enum ('PURCHASE','RETURN_TO_SUPPLIER','SALE'), product_id bigint, supplier_id bigint, user_id bigint, primary key (id)) engine=InnoDB;
+alter table categories add constraint UK_t8o6pivur7nn124jehx7cygw5 unique (name);
+alter table product add constraint UK_q1mafxn973ldq80m1irp3mpvq unique (sku);
+alter table users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table product add constraint FKowomku74u72o6h8q0khj7id8q foreign key (category_id) references categories (id);
+alter table transactions add constraint FK1kwi5fd3s1e4nkx1rjvo0f8hm foreign key (product_id) references product (id);
+alter table transactions add constraint FKqyjnn6bvjp8c0cfm4ai7ca6yg foreign key (supplier_id) references suppliers (id);
+alter table transactions add constraint FKqwv7rmvc8va8rep7piikrojds foreign key (user_id) references users (id);
+
+insert into users (id, `key`, created_at, updated_at, email, name, password, phone_number, role)
+values (1, 'u1', '2024-01-10 09:00:00', '2024-01-10 09:00:00', 'owner@example.com', 'Owner', 'hash', '1234567890', 'ADMIN');
+insert into categories (id, `key`, created_at, updated_at, name) values (1, 'c1', '2024-01-10 09:00:00', '2024-01-10 09:00:00', 'Dry Goods');
+insert into suppliers (id, `key`, created_at, updated_at, name, address) values (1, 's1', '2024-01-10 09:00:00', '2024-01-10 09:00:00', 'Mill', 'Back Lane');
+insert into product (id, `key`, created_at, updated_at, name, sku, price, stock_quantity, category_id)
+values (1, 'p1', '2024-01-10 09:00:00', '2024-01-10 09:00:00', 'Rice', 'RICE-1', 2.00, 40, 1);
+insert into transactions (id, `key`, created_at, updated_at, total_products, total_price, transaction_type, status, user_id, product_id, supplier_id)
+values (1, 't1', '2024-01-11 09:00:00', '2024-01-11 09:00:00', 40, 80.00, 'PURCHASE', 'COMPLETED', 1, 1, 1);
@@ -36,8 +36,7 @@ export class LoginComponent {
         this.apiService.loginUser(this.formData)
       );
       if (response.status === 200) {
-        this.apiService.encryptAndSaveToStorage('token', response.token);
-        this.apiService.encryptAndSaveToStorage('role', response.role);
+        this.apiService.saveTokens(response);
         this.router.navigate(["/dashboard"]);
       }
     } catch (error:any) {
@@ -39,9 +39,20 @@ export class ApiService {
     
   private clearAuth() {
       localStorage.removeItem("token");
+      localStorage.removeItem("refreshToken");
       localStorage.removeItem("role");
   }
 
+  saveTokens(response: any): void {
+    this.encryptAndSaveToStorage("token", response.token);
+    this.encryptAndSaveToStorage("refreshToken", response.refreshToken);
+    this.encryptAndSaveToStorage("role", response.role);
+  }
+
+  getRefreshToken(): string | null {
+    return this.getFromStorageAndDecrypt("refreshToken");
+  }
+
 
 
   private getHeader(): HttpHeaders {
@@ -67,6 +78,12 @@ export class ApiService {
     return this.http.post(`${ApiService.BASE_URL}/auth/login`, body);
   }
 
+  refreshAccessToken(): Observable<any> {
+    return this.http.post(`${ApiService.BASE_URL}/auth/refresh`, {
+      refreshToken: this.getRefreshToken(),
+    });
+  }
+
   getLoggedInUserInfo(): Observable<any> {
     return this.http.get(`${ApiService.BASE_URL}/users/current`, {
       headers: this.getHeader(),
@@ -94,6 +111,12 @@ export class ApiService {
     });
   }
 
+  getCategorySummaries(): Observable<any> {
+    return this.http.get(`${ApiService.BASE_URL}/categories/summary`, {
+      headers: this.getHeader(),
+    });
+  }
+
   getCategoryById(id: string): Observable<any> {
     return this.http.get(`${ApiService.BASE_URL}/categories/${id}`, {
       headers: this.getHeader(),
@@ -134,6 +157,12 @@ export class ApiService {
     });
   }
 
+  getSupplierAnalytics(): Observable<any> {
+    return this.http.get(`${ApiService.BASE_URL}/suppliers/analytics`, {
+      headers: this.getHeader(),
+    });
+  }
+
   getSupplierById(id: string): Observable<any> {
     return this.http.get(`${ApiService.BASE_URL}/suppliers/${id}`, {
       headers: this.getHeader(),
@@ -181,12 +210,33 @@ export class ApiService {
     });
   }
 
+  searchProducts(params: { [param: string]: string | number | boolean }): Observable<any> {
+    return this.http.get(`${ApiService.BASE_URL}/products/search`, {
+      params: params,
+      headers: this.getHeader(),
+    });
+  }
+
   getProductById(id: string): Observable<any> {
     return this.http.get(`${ApiService.BASE_URL}/products/${id}`, {
       headers: this.getHeader(),
     });
   }
 
+  // scanner lookups, answered from the server's in-memory SKU index
+  lookupProductBySku(sku: string): Observable<any> {
+    return this.http.get(`${ApiService.BASE_URL}/products/lookup`, {
+      params: { sku: sku },
+      headers: this.getHeader(),
+    });
+  }
+
+  lookupProductsBySkus(skus: string[]): Observable<any> {
+    return this.http.post(`${ApiService.BASE_URL}/products/lookup`, skus, {
+      headers: this.getHeader(),
+    });
+  }
+
   deleteProduct(id: string): Observable<any> {
     return this.http.delete(`${ApiService.BASE_URL}/products/delete/${id}`, {
       headers: this.getHeader(),
@@ -238,6 +288,12 @@ export class ApiService {
     });
   }
 
+  updateTransactionStatuses(body: any): Observable<any> {
+    return this.http.put(`${ApiService.BASE_URL}/transactions/update-status`, body, {
+      headers: this.getHeader(),
+    });
+  }
+
 
   getTransactionsByMonthAndYear(month: number, year: number): Observable<any> {
     return this.http.get(`${ApiService.BASE_URL}/transactions/by-month-year`, {
@@ -249,6 +305,100 @@ export class ApiService {
     });
   }
 
+  getSalesAnalytics(params: { [param: string]: string | number | boolean }): Observable<any> {
+    return this.http.get(`${ApiService.BASE_URL}/analytics/sales`, {
+      params: params,
+      headers: this.getHeader(),
+    });
+  }
+
+  getReorderSuggestions(): Observable<any> {
+    return this.http.get(`${ApiService.BASE_URL}/analytics/reorder-suggestions`, {
+      headers: this.getHeader(),
+    });
+  }
+
+
+  /**Purchase Orders Endpoints */
+
+  createPurchaseOrder(body: any): Observable<any> {
+    return this.http.post(`${ApiService.BASE_URL}/purchase-orders/add`, body, {
+      headers: this.getHeader(),
+    });
+  }
+
+  getPurchaseOrders(params: { [param: string]: string | number | boolean }): Observable<any> {
+    return this.http.get(`${ApiService.BASE_URL}/purchase-orders/all`, {
+      params: params,
+      headers: this.getHeader(),
+    });
+  }
+
+  getPurchaseOrderById(id: string): Observable<any> {
+    return this.http.get(`${ApiService.BASE_URL}/purchase-orders/${id}`, {
+      headers: this.getHeader(),
+    });
+  }
+
+  receivePurchaseOrder(id: string, body: any): Observable<any> {
+    return this.http.post(`${ApiService.BASE_URL}/purchase-orders/${id}/receive`, body, {
+      headers: this.getHeader(),
+    });
+  }
+
+  cancelPurchaseOrder(id: string): Observable<any> {
+    return this.http.put(`${ApiService.BASE_URL}/purchase-orders/${id}/cancel`, {}, {
+      headers: this.getHeader(),
+    });
+  }
+
+
+  /**Stock Counts Endpoints */
+
+  startStockCount(body: any): Observable<any> {
+    return this.http.post(`${ApiService.BASE_URL}/stock-counts/start`, body, {
+      headers: this.getHeader(),
+    });
+  }
+
+  getStockCounts(params: { [param: string]: string | number | boolean }): Observable<any> {
+    return this.http.get(`${ApiService.BASE_URL}/stock-counts/all`, {
+      params: params,
+      headers: this.getHeader(),
+    });
+  }
+
+  getStockCountById(id: string): Observable<any> {
+    return this.http.get(`${ApiService.BASE_URL}/stock-counts/${id}`, {
+      headers: this.getHeader(),
+    });
+  }
+
+  // scanner export, one "sku,quantity" per line
+  uploadStockCounts(id: string, csv: Blob | string): Observable<any> {
+    return this.http.post(`${ApiService.BASE_URL}/stock-counts/${id}/counts`, csv, {
+      headers: this.getHeader().set('Content-Type', 'text/csv'),
+    });
+  }
+
+  getStockCountVariances(id: string): Observable<any> {
+    return this.http.get(`${ApiService.BASE_URL}/stock-counts/${id}/variances`, {
+      headers: this.getHeader(),
+    });
+  }
+
+  postStockCount(id: string): Observable<any> {
+    return this.http.post(`${ApiService.BASE_URL}/stock-counts/${id}/post`, {}, {
+      headers: this.getHeader(),
+    });
+  }
+
+  cancelStockCount(id: string): Observable<any> {
+    return this.http.put(`${ApiService.BASE_URL}/stock-counts/${id}/cancel`, {}, {
+      headers: this.getHeader(),
+    });
+  }
+
 
 
 
@@ -263,6 +413,13 @@ export class ApiService {
 /**AUTHENTICATION CHECKER */
     
   logout():void{
+    const refreshToken = this.getRefreshToken();
+    if (refreshToken) {
+      // revoke server side too; local state is cleared either way
+      this.http.post(`${ApiService.BASE_URL}/auth/logout`, { refreshToken }, {
+        headers: this.getHeader(),
+      }).subscribe({ error: () => {} });
+    }
     this.clearAuth()
   }
 
@@ -0,0 +1,27 @@
+import { HttpErrorResponse, HttpInterceptorFn } from '@angular/common/http';
+import { inject } from '@angular/core';
+import { catchError, switchMap, throwError } from 'rxjs';
+import { ApiService } from './api.service';
+
+// Access tokens are short-lived: on a 401 try one refresh, then replay the request with the new token
+export const authRefreshInterceptor: HttpInterceptorFn = (req, next) => {
+  const apiService = inject(ApiService);
+
+  return next(req).pipe(
+    catchError((error: HttpErrorResponse) => {
+      if (error.status !== 401 || req.url.includes('/auth/') || !apiService.getRefreshToken()) {
+        return throwError(() => error);
+      }
+      return apiService.refreshAccessToken().pipe(
+        switchMap((response: any) => {
+          apiService.saveTokens(response);
+          return next(req.clone({ setHeaders: { Authorization: `Bearer ${response.token}` } }));
+        }),
+        catchError((refreshError) => {
+          apiService.logout();
+          return throwError(() => refreshError);
+        })
+      );
+    })
+  );
+};